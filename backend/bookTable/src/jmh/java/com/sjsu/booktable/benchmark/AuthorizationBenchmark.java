@@ -0,0 +1,111 @@
+package com.sjsu.booktable.benchmark;
+
+import com.sjsu.booktable.config.SecurityConfig;
+import com.sjsu.booktable.model.enums.Role;
+import com.sjsu.booktable.security.RequiresRole;
+import com.sjsu.booktable.security.RoleAuthorizationManager;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.method.PreAuthorizeAuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.util.SimpleMethodInvocation;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * CPU time and, with the gc profiler (gc.alloc.rate.norm), bytes allocated per request for turning a verified
+ * token into authorities and authorizing the controller call.
+ * {@code perRequestAuthorities} converts cognito:groups the way SecurityConfig used to, building a new
+ * SimpleGrantedAuthority list; {@code internedAuthorities} uses the current converter backed by RoleAuthorities.
+ * {@code preAuthorizeExpression} evaluates {@code hasAuthority('Customer')} through @PreAuthorize method
+ * security; {@code requiresRole} checks {@link RequiresRole} with {@link RoleAuthorizationManager}.
+ * Run with {@code ./gradlew jmh -Pjmh.includes=AuthorizationBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthorizationBenchmark {
+
+    private Jwt jwt;
+    private JwtAuthenticationConverter perRequestConverter;
+    private JwtAuthenticationConverter internedConverter;
+
+    private Supplier<Authentication> authentication;
+    private PreAuthorizeAuthorizationManager preAuthorizeManager;
+    private RoleAuthorizationManager roleManager;
+    private SimpleMethodInvocation preAuthorizeInvocation;
+    private SimpleMethodInvocation requiresRoleInvocation;
+
+    @Setup(Level.Trial)
+    public void setUp() throws NoSuchMethodException {
+        Instant now = Instant.now();
+        jwt = Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .subject("diner")
+                .claim("cognito:groups", List.of(Role.CUSTOMER.getName()))
+                .issuedAt(now)
+                .expiresAt(now.plusSeconds(3600))
+                .build();
+
+        perRequestConverter = new JwtAuthenticationConverter();
+        perRequestConverter.setJwtGrantedAuthoritiesConverter(token -> {
+            List<String> groups = token.getClaimAsStringList("cognito:groups");
+            return groups != null ? groups.stream()
+                    .map(SimpleGrantedAuthority::new)
+                    .collect(Collectors.toList()) : Collections.emptyList();
+        });
+        internedConverter = new SecurityConfig().jwtAuthenticationConverter();
+
+        AbstractAuthenticationToken token = internedConverter.convert(jwt);
+        authentication = () -> token;
+        preAuthorizeManager = new PreAuthorizeAuthorizationManager();
+        roleManager = new RoleAuthorizationManager();
+        CustomerEndpoint endpoint = new CustomerEndpoint();
+        preAuthorizeInvocation = new SimpleMethodInvocation(endpoint, CustomerEndpoint.class.getMethod("withExpression"));
+        requiresRoleInvocation = new SimpleMethodInvocation(endpoint, CustomerEndpoint.class.getMethod("withRole"));
+    }
+
+    @Benchmark
+    public AbstractAuthenticationToken perRequestAuthorities() {
+        return perRequestConverter.convert(jwt);
+    }
+
+    @Benchmark
+    public AbstractAuthenticationToken internedAuthorities() {
+        return internedConverter.convert(jwt);
+    }
+
+    @Benchmark
+    public AuthorizationDecision preAuthorizeExpression() {
+        return preAuthorizeManager.check(authentication, preAuthorizeInvocation);
+    }
+
+    @Benchmark
+    public AuthorizationDecision requiresRole() {
+        return roleManager.check(authentication, requiresRoleInvocation);
+    }
+
+    public static class CustomerEndpoint {
+
+        @PreAuthorize("hasAuthority('Customer')")
+        public void withExpression() {
+        }
+
+        @RequiresRole(Role.CUSTOMER)
+        public void withRole() {
+        }
+    }
+}
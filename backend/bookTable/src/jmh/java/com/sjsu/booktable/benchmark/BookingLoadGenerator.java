@@ -0,0 +1,329 @@
+package com.sjsu.booktable.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sjsu.booktable.benchmark.support.*;
+import com.sjsu.booktable.benchmark.support.StageTimes.Stage;
+import com.sjsu.booktable.controller.BookingController;
+import com.sjsu.booktable.exception.GlobalExceptionHandler;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+/**
+ * Closed-loop load generator for the booking write path. Worker threads drive BookingController's create,
+ * cancel and check-conflicts endpoints through MockMvc, on top of the production services, a simulated
+ * connection pool and database, and an email sender that only blocks for the configured time. Emails go
+ * through the production outbox, so they are sent by its worker pool and not by the request threads.
+ * A share of the creates all target the same restaurant and slot to measure contention there.
+ * <p>
+ * The report lists throughput, latency percentiles and outcomes per endpoint, then where the time of an
+ * average create goes (pool wait, statements, key generation, email, the rest being slot locking and
+ * request handling) and the connection pool utilisation.
+ * <p>
+ * Run with {@code ./gradlew bookingLoad -PloadArgs="threads=64 poolSize=10 emailMillis=150"}. Options and
+ * their defaults are listed in {@link Options}.
+ */
+public class BookingLoadGenerator {
+
+    private static final String CUSTOMER_HEADER = "X-Load-Customer";
+    private static final LocalDate FIRST_DATE = LocalDate.of(2025, 6, 14);
+    private static final int DAYS = 30;
+    private static final int HOT_RESTAURANT_ID = 1;
+    private static final LocalTime HOT_SLOT = LocalTime.of(19, 0);
+    private static final double[] PERCENTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private enum Endpoint {
+        CREATE("create"),
+        CANCEL("cancel"),
+        CHECK_CONFLICTS("check-conflicts");
+
+        private final String path;
+
+        Endpoint(String path) {
+            this.path = path;
+        }
+    }
+
+    /**
+     * Load shape and simulated resource costs, given as key=value arguments.
+     */
+    static final class Options {
+        int restaurants = 1000;
+        int customers = 10000;
+        int threads = 32;
+        int warmupSeconds = 10;
+        int durationSeconds = 30;
+        int poolSize = 10;
+        long statementMicros = 1000;
+        long keyGenerationMicros = 20;
+        long emailMillis = 100;
+        double hotShare = 0.2;
+        int createPercent = 60;
+        int cancelPercent = 15;
+
+        static Options parse(String[] args) {
+            Options options = new Options();
+            for (String arg : args) {
+                String[] pair = arg.split("=", 2);
+                if (pair.length != 2) {
+                    throw new IllegalArgumentException("Expected key=value but got " + arg);
+                }
+                String value = pair[1];
+                switch (pair[0]) {
+                    case "restaurants" -> options.restaurants = Integer.parseInt(value);
+                    case "customers" -> options.customers = Integer.parseInt(value);
+                    case "threads" -> options.threads = Integer.parseInt(value);
+                    case "warmupSeconds" -> options.warmupSeconds = Integer.parseInt(value);
+                    case "durationSeconds" -> options.durationSeconds = Integer.parseInt(value);
+                    case "poolSize" -> options.poolSize = Integer.parseInt(value);
+                    case "statementMicros" -> options.statementMicros = Long.parseLong(value);
+                    case "keyGenerationMicros" -> options.keyGenerationMicros = Long.parseLong(value);
+                    case "emailMillis" -> options.emailMillis = Long.parseLong(value);
+                    case "hotShare" -> options.hotShare = Double.parseDouble(value);
+                    case "createPercent" -> options.createPercent = Integer.parseInt(value);
+                    case "cancelPercent" -> options.cancelPercent = Integer.parseInt(value);
+                    default -> throw new IllegalArgumentException("Unknown option " + pair[0]);
+                }
+            }
+            if (options.createPercent + options.cancelPercent > 100) {
+                throw new IllegalArgumentException("createPercent + cancelPercent must not exceed 100");
+            }
+            return options;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d threads, %d restaurants, pool %d, statement %d us, key generation %d us, email %d ms, "
+                            + "hot share %.2f, mix create/cancel/check %d/%d/%d",
+                    threads, restaurants, poolSize, statementMicros, keyGenerationMicros, emailMillis,
+                    hotShare, createPercent, cancelPercent, 100 - createPercent - cancelPercent);
+        }
+    }
+
+    private final Options options;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry latencies = new SimpleMeterRegistry();
+    private final Map<Endpoint, Map<Integer, LongAdder>> outcomes = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, LongAdder[]> stageNanos = new EnumMap<>(Endpoint.class);
+    private SimulatedDatabase database;
+    private BenchmarkServices services;
+    private MockMvc mockMvc;
+    private volatile boolean running;
+    private Map<String, Integer> outboxAtEnd = Collections.emptyMap();
+
+    BookingLoadGenerator(Options options) {
+        this.options = options;
+        for (Endpoint endpoint : Endpoint.values()) {
+            outcomes.put(endpoint, new ConcurrentHashMap<>());
+            LongAdder[] adders = new LongAdder[Stage.values().length];
+            for (int i = 0; i < adders.length; i++) {
+                adders[i] = new LongAdder();
+            }
+            stageNanos.put(endpoint, adders);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        System.out.println("Booking write path load: " + options);
+
+        // Warm up on a separate instance so that the measured run starts from an empty database and clean counters
+        new BookingLoadGenerator(options).run(options.warmupSeconds);
+        BookingLoadGenerator measured = new BookingLoadGenerator(options);
+        long elapsedNanos = measured.run(options.durationSeconds);
+        measured.report(elapsedNanos);
+    }
+
+    long run(int seconds) throws Exception {
+        SyntheticDataset dataset = new SyntheticDataset(options.restaurants, 42);
+        database = new SimulatedDatabase(options.poolSize, options.statementMicros, options.keyGenerationMicros);
+        services = new BenchmarkServices(dataset, database, new SimulatedEmailService(options.emailMillis));
+        mockMvc = MockMvcBuilders.standaloneSetup(new BookingController(services.getBookingService()))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .setCustomArgumentResolvers(new HeaderJwtArgumentResolver())
+                .build();
+
+        ExecutorService workers = Executors.newFixedThreadPool(options.threads);
+        List<Future<?>> futures = new ArrayList<>();
+        running = true;
+        long start = System.nanoTime();
+        for (int i = 0; i < options.threads; i++) {
+            long seed = i;
+            futures.add(workers.submit(() -> {
+                work(new Random(seed));
+                return null;
+            }));
+        }
+        TimeUnit.SECONDS.sleep(seconds);
+        running = false;
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        workers.shutdown();
+        outboxAtEnd = services.getOutboxRepository().countByStatus();
+        services.getEmailOutbox().shutdown();
+        return elapsedNanos;
+    }
+
+    private void work(Random random) throws Exception {
+        Deque<Integer> ownBookings = new ArrayDeque<>();
+        while (running) {
+            String customerId = "customer-" + random.nextInt(options.customers);
+            int pick = random.nextInt(100);
+            if (pick < options.createPercent) {
+                JsonNode booking = call(Endpoint.CREATE, post("/api/booking/create")
+                        .header(CUSTOMER_HEADER, customerId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(bookingRequest(random)));
+                if (booking != null && booking.path("data").path("booking").has("id")) {
+                    ownBookings.add(booking.path("data").path("booking").path("id").asInt());
+                }
+            } else if (pick < options.createPercent + options.cancelPercent && !ownBookings.isEmpty()) {
+                call(Endpoint.CANCEL, delete("/api/booking/cancel/" + ownBookings.poll())
+                        .header(CUSTOMER_HEADER, customerId));
+            } else {
+                call(Endpoint.CHECK_CONFLICTS, get("/api/booking/check-conflicts")
+                        .header(CUSTOMER_HEADER, customerId)
+                        .param("bookingDate", FIRST_DATE.plusDays(random.nextInt(DAYS)).toString())
+                        .param("bookingTime", randomSlot(random).toString()));
+            }
+        }
+    }
+
+    private JsonNode call(Endpoint endpoint, RequestBuilder request) throws Exception {
+        StageTimes.drain();
+        long start = System.nanoTime();
+        MockHttpServletResponse response = mockMvc.perform(request).andReturn().getResponse();
+        long nanos = System.nanoTime() - start;
+
+        Timer.builder("booking.load.latency")
+                .tag("endpoint", endpoint.path)
+                .publishPercentiles(PERCENTILES)
+                .register(latencies)
+                .record(nanos, TimeUnit.NANOSECONDS);
+        outcomes.get(endpoint).computeIfAbsent(response.getStatus(), k -> new LongAdder()).increment();
+        long[] stages = StageTimes.drain();
+        for (int i = 0; i < stages.length; i++) {
+            stageNanos.get(endpoint)[i].add(stages[i]);
+        }
+        return response.getStatus() == 200 ? objectMapper.readTree(response.getContentAsByteArray()) : null;
+    }
+
+    private String bookingRequest(Random random) throws Exception {
+        boolean hot = random.nextDouble() < options.hotShare;
+        int restaurantId = hot ? HOT_RESTAURANT_ID : 1 + random.nextInt(options.restaurants);
+        Map<String, Object> request = new LinkedHashMap<>();
+        request.put("restaurantId", restaurantId);
+        request.put("restaurantName", "Restaurant " + restaurantId);
+        request.put("bookingDate", (hot ? FIRST_DATE : FIRST_DATE.plusDays(random.nextInt(DAYS))).toString());
+        request.put("bookingTime", (hot ? HOT_SLOT : randomSlot(random)).toString());
+        request.put("partySize", 1 + random.nextInt(6));
+        request.put("email", "diner@example.com");
+        return objectMapper.writeValueAsString(request);
+    }
+
+    private static LocalTime randomSlot(Random random) {
+        return SyntheticDataset.SLOTS.get(random.nextInt(SyntheticDataset.SLOTS.size()));
+    }
+
+    private void report(long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        System.out.printf("%nMeasured %.1f s%n", seconds);
+        System.out.printf("%-16s %9s %9s %8s %8s %8s %8s %8s  %s%n",
+                "endpoint", "requests", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "status counts");
+        for (Endpoint endpoint : Endpoint.values()) {
+            Timer timer = latencies.find("booking.load.latency").tag("endpoint", endpoint.path).timer();
+            if (timer == null) {
+                continue;
+            }
+            ValueAtPercentile[] percentiles = timer.takeSnapshot().percentileValues();
+            System.out.printf("%-16s %9d %9.1f %8.2f %8.2f %8.2f %8.2f %8.2f  %s%n",
+                    endpoint.path, timer.count(), timer.count() / seconds,
+                    percentiles[0].value(TimeUnit.MILLISECONDS), percentiles[1].value(TimeUnit.MILLISECONDS),
+                    percentiles[2].value(TimeUnit.MILLISECONDS), percentiles[3].value(TimeUnit.MILLISECONDS),
+                    timer.max(TimeUnit.MILLISECONDS), new TreeMap<>(outcomes.get(endpoint)));
+        }
+
+        long bookings = outcomes.get(Endpoint.CREATE).getOrDefault(200, new LongAdder()).sum();
+        long slotFull = outcomes.get(Endpoint.CREATE).getOrDefault(409, new LongAdder()).sum();
+        System.out.printf("%nSustained bookings/s: %.1f (%d rejected with 409, no table left)%n", bookings / seconds, slotFull);
+
+        Timer creates = latencies.find("booking.load.latency").tag("endpoint", Endpoint.CREATE.path).timer();
+        if (creates != null && creates.count() > 0) {
+            double meanCreateNanos = creates.totalTime(TimeUnit.NANOSECONDS) / creates.count();
+            System.out.printf("%nMean create %.2f ms:%n", meanCreateNanos / 1e6);
+            double accounted = 0;
+            String bottleneck = "slot locking and request handling";
+            double bottleneckNanos = 0;
+            for (Stage stage : Stage.values()) {
+                double nanos = stageNanos.get(Endpoint.CREATE)[stage.ordinal()].sum() / (double) creates.count();
+                accounted += nanos;
+                printShare(stage.getLabel(), nanos, meanCreateNanos);
+                if (stage != Stage.STATEMENT && nanos > bottleneckNanos) {
+                    bottleneck = stage.getLabel();
+                    bottleneckNanos = nanos;
+                }
+            }
+            double rest = Math.max(0, meanCreateNanos - accounted);
+            printShare("slot locking and request handling", rest, meanCreateNanos);
+            if (rest > bottleneckNanos) {
+                bottleneck = "slot locking and request handling";
+            }
+            System.out.printf("Largest wait in create: %s%n", bottleneck);
+        }
+
+        System.out.printf("Email outbox at the end of the run: %s%n", new TreeMap<>(outboxAtEnd));
+
+        if (database.getPoolSize() > 0) {
+            double utilisation = database.getConnectionBusyNanos() / (elapsedNanos * (double) database.getPoolSize());
+            System.out.printf("JDBC pool utilisation: %.0f%% of %d connections%s%n", utilisation * 100,
+                    database.getPoolSize(), utilisation > 0.9 ? " (saturated)" : "");
+        }
+    }
+
+    private static void printShare(String label, double nanos, double totalNanos) {
+        System.out.printf("  %-36s %8.2f ms %5.1f%%%n", label, nanos / 1e6, 100 * nanos / totalNanos);
+    }
+
+    /**
+     * Stands in for the resource server: the JWT principal of a request is a token whose subject is the
+     * customer id header. Security filters and @RequiresRole are not applied in a standalone MockMvc setup.
+     */
+    private static final class HeaderJwtArgumentResolver implements HandlerMethodArgumentResolver {
+
+        @Override
+        public boolean supportsParameter(MethodParameter parameter) {
+            return Jwt.class.equals(parameter.getParameterType());
+        }
+
+        @Override
+        public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                      NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+            return Jwt.withTokenValue("load")
+                    .header("alg", "none")
+                    .subject(webRequest.getHeader(CUSTOMER_HEADER))
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.sjsu.booktable.benchmark;
+
+import com.sjsu.booktable.model.entity.Booking;
+import com.sjsu.booktable.service.email.EmailTemplateRenderer;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.ReflectionUtils;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.lang.reflect.Field;
+import java.sql.Date;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.Year;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CPU time and, with the gc profiler (gc.alloc.rate.norm), bytes allocated per rendered booking email.
+ * {@code perEmailSetup} renders the way EmailServiceImpl used to: new formatters, a new context and a new
+ * output string writer for every email. {@code templateRenderer} uses {@link EmailTemplateRenderer}.
+ * Both run on a template engine with the template cache enabled, as in production.
+ * Run with {@code ./gradlew jmh -Pjmh.includes=EmailRenderingBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmailRenderingBenchmark {
+
+    private static final String APP_NAME = "BookTable";
+    private static final String APP_BASE_URL = "https://booktable.example.com";
+
+    private TemplateEngine templateEngine;
+    private EmailTemplateRenderer renderer;
+    private Booking booking;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding("UTF-8");
+        resolver.setCacheable(true);
+        SpringTemplateEngine engine = new SpringTemplateEngine();
+        engine.setTemplateResolver(resolver);
+        templateEngine = engine;
+
+        renderer = new EmailTemplateRenderer(templateEngine);
+        setField(renderer, "appName", APP_NAME);
+        setField(renderer, "appBaseUrl", APP_BASE_URL);
+        renderer.precompile();
+
+        booking = Booking.builder()
+                .id(12345)
+                .restaurantName("Golden Dragon")
+                .bookingDate(Date.valueOf(LocalDate.of(2025, 6, 14)))
+                .bookingTime(Time.valueOf(LocalTime.of(19, 30)))
+                .partySize(4)
+                .email("diner@example.com")
+                .build();
+    }
+
+    @Benchmark
+    public String perEmailSetup() {
+        String formattedDate = booking.getBookingDate().toLocalDate().format(DateTimeFormatter.ofPattern("EEEE, MMMM d, yyyy"));
+        String formattedTime = booking.getBookingTime().toLocalTime().format(DateTimeFormatter.ofPattern("h:mm a"));
+
+        Context context = new Context();
+        context.setVariable("booking", booking);
+        context.setVariable("formattedDate", formattedDate);
+        context.setVariable("formattedTime", formattedTime);
+        context.setVariable("appName", APP_NAME);
+        context.setVariable("appBaseUrl", APP_BASE_URL);
+        context.setVariable("bookingId", booking.getId());
+        context.setVariable("restaurantName", booking.getRestaurantName());
+        context.setVariable("currentYear", Year.now().getValue());
+        return templateEngine.process("booking-confirmation", context);
+    }
+
+    @Benchmark
+    public String templateRenderer() {
+        return renderer.renderBookingConfirmation(booking);
+    }
+
+    private static void setField(Object target, String name, Object value) {
+        Field field = ReflectionUtils.findField(target.getClass(), name);
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+    }
+}
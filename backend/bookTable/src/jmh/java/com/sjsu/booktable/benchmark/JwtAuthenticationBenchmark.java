@@ -0,0 +1,113 @@
+package com.sjsu.booktable.benchmark;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import com.sjsu.booktable.config.SecurityConfig;
+import com.sjsu.booktable.security.CachingJwkSource;
+import com.sjsu.booktable.security.CachingJwtAuthenticationManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthenticationToken;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationProvider;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of authenticating the bearer token of a request to an authenticated endpoint.
+ * {@code perRequestVerification} is what the resource server did before: JwtAuthenticationProvider decoding
+ * the token, checking its RS256 signature and claims, and converting it for every request.
+ * {@code cachedAuthentication} goes through {@link CachingJwtAuthenticationManager}, which does that once per
+ * distinct token. Both use the same key set, kept in memory by {@link CachingJwkSource}, so the difference is
+ * the signature verification alone; the old key set lookup per unknown kid over the network is not measured.
+ * Run with {@code ./gradlew jmh -Pjmh.includes=JwtAuthenticationBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationBenchmark {
+
+    private static final String ISSUER = "https://cognito-idp.us-west-2.amazonaws.com/us-west-2_benchmark";
+
+    @Param({"10", "1000"})
+    public int distinctTokens;
+
+    private String[] tokens;
+    private JwtAuthenticationProvider perRequestProvider;
+    private CachingJwtAuthenticationManager cachingManager;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        RSAKey signingKey = new RSAKeyGenerator(2048).keyID("benchmark").generate();
+        RSASSASigner signer = new RSASSASigner(signingKey);
+        tokens = new String[distinctTokens];
+        for (int i = 0; i < distinctTokens; i++) {
+            SignedJWT jwt = new SignedJWT(
+                    new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(signingKey.getKeyID()).build(),
+                    new JWTClaimsSet.Builder()
+                            .issuer(ISSUER)
+                            .subject("diner" + i)
+                            .claim("cognito:groups", List.of("Customer"))
+                            .issueTime(new Date())
+                            .expirationTime(Date.from(Instant.now().plus(Duration.ofHours(1))))
+                            .build());
+            jwt.sign(signer);
+            tokens[i] = jwt.serialize();
+        }
+
+        JWKSet jwkSet = new JWKSet(signingKey.toPublicJWK());
+        CachingJwkSource jwkSource = new CachingJwkSource(() -> jwkSet, Duration.ofMinutes(1));
+        DefaultJWTProcessor<SecurityContext> jwtProcessor = new DefaultJWTProcessor<>();
+        jwtProcessor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.RS256, jwkSource));
+        jwtProcessor.setJWTClaimsSetVerifier((claims, context) -> { });
+        NimbusJwtDecoder jwtDecoder = new NimbusJwtDecoder(jwtProcessor);
+        jwtDecoder.setJwtValidator(JwtValidators.createDefaultWithIssuer(ISSUER));
+
+        JwtAuthenticationConverter authenticationConverter = new SecurityConfig().jwtAuthenticationConverter();
+        perRequestProvider = new JwtAuthenticationProvider(jwtDecoder);
+        perRequestProvider.setJwtAuthenticationConverter(authenticationConverter);
+        cachingManager = new CachingJwtAuthenticationManager(jwtDecoder, authenticationConverter,
+                10_000, new SimpleMeterRegistry());
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        private int next;
+
+        String nextToken(String[] tokens) {
+            String token = tokens[next];
+            next = next + 1 == tokens.length ? 0 : next + 1;
+            return token;
+        }
+    }
+
+    @Benchmark
+    public Authentication perRequestVerification(Cursor cursor) {
+        return perRequestProvider.authenticate(new BearerTokenAuthenticationToken(cursor.nextToken(tokens)));
+    }
+
+    @Benchmark
+    public Authentication cachedAuthentication(Cursor cursor) {
+        return cachingManager.authenticate(new BearerTokenAuthenticationToken(cursor.nextToken(tokens)));
+    }
+}
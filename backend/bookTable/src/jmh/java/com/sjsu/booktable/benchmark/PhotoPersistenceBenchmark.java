@@ -0,0 +1,108 @@
+package com.sjsu.booktable.benchmark;
+
+import com.sjsu.booktable.benchmark.support.SimulatedDatabase;
+import com.sjsu.booktable.benchmark.support.SimulatedJdbcDataSource;
+import com.sjsu.booktable.model.entity.Photo;
+import com.sjsu.booktable.repository.PhotosRepositoryImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Photo rows written by a restaurant create and update: {@link PhotosRepositoryImpl} on a JdbcTemplate over a
+ * {@link SimulatedJdbcDataSource}, so only statement round trips cost time. {@code create*} inserts every
+ * photo, {@code update*} replaces half of them with one DELETE followed by the inserts. The {@code OneByOne}
+ * variants insert a photo per statement as the services used to, the {@code Batched} ones send a single JDBC
+ * batch, which is one round trip only when the driver rewrites batched statements. Per row work on the server
+ * is not simulated, it is small next to a round trip for rows this narrow.
+ * Run with {@code ./gradlew jmh -Pjmh.includes=PhotoPersistenceBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PhotoPersistenceBenchmark {
+
+    private static final int RESTAURANT_ID = 1;
+
+    @Param({"5", "50"})
+    public int photos;
+
+    @Param({"true", "false"})
+    public boolean rewriteBatchedStatements;
+
+    // Same-zone MySQL round trip
+    @Param({"250"})
+    public long statementMicros;
+
+    private PhotosRepositoryImpl photosRepository;
+    private List<Photo> createdPhotos;
+    private List<String> removedUrls;
+    private List<Photo> addedPhotos;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SimulatedDatabase database = new SimulatedDatabase(0, statementMicros, 0);
+        photosRepository = new PhotosRepositoryImpl();
+        Field field = ReflectionUtils.findField(PhotosRepositoryImpl.class, "jdbcTemplate");
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, photosRepository,
+                new JdbcTemplate(new SimulatedJdbcDataSource(database, rewriteBatchedStatements)));
+
+        createdPhotos = photos("created", photos);
+        removedUrls = createdPhotos.subList(0, photos / 2).stream().map(Photo::getS3URL).toList();
+        addedPhotos = photos("added", photos / 2);
+    }
+
+    @Benchmark
+    public int createOneByOne() {
+        int inserted = 0;
+        for (Photo photo : createdPhotos) {
+            inserted += photosRepository.insertPhoto(photo);
+        }
+        return inserted;
+    }
+
+    @Benchmark
+    public void createBatched() {
+        photosRepository.batchInsertPhotos(createdPhotos);
+    }
+
+    @Benchmark
+    public int updateOneByOne() {
+        photosRepository.deleteByRestaurantIdAndS3Url(RESTAURANT_ID, removedUrls);
+        int inserted = 0;
+        for (Photo photo : addedPhotos) {
+            inserted += photosRepository.insertPhoto(photo);
+        }
+        return inserted;
+    }
+
+    @Benchmark
+    public void updateBatched() {
+        photosRepository.deleteByRestaurantIdAndS3Url(RESTAURANT_ID, removedUrls);
+        photosRepository.batchInsertPhotos(addedPhotos);
+    }
+
+    private static List<Photo> photos(String name, int count) {
+        Timestamp uploadedAt = new Timestamp(System.currentTimeMillis());
+        List<Photo> photos = new ArrayList<>(count);
+        for (int index = 0; index < count; index++) {
+            photos.add(Photo.builder()
+                    .restaurantId(RESTAURANT_ID)
+                    .s3URL("restaurants/additional/" + name + "-" + index + ".jpg")
+                    .description("Additional photo")
+                    .uploadedAt(uploadedAt)
+                    .build());
+        }
+        return photos;
+    }
+}
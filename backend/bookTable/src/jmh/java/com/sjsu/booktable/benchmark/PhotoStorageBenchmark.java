@@ -0,0 +1,118 @@
+package com.sjsu.booktable.benchmark;
+
+import com.sjsu.booktable.controller.LocalObjectStoreController;
+import com.sjsu.booktable.service.s3.LocalObjectStore;
+import com.sjsu.booktable.service.s3.S3Service;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * Photo upload and serving end to end without AWS: S3Service on a {@link LocalObjectStore} in a temporary
+ * directory, with the presigned requests going through {@link LocalObjectStoreController} in MockMvc.
+ * {@code uploadPhoto} presigns a PUT and uploads a photo, {@code servePhoto} fetches one photo through its
+ * presigned GET URL and {@code serveResultsPage} presigns and fetches the photos of a search results page.
+ * MockMvc buffers responses in memory, so transferTo copies here where a servlet container socket would not.
+ * Run with {@code ./gradlew jmh -Pjmh.includes=PhotoStorageBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PhotoStorageBenchmark {
+
+    private static final int PAGE_PHOTOS = 50;
+    private static final int EXPIRATION_MINUTES = 60;
+
+    @Param({"200000"})
+    public int photoBytes;
+
+    private Path root;
+    private S3Service s3Service;
+    private MockMvc mockMvc;
+    private byte[] photo;
+    private List<String> pageKeys;
+    private long nextUpload;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        root = Files.createTempDirectory("booktable-photo-benchmark");
+        LocalObjectStore objectStore = new LocalObjectStore(root, "http://localhost:8080",
+                "benchmark-secret".getBytes(StandardCharsets.UTF_8));
+        s3Service = new S3Service(objectStore, new SimpleMeterRegistry());
+        setField("presignConcurrency", 4);
+        setField("presignCacheMaxSize", 20_000L);
+        s3Service.init();
+        mockMvc = MockMvcBuilders.standaloneSetup(new LocalObjectStoreController(objectStore)).build();
+
+        photo = new byte[photoBytes];
+        new Random(42).nextBytes(photo);
+        pageKeys = new ArrayList<>(PAGE_PHOTOS);
+        for (int i = 0; i < PAGE_PHOTOS; i++) {
+            String key = "restaurants/" + i + "/main.jpg";
+            Path object = root.resolve(key);
+            Files.createDirectories(object.getParent());
+            Files.write(object, photo);
+            pageKeys.add(key);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        s3Service.shutdown();
+        FileSystemUtils.deleteRecursively(root);
+    }
+
+    @Benchmark
+    public int uploadPhoto() throws Exception {
+        URL url = s3Service.generatePresignedUrl("uploads", "photo-" + (nextUpload++ % 1000) + ".jpg", EXPIRATION_MINUTES);
+        return mockMvc.perform(put(url.toURI()).content(photo)).andReturn().getResponse().getStatus();
+    }
+
+    @Benchmark
+    public int servePhoto() throws Exception {
+        URL url = s3Service.generatePresignedGetUrl(pageKeys.get(0), EXPIRATION_MINUTES);
+        return fetch(url).getContentAsByteArray().length;
+    }
+
+    @Benchmark
+    public long serveResultsPage() throws Exception {
+        Map<String, URL> urls = s3Service.generatePresignedGetUrls(pageKeys, EXPIRATION_MINUTES);
+        long bytes = 0;
+        for (URL url : urls.values()) {
+            bytes += fetch(url).getContentAsByteArray().length;
+        }
+        return bytes;
+    }
+
+    private MockHttpServletResponse fetch(URL url) throws Exception {
+        return mockMvc.perform(get(url.toURI())).andReturn().getResponse();
+    }
+
+    private void setField(String name, Object value) {
+        Field field = ReflectionUtils.findField(S3Service.class, name);
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, s3Service, value);
+    }
+}
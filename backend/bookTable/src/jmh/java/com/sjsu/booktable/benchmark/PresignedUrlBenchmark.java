@@ -0,0 +1,113 @@
+package com.sjsu.booktable.benchmark;
+
+import com.amazonaws.HttpMethod;
+import com.amazonaws.auth.AWSStaticCredentialsProvider;
+import com.amazonaws.auth.BasicAWSCredentials;
+import com.amazonaws.regions.Regions;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.AmazonS3ClientBuilder;
+import com.amazonaws.services.s3.model.GeneratePresignedUrlRequest;
+import com.sjsu.booktable.controller.S3Controller;
+import com.sjsu.booktable.service.s3.S3ObjectStore;
+import com.sjsu.booktable.service.s3.S3Service;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Latency of the presigned URL batch endpoint for the 50 photo keys of a search results page. Signing runs
+ * locally against a real S3 client, it needs no network.
+ * {@code sequentialSigning} signs the way S3Controller used to, one key after the other. The per-URL INFO log
+ * it also wrote is left out, so the old cost is understated.
+ * {@code batchColdCache} goes through the batch endpoint with keys it has not seen, signing in parallel.
+ * {@code batchWarmCache} repeats the same page, every URL comes from the signing cache.
+ * Run with {@code ./gradlew jmh -Pjmh.includes=PresignedUrlBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PresignedUrlBenchmark {
+
+    private static final String BUCKET = "booktable-benchmark";
+    private static final int EXPIRATION_MINUTES = 60;
+
+    @Param({"50"})
+    public int keyCount;
+
+    private AmazonS3 s3Client;
+    private S3Service s3Service;
+    private S3Controller s3Controller;
+    private List<String> pageKeys;
+    private long nextPage;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        s3Client = AmazonS3ClientBuilder.standard()
+                .withCredentials(new AWSStaticCredentialsProvider(new BasicAWSCredentials("AKIABENCHMARK", "benchmark-secret")))
+                .withRegion(Regions.US_WEST_2)
+                .build();
+        s3Service = new S3Service(new S3ObjectStore(s3Client, BUCKET), new SimpleMeterRegistry());
+        setField("presignConcurrency", 4);
+        setField("presignCacheMaxSize", 20_000L);
+        s3Service.init();
+        s3Controller = new S3Controller(s3Service);
+        pageKeys = keysOfPage(0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        s3Service.shutdown();
+        s3Client.shutdown();
+    }
+
+    @Benchmark
+    public Map<String, URL> sequentialSigning() {
+        return keysOfPage(++nextPage).stream()
+                .distinct()
+                .collect(Collectors.toMap(key -> key, this::signGet));
+    }
+
+    @Benchmark
+    public ResponseEntity batchColdCache() {
+        return s3Controller.getBatchPresignedUrls(keysOfPage(++nextPage), EXPIRATION_MINUTES);
+    }
+
+    @Benchmark
+    public ResponseEntity batchWarmCache() {
+        return s3Controller.getBatchPresignedUrls(pageKeys, EXPIRATION_MINUTES);
+    }
+
+    private URL signGet(String key) {
+        Date expiration = new Date(System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(EXPIRATION_MINUTES));
+        return s3Client.generatePresignedUrl(new GeneratePresignedUrlRequest(BUCKET, key)
+                .withMethod(HttpMethod.GET)
+                .withExpiration(expiration));
+    }
+
+    private List<String> keysOfPage(long page) {
+        List<String> keys = new ArrayList<>(keyCount);
+        for (int i = 0; i < keyCount; i++) {
+            keys.add("restaurants/" + page + "/photo-" + i + ".jpg");
+        }
+        return keys;
+    }
+
+    private void setField(String name, Object value) {
+        Field field = ReflectionUtils.findField(S3Service.class, name);
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, s3Service, value);
+    }
+}
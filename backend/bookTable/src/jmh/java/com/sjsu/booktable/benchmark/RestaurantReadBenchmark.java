@@ -0,0 +1,98 @@
+package com.sjsu.booktable.benchmark;
+
+import com.sjsu.booktable.benchmark.support.BenchmarkServices;
+import com.sjsu.booktable.benchmark.support.SyntheticDataset;
+import com.sjsu.booktable.model.dto.restaurant.RestaurantDetailsResponse;
+import com.sjsu.booktable.model.dto.restaurantSearch.NearbyRestaurantRequest;
+import com.sjsu.booktable.model.dto.restaurantSearch.RestaurantSearchRequest;
+import com.sjsu.booktable.model.dto.restaurantSearch.RestaurantSearchResponse;
+import com.sjsu.booktable.service.restaurant.RestaurantService;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput and latency distribution of the restaurant read paths (search, nearby and details) at
+ * several dataset sizes. Every invocation picks the next of a fixed, seeded list of requests so that
+ * runs are comparable.
+ * Run with {@code ./gradlew jmh}; add {@code -Pjmh.includes=RestaurantReadBenchmark} to run only these.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RestaurantReadBenchmark {
+
+    private static final int REQUEST_COUNT = 1024;
+    private static final String[] SEARCH_TEXTS = {"", "", "pizza", "italian", "sushi ramen", "golden dragon",
+            "taco", "vegan brunch", "thai", "grill"};
+    private static final LocalDate SEARCH_DATE = LocalDate.of(2025, 6, 14);
+
+    @Param({"1000", "10000", "100000"})
+    private int restaurantCount;
+
+    private RestaurantService restaurantService;
+    private RestaurantSearchRequest[] searchRequests;
+    private NearbyRestaurantRequest[] nearbyRequests;
+    private int[] restaurantIds;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SyntheticDataset dataset = new SyntheticDataset(restaurantCount, 42);
+        BenchmarkServices services = BenchmarkServices.readOnly(dataset);
+        services.warmIndexes();
+        restaurantService = services.getRestaurantService();
+
+        Random random = new Random(7);
+        searchRequests = new RestaurantSearchRequest[REQUEST_COUNT];
+        nearbyRequests = new NearbyRestaurantRequest[REQUEST_COUNT];
+        restaurantIds = new int[REQUEST_COUNT];
+        for (int i = 0; i < REQUEST_COUNT; i++) {
+            double longitude = SyntheticDataset.CENTER_LONGITUDE + (random.nextDouble() - 0.5) * SyntheticDataset.SPREAD_DEGREES;
+            double latitude = SyntheticDataset.CENTER_LATITUDE + (random.nextDouble() - 0.5) * SyntheticDataset.SPREAD_DEGREES;
+
+            RestaurantSearchRequest search = new RestaurantSearchRequest();
+            search.setLongitude(longitude);
+            search.setLatitude(latitude);
+            search.setDate(SEARCH_DATE);
+            search.setTime(SyntheticDataset.SLOTS.get(random.nextInt(SyntheticDataset.SLOTS.size())).plusMinutes(15));
+            search.setPartySize(1 + random.nextInt(6));
+            search.setSearchText(SEARCH_TEXTS[random.nextInt(SEARCH_TEXTS.length)]);
+            searchRequests[i] = search;
+
+            NearbyRestaurantRequest nearby = new NearbyRestaurantRequest();
+            nearby.setLongitude(longitude);
+            nearby.setLatitude(latitude);
+            nearby.setRadius(5 + random.nextInt(11));
+            nearbyRequests[i] = nearby;
+
+            restaurantIds[i] = 1 + random.nextInt(restaurantCount);
+        }
+    }
+
+    @Benchmark
+    public RestaurantSearchResponse searchRestaurants() {
+        return restaurantService.searchRestaurants(searchRequests[nextIndex()]);
+    }
+
+    @Benchmark
+    public RestaurantSearchResponse getNearbyRestaurants() {
+        return restaurantService.getNearbyRestaurants(nearbyRequests[nextIndex()]);
+    }
+
+    @Benchmark
+    public RestaurantDetailsResponse fetchRestaurantDetails() {
+        return restaurantService.fetchRestaurantDetails(restaurantIds[nextIndex()], null);
+    }
+
+    private int nextIndex() {
+        // Racy on purpose with several threads: any spread over the requests will do
+        next = (next + 1) & (REQUEST_COUNT - 1);
+        return next;
+    }
+}
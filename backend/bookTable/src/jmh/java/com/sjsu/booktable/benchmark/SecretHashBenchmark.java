@@ -0,0 +1,78 @@
+package com.sjsu.booktable.benchmark;
+
+import com.sjsu.booktable.service.auth.SecretHashCalculator;
+import org.openjdk.jmh.annotations.*;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the Cognito SECRET_HASH sent with every OTP send and verify.
+ * {@code perCallMac} computes it the way BaseOTPStrategy used to: provider lookup, key spec and Mac
+ * initialisation for every hash. {@code preKeyedMac} reuses the thread's keyed Mac of
+ * {@link SecretHashCalculator} and {@code memoized} also goes through its memo of recent usernames.
+ * With 100 distinct usernames every memoized call is a hit; with 100000 most of them miss the memo.
+ * Run with {@code ./gradlew jmh -Pjmh.includes=SecretHashBenchmark}, add {@code -t 4} through the JMH
+ * arguments to see contention on the shared calculator.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SecretHashBenchmark {
+
+    private static final String CLIENT_ID = "4f1k2d3j5h6g7f8d9s0a1q2w3e";
+    private static final String CLIENT_SECRET = "1a2b3c4d5e6f7g8h9i0j1k2l3m4n5o6p7q8r9s0t1u2v3w4x5y6z";
+
+    @Param({"100", "100000"})
+    public int distinctUsernames;
+
+    private String[] usernames;
+    private SecretHashCalculator calculator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        usernames = new String[distinctUsernames];
+        for (int i = 0; i < distinctUsernames; i++) {
+            usernames[i] = "diner" + i + "@example.com";
+        }
+        calculator = new SecretHashCalculator(CLIENT_ID, CLIENT_SECRET);
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        private int next;
+
+        String nextUsername(String[] usernames) {
+            String username = usernames[next];
+            next = next + 1 == usernames.length ? 0 : next + 1;
+            return username;
+        }
+    }
+
+    @Benchmark
+    public String perCallMac(Cursor cursor) throws Exception {
+        String data = cursor.nextUsername(usernames) + CLIENT_ID;
+        SecretKeySpec signingKey = new SecretKeySpec(CLIENT_SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(signingKey);
+        byte[] rawHmac = mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().encodeToString(rawHmac);
+    }
+
+    @Benchmark
+    public String preKeyedMac(Cursor cursor) {
+        return calculator.compute(cursor.nextUsername(usernames));
+    }
+
+    @Benchmark
+    public String memoized(Cursor cursor) {
+        return calculator.calculate(cursor.nextUsername(usernames));
+    }
+}
@@ -0,0 +1,131 @@
+package com.sjsu.booktable.benchmark.support;
+
+import com.sjsu.booktable.service.booking.BookingService;
+import com.sjsu.booktable.service.booking.BookingServiceImpl;
+import com.sjsu.booktable.service.booking.TableOccupancyLedger;
+import com.sjsu.booktable.service.email.EmailOutbox;
+import com.sjsu.booktable.service.email.EmailService;
+import com.sjsu.booktable.service.restaurant.*;
+import com.sjsu.booktable.service.review.ReviewServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+
+/**
+ * Wires the production services the way Spring would, on top of in-memory repositories. The values of
+ * the {@code @Value} fields are the defaults from application.properties. Services that call out to
+ * Google Maps, S3 or the validator, and the photo derivative pipeline, are left null; the benchmarked read
+ * paths never reach them.
+ */
+public final class BenchmarkServices {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RestaurantGeoIndex geoIndex;
+    private final RestaurantTextIndex textIndex;
+    private final RestaurantDetailsCache detailsCache;
+    private final InMemoryEmailOutboxRepository outboxRepository;
+    private final EmailOutbox emailOutbox;
+    private final BookingService bookingService;
+    private final RestaurantService restaurantService;
+
+    public BenchmarkServices(SyntheticDataset dataset, SimulatedDatabase database, EmailService emailService) {
+        InMemoryBookingRepository bookingRepository = new InMemoryBookingRepository(dataset, database);
+        InMemoryRestaurantRepository restaurantRepository = new InMemoryRestaurantRepository(dataset);
+        InMemoryScheduleRepositories.Hours hoursRepository = new InMemoryScheduleRepositories.Hours(dataset);
+        InMemoryScheduleRepositories.TimeSlots timeSlotRepository = new InMemoryScheduleRepositories.TimeSlots(dataset);
+        InMemoryScheduleRepositories.Tables tableRepository = new InMemoryScheduleRepositories.Tables(dataset);
+
+        RestaurantScheduleCache scheduleCache = new RestaurantScheduleCache(hoursRepository, timeSlotRepository, tableRepository, meterRegistry);
+        setField(scheduleCache, "maxSize", 10000L);
+        scheduleCache.init();
+
+        TableOccupancyLedger ledger = new TableOccupancyLedger(bookingRepository, scheduleCache, meterRegistry);
+        setField(ledger, "maxDays", 50000L);
+        setField(ledger, "expireAfterAccessMinutes", 60L);
+        ledger.init();
+
+        detailsCache = new RestaurantDetailsCache(meterRegistry);
+        setField(detailsCache, "maxSize", 5000L);
+        setField(detailsCache, "bookingCountTtlSeconds", 30L);
+        detailsCache.init();
+
+        geoIndex = new RestaurantGeoIndex(restaurantRepository);
+        textIndex = new RestaurantTextIndex(restaurantRepository);
+        outboxRepository = new InMemoryEmailOutboxRepository(database);
+        emailOutbox = new EmailOutbox(outboxRepository, bookingRepository, emailService, meterRegistry);
+        setField(emailOutbox, "workers", 4);
+        setField(emailOutbox, "queueCapacity", 1000);
+        setField(emailOutbox, "maxAttempts", 8);
+        setField(emailOutbox, "initialBackoffMs", 2000L);
+        setField(emailOutbox, "maxBackoffMs", 600000L);
+        setField(emailOutbox, "leaseMs", 120000L);
+        setField(emailOutbox, "pollBatchSize", 100);
+        emailOutbox.init();
+
+        bookingService = new BookingServiceImpl(bookingRepository, emailOutbox, ledger);
+
+        restaurantService = new RestaurantServiceImpl(
+                restaurantRepository,
+                new TableServiceImpl(tableRepository, scheduleCache),
+                new PhotoServiceImpl(new InMemoryPhotosRepository(dataset)),
+                new TimeSlotServiceImpl(timeSlotRepository, scheduleCache),
+                new RestaurantHoursServiceImpl(hoursRepository, scheduleCache),
+                null,
+                bookingService,
+                null,
+                new ReviewServiceImpl(new InMemoryReviewRepository(dataset), restaurantRepository, detailsCache),
+                new AvailabilityServiceImpl(scheduleCache, bookingService),
+                null,
+                geoIndex,
+                textIndex,
+                detailsCache,
+                null);
+    }
+
+    /**
+     * Services over the synthetic, read-only bookings of the dataset. No email is ever sent.
+     */
+    public static BenchmarkServices readOnly(SyntheticDataset dataset) {
+        return new BenchmarkServices(dataset, SimulatedDatabase.free(), null);
+    }
+
+    /**
+     * Loads both search indexes so that the first measured call does not pay for it.
+     */
+    public void warmIndexes() {
+        geoIndex.rebuild();
+        textIndex.rebuild();
+    }
+
+    public MeterRegistry getMeterRegistry() {
+        return meterRegistry;
+    }
+
+    public RestaurantDetailsCache getDetailsCache() {
+        return detailsCache;
+    }
+
+    public InMemoryEmailOutboxRepository getOutboxRepository() {
+        return outboxRepository;
+    }
+
+    public EmailOutbox getEmailOutbox() {
+        return emailOutbox;
+    }
+
+    public BookingService getBookingService() {
+        return bookingService;
+    }
+
+    public RestaurantService getRestaurantService() {
+        return restaurantService;
+    }
+
+    private static void setField(Object target, String name, Object value) {
+        Field field = ReflectionUtils.findField(target.getClass(), name);
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+    }
+}
@@ -0,0 +1,216 @@
+package com.sjsu.booktable.benchmark.support;
+
+import com.sjsu.booktable.model.dto.booking.BookingRequestDTO;
+import com.sjsu.booktable.model.entity.Booking;
+import com.sjsu.booktable.model.enums.BookingStatus;
+import com.sjsu.booktable.repository.BookingRepository;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * {@link BookingRepository} serving the synthetic bookings of a {@link SyntheticDataset} plus the bookings
+ * written through it. Every call runs as one statement on the {@link SimulatedDatabase}.
+ */
+public class InMemoryBookingRepository implements BookingRepository {
+
+    private final SyntheticDataset dataset;
+    private final SimulatedDatabase database;
+
+    private final Map<Integer, Booking> bookings = new ConcurrentHashMap<>();
+    private final Map<DayKey, Queue<Integer>> bookingIdsByDay = new ConcurrentHashMap<>();
+    private final Map<String, Queue<Integer>> bookingIdsByCustomer = new ConcurrentHashMap<>();
+
+    public InMemoryBookingRepository(SyntheticDataset dataset) {
+        this(dataset, SimulatedDatabase.free());
+    }
+
+    public InMemoryBookingRepository(SyntheticDataset dataset, SimulatedDatabase database) {
+        this.dataset = dataset;
+        this.database = database;
+    }
+
+    @Override
+    public Map<Integer, Map<LocalTime, Map<Integer, Integer>>> getBookedPartiesForRestaurantsAndDate(List<Integer> restaurantIds, LocalDate reservationDate) {
+        return database.execute(() -> {
+            Map<Integer, Map<LocalTime, Map<Integer, Integer>>> parties = new HashMap<>();
+            for (Integer restaurantId : restaurantIds) {
+                if (dataset.exists(restaurantId)) {
+                    parties.put(restaurantId, bookedParties(restaurantId, reservationDate));
+                }
+            }
+            return parties;
+        });
+    }
+
+    @Override
+    public Map<Integer, Integer> getBookingCountsByRestaurantIds(List<Integer> restaurantIds, LocalDate date) {
+        return database.execute(() -> {
+            Map<Integer, Integer> counts = new HashMap<>();
+            for (Integer restaurantId : restaurantIds) {
+                if (!dataset.exists(restaurantId)) {
+                    continue;
+                }
+                int count = dataset.getBookingCount(restaurantId, date);
+                for (Booking booking : writtenBookings(restaurantId, date)) {
+                    if (BookingStatus.CONFIRMED.getStatus().equals(booking.getStatus())) {
+                        count++;
+                    }
+                }
+                counts.put(restaurantId, count);
+            }
+            return counts;
+        });
+    }
+
+    @Override
+    public int saveBooking(BookingRequestDTO bookingRequest) {
+        return database.insert(bookingId -> {
+            Timestamp now = new Timestamp(System.currentTimeMillis());
+            Booking booking = Booking.builder()
+                    .id(bookingId)
+                    .restaurantId(bookingRequest.getRestaurantId())
+                    .restaurantName(bookingRequest.getRestaurantName())
+                    .customerId(bookingRequest.getCustomerId())
+                    .bookingDate(Date.valueOf(bookingRequest.getBookingDate()))
+                    .bookingTime(Time.valueOf(bookingRequest.getBookingTime()))
+                    .partySize(bookingRequest.getPartySize())
+                    .status(BookingStatus.CONFIRMED.getStatus())
+                    .email(bookingRequest.getEmail())
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build();
+            bookings.put(bookingId, booking);
+            bookingIdsByDay.computeIfAbsent(new DayKey(booking.getRestaurantId(), bookingRequest.getBookingDate()),
+                    k -> new ConcurrentLinkedQueue<>()).add(bookingId);
+            bookingIdsByCustomer.computeIfAbsent(booking.getCustomerId(), k -> new ConcurrentLinkedQueue<>()).add(bookingId);
+            return bookingId;
+        });
+    }
+
+    @Override
+    public int cancelBookingById(int bookingId) {
+        return database.execute(() -> {
+            boolean[] updated = new boolean[1];
+            bookings.computeIfPresent(bookingId, (id, booking) -> {
+                if (BookingStatus.CANCELLED.getStatus().equals(booking.getStatus())) {
+                    return booking;
+                }
+                updated[0] = true;
+                Booking cancelled = copyOf(booking);
+                cancelled.setStatus(BookingStatus.CANCELLED.getStatus());
+                cancelled.setUpdatedAt(new Timestamp(System.currentTimeMillis()));
+                return cancelled;
+            });
+            return updated[0] ? 1 : 0;
+        });
+    }
+
+    @Override
+    public Booking findBookingById(int bookingId) {
+        return database.execute(() -> copyOf(bookings.get(bookingId)));
+    }
+
+    @Override
+    public List<Booking> findBookingsByIds(List<Integer> bookingIds) {
+        return database.execute(() -> {
+            List<Booking> found = new ArrayList<>();
+            for (Integer bookingId : bookingIds) {
+                Booking booking = bookings.get(bookingId);
+                if (booking != null) {
+                    found.add(copyOf(booking));
+                }
+            }
+            return found;
+        });
+    }
+
+    @Override
+    public List<Booking> findBookingsByCustomerId(String customerId) {
+        return database.execute(() -> {
+            List<Booking> found = new ArrayList<>();
+            for (Integer bookingId : bookingIdsByCustomer.getOrDefault(customerId, new ArrayDeque<>())) {
+                found.add(copyOf(bookings.get(bookingId)));
+            }
+            found.sort(Comparator.comparing(Booking::getBookingDate).thenComparing(Booking::getBookingTime).reversed());
+            return found;
+        });
+    }
+
+    @Override
+    public Booking findBookingWithConflict(String customerId, LocalDate reservationDate, LocalTime fromTime, LocalTime toTime) {
+        return database.execute(() -> {
+            for (Integer bookingId : bookingIdsByCustomer.getOrDefault(customerId, new ArrayDeque<>())) {
+                Booking booking = bookings.get(bookingId);
+                LocalTime time = booking.getBookingTime().toLocalTime();
+                if (booking.getBookingDate().toLocalDate().equals(reservationDate)
+                        && !time.isBefore(fromTime) && !time.isAfter(toTime)
+                        && !BookingStatus.CANCELLED.getStatus().equals(booking.getStatus())) {
+                    return copyOf(booking);
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Cancels the upcoming bookings written through this repository; the synthetic ones are not individual rows.
+     */
+    @Override
+    public List<Booking> cancelUpcomingBookingsByRestaurantId(int restaurantId, LocalDate fromDate) {
+        return database.execute(() -> {
+            List<Booking> cancelled = new ArrayList<>();
+            for (Booking booking : bookings.values()) {
+                if (booking.getRestaurantId() != restaurantId
+                        || booking.getBookingDate().toLocalDate().isBefore(fromDate)
+                        || !BookingStatus.CONFIRMED.getStatus().equals(booking.getStatus())) {
+                    continue;
+                }
+                Booking updated = copyOf(booking);
+                updated.setStatus(BookingStatus.CANCELLED.getStatus());
+                updated.setUpdatedAt(new Timestamp(System.currentTimeMillis()));
+                if (bookings.replace(booking.getId(), booking, updated)) {
+                    cancelled.add(copyOf(updated));
+                }
+            }
+            return cancelled;
+        });
+    }
+
+    private Map<LocalTime, Map<Integer, Integer>> bookedParties(int restaurantId, LocalDate date) {
+        Map<LocalTime, Map<Integer, Integer>> parties = dataset.getBookedParties(restaurantId, date);
+        for (Booking booking : writtenBookings(restaurantId, date)) {
+            if (BookingStatus.CONFIRMED.getStatus().equals(booking.getStatus())) {
+                parties.computeIfAbsent(booking.getBookingTime().toLocalTime(), k -> new HashMap<>())
+                        .merge(booking.getPartySize(), 1, Integer::sum);
+            }
+        }
+        return parties;
+    }
+
+    private List<Booking> writtenBookings(int restaurantId, LocalDate date) {
+        List<Booking> written = new ArrayList<>();
+        for (Integer bookingId : bookingIdsByDay.getOrDefault(new DayKey(restaurantId, date), new ArrayDeque<>())) {
+            written.add(bookings.get(bookingId));
+        }
+        return written;
+    }
+
+    private static Booking copyOf(Booking booking) {
+        if (booking == null) {
+            return null;
+        }
+        return new Booking(booking.getId(), booking.getRestaurantId(), booking.getRestaurantName(), booking.getCustomerId(),
+                booking.getBookingDate(), booking.getBookingTime(), booking.getPartySize(), booking.getStatus(),
+                booking.getEmail(), booking.getCreatedAt(), booking.getUpdatedAt());
+    }
+
+    private record DayKey(int restaurantId, LocalDate date) {
+    }
+}
@@ -0,0 +1,167 @@
+package com.sjsu.booktable.benchmark.support;
+
+import com.sjsu.booktable.model.entity.Booking;
+import com.sjsu.booktable.model.entity.EmailOutboxEntry;
+import com.sjsu.booktable.model.enums.EmailNotificationType;
+import com.sjsu.booktable.model.enums.EmailOutboxStatus;
+import com.sjsu.booktable.repository.EmailOutboxRepository;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link EmailOutboxRepository} keeping the outbox in memory. Every call runs as one statement on the
+ * {@link SimulatedDatabase}.
+ */
+public class InMemoryEmailOutboxRepository implements EmailOutboxRepository {
+
+    private final SimulatedDatabase database;
+    private final Map<Long, EmailOutboxEntry> entries = new ConcurrentHashMap<>();
+    private final Map<Long, String> claimTokens = new ConcurrentHashMap<>();
+    private final AtomicLong nextId = new AtomicLong(1);
+
+    public InMemoryEmailOutboxRepository(SimulatedDatabase database) {
+        this.database = database;
+    }
+
+    @Override
+    public long insert(EmailNotificationType type, int bookingId, String recipient) {
+        return database.execute(() -> add(type, bookingId, recipient));
+    }
+
+    @Override
+    public List<Long> insertAll(EmailNotificationType type, List<Booking> bookings) {
+        return database.execute(() -> {
+            List<Long> ids = new ArrayList<>(bookings.size());
+            for (Booking booking : bookings) {
+                ids.add(add(type, booking.getId(), booking.getEmail()));
+            }
+            return ids;
+        });
+    }
+
+    @Override
+    public EmailOutboxEntry findById(long id) {
+        return database.execute(() -> {
+            EmailOutboxEntry entry = entries.get(id);
+            return entry == null ? null : entry.toBuilder().build();
+        });
+    }
+
+    @Override
+    public List<Long> findDueIds(Timestamp now, int limit) {
+        return database.execute(() -> {
+            List<EmailOutboxEntry> due = new ArrayList<>();
+            for (EmailOutboxEntry entry : entries.values()) {
+                if (isPending(entry) && !entry.getNextAttemptAt().after(now)) {
+                    due.add(entry);
+                }
+            }
+            due.sort(Comparator.comparing(EmailOutboxEntry::getNextAttemptAt));
+            List<Long> ids = new ArrayList<>();
+            for (int i = 0; i < Math.min(limit, due.size()); i++) {
+                ids.add(due.get(i).getId());
+            }
+            return ids;
+        });
+    }
+
+    @Override
+    public boolean claim(long id, Timestamp now, Timestamp leaseUntil) {
+        return database.execute(() -> {
+            boolean[] claimed = new boolean[1];
+            entries.computeIfPresent(id, (k, entry) -> {
+                if (!isPending(entry) || entry.getNextAttemptAt().after(now)) {
+                    return entry;
+                }
+                claimed[0] = true;
+                return entry.toBuilder().attempts(entry.getAttempts() + 1).nextAttemptAt(leaseUntil).build();
+            });
+            return claimed[0];
+        });
+    }
+
+    @Override
+    public int claimAll(String claimToken, List<Long> ids, Timestamp now, Timestamp leaseUntil) {
+        return database.execute(() -> {
+            int claimed = 0;
+            for (Long id : ids) {
+                boolean[] leased = new boolean[1];
+                entries.computeIfPresent(id, (k, entry) -> {
+                    if (!isPending(entry) || entry.getNextAttemptAt().after(now)) {
+                        return entry;
+                    }
+                    leased[0] = true;
+                    return entry.toBuilder().attempts(entry.getAttempts() + 1).nextAttemptAt(leaseUntil).build();
+                });
+                if (leased[0]) {
+                    claimTokens.put(id, claimToken);
+                    claimed++;
+                }
+            }
+            return claimed;
+        });
+    }
+
+    @Override
+    public List<EmailOutboxEntry> findClaimed(String claimToken) {
+        return database.execute(() -> {
+            List<EmailOutboxEntry> found = new ArrayList<>();
+            for (Map.Entry<Long, String> claim : claimTokens.entrySet()) {
+                EmailOutboxEntry entry = entries.get(claim.getKey());
+                if (claimToken.equals(claim.getValue()) && entry != null) {
+                    found.add(entry.toBuilder().build());
+                }
+            }
+            return found;
+        });
+    }
+
+    @Override
+    public void complete(long id, EmailOutboxStatus status, String error) {
+        database.execute(() -> entries.computeIfPresent(id, (k, entry) ->
+                entry.toBuilder().status(status.getStatus()).lastError(error).build()));
+    }
+
+    @Override
+    public void scheduleRetry(long id, Timestamp nextAttemptAt, String error) {
+        database.execute(() -> entries.computeIfPresent(id, (k, entry) -> !isPending(entry) ? entry
+                : entry.toBuilder().nextAttemptAt(nextAttemptAt).lastError(error).build()));
+    }
+
+    /**
+     * Number of entries per status.
+     */
+    public Map<String, Integer> countByStatus() {
+        Map<String, Integer> counts = new ConcurrentHashMap<>();
+        for (EmailOutboxEntry entry : entries.values()) {
+            counts.merge(entry.getStatus(), 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    private long add(EmailNotificationType type, int bookingId, String recipient) {
+        long id = nextId.getAndIncrement();
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        entries.put(id, EmailOutboxEntry.builder()
+                .id(id)
+                .bookingId(bookingId)
+                .type(type.getType())
+                .recipient(recipient)
+                .status(EmailOutboxStatus.PENDING.getStatus())
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .updatedAt(now)
+                .build());
+        return id;
+    }
+
+    private static boolean isPending(EmailOutboxEntry entry) {
+        return EmailOutboxStatus.PENDING.getStatus().equals(entry.getStatus());
+    }
+}
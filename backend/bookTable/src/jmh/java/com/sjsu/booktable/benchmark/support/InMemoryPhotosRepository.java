@@ -0,0 +1,73 @@
+package com.sjsu.booktable.benchmark.support;
+
+import com.sjsu.booktable.model.entity.Photo;
+import com.sjsu.booktable.repository.PhotosRepository;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * {@link PhotosRepository} serving {@link SyntheticDataset#PHOTOS_PER_RESTAURANT} photos per restaurant.
+ */
+public class InMemoryPhotosRepository implements PhotosRepository {
+
+    private final SyntheticDataset dataset;
+
+    public InMemoryPhotosRepository(SyntheticDataset dataset) {
+        this.dataset = dataset;
+    }
+
+    @Override
+    public List<Photo> getPhotosByRestaurantId(int restaurantId) {
+        List<Photo> photos = new ArrayList<>(SyntheticDataset.PHOTOS_PER_RESTAURANT);
+        if (!dataset.exists(restaurantId)) {
+            return photos;
+        }
+        for (int index = 0; index < SyntheticDataset.PHOTOS_PER_RESTAURANT; index++) {
+            photos.add(Photo.builder()
+                    .id(restaurantId * SyntheticDataset.PHOTOS_PER_RESTAURANT + index)
+                    .restaurantId(restaurantId)
+                    .s3URL("restaurants/" + restaurantId + "/photo-" + index + ".jpg")
+                    .description("Additional photo")
+                    .build());
+        }
+        return photos;
+    }
+
+    @Override
+    public int insertPhoto(Photo photo) {
+        throw new UnsupportedOperationException("Not used by the benchmarks");
+    }
+
+    @Override
+    public void batchInsertPhotos(List<Photo> photos) {
+        throw new UnsupportedOperationException("Not used by the benchmarks");
+    }
+
+    @Override
+    public void deleteByRestaurantIdAndS3Url(int restaurantId, List<String> s3Urls) {
+        throw new UnsupportedOperationException("Not used by the benchmarks");
+    }
+
+    @Override
+    public List<Photo> findPhotosWithoutDerivatives(Timestamp since, int limit) {
+        throw new UnsupportedOperationException("Not used by the benchmarks");
+    }
+
+    @Override
+    public void updateDerivativeKeys(String s3Url, String thumbnailKey, String mediumKey) {
+        throw new UnsupportedOperationException("Not used by the benchmarks");
+    }
+
+    @Override
+    public List<String> findAllPhotoKeys() {
+        throw new UnsupportedOperationException("Not used by the benchmarks");
+    }
+
+    @Override
+    public List<String> findPhotoKeysReferencing(Collection<String> keys) {
+        throw new UnsupportedOperationException("Not used by the benchmarks");
+    }
+}
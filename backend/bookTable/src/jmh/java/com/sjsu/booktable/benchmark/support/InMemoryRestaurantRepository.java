@@ -0,0 +1,132 @@
+package com.sjsu.booktable.benchmark.support;
+
+import com.sjsu.booktable.model.dto.restaurant.RestaurantDetailsRequest;
+import com.sjsu.booktable.model.dto.restaurantSearch.RestaurantLocation;
+import com.sjsu.booktable.model.dto.restaurantSearch.RestaurantSearchDetails;
+import com.sjsu.booktable.model.entity.Restaurant;
+import com.sjsu.booktable.repository.RestaurantRepository;
+import org.springframework.data.geo.Point;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.sjsu.booktable.utils.RestaurantUtil.getFormattedAddress;
+
+/**
+ * Read-only {@link RestaurantRepository} over a {@link SyntheticDataset}, every restaurant approved.
+ */
+public class InMemoryRestaurantRepository implements RestaurantRepository {
+
+    private final SyntheticDataset dataset;
+
+    public InMemoryRestaurantRepository(SyntheticDataset dataset) {
+        this.dataset = dataset;
+    }
+
+    @Override
+    public Restaurant findById(int id) {
+        if (!dataset.exists(id)) {
+            return null;
+        }
+        return Restaurant.builder()
+                .id(id)
+                .name(dataset.getName(id))
+                .cuisineType(dataset.getCuisine(id))
+                .costRating(1 + id % 4)
+                .description(dataset.getDescription(id))
+                .contactPhone("408555" + String.format("%04d", id % 10000))
+                .addressLine(id + " Market St")
+                .city("San Jose")
+                .state("CA")
+                .zipCode("95113")
+                .country("USA")
+                .location(new Point(dataset.getLongitude(id), dataset.getLatitude(id)))
+                .mainPhotoUrl("restaurants/" + id + "/main.jpg")
+                .approved(true)
+                .managerId("manager-" + id)
+                .build();
+    }
+
+    @Override
+    public List<Restaurant> findAllNonDeleted() {
+        List<Restaurant> restaurants = new ArrayList<>(dataset.getRestaurantCount());
+        for (int id = 1; id <= dataset.getRestaurantCount(); id++) {
+            restaurants.add(findById(id));
+        }
+        return restaurants;
+    }
+
+    @Override
+    public List<RestaurantSearchDetails> findSearchDetailsByIds(List<Integer> ids) {
+        List<RestaurantSearchDetails> results = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            if (!dataset.exists(id)) {
+                continue;
+            }
+            RestaurantSearchDetails details = new RestaurantSearchDetails();
+            details.setId(id);
+            details.setName(dataset.getName(id));
+            details.setCuisineType(dataset.getCuisine(id));
+            details.setCostRating(1 + id % 4);
+            details.setAddress(getFormattedAddress(id + " Market St", "San Jose", "CA", "95113"));
+            details.setMainPhotoUrl("restaurants/" + id + "/main.jpg");
+            results.add(details);
+        }
+        return results;
+    }
+
+    @Override
+    public List<RestaurantLocation> findSearchableLocations() {
+        List<RestaurantLocation> locations = new ArrayList<>(dataset.getRestaurantCount());
+        for (int id = 1; id <= dataset.getRestaurantCount(); id++) {
+            locations.add(new RestaurantLocation(id, dataset.getLongitude(id), dataset.getLatitude(id)));
+        }
+        return locations;
+    }
+
+    @Override
+    public List<Restaurant> findByApproved(boolean approved) {
+        throw new UnsupportedOperationException("Not used by the benchmarks");
+    }
+
+    @Override
+    public void updateRestaurant(Restaurant restaurant) {
+        throw new UnsupportedOperationException("Not used by the benchmarks");
+    }
+
+    @Override
+    public void deleteById(int id) {
+        throw new UnsupportedOperationException("Not used by the benchmarks");
+    }
+
+    @Override
+    public List<Restaurant> getMostPopularRestaurants(LocalDateTime startDate, LocalDateTime endDate) {
+        throw new UnsupportedOperationException("Not used by the benchmarks");
+    }
+
+    @Override
+    public int getTotalReservations(LocalDateTime startDate, LocalDateTime endDate) {
+        throw new UnsupportedOperationException("Not used by the benchmarks");
+    }
+
+    @Override
+    public int addRestaurantDetails(RestaurantDetailsRequest details, double longitude, double latitude, String photoUrl, String managerId) {
+        throw new UnsupportedOperationException("Not used by the benchmarks");
+    }
+
+    @Override
+    public void updateRestaurantDetails(int id, RestaurantDetailsRequest details, double longitude, double latitude, String photoUrl) {
+        throw new UnsupportedOperationException("Not used by the benchmarks");
+    }
+
+    @Override
+    public List<RestaurantSearchDetails> findByManagerId(String managerId) {
+        throw new UnsupportedOperationException("Not used by the benchmarks");
+    }
+
+    @Override
+    public List<Integer> findIdsAfter(int afterId, int limit) {
+        throw new UnsupportedOperationException("Not used by the benchmarks");
+    }
+}
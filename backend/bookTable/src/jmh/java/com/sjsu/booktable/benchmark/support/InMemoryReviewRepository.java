@@ -0,0 +1,111 @@
+package com.sjsu.booktable.benchmark.support;
+
+import com.sjsu.booktable.model.dto.review.RatingSummaryDto;
+import com.sjsu.booktable.model.entity.Review;
+import com.sjsu.booktable.repository.ReviewRepository;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link ReviewRepository} serving {@link SyntheticDataset#REVIEWS_PER_RESTAURANT} synthetic reviews per
+ * restaurant, one hour apart, review ids descending with age.
+ */
+public class InMemoryReviewRepository implements ReviewRepository {
+
+    private static final long NEWEST_REVIEW_MILLIS = Timestamp.valueOf("2025-05-01 12:00:00").getTime();
+    private static final long HOUR_MILLIS = 3_600_000L;
+
+    private final SyntheticDataset dataset;
+
+    public InMemoryReviewRepository(SyntheticDataset dataset) {
+        this.dataset = dataset;
+    }
+
+    @Override
+    public List<Review> findPageByRestaurantId(int restaurantId, Timestamp afterCreatedAt, Integer afterId, int limit) {
+        List<Review> page = new ArrayList<>(limit);
+        if (!dataset.exists(restaurantId)) {
+            return page;
+        }
+        for (int index = 0; index < SyntheticDataset.REVIEWS_PER_RESTAURANT && page.size() < limit; index++) {
+            Review review = review(restaurantId, index);
+            boolean afterCursor = afterCreatedAt == null || afterId == null
+                    || review.getCreatedAt().before(afterCreatedAt)
+                    || (review.getCreatedAt().equals(afterCreatedAt) && review.getId() < afterId);
+            if (afterCursor) {
+                page.add(review);
+            }
+        }
+        return page;
+    }
+
+    @Override
+    public Map<Integer, RatingSummaryDto> getRatingSummariesByRestaurantIds(List<Integer> restaurantIds) {
+        Map<Integer, RatingSummaryDto> summaries = new HashMap<>();
+        for (Integer restaurantId : restaurantIds) {
+            if (!dataset.exists(restaurantId)) {
+                continue;
+            }
+            long ratingSum = 0;
+            for (int index = 0; index < SyntheticDataset.REVIEWS_PER_RESTAURANT; index++) {
+                ratingSum += dataset.getReviewRating(restaurantId, index);
+            }
+            summaries.put(restaurantId, RatingSummaryDto.builder()
+                    .restaurantId(restaurantId)
+                    .ratingSum(ratingSum)
+                    .reviewCount(SyntheticDataset.REVIEWS_PER_RESTAURANT)
+                    .build());
+        }
+        return summaries;
+    }
+
+    @Override
+    public int addReview(Review review) {
+        throw new UnsupportedOperationException("Not used by the benchmarks");
+    }
+
+    @Override
+    public void addToRatingSummary(int restaurantId, int rating) {
+        throw new UnsupportedOperationException("Not used by the benchmarks");
+    }
+
+    @Override
+    public int findMaxReviewId() {
+        throw new UnsupportedOperationException("Not used by the benchmarks");
+    }
+
+    @Override
+    public List<Integer> findRestaurantIdsWithReviewsBetween(int afterId, int upToId) {
+        throw new UnsupportedOperationException("Not used by the benchmarks");
+    }
+
+    @Override
+    public void rebuildRatingSummaries(List<Integer> restaurantIds) {
+        throw new UnsupportedOperationException("Not used by the benchmarks");
+    }
+
+    @Override
+    public Map<Integer, RatingSummaryDto> computeRatingSummaries(List<Integer> restaurantIds) {
+        throw new UnsupportedOperationException("Not used by the benchmarks");
+    }
+
+    @Override
+    public void replaceRatingSummaries(Map<Integer, RatingSummaryDto> stored, List<RatingSummaryDto> recomputed) {
+        throw new UnsupportedOperationException("Not used by the benchmarks");
+    }
+
+    private Review review(int restaurantId, int index) {
+        return Review.builder()
+                .id(restaurantId * SyntheticDataset.REVIEWS_PER_RESTAURANT - index)
+                .restaurantId(restaurantId)
+                .rating(dataset.getReviewRating(restaurantId, index))
+                .reviewText("Review " + index + " of " + dataset.getName(restaurantId))
+                .userName("diner" + index)
+                .createdAt(new Timestamp(NEWEST_REVIEW_MILLIS - index * HOUR_MILLIS))
+                .build();
+    }
+}
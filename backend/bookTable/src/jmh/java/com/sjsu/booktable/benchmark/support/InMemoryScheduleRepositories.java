@@ -0,0 +1,173 @@
+package com.sjsu.booktable.benchmark.support;
+
+import com.sjsu.booktable.model.dto.restaurant.HoursDto;
+import com.sjsu.booktable.model.dto.restaurant.TableConfigurationDto;
+import com.sjsu.booktable.model.dto.restaurant.TimeSlotDto;
+import com.sjsu.booktable.model.entity.RestaurantHours;
+import com.sjsu.booktable.model.entity.TableEntity;
+import com.sjsu.booktable.model.entity.TimeSlot;
+import com.sjsu.booktable.repository.RestaurantHoursRepository;
+import com.sjsu.booktable.repository.TableRepository;
+import com.sjsu.booktable.repository.TimeSlotRepository;
+
+import java.sql.Time;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only hours, time slot and table repositories over a {@link SyntheticDataset}.
+ */
+public final class InMemoryScheduleRepositories {
+
+    private InMemoryScheduleRepositories() {
+    }
+
+    public static class Hours implements RestaurantHoursRepository {
+
+        private final SyntheticDataset dataset;
+
+        public Hours(SyntheticDataset dataset) {
+            this.dataset = dataset;
+        }
+
+        @Override
+        public List<RestaurantHours> getHoursByRestaurantIds(List<Integer> restaurantIds) {
+            List<RestaurantHours> hours = new ArrayList<>();
+            for (Integer restaurantId : restaurantIds) {
+                hours.addAll(getHoursByRestaurantId(restaurantId));
+            }
+            return hours;
+        }
+
+        @Override
+        public List<RestaurantHours> getHoursByRestaurantId(int restaurantId) {
+            if (!dataset.exists(restaurantId)) {
+                return Collections.emptyList();
+            }
+            List<RestaurantHours> hours = new ArrayList<>(7);
+            for (int day = 0; day < 7; day++) {
+                hours.add(getHoursByRestaurantAndDay(restaurantId, day));
+            }
+            return hours;
+        }
+
+        @Override
+        public RestaurantHours getHoursByRestaurantAndDay(int restaurantId, int dayOfWeek) {
+            return RestaurantHours.builder()
+                    .restaurantId(restaurantId)
+                    .dayOfWeek(dayOfWeek)
+                    .openTime(Time.valueOf(SyntheticDataset.OPEN_TIME))
+                    .closeTime(Time.valueOf(SyntheticDataset.CLOSE_TIME))
+                    .build();
+        }
+
+        @Override
+        public void insertHours(int restaurantId, List<HoursDto> hoursList) {
+            throw new UnsupportedOperationException("Not used by the benchmarks");
+        }
+
+        @Override
+        public void deleteByRestaurantId(int restaurantId) {
+            throw new UnsupportedOperationException("Not used by the benchmarks");
+        }
+    }
+
+    public static class TimeSlots implements TimeSlotRepository {
+
+        private final SyntheticDataset dataset;
+
+        public TimeSlots(SyntheticDataset dataset) {
+            this.dataset = dataset;
+        }
+
+        @Override
+        public List<TimeSlot> getTimeSlotsByRestaurantIds(List<Integer> restaurantIds) {
+            List<TimeSlot> slots = new ArrayList<>();
+            for (Integer restaurantId : restaurantIds) {
+                slots.addAll(getTimeSlotsByRestaurantId(restaurantId));
+            }
+            return slots;
+        }
+
+        @Override
+        public List<TimeSlot> getTimeSlotsByRestaurantId(int restaurantId) {
+            if (!dataset.exists(restaurantId)) {
+                return Collections.emptyList();
+            }
+            List<TimeSlot> slots = new ArrayList<>(7 * SyntheticDataset.SLOTS.size());
+            for (int day = 0; day < 7; day++) {
+                for (LocalTime slot : SyntheticDataset.SLOTS) {
+                    slots.add(TimeSlot.builder().restaurantId(restaurantId).dayOfWeek(day).slotTime(Time.valueOf(slot)).build());
+                }
+            }
+            return slots;
+        }
+
+        @Override
+        public List<LocalTime> getTimeSlotsByRestaurantAndDay(int restaurantId, int dayOfWeek) {
+            return dataset.exists(restaurantId) ? SyntheticDataset.SLOTS : Collections.emptyList();
+        }
+
+        @Override
+        public void insertTimeSlots(int restaurantId, List<TimeSlotDto> timeSlotDtos) {
+            throw new UnsupportedOperationException("Not used by the benchmarks");
+        }
+
+        @Override
+        public void deleteByRestaurantId(int restaurantId) {
+            throw new UnsupportedOperationException("Not used by the benchmarks");
+        }
+    }
+
+    public static class Tables implements TableRepository {
+
+        private final SyntheticDataset dataset;
+
+        public Tables(SyntheticDataset dataset) {
+            this.dataset = dataset;
+        }
+
+        @Override
+        public List<TableEntity> getTableConfigurationsForRestaurants(List<Integer> restaurantIds) {
+            List<TableEntity> tables = new ArrayList<>();
+            for (Integer restaurantId : restaurantIds) {
+                tables.addAll(getTableConfigurationsForRestaurant(restaurantId));
+            }
+            return tables;
+        }
+
+        @Override
+        public List<TableEntity> getTableConfigurationsForRestaurant(int restaurantId) {
+            if (!dataset.exists(restaurantId)) {
+                return Collections.emptyList();
+            }
+            List<TableEntity> tables = new ArrayList<>();
+            for (Map.Entry<Integer, Integer> table : SyntheticDataset.TABLES.entrySet()) {
+                tables.add(TableEntity.builder().restaurantId(restaurantId).size(table.getKey()).quantity(table.getValue()).build());
+            }
+            return tables;
+        }
+
+        @Override
+        public Integer getTotalCapacity(int restaurantId) {
+            int capacity = 0;
+            for (Map.Entry<Integer, Integer> table : SyntheticDataset.TABLES.entrySet()) {
+                capacity += table.getKey() * table.getValue();
+            }
+            return capacity;
+        }
+
+        @Override
+        public void insertTables(int restaurantId, List<TableConfigurationDto> tableConfigurationDtos) {
+            throw new UnsupportedOperationException("Not used by the benchmarks");
+        }
+
+        @Override
+        public void deleteByRestaurantId(int restaurantId) {
+            throw new UnsupportedOperationException("Not used by the benchmarks");
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.sjsu.booktable.benchmark.support;
+
+import com.sjsu.booktable.benchmark.support.StageTimes.Stage;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * Stand-in for the MySQL data source: a fixed-size connection pool handed out in FIFO order, like Hikari,
+ * a fixed round trip per statement and an auto-increment counter guarded by a lock held for a configurable
+ * time per generated key. The caller's thread is parked while it waits, like a thread blocked on a socket.
+ */
+public final class SimulatedDatabase {
+
+    // Hikari's default connectionTimeout
+    private static final long CONNECTION_TIMEOUT_MILLIS = 30_000;
+
+    private final int poolSize;
+    private final long statementNanos;
+    private final long keyGenerationNanos;
+    private final Semaphore connections;
+    private final ReentrantLock autoIncrementLock = new ReentrantLock(true);
+    private final LongAdder connectionBusyNanos = new LongAdder();
+    private int nextKey = 1;
+
+    /**
+     * @param poolSize number of connections, 0 for an unbounded pool
+     */
+    public SimulatedDatabase(int poolSize, long statementMicros, long keyGenerationMicros) {
+        this.poolSize = poolSize;
+        this.statementNanos = TimeUnit.MICROSECONDS.toNanos(statementMicros);
+        this.keyGenerationNanos = TimeUnit.MICROSECONDS.toNanos(keyGenerationMicros);
+        this.connections = poolSize > 0 ? new Semaphore(poolSize, true) : null;
+    }
+
+    /**
+     * A database without any cost, for benchmarks that only read.
+     */
+    public static SimulatedDatabase free() {
+        return new SimulatedDatabase(0, 0, 0);
+    }
+
+    /**
+     * Runs one statement on a pooled connection.
+     */
+    public <T> T execute(Supplier<T> statement) {
+        long acquiredAt = acquireConnection();
+        try {
+            roundTrip();
+            return statement.get();
+        } finally {
+            releaseConnection(acquiredAt);
+        }
+    }
+
+    /**
+     * Runs one insert on a pooled connection, handing a newly generated key to the statement.
+     */
+    public int insert(IntUnaryOperator statement) {
+        long acquiredAt = acquireConnection();
+        try {
+            int key = generateKey();
+            roundTrip();
+            return statement.applyAsInt(key);
+        } finally {
+            releaseConnection(acquiredAt);
+        }
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    /**
+     * Total time connections were checked out, summed over all connections.
+     */
+    public long getConnectionBusyNanos() {
+        return connectionBusyNanos.sum();
+    }
+
+    private long acquireConnection() {
+        long start = System.nanoTime();
+        if (connections != null) {
+            try {
+                if (!connections.tryAcquire(CONNECTION_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                    throw new IllegalStateException("Connection is not available, request timed out after "
+                            + CONNECTION_TIMEOUT_MILLIS + "ms");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for a connection", e);
+            }
+        }
+        long acquiredAt = System.nanoTime();
+        StageTimes.add(Stage.POOL_WAIT, acquiredAt - start);
+        return acquiredAt;
+    }
+
+    private void releaseConnection(long acquiredAt) {
+        connectionBusyNanos.add(System.nanoTime() - acquiredAt);
+        if (connections != null) {
+            connections.release();
+        }
+    }
+
+    private void roundTrip() {
+        long start = System.nanoTime();
+        park(statementNanos);
+        StageTimes.add(Stage.STATEMENT, System.nanoTime() - start);
+    }
+
+    private int generateKey() {
+        long start = System.nanoTime();
+        autoIncrementLock.lock();
+        try {
+            park(keyGenerationNanos);
+            return nextKey++;
+        } finally {
+            autoIncrementLock.unlock();
+            StageTimes.add(Stage.KEY_GENERATION, System.nanoTime() - start);
+        }
+    }
+
+    static void park(long nanos) {
+        long deadline = System.nanoTime() + nanos;
+        for (long remaining = nanos; remaining > 0; remaining = deadline - System.nanoTime()) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.sjsu.booktable.benchmark.support;
+
+import com.sjsu.booktable.benchmark.support.StageTimes.Stage;
+import com.sjsu.booktable.model.dto.email.BulkEmailDestinationResult;
+import com.sjsu.booktable.model.dto.email.BulkEmailResult;
+import com.sjsu.booktable.model.entity.Booking;
+import com.sjsu.booktable.service.email.EmailService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link EmailService} that blocks the calling thread for a fixed time per email, standing in for the
+ * template rendering and SES round trip of the real one.
+ */
+public class SimulatedEmailService implements EmailService {
+
+    private final long sendNanos;
+
+    public SimulatedEmailService(long sendMillis) {
+        this.sendNanos = TimeUnit.MILLISECONDS.toNanos(sendMillis);
+    }
+
+    @Override
+    public boolean sendBookingConfirmationEmail(Booking booking, String recipientEmail) {
+        return send();
+    }
+
+    @Override
+    public boolean sendBookingCancellationEmail(Booking booking, String recipientEmail) {
+        return send();
+    }
+
+    @Override
+    public BulkEmailResult sendBookingCancellationEmails(List<Booking> bookings) {
+        List<BulkEmailDestinationResult> destinations = bookings.stream()
+                .map(booking -> BulkEmailDestinationResult.builder()
+                        .bookingId(booking.getId())
+                        .recipient(booking.getEmail())
+                        .sent(send())
+                        .build())
+                .toList();
+        return BulkEmailResult.builder().destinations(destinations).build();
+    }
+
+    private boolean send() {
+        long start = System.nanoTime();
+        SimulatedDatabase.park(sendNanos);
+        StageTimes.add(Stage.EMAIL, System.nanoTime() - start);
+        return true;
+    }
+}
@@ -0,0 +1,129 @@
+package com.sjsu.booktable.benchmark.support;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.Arrays;
+
+/**
+ * JDBC data source over a {@link SimulatedDatabase}, so benchmarks can run the real JdbcTemplate repositories.
+ * Every executed update costs one statement round trip. A batch costs one round trip when the driver rewrites
+ * batched statements, like Connector/J with rewriteBatchedStatements, and one per row otherwise. Parameters are
+ * discarded and queries are not supported.
+ */
+public class SimulatedJdbcDataSource extends AbstractDataSource {
+
+    private final SimulatedDatabase database;
+    private final boolean rewriteBatchedStatements;
+
+    public SimulatedJdbcDataSource(SimulatedDatabase database, boolean rewriteBatchedStatements) {
+        this.database = database;
+        this.rewriteBatchedStatements = rewriteBatchedStatements;
+    }
+
+    @Override
+    public Connection getConnection() {
+        return proxy(Connection.class, new ConnectionHandler());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) {
+        return getConnection();
+    }
+
+    private int[] executeBatch(int rows) {
+        if (rewriteBatchedStatements) {
+            // One multi-row INSERT, Connector/J reports no per-row counts for it
+            return database.execute(() -> filled(rows, Statement.SUCCESS_NO_INFO));
+        }
+        int[] counts = new int[rows];
+        for (int row = 0; row < rows; row++) {
+            counts[row] = database.execute(() -> 1);
+        }
+        return counts;
+    }
+
+    private static int[] filled(int rows, int count) {
+        int[] counts = new int[rows];
+        Arrays.fill(counts, count);
+        return counts;
+    }
+
+    private class ConnectionHandler implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object connection, Method method, Object[] args) {
+            return switch (method.getName()) {
+                case "prepareStatement" -> proxy(PreparedStatement.class, new StatementHandler((Connection) connection));
+                case "getMetaData" -> proxy(DatabaseMetaData.class, (metaData, metaDataMethod, metaDataArgs) ->
+                        metaDataMethod.getName().equals("supportsBatchUpdates") ? Boolean.TRUE : defaultValue(metaData, metaDataMethod, metaDataArgs));
+                case "getAutoCommit" -> true;
+                default -> defaultValue(connection, method, args);
+            };
+        }
+    }
+
+    private class StatementHandler implements InvocationHandler {
+
+        private final Connection connection;
+        private int batchedRows;
+
+        StatementHandler(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object statement, Method method, Object[] args) {
+            switch (method.getName()) {
+                case "getConnection":
+                    return connection;
+                case "executeUpdate":
+                    return database.execute(() -> 1);
+                case "addBatch":
+                    batchedRows++;
+                    return null;
+                case "clearBatch":
+                    batchedRows = 0;
+                    return null;
+                case "executeBatch":
+                    int rows = batchedRows;
+                    batchedRows = 0;
+                    return executeBatch(rows);
+                case "execute":
+                case "executeQuery":
+                    throw new UnsupportedOperationException("Queries are not simulated");
+                default:
+                    return defaultValue(statement, method, args);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(SimulatedJdbcDataSource.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    /**
+     * Identity for the Object methods, null, false or zero for everything else: setters, close and warnings.
+     */
+    private static Object defaultValue(Object proxy, Method method, Object[] args) {
+        switch (method.getName()) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return proxy.getClass().getInterfaces()[0].getSimpleName() + "@" + Integer.toHexString(System.identityHashCode(proxy));
+            default:
+                Class<?> returnType = method.getReturnType();
+                return returnType.isPrimitive() && returnType != void.class ? Array.get(Array.newInstance(returnType, 1), 0) : null;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.sjsu.booktable.benchmark.support;
+
+import java.util.Arrays;
+
+/**
+ * Per-thread accounting of the time a request spends in each simulated resource. The load generator
+ * drains it after every request, which attributes the time to the endpoint that was called.
+ */
+public final class StageTimes {
+
+    public enum Stage {
+        POOL_WAIT("JDBC pool wait"),
+        STATEMENT("SQL statements"),
+        KEY_GENERATION("key generation"),
+        EMAIL("email send");
+
+        private final String label;
+
+        Stage(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    private static final ThreadLocal<long[]> CURRENT = ThreadLocal.withInitial(() -> new long[Stage.values().length]);
+
+    private StageTimes() {
+    }
+
+    static void add(Stage stage, long nanos) {
+        CURRENT.get()[stage.ordinal()] += nanos;
+    }
+
+    /**
+     * @return nanoseconds spent per stage by the current thread since the previous call, indexed by ordinal
+     */
+    public static long[] drain() {
+        long[] current = CURRENT.get();
+        long[] drained = current.clone();
+        Arrays.fill(current, 0);
+        return drained;
+    }
+}
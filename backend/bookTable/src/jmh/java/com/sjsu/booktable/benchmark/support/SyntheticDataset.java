@@ -0,0 +1,157 @@
+package com.sjsu.booktable.benchmark.support;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+
+/**
+ * Deterministic restaurant data for benchmarks. Restaurants (ids 1..n) are spread uniformly over a one
+ * degree square around San Jose. Every restaurant opens 11:00-22:00 with a slot every 30 minutes and
+ * seats parties at four 2-tops, four 4-tops and two 6-tops.
+ * Bookings and reviews are derived from a hash of (restaurant, date, slot) and (restaurant, index), so
+ * millions of them can be served without being stored.
+ */
+public final class SyntheticDataset {
+
+    public static final double CENTER_LONGITUDE = -121.8863;
+    public static final double CENTER_LATITUDE = 37.3382;
+    public static final double SPREAD_DEGREES = 1.0;
+    public static final int REVIEWS_PER_RESTAURANT = 25;
+    public static final int PHOTOS_PER_RESTAURANT = 3;
+
+    public static final LocalTime OPEN_TIME = LocalTime.of(11, 0);
+    public static final LocalTime CLOSE_TIME = LocalTime.of(22, 0);
+    public static final List<LocalTime> SLOTS;
+    // size -> quantity
+    public static final Map<Integer, Integer> TABLES;
+
+    static {
+        List<LocalTime> slots = new ArrayList<>();
+        for (LocalTime slot = OPEN_TIME; slot.isBefore(CLOSE_TIME); slot = slot.plusMinutes(30)) {
+            slots.add(slot);
+        }
+        SLOTS = Collections.unmodifiableList(slots);
+
+        Map<Integer, Integer> tables = new TreeMap<>();
+        tables.put(2, 4);
+        tables.put(4, 4);
+        tables.put(6, 2);
+        TABLES = Collections.unmodifiableMap(tables);
+    }
+
+    private static final String[] NAME_WORDS = {"Golden", "Dragon", "Luigi's", "Trattoria", "Blue", "Bamboo",
+            "Taqueria", "Corner", "Bistro", "Garden", "Spice", "House", "Harbor", "Grill", "Sakura", "Noodle",
+            "Olive", "Tandoor", "Smoke", "Pho"};
+    private static final String[] CUISINES = {"Italian", "Mexican", "Chinese", "Japanese", "Indian", "Thai",
+            "American", "Vietnamese", "Mediterranean", "French"};
+    private static final String[] DESCRIPTION_WORDS = {"wood", "fired", "pizza", "handmade", "pasta", "tacos",
+            "al", "pastor", "dim", "sum", "sushi", "ramen", "curry", "grill", "vegan", "seafood", "brunch",
+            "cocktails", "family", "owned", "noodles", "bbq", "tapas", "steak"};
+
+    private final int restaurantCount;
+    private final double[] longitudes;
+    private final double[] latitudes;
+    private final String[] names;
+    private final String[] cuisines;
+    private final String[] descriptions;
+
+    public SyntheticDataset(int restaurantCount, long seed) {
+        this.restaurantCount = restaurantCount;
+        this.longitudes = new double[restaurantCount];
+        this.latitudes = new double[restaurantCount];
+        this.names = new String[restaurantCount];
+        this.cuisines = new String[restaurantCount];
+        this.descriptions = new String[restaurantCount];
+
+        Random random = new Random(seed);
+        for (int i = 0; i < restaurantCount; i++) {
+            longitudes[i] = CENTER_LONGITUDE + (random.nextDouble() - 0.5) * SPREAD_DEGREES;
+            latitudes[i] = CENTER_LATITUDE + (random.nextDouble() - 0.5) * SPREAD_DEGREES;
+            names[i] = NAME_WORDS[random.nextInt(NAME_WORDS.length)] + " " + NAME_WORDS[random.nextInt(NAME_WORDS.length)];
+            cuisines[i] = CUISINES[random.nextInt(CUISINES.length)];
+            StringBuilder description = new StringBuilder();
+            for (int w = 0; w < 8; w++) {
+                description.append(w == 0 ? "" : " ").append(DESCRIPTION_WORDS[random.nextInt(DESCRIPTION_WORDS.length)]);
+            }
+            descriptions[i] = description.toString();
+        }
+    }
+
+    public int getRestaurantCount() {
+        return restaurantCount;
+    }
+
+    public boolean exists(int restaurantId) {
+        return restaurantId >= 1 && restaurantId <= restaurantCount;
+    }
+
+    public double getLongitude(int restaurantId) {
+        return longitudes[restaurantId - 1];
+    }
+
+    public double getLatitude(int restaurantId) {
+        return latitudes[restaurantId - 1];
+    }
+
+    public String getName(int restaurantId) {
+        return names[restaurantId - 1];
+    }
+
+    public String getCuisine(int restaurantId) {
+        return cuisines[restaurantId - 1];
+    }
+
+    public String getDescription(int restaurantId) {
+        return descriptions[restaurantId - 1];
+    }
+
+    /**
+     * Parties already booked at every slot of the day, slot -> party size -> count. The mix always fits the
+     * table layout: up to four parties of two and up to three parties of four.
+     */
+    public Map<LocalTime, Map<Integer, Integer>> getBookedParties(int restaurantId, LocalDate date) {
+        Map<LocalTime, Map<Integer, Integer>> parties = new HashMap<>();
+        for (int s = 0; s < SLOTS.size(); s++) {
+            int hash = hash(restaurantId, date.toEpochDay(), s);
+            int pairs = Math.floorMod(hash, 5);
+            int fours = Math.floorMod(hash >> 4, 4);
+            if (pairs == 0 && fours == 0) {
+                continue;
+            }
+            Map<Integer, Integer> bySize = new HashMap<>();
+            if (pairs > 0) {
+                bySize.put(2, pairs);
+            }
+            if (fours > 0) {
+                bySize.put(4, fours);
+            }
+            parties.put(SLOTS.get(s), bySize);
+        }
+        return parties;
+    }
+
+    public int getBookingCount(int restaurantId, LocalDate date) {
+        int count = 0;
+        for (Map<Integer, Integer> bySize : getBookedParties(restaurantId, date).values()) {
+            for (int parties : bySize.values()) {
+                count += parties;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Rating of the n-th review of a restaurant, review 0 being the newest.
+     */
+    public int getReviewRating(int restaurantId, int index) {
+        return 1 + Math.floorMod(hash(restaurantId, index, 7), 5);
+    }
+
+    private static int hash(int restaurantId, long a, long b) {
+        long h = restaurantId * 0x9E3779B97F4A7C15L + a * 0xC2B2AE3D27D4EB4FL + b * 0x165667B19E3779F9L;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+}
@@ -5,6 +5,7 @@ import com.amazonaws.auth.BasicAWSCredentials;
 import com.amazonaws.regions.Regions;
 import com.amazonaws.services.cognitoidp.AWSCognitoIdentityProvider;
 import com.amazonaws.services.cognitoidp.AWSCognitoIdentityProviderClientBuilder;
+import com.sjsu.booktable.service.auth.CognitoRequestMetrics;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -23,11 +24,12 @@ public class AWSCognitoConfig {
     private String region;
 
     @Bean
-    public AWSCognitoIdentityProvider cognitoClient() {
+    public AWSCognitoIdentityProvider cognitoClient(CognitoRequestMetrics requestMetrics) {
         BasicAWSCredentials credentials = new BasicAWSCredentials(accessKeyId, secretKey);
         return AWSCognitoIdentityProviderClientBuilder.standard()
                 .withCredentials(new AWSStaticCredentialsProvider(credentials))
                 .withRegion(Regions.fromName(region))
+                .withRequestHandlers(requestMetrics)
                 .build();
     }
 
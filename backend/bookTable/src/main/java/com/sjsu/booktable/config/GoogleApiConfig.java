@@ -11,10 +11,14 @@ public class GoogleApiConfig {
     @Value("${google.api.key}")
     private String googleApiKey;
 
+    @Value("${booktable.geocoding.max-requests-per-second:10}")
+    private int maxRequestsPerSecond;
+
     @Bean
     public GeoApiContext geoApiContext() {
         return new GeoApiContext.Builder()
                 .apiKey(googleApiKey)
+                .queryRateLimit(maxRequestsPerSecond)
                 .build();
     }
 
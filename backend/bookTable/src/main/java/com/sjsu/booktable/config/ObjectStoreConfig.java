@@ -0,0 +1,55 @@
+package com.sjsu.booktable.config;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.sjsu.booktable.service.s3.LocalObjectStore;
+import com.sjsu.booktable.service.s3.ObjectStore;
+import com.sjsu.booktable.service.s3.S3ObjectStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.SecureRandom;
+
+/**
+ * Picks where photos are stored: booktable.storage.backend=s3, the default, or local for a directory served by
+ * the application itself.
+ */
+@Configuration
+public class ObjectStoreConfig {
+
+    @Value("${aws.s3.bucket}")
+    private String bucketName;
+
+    @Value("${booktable.storage.local.root:${java.io.tmpdir}/booktable-objects}")
+    private String localRoot;
+
+    @Value("${booktable.storage.local.base-url:http://localhost:8080}")
+    private String localBaseUrl;
+
+    @Value("${booktable.storage.local.signing-secret:}")
+    private String localSigningSecret;
+
+    @Bean
+    @ConditionalOnProperty(name = "booktable.storage.backend", havingValue = "s3", matchIfMissing = true)
+    public ObjectStore s3ObjectStore(AmazonS3 s3Client) {
+        return new S3ObjectStore(s3Client, bucketName);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "booktable.storage.backend", havingValue = "local")
+    public LocalObjectStore localObjectStore() throws IOException {
+        byte[] signingSecret;
+        if (localSigningSecret.isBlank()) {
+            // URLs handed out before a restart stop working after it, acceptable for tests
+            signingSecret = new byte[32];
+            new SecureRandom().nextBytes(signingSecret);
+        } else {
+            signingSecret = localSigningSecret.getBytes(StandardCharsets.UTF_8);
+        }
+        return new LocalObjectStore(Path.of(localRoot), localBaseUrl, signingSecret);
+    }
+}
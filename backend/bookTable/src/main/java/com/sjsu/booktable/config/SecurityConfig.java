@@ -1,20 +1,42 @@
 package com.sjsu.booktable.config;
 
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import com.sjsu.booktable.security.CachingJwkSource;
+import com.sjsu.booktable.security.CachingJwtAuthenticationManager;
+import com.sjsu.booktable.security.RequiresRole;
+import com.sjsu.booktable.security.RoleAuthorities;
+import com.sjsu.booktable.security.RoleAuthorizationManager;
+import com.sjsu.booktable.service.s3.LocalObjectStore;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.http.Cookie;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.Pointcut;
+import org.springframework.aop.support.Pointcuts;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
 import org.springframework.http.HttpMethod;
+import org.springframework.security.authorization.method.AuthorizationInterceptorsOrder;
+import org.springframework.security.authorization.method.AuthorizationManagerBeforeMethodInterceptor;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.CsrfConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
 import org.springframework.security.web.SecurityFilterChain;
 
-import java.util.Collections;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.time.Duration;
 
 import static com.sjsu.booktable.model.enums.Role.*;
 
@@ -22,8 +44,19 @@ import static com.sjsu.booktable.model.enums.Role.*;
 @EnableMethodSecurity
 public class SecurityConfig {
 
+    @Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri}")
+    private String issuerUri;
+
+    @Value("${booktable.auth.jwt.cache-max-size:10000}")
+    private long jwtCacheMaxSize;
+
+    @Value("${booktable.auth.jwt.jwks-min-refresh-seconds:60}")
+    private long jwksMinRefreshSeconds;
+
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, JwtDecoder jwtDecoder, MeterRegistry meterRegistry) throws Exception {
+        CachingJwtAuthenticationManager jwtAuthenticationManager = new CachingJwtAuthenticationManager(
+                jwtDecoder, jwtAuthenticationConverter(), jwtCacheMaxSize, meterRegistry);
         http.csrf(CsrfConfigurer::disable)
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
@@ -31,6 +64,8 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                         // Public endpoints
                         .requestMatchers("/api/auth/**", "/api/home/**", "/api/s3/**", "/actuator/health").permitAll()
+                        // Objects of the local store, authorized by the signature of their presigned URL
+                        .requestMatchers(LocalObjectStore.PATH + "/**").permitAll()
                         // Protected endpoints
                         .requestMatchers("/api/customer/**").hasAuthority(CUSTOMER.getName())
                         .requestMatchers("/api/manager/**").hasAuthority(RESTAURANT_MANAGER.getName())
@@ -40,11 +75,12 @@ public class SecurityConfig {
                         .anyRequest().authenticated()
                 )
                 .oauth2ResourceServer(oauth2 -> oauth2
-                        .jwt(jwt -> jwt.jwtAuthenticationConverter(jwtAuthenticationConverter()))
+                        .jwt(jwt -> jwt.authenticationManager(jwtAuthenticationManager))
                         .bearerTokenResolver(request -> {
                             // Skip token resolution for public endpoints
                             String path = request.getServletPath();
-                            if (path.startsWith("/api/auth/otp") || "OPTIONS".equals(request.getMethod())) {
+                            if (path.startsWith("/api/auth/otp") || path.startsWith(LocalObjectStore.PATH)
+                                    || "OPTIONS".equals(request.getMethod())) {
                                 return null;
                             }
                             // Extract token from cookie for protected endpoints
@@ -61,16 +97,44 @@ public class SecurityConfig {
         return http.build();
     }
 
+    /**
+     * Verifies Cognito tokens against the user pool's signing keys, which are downloaded again only when a
+     * token is signed with a key that is not known yet.
+     */
+    @Bean
+    public JwtDecoder jwtDecoder() throws MalformedURLException {
+        CachingJwkSource jwkSource = CachingJwkSource.forUrl(URI.create(issuerUri + "/.well-known/jwks.json").toURL(),
+                Duration.ofSeconds(jwksMinRefreshSeconds));
+        DefaultJWTProcessor<SecurityContext> jwtProcessor = new DefaultJWTProcessor<>();
+        jwtProcessor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.RS256, jwkSource));
+        // Claims are checked by the Spring validators below
+        jwtProcessor.setJWTClaimsSetVerifier((claims, context) -> { });
+
+        NimbusJwtDecoder jwtDecoder = new NimbusJwtDecoder(jwtProcessor);
+        jwtDecoder.setJwtValidator(JwtValidators.createDefaultWithIssuer(issuerUri));
+        return jwtDecoder;
+    }
+
     @Bean
     public JwtAuthenticationConverter jwtAuthenticationConverter() {
         JwtAuthenticationConverter converter = new JwtAuthenticationConverter();
-        converter.setJwtGrantedAuthoritiesConverter(jwt -> {
-            List<String> groups = jwt.getClaimAsStringList("cognito:groups");
-            return groups != null ? groups.stream()
-                    .map(SimpleGrantedAuthority::new)
-                    .collect(Collectors.toList()) : Collections.emptyList();
-        });
+        converter.setJwtGrantedAuthoritiesConverter(jwt -> RoleAuthorities.fromGroups(jwt.getClaimAsStringList("cognito:groups")));
         return converter;
     }
 
+    /**
+     * Enforces {@link RequiresRole} on controllers, in the position @PreAuthorize checks would run.
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor requiresRoleAuthorizationAdvisor() {
+        Pointcut pointcut = Pointcuts.union(
+                AnnotationMatchingPointcut.forClassAnnotation(RequiresRole.class),
+                AnnotationMatchingPointcut.forMethodAnnotation(RequiresRole.class));
+        AuthorizationManagerBeforeMethodInterceptor interceptor =
+                new AuthorizationManagerBeforeMethodInterceptor(pointcut, new RoleAuthorizationManager());
+        interceptor.setOrder(AuthorizationInterceptorsOrder.PRE_AUTHORIZE.getOrder());
+        return interceptor;
+    }
+
 }
\ No newline at end of file
@@ -1,15 +1,16 @@
 package com.sjsu.booktable.controller;
 
 import com.sjsu.booktable.model.dto.BTResponse;
+import com.sjsu.booktable.model.enums.Role;
+import com.sjsu.booktable.security.RequiresRole;
 import com.sjsu.booktable.service.admin.AdminService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
 @RequestMapping("/api/admin")
-@PreAuthorize("hasAuthority('Admin')")
+@RequiresRole(Role.ADMIN)
 public class AdminController {
 
     @Autowired
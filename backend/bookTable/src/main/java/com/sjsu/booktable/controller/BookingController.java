@@ -5,11 +5,12 @@ import com.sjsu.booktable.model.dto.booking.BookingConflictResponseDto;
 import com.sjsu.booktable.model.dto.booking.BookingRequestDTO;
 import com.sjsu.booktable.model.dto.booking.BookingResponseDTO;
 import com.sjsu.booktable.model.entity.Booking;
+import com.sjsu.booktable.model.enums.Role;
+import com.sjsu.booktable.security.RequiresRole;
 import com.sjsu.booktable.service.booking.BookingService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
@@ -29,7 +30,7 @@ public class BookingController {
     private final BookingService bookingService;
 
     @PostMapping("/create")
-    @PreAuthorize("hasAuthority('Customer')")
+    @RequiresRole(Role.CUSTOMER)
     public ResponseEntity createBooking(@RequestBody @Valid BookingRequestDTO bookingRequest, @AuthenticationPrincipal Jwt jwt) {
         String customerId= jwt.getSubject();
         bookingRequest.setCustomerId(customerId);
@@ -38,14 +39,14 @@ public class BookingController {
     }
 
     @DeleteMapping("/cancel/{bookingId}")
-    @PreAuthorize("hasAuthority('Customer')")
+    @RequiresRole(Role.CUSTOMER)
     public ResponseEntity cancelBooking(@PathVariable("bookingId") int bookingId) {
         BookingResponseDTO cancelBookingResponse = bookingService.cancelBooking(bookingId);
         return ResponseEntity.ok(BTResponse.success(cancelBookingResponse));
     }
     
     @GetMapping("/fetch")
-    @PreAuthorize("hasAuthority('Customer')")
+    @RequiresRole(Role.CUSTOMER)
     public ResponseEntity fetchBookings(@AuthenticationPrincipal Jwt jwt) {
         String customerId = jwt.getSubject();
         List<BookingResponseDTO> bookingsResponse = bookingService.getBookingsByCustomerId(customerId);
@@ -56,7 +57,7 @@ public class BookingController {
     }
     
     @GetMapping("/check-conflicts")
-    @PreAuthorize("hasAuthority('Customer')")
+    @RequiresRole(Role.CUSTOMER)
     public ResponseEntity checkConflictingBookings(
             @RequestParam("bookingDate") LocalDate bookingDate,
             @RequestParam("bookingTime") LocalTime bookingTime,
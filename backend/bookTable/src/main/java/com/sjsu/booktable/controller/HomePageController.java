@@ -27,7 +27,8 @@ public class HomePageController {
     }
 
     @GetMapping("/restaurants/{id}")
-    public ResponseEntity getRestaurantById(@PathVariable Integer id){
-        return ResponseEntity.ok(BTResponse.success(restaurantService.fetchRestaurantDetails(id)));
+    public ResponseEntity getRestaurantById(@PathVariable Integer id,
+                                            @RequestParam(required = false) String reviewCursor){
+        return ResponseEntity.ok(BTResponse.success(restaurantService.fetchRestaurantDetailsForDisplay(id, reviewCursor)));
     }
 }
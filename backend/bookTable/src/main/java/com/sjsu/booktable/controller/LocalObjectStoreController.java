@@ -0,0 +1,54 @@
+package com.sjsu.booktable.controller;
+
+import com.sjsu.booktable.service.s3.LocalObjectStore;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriUtils;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Embedded endpoint behind the presigned URLs of {@link LocalObjectStore}: PUT uploads an object, GET serves it.
+ * The signature in the URL is the authorization, as with S3, so the endpoint is public.
+ */
+@RestController
+@RequestMapping(LocalObjectStore.PATH)
+@ConditionalOnProperty(name = "booktable.storage.backend", havingValue = "local")
+@RequiredArgsConstructor
+public class LocalObjectStoreController {
+
+    private final LocalObjectStore objectStore;
+
+    @GetMapping("/**")
+    public void getObject(@RequestParam("expires") long expires, @RequestParam("signature") String signature,
+                          HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Path object = objectStore.authorize("GET", keyOf(request), expires, signature);
+        response.setContentType(MediaTypeFactory.getMediaType(object.getFileName().toString())
+                .orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+        response.setContentLengthLong(Files.size(object));
+        objectStore.transferTo(object, Channels.newChannel(response.getOutputStream()));
+    }
+
+    @PutMapping("/**")
+    public ResponseEntity putObject(@RequestParam("expires") long expires, @RequestParam("signature") String signature,
+                                    HttpServletRequest request) throws IOException {
+        Path object = objectStore.authorize("PUT", keyOf(request), expires, signature);
+        objectStore.transferFrom(Channels.newChannel(request.getInputStream()), object);
+        return ResponseEntity.ok().build();
+    }
+
+    private static String keyOf(HttpServletRequest request) {
+        String prefix = request.getContextPath() + LocalObjectStore.PATH + "/";
+        return UriUtils.decode(request.getRequestURI().substring(prefix.length()), StandardCharsets.UTF_8);
+    }
+}
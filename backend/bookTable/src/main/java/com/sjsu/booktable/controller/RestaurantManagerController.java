@@ -5,6 +5,8 @@ import com.sjsu.booktable.model.dto.restaurant.RestaurantDetailsResponse;
 import com.sjsu.booktable.model.dto.restaurant.RestaurantRequest;
 import com.sjsu.booktable.model.dto.restaurant.RestaurantResponse;
 import com.sjsu.booktable.model.dto.restaurantSearch.RestaurantSearchResponse;
+import com.sjsu.booktable.model.enums.Role;
+import com.sjsu.booktable.security.RequiresRole;
 import com.sjsu.booktable.service.restaurant.RestaurantService;
 import com.sjsu.booktable.service.s3.S3Service;
 import jakarta.validation.Valid;
@@ -12,7 +14,6 @@ import jakarta.validation.constraints.NotEmpty;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
@@ -32,7 +33,7 @@ public class RestaurantManagerController {
     private final S3Service s3Service;
 
     @GetMapping("/restaurants")
-    @PreAuthorize("hasAuthority('RestaurantManager')")
+    @RequiresRole(Role.RESTAURANT_MANAGER)
     public ResponseEntity fetchRestaurants(@AuthenticationPrincipal Jwt jwt) {
         // Extract manager ID from JWT 'sub' claim (Cognito user ID)
         String managerId = jwt.getSubject();
@@ -42,7 +43,7 @@ public class RestaurantManagerController {
     }
 
     @PostMapping( "/restaurants")
-    @PreAuthorize("hasAuthority('RestaurantManager')")
+    @RequiresRole(Role.RESTAURANT_MANAGER)
     public ResponseEntity addRestaurant(@Valid @RequestBody RestaurantRequest request, @AuthenticationPrincipal Jwt jwt) {
         // Extract manager ID from JWT 'sub' claim (Cognito user ID)
         String managerId = jwt.getSubject();
@@ -52,14 +53,14 @@ public class RestaurantManagerController {
     }
 
     @GetMapping("/restaurants/{id}")
-    @PreAuthorize("hasAuthority('RestaurantManager')")
+    @RequiresRole(Role.RESTAURANT_MANAGER)
     public ResponseEntity fetchRestaurantDetails(@PathVariable int id) {
-        RestaurantDetailsResponse response = restaurantService.fetchRestaurantDetails(id);
+        RestaurantDetailsResponse response = restaurantService.fetchRestaurantDetails(id, null);
         return ResponseEntity.ok(BTResponse.success(response));
     }
 
     @PutMapping("/restaurants/{id}")
-    @PreAuthorize("hasAuthority('RestaurantManager')")
+    @RequiresRole(Role.RESTAURANT_MANAGER)
     public ResponseEntity updateRestaurant(@PathVariable int id, @Valid @RequestBody RestaurantRequest request, @AuthenticationPrincipal Jwt jwt) {
         // Extract manager ID from JWT 'sub' claim (Cognito user ID)
         String managerId = jwt.getSubject();
@@ -79,7 +80,7 @@ public class RestaurantManagerController {
      * @return A JSON object with the pre-signed URL.
      */
     @GetMapping("/presigned-url")
-    @PreAuthorize("hasAuthority('RestaurantManager')")
+    @RequiresRole(Role.RESTAURANT_MANAGER)
     public ResponseEntity getPresignedUrl(@RequestParam String folder,
                                              @RequestParam String fileName,
                                              @RequestParam(required = false, defaultValue = "10") int expiration) {
@@ -100,7 +101,7 @@ public class RestaurantManagerController {
      * @return A JSON object with a success message.
      */
     @DeleteMapping("/bulk")
-    @PreAuthorize("hasAuthority('RestaurantManager')")
+    @RequiresRole(Role.RESTAURANT_MANAGER)
     public ResponseEntity<?> bulkDelete(@RequestBody @NotEmpty List<String> keys) {
         s3Service.deleteFilesBulk(keys);
         return ResponseEntity.ok(BTResponse.success("Files deleted successfully"));
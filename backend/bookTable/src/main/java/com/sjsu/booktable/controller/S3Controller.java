@@ -10,7 +10,6 @@ import org.springframework.web.bind.annotation.*;
 import java.net.URL;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/s3")
@@ -24,12 +23,7 @@ public class S3Controller {
     public ResponseEntity getBatchPresignedUrls(@RequestBody List<String> keys,
                                                 @RequestParam(required = false, defaultValue = "60") int expiration) {
         try {
-            List<String> uniqueKeys = keys.stream().distinct().toList();
-            Map<String, URL> urls = uniqueKeys.stream()
-                    .collect(Collectors.toMap(
-                            key -> key,
-                            key -> s3Service.generatePresignedGetUrl(key, expiration)
-                    ));
+            Map<String, URL> urls = s3Service.generatePresignedGetUrls(keys, expiration);
             return ResponseEntity.ok(BTResponse.success(urls));
         } catch (Exception e) {
             log.error("error with presigned url generation: ", e);
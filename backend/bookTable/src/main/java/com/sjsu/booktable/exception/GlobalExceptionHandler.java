@@ -4,10 +4,12 @@ import com.sjsu.booktable.exception.auth.InvalidRequestException;
 import com.sjsu.booktable.exception.auth.LogoutFailedException;
 import com.sjsu.booktable.exception.auth.OtpSendFailedException;
 import com.sjsu.booktable.exception.auth.OtpVerificationFailedException;
+import com.sjsu.booktable.exception.booking.BookingCapacityExceededException;
 import com.sjsu.booktable.exception.booking.BookingNotFoundException;
 import com.sjsu.booktable.exception.restaurant.GeocodingException;
 import com.sjsu.booktable.exception.restaurant.InvalidRestaurantRequestException;
 import com.sjsu.booktable.exception.restaurant.PhotoUploadException;
+import com.sjsu.booktable.exception.storage.ObjectStoreException;
 import com.sjsu.booktable.model.dto.BTResponse;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -67,11 +69,21 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(ex.getStatus()).body(BTResponse.failure(ex.getMessage()));
     }
 
+    @ExceptionHandler(ObjectStoreException.class)
+    public ResponseEntity<BTResponse<String>> handleObjectStoreException(ObjectStoreException ex) {
+        return ResponseEntity.status(ex.getStatus()).body(BTResponse.failure(ex.getMessage()));
+    }
+
     @ExceptionHandler(BookingNotFoundException.class)
     public ResponseEntity<BTResponse<String>> handleBookingNotFoundException(BookingNotFoundException ex) {
         return ResponseEntity.status(ex.getStatus()).body(BTResponse.failure(ex.getMessage()));
     }
 
+    @ExceptionHandler(BookingCapacityExceededException.class)
+    public ResponseEntity<BTResponse<String>> handleBookingCapacityExceededException(BookingCapacityExceededException ex) {
+        return ResponseEntity.status(ex.getStatus()).body(BTResponse.failure(ex.getMessage()));
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<BTResponse<String>> handleGenericException(Exception ex) {
         return ResponseEntity.internalServerError().body(BTResponse.failure("An unexpected error occurred: " + ex.getMessage()));
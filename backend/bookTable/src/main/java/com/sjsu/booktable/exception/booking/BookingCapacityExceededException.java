@@ -0,0 +1,15 @@
+package com.sjsu.booktable.exception.booking;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+@Getter
+public class BookingCapacityExceededException extends RuntimeException {
+
+    private final HttpStatus status;
+
+    public BookingCapacityExceededException(String message) {
+        super(message);
+        this.status = HttpStatus.CONFLICT;
+    }
+}
@@ -0,0 +1,20 @@
+package com.sjsu.booktable.exception.storage;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+@Getter
+public class ObjectStoreException extends RuntimeException {
+
+    private final HttpStatus status;
+
+    public ObjectStoreException(String message, HttpStatus httpStatus) {
+        super(message);
+        this.status = httpStatus;
+    }
+
+    public ObjectStoreException(String message, HttpStatus httpStatus, Throwable cause) {
+        super(message, cause);
+        this.status = httpStatus;
+    }
+}
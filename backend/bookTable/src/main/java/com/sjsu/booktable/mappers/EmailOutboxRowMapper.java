@@ -0,0 +1,26 @@
+package com.sjsu.booktable.mappers;
+
+import com.sjsu.booktable.model.entity.EmailOutboxEntry;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+public class EmailOutboxRowMapper implements RowMapper<EmailOutboxEntry> {
+
+    @Override
+    public EmailOutboxEntry mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return EmailOutboxEntry.builder()
+                .id(rs.getLong("id"))
+                .bookingId(rs.getInt("booking_id"))
+                .type(rs.getString("type"))
+                .recipient(rs.getString("recipient"))
+                .status(rs.getString("status"))
+                .attempts(rs.getInt("attempts"))
+                .nextAttemptAt(rs.getTimestamp("next_attempt_at"))
+                .lastError(rs.getString("last_error"))
+                .createdAt(rs.getTimestamp("created_at"))
+                .updatedAt(rs.getTimestamp("updated_at"))
+                .build();
+    }
+}
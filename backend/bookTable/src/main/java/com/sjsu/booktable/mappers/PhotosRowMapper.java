@@ -14,6 +14,8 @@ public class PhotosRowMapper implements RowMapper<Photo> {
                 .id(rs.getInt("id"))
                 .restaurantId(rs.getInt("restaurant_id"))
                 .s3URL(rs.getString("s3_url"))
+                .thumbnailKey(rs.getString("thumbnail_key"))
+                .mediumKey(rs.getString("medium_key"))
                 .description(rs.getString("description"))
                 .uploadedAt(rs.getTimestamp("uploaded_at"))
                 .build();
@@ -32,6 +32,7 @@ public class RestaurantRowMapper implements RowMapper<Restaurant> {
                 .country(rs.getString("country"))
                 .location(point)
                 .mainPhotoUrl(rs.getString("main_photo_url"))
+                .mainPhotoMediumKey(hasColumn(rs, "main_photo_medium_key") ? rs.getString("main_photo_medium_key") : null)
                 .createdAt(rs.getTimestamp("created_at"))
                 .updatedAt(rs.getTimestamp("updated_at"))
                 .approved(rs.getBoolean("approved"))
@@ -6,13 +6,12 @@ import org.springframework.jdbc.core.RowMapper;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 
+import static com.sjsu.booktable.utils.RestaurantUtil.METERS_PER_MILE;
 import static com.sjsu.booktable.utils.RestaurantUtil.getFormattedAddress;
 import static com.sjsu.booktable.utils.SQLUtils.hasColumn;
 
 public class RestaurantSearchRowMapper implements RowMapper<RestaurantSearchDetails> {
 
-    private static final double METERS_PER_MILE = 1609.34;
-
     @Override
     public RestaurantSearchDetails mapRow(ResultSet rs, int rowNum) throws SQLException {
         RestaurantSearchDetails searchDetails = new RestaurantSearchDetails();
@@ -5,7 +5,7 @@ import lombok.Data;
 
 @Data
 public class BookingResponseDTO {
-    private boolean emailSent;
+    private boolean emailQueued;
     private Booking booking;
     private String status;
 }
@@ -0,0 +1,14 @@
+package com.sjsu.booktable.model.dto.email;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class BulkEmailDestinationResult {
+    private int bookingId;
+    private String recipient;
+    private boolean sent;
+    private String messageId; // SES message id, set when sent
+    private String error; // SES status or exception message, set when not sent
+}
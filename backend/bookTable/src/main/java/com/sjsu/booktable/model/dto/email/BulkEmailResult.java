@@ -0,0 +1,20 @@
+package com.sjsu.booktable.model.dto.email;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class BulkEmailResult {
+    private List<BulkEmailDestinationResult> destinations; // in the order of the requested bookings
+
+    public long getSentCount() {
+        return destinations.stream().filter(BulkEmailDestinationResult::isSent).count();
+    }
+
+    public long getFailedCount() {
+        return destinations.size() - getSentCount();
+    }
+}
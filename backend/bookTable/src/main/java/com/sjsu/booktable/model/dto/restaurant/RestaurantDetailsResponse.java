@@ -1,5 +1,6 @@
 package com.sjsu.booktable.model.dto.restaurant;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.sjsu.booktable.model.dto.review.ReviewDto;
 import lombok.Builder;
 import lombok.Data;
@@ -7,7 +8,7 @@ import lombok.Data;
 import java.util.List;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 public class RestaurantDetailsResponse {
 
     private int id;
@@ -26,6 +27,11 @@ public class RestaurantDetailsResponse {
     private String mainPhotoUrl; // s3 keys
     // Additional photos from the photos table
     private List<String> additionalPhotoUrls; // s3 keys
+    // Medium renditions of the photos above, the original where none is generated yet
+    @JsonIgnore
+    private String mainPhotoMediumUrl;
+    @JsonIgnore
+    private List<String> additionalPhotoMediumUrls;
     // Operating hours as defined by HoursDTO for each day
     private List<TableConfigurationDto> tableConfigurations;
     private List<HoursDto> operatingHours;
@@ -34,7 +40,8 @@ public class RestaurantDetailsResponse {
     private boolean approved;
     private Integer bookingCount; // Number of bookings for this restaurant on the current date
 
-    private List<ReviewDto> reviews;
+    private List<ReviewDto> reviews; // newest first, one page
+    private String nextReviewCursor; // pass as reviewCursor to load the next page, null on the last page
     private double averageRating;
     private int reviewCount;
 
@@ -0,0 +1,16 @@
+package com.sjsu.booktable.model.dto.restaurantSearch;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RestaurantLocation {
+    private int id;
+    private double longitude;
+    private double latitude;
+}
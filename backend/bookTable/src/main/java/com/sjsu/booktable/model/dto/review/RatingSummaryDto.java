@@ -0,0 +1,20 @@
+package com.sjsu.booktable.model.dto.review;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class RatingSummaryDto {
+    private int restaurantId;
+    private long ratingSum;
+    private int reviewCount;
+
+    public double getAverageRating() {
+        return reviewCount == 0 ? 0.0 : (double) ratingSum / reviewCount;
+    }
+
+    public static RatingSummaryDto empty(int restaurantId) {
+        return RatingSummaryDto.builder().restaurantId(restaurantId).build();
+    }
+}
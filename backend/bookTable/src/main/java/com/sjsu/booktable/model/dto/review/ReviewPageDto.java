@@ -0,0 +1,13 @@
+package com.sjsu.booktable.model.dto.review;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class ReviewPageDto {
+    private List<ReviewDto> reviews;
+    private String nextCursor; // null when there are no more reviews
+}
@@ -0,0 +1,28 @@
+package com.sjsu.booktable.model.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.sql.Timestamp;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+@Table(name = "email_outbox")
+public class EmailOutboxEntry {
+
+    private long id;
+    private int bookingId;
+    private String type;
+    private String recipient;
+    private String status;
+    private int attempts;
+    private Timestamp nextAttemptAt;
+    private String lastError;
+    private Timestamp createdAt;
+    private Timestamp updatedAt;
+}
@@ -17,6 +17,8 @@ public class Photo {
     private int id;
     private int restaurantId;
     private String s3URL;
+    private String thumbnailKey;    // renditions, null until generated
+    private String mediumKey;
     private String description;
     private Timestamp uploadedAt;
 }
@@ -29,6 +29,7 @@ public class Restaurant {
     private String country;
     private Point location; // MySQL POINT type
     private String mainPhotoUrl;
+    private String mainPhotoMediumKey; // medium rendition of the main photo, null until generated
     private Timestamp createdAt;
     private Timestamp updatedAt;
     private boolean approved;
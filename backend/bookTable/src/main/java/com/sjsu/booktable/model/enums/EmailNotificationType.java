@@ -0,0 +1,25 @@
+package com.sjsu.booktable.model.enums;
+
+import lombok.Getter;
+
+@Getter
+public enum EmailNotificationType {
+
+    BOOKING_CONFIRMATION("booking_confirmation"),
+    BOOKING_CANCELLATION("booking_cancellation");
+
+    private final String type;
+
+    EmailNotificationType(String type) {
+        this.type = type;
+    }
+
+    public static EmailNotificationType fromType(String type) {
+        for (EmailNotificationType notificationType : values()) {
+            if (notificationType.type.equals(type)) {
+                return notificationType;
+            }
+        }
+        throw new IllegalArgumentException("Unknown email notification type: " + type);
+    }
+}
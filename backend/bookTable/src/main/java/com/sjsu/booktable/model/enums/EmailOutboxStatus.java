@@ -0,0 +1,18 @@
+package com.sjsu.booktable.model.enums;
+
+import lombok.Getter;
+
+@Getter
+public enum EmailOutboxStatus {
+
+    PENDING("pending"),
+    SENT("sent"),
+    SKIPPED("skipped"),
+    FAILED("failed");
+
+    private final String status;
+
+    EmailOutboxStatus(String status) {
+        this.status = status;
+    }
+}
@@ -0,0 +1,30 @@
+package com.sjsu.booktable.model.enums;
+
+import lombok.Getter;
+
+/**
+ * Renditions generated for every uploaded restaurant photo. A rendition is a JPEG stored next to the
+ * original, its longest side scaled down to {@code maxDimension} pixels.
+ */
+@Getter
+public enum PhotoSize {
+    THUMBNAIL("thumb", 320),   // search results
+    MEDIUM("medium", 1024);    // restaurant details page
+
+    private final String suffix;
+    private final int maxDimension;
+
+    PhotoSize(String suffix, int maxDimension) {
+        this.suffix = suffix;
+        this.maxDimension = maxDimension;
+    }
+
+    /**
+     * Key of this rendition of an original, e.g. restaurants/main/x-photo.png becomes restaurants/main/x-photo_thumb.jpg.
+     */
+    public String keyFor(String originalKey) {
+        int extension = originalKey.lastIndexOf('.');
+        String base = extension > originalKey.lastIndexOf('/') ? originalKey.substring(0, extension) : originalKey;
+        return base + "_" + suffix + ".jpg";
+    }
+}
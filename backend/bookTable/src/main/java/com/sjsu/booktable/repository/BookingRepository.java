@@ -11,17 +11,22 @@ import java.util.Map;
 
 public interface BookingRepository {
 
-    Map<LocalTime, Integer> getBookedCapacityForTimeSlotsForRestaurant(int restaurantId, LocalDate reservationDate, List<LocalTime> timeSlots);
+
+    Map<Integer, Map<LocalTime, Map<Integer, Integer>>> getBookedPartiesForRestaurantsAndDate(List<Integer> restaurantIds, LocalDate reservationDate);
 
     int saveBooking(BookingRequestDTO bookingRequest);
 
     int cancelBookingById(int bookingId);
 
     Booking findBookingById(int bookingId);
+
+    List<Booking> findBookingsByIds(List<Integer> bookingIds);
     
     List<Booking> findBookingsByCustomerId(String customerId);
 
     Booking findBookingWithConflict(String customerId, LocalDate reservationDate, LocalTime fromTime, LocalTime toTime);
     
     Map<Integer, Integer> getBookingCountsByRestaurantIds(List<Integer> restaurantIds, LocalDate date);
+
+    List<Booking> cancelUpcomingBookingsByRestaurantId(int restaurantId, LocalDate fromDate);
 }
@@ -17,6 +17,7 @@ import java.sql.Statement;
 import java.sql.Time;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -67,8 +68,32 @@ public class BookingRepositoryImpl implements BookingRepository {
 
     @Override
     public int cancelBookingById(int bookingId) {
-        String sqlSoftDeleteQuery = "UPDATE bookings SET status = ? WHERE id = ?";
-        return jdbcTemplate.update(sqlSoftDeleteQuery, BookingStatus.CANCELLED.getStatus(), bookingId);
+        // Only a confirmed booking can be cancelled, so concurrent cancellations release its capacity once
+        String sqlSoftDeleteQuery = "UPDATE bookings SET status = ? WHERE id = ? AND status = ?";
+        return jdbcTemplate.update(sqlSoftDeleteQuery, BookingStatus.CANCELLED.getStatus(), bookingId, BookingStatus.CONFIRMED.getStatus());
+    }
+
+    @Override
+    public List<Booking> cancelUpcomingBookingsByRestaurantId(int restaurantId, LocalDate fromDate) {
+        // Locked until the caller's transaction ends, so a concurrent cancellation cannot slip in before the update
+        String selectSql = "SELECT * FROM bookings WHERE restaurant_id = ? AND booking_date >= ? AND status = ? FOR UPDATE";
+        List<Booking> bookings = jdbcTemplate.query(selectSql, new BookingRowMapper(),
+                restaurantId, Date.valueOf(fromDate), BookingStatus.CONFIRMED.getStatus());
+        if (bookings.isEmpty()) {
+            return bookings;
+        }
+
+        String updateSql = "UPDATE bookings SET status = ? WHERE id IN (" + buildPlaceholders(bookings) + ") AND status = ?";
+        Object[] params = new Object[bookings.size() + 2];
+        params[0] = BookingStatus.CANCELLED.getStatus();
+        for (int i = 0; i < bookings.size(); i++) {
+            params[i + 1] = bookings.get(i).getId();
+        }
+        params[bookings.size() + 1] = BookingStatus.CONFIRMED.getStatus();
+        jdbcTemplate.update(updateSql, params);
+
+        bookings.forEach(booking -> booking.setStatus(BookingStatus.CANCELLED.getStatus()));
+        return bookings;
     }
 
     @Override
@@ -82,34 +107,45 @@ public class BookingRepositoryImpl implements BookingRepository {
     }
 
     @Override
-    public Map<LocalTime, Integer> getBookedCapacityForTimeSlotsForRestaurant(int restaurantId, LocalDate reservationDate, List<LocalTime> timeSlots) {
-        String sql = "SELECT booking_time, SUM(party_size) AS total FROM bookings WHERE restaurant_id = ? AND booking_date = ? AND status = 'confirmed' " +
-                "AND booking_time IN (" + buildPlaceholders(timeSlots) + ") GROUP BY booking_time";
-
-        // Build parameter array: first restaurantId and reservationDate, then each candidate slot as java.sql.Time.
-        Object[] params = new Object[2 + timeSlots.size()];
-        params[0] = restaurantId;
-        params[1] = reservationDate;
-        int index = 2;
-        for (LocalTime slot : timeSlots) {
-            params[index++] = Time.valueOf(slot);
+    public Map<Integer, Map<LocalTime, Map<Integer, Integer>>> getBookedPartiesForRestaurantsAndDate(List<Integer> restaurantIds, LocalDate reservationDate) {
+        if (restaurantIds.isEmpty()) {
+            return Collections.emptyMap();
         }
 
-        List<Map<String, Object>> rows = jdbcTemplate.queryForList(sql, params);
+        String sql = "SELECT restaurant_id, booking_time, party_size, COUNT(*) AS parties FROM bookings " +
+                "WHERE restaurant_id IN (" + buildPlaceholders(restaurantIds) + ") AND booking_date = ? AND status = 'confirmed' " +
+                "GROUP BY restaurant_id, booking_time, party_size";
 
-        Map<LocalTime, Integer> timeSlotBookedCount = new HashMap<>();
-        // Initialize map with candidate slots, defaulting to 0 booked capacity.
-        for (LocalTime slot : timeSlots) {
-            timeSlotBookedCount.put(slot, 0);
+        // Build parameter array: restaurant ids followed by the reservationDate.
+        Object[] params = new Object[restaurantIds.size() + 1];
+        for (int i = 0; i < restaurantIds.size(); i++) {
+            params[i] = restaurantIds.get(i);
         }
+        params[restaurantIds.size()] = reservationDate;
+
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(sql, params);
 
-        // Process the query results and update the map.
+        // restaurant id -> booking time -> party size -> number of confirmed bookings
+        Map<Integer, Map<LocalTime, Map<Integer, Integer>>> bookedParties = new HashMap<>();
         for (Map<String, Object> row : rows) {
+            int restaurantId = ((Number) row.get("restaurant_id")).intValue();
             Time bookingTime = (Time) row.get("booking_time");
-            int total = ((Number) row.get("total")).intValue();
-            timeSlotBookedCount.put(bookingTime.toLocalTime(), total);
+            int partySize = ((Number) row.get("party_size")).intValue();
+            int parties = ((Number) row.get("parties")).intValue();
+            bookedParties.computeIfAbsent(restaurantId, k -> new HashMap<>())
+                    .computeIfAbsent(bookingTime.toLocalTime(), k -> new HashMap<>())
+                    .put(partySize, parties);
+        }
+        return bookedParties;
+    }
+
+    @Override
+    public List<Booking> findBookingsByIds(List<Integer> bookingIds) {
+        if (bookingIds.isEmpty()) {
+            return new ArrayList<>();
         }
-        return timeSlotBookedCount;
+        String sql = "SELECT * FROM bookings WHERE id IN (" + buildPlaceholders(bookingIds) + ")";
+        return jdbcTemplate.query(sql, new BookingRowMapper(), bookingIds.toArray());
     }
 
     @Override
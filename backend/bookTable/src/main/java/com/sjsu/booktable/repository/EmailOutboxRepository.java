@@ -0,0 +1,36 @@
+package com.sjsu.booktable.repository;
+
+import com.sjsu.booktable.model.entity.Booking;
+import com.sjsu.booktable.model.entity.EmailOutboxEntry;
+import com.sjsu.booktable.model.enums.EmailNotificationType;
+import com.sjsu.booktable.model.enums.EmailOutboxStatus;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+public interface EmailOutboxRepository {
+
+    long insert(EmailNotificationType type, int bookingId, String recipient);
+
+    /**
+     * Inserts one entry per booking, addressed to its booking email, and returns their ids in booking order.
+     */
+    List<Long> insertAll(EmailNotificationType type, List<Booking> bookings);
+
+    EmailOutboxEntry findById(long id);
+
+    List<Long> findDueIds(Timestamp now, int limit);
+
+    boolean claim(long id, Timestamp now, Timestamp leaseUntil);
+
+    /**
+     * Claims the given entries that are pending and due under the token, returning how many were claimed.
+     */
+    int claimAll(String claimToken, List<Long> ids, Timestamp now, Timestamp leaseUntil);
+
+    List<EmailOutboxEntry> findClaimed(String claimToken);
+
+    void complete(long id, EmailOutboxStatus status, String error);
+
+    void scheduleRetry(long id, Timestamp nextAttemptAt, String error);
+}
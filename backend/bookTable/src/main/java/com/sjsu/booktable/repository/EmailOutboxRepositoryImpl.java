@@ -0,0 +1,151 @@
+package com.sjsu.booktable.repository;
+
+import com.sjsu.booktable.mappers.EmailOutboxRowMapper;
+import com.sjsu.booktable.model.entity.Booking;
+import com.sjsu.booktable.model.entity.EmailOutboxEntry;
+import com.sjsu.booktable.model.enums.EmailNotificationType;
+import com.sjsu.booktable.model.enums.EmailOutboxStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.sjsu.booktable.utils.SQLUtils.buildPlaceholders;
+
+@Repository
+public class EmailOutboxRepositoryImpl implements EmailOutboxRepository {
+
+    private static final int MAX_ERROR_LENGTH = 1024;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public long insert(EmailNotificationType type, int bookingId, String recipient) {
+        String sql = "INSERT INTO email_outbox (booking_id, type, recipient, status) VALUES (?, ?, ?, ?)";
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+            ps.setInt(1, bookingId);
+            ps.setString(2, type.getType());
+            ps.setString(3, recipient);
+            ps.setString(4, EmailOutboxStatus.PENDING.getStatus());
+            return ps;
+        }, keyHolder);
+
+        Number key = keyHolder.getKey();
+        if (key == null) {
+            throw new RuntimeException("Failed to retrieve generated key after email outbox insert.");
+        }
+        return key.longValue();
+    }
+
+    @Override
+    public List<Long> insertAll(EmailNotificationType type, List<Booking> bookings) {
+        if (bookings.isEmpty()) {
+            return new ArrayList<>();
+        }
+        String sql = "INSERT INTO email_outbox (booking_id, type, recipient, status) VALUES (?, ?, ?, ?)";
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Booking booking = bookings.get(i);
+                        ps.setInt(1, booking.getId());
+                        ps.setString(2, type.getType());
+                        ps.setString(3, booking.getEmail());
+                        ps.setString(4, EmailOutboxStatus.PENDING.getStatus());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return bookings.size();
+                    }
+                }, keyHolder);
+
+        List<Long> ids = new ArrayList<>(bookings.size());
+        for (Map<String, Object> keys : keyHolder.getKeyList()) {
+            ids.add(((Number) keys.values().iterator().next()).longValue());
+        }
+        if (ids.size() != bookings.size()) {
+            throw new RuntimeException("Failed to retrieve generated keys after email outbox batch insert.");
+        }
+        return ids;
+    }
+
+    @Override
+    public EmailOutboxEntry findById(long id) {
+        String sql = "SELECT * FROM email_outbox WHERE id = ?";
+        try {
+            return jdbcTemplate.queryForObject(sql, new EmailOutboxRowMapper(), id);
+        } catch (EmptyResultDataAccessException e) {
+            return null; // not found
+        }
+    }
+
+    @Override
+    public List<Long> findDueIds(Timestamp now, int limit) {
+        String sql = "SELECT id FROM email_outbox WHERE status = ? AND next_attempt_at <= ? ORDER BY next_attempt_at LIMIT ?";
+        return jdbcTemplate.queryForList(sql, Long.class, EmailOutboxStatus.PENDING.getStatus(), now, limit);
+    }
+
+    @Override
+    public boolean claim(long id, Timestamp now, Timestamp leaseUntil) {
+        // Pushing next_attempt_at past the lease hides the entry from other workers and instances while it is sent
+        String sql = "UPDATE email_outbox SET attempts = attempts + 1, next_attempt_at = ? " +
+                "WHERE id = ? AND status = ? AND next_attempt_at <= ?";
+        return jdbcTemplate.update(sql, leaseUntil, id, EmailOutboxStatus.PENDING.getStatus(), now) == 1;
+    }
+
+    @Override
+    public int claimAll(String claimToken, List<Long> ids, Timestamp now, Timestamp leaseUntil) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        String sql = "UPDATE email_outbox SET claim_token = ?, attempts = attempts + 1, next_attempt_at = ? " +
+                "WHERE id IN (" + buildPlaceholders(ids) + ") AND status = ? AND next_attempt_at <= ?";
+        List<Object> params = new ArrayList<>();
+        params.add(claimToken);
+        params.add(leaseUntil);
+        params.addAll(ids);
+        params.add(EmailOutboxStatus.PENDING.getStatus());
+        params.add(now);
+        return jdbcTemplate.update(sql, params.toArray());
+    }
+
+    @Override
+    public List<EmailOutboxEntry> findClaimed(String claimToken) {
+        String sql = "SELECT * FROM email_outbox WHERE claim_token = ?";
+        return jdbcTemplate.query(sql, new EmailOutboxRowMapper(), claimToken);
+    }
+
+    @Override
+    public void complete(long id, EmailOutboxStatus status, String error) {
+        String sql = "UPDATE email_outbox SET status = ?, last_error = ? WHERE id = ?";
+        jdbcTemplate.update(sql, status.getStatus(), truncate(error), id);
+    }
+
+    @Override
+    public void scheduleRetry(long id, Timestamp nextAttemptAt, String error) {
+        String sql = "UPDATE email_outbox SET next_attempt_at = ?, last_error = ? WHERE id = ? AND status = ?";
+        jdbcTemplate.update(sql, nextAttemptAt, truncate(error), id, EmailOutboxStatus.PENDING.getStatus());
+    }
+
+    private static String truncate(String error) {
+        return error == null || error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,13 @@
+package com.sjsu.booktable.repository;
+
+import java.util.List;
+import java.util.Map;
+
+public interface GeocodeCacheRepository {
+
+    double[] findByAddressKey(String addressKey);
+
+    Map<String, double[]> findByAddressKeys(List<String> addressKeys);
+
+    void save(String addressKey, double longitude, double latitude);
+}
@@ -0,0 +1,49 @@
+package com.sjsu.booktable.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.sjsu.booktable.utils.SQLUtils.buildPlaceholders;
+
+/**
+ * Coordinates are returned as {longitude, latitude}, the order MySQL POINT uses.
+ */
+@Repository
+public class GeocodeCacheRepositoryImpl implements GeocodeCacheRepository {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public double[] findByAddressKey(String addressKey) {
+        String sql = "SELECT longitude, latitude FROM geocode_cache WHERE address_key = ?";
+        List<double[]> coords = jdbcTemplate.query(sql,
+                (rs, rowNum) -> new double[]{rs.getDouble("longitude"), rs.getDouble("latitude")}, addressKey);
+        return coords.isEmpty() ? null : coords.get(0);
+    }
+
+    @Override
+    public Map<String, double[]> findByAddressKeys(List<String> addressKeys) {
+        Map<String, double[]> coordsByKey = new HashMap<>();
+        if (addressKeys.isEmpty()) {
+            return coordsByKey;
+        }
+        String sql = "SELECT address_key, longitude, latitude FROM geocode_cache WHERE address_key IN (" + buildPlaceholders(addressKeys) + ")";
+        jdbcTemplate.query(sql, rs -> {
+            coordsByKey.put(rs.getString("address_key"), new double[]{rs.getDouble("longitude"), rs.getDouble("latitude")});
+        }, addressKeys.toArray());
+        return coordsByKey;
+    }
+
+    @Override
+    public void save(String addressKey, double longitude, double latitude) {
+        String sql = "INSERT INTO geocode_cache (address_key, longitude, latitude) VALUES (?, ?, ?) " +
+                "ON DUPLICATE KEY UPDATE longitude = VALUES(longitude), latitude = VALUES(latitude)";
+        jdbcTemplate.update(sql, addressKey, longitude, latitude);
+    }
+}
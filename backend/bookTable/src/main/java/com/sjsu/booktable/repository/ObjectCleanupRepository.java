@@ -0,0 +1,24 @@
+package com.sjsu.booktable.repository;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+
+public interface ObjectCleanupRepository {
+
+    /**
+     * Queues keys for deletion, keys already queued are kept as they are.
+     */
+    void insertKeys(Collection<String> keys);
+
+    /**
+     * Claims up to limit due keys under the token, returning how many were claimed.
+     */
+    int claimDue(String claimToken, Timestamp now, Timestamp leaseUntil, int limit);
+
+    List<String> findClaimedKeys(String claimToken);
+
+    void deleteClaimed(String claimToken);
+
+    void releaseClaimed(String claimToken, Timestamp nextAttemptAt, String error);
+}
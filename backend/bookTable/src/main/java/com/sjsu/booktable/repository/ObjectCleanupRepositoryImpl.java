@@ -0,0 +1,53 @@
+package com.sjsu.booktable.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public class ObjectCleanupRepositoryImpl implements ObjectCleanupRepository {
+
+    private static final int MAX_ERROR_LENGTH = 1024;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertKeys(Collection<String> keys) {
+        String sql = "INSERT IGNORE INTO object_cleanup_queue (object_key) VALUES (?)";
+        jdbcTemplate.batchUpdate(sql, keys, keys.size(), (ps, key) -> ps.setString(1, key));
+    }
+
+    @Override
+    public int claimDue(String claimToken, Timestamp now, Timestamp leaseUntil, int limit) {
+        // Pushing next_attempt_at past the lease hides the keys from other instances while they are deleted
+        String sql = "UPDATE object_cleanup_queue SET claim_token = ?, attempts = attempts + 1, next_attempt_at = ? " +
+                "WHERE next_attempt_at <= ? ORDER BY next_attempt_at LIMIT ?";
+        return jdbcTemplate.update(sql, claimToken, leaseUntil, now, limit);
+    }
+
+    @Override
+    public List<String> findClaimedKeys(String claimToken) {
+        String sql = "SELECT object_key FROM object_cleanup_queue WHERE claim_token = ?";
+        return jdbcTemplate.queryForList(sql, String.class, claimToken);
+    }
+
+    @Override
+    public void deleteClaimed(String claimToken) {
+        jdbcTemplate.update("DELETE FROM object_cleanup_queue WHERE claim_token = ?", claimToken);
+    }
+
+    @Override
+    public void releaseClaimed(String claimToken, Timestamp nextAttemptAt, String error) {
+        String sql = "UPDATE object_cleanup_queue SET claim_token = NULL, next_attempt_at = ?, last_error = ? WHERE claim_token = ?";
+        jdbcTemplate.update(sql, nextAttemptAt, truncate(error), claimToken);
+    }
+
+    private static String truncate(String error) {
+        return error == null || error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -2,14 +2,42 @@ package com.sjsu.booktable.repository;
 
 import com.sjsu.booktable.model.entity.Photo;
 
+import java.sql.Timestamp;
+import java.util.Collection;
 import java.util.List;
 
 public interface PhotosRepository {
 
     int insertPhoto(Photo photo);
 
+    /**
+     * Inserts the photos in one JDBC batch, sent as a single multi-row INSERT when the driver rewrites batches.
+     */
+    void batchInsertPhotos(List<Photo> photos);
+
     List<Photo> getPhotosByRestaurantId(int restaurantId);
 
     void deleteByRestaurantIdAndS3Url(int restaurantId, List<String> s3Urls);
 
+    /**
+     * Photos uploaded since the given time that have no renditions yet, restaurant main photos included.
+     * Only restaurantId and s3URL are set.
+     */
+    List<Photo> findPhotosWithoutDerivatives(Timestamp since, int limit);
+
+    /**
+     * Records the renditions of an original, on its photos row or on the restaurant it is the main photo of.
+     */
+    void updateDerivativeKeys(String s3Url, String thumbnailKey, String mediumKey);
+
+    /**
+     * Every object key a photo row or restaurant refers to, originals and recorded renditions.
+     */
+    List<String> findAllPhotoKeys();
+
+    /**
+     * Originals and recorded renditions of the photo rows and restaurants that refer to any of the keys.
+     */
+    List<String> findPhotoKeysReferencing(Collection<String> keys);
+
 }
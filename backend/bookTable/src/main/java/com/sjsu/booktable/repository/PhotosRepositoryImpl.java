@@ -6,6 +6,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 import static com.sjsu.booktable.utils.SQLUtils.buildPlaceholders;
@@ -16,10 +19,11 @@ public class PhotosRepositoryImpl implements PhotosRepository {
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
+    private static final String INSERT_PHOTO_SQL = "INSERT INTO photos (restaurant_id, s3_url, description, uploaded_at) VALUES (?, ?, ?, ?)";
+
     @Override
     public int insertPhoto(Photo photo) {
-        String sql = "INSERT INTO photos (restaurant_id, s3_url, description, uploaded_at) VALUES (?, ?, ?, ?)";
-        return this.jdbcTemplate.update(sql,
+        return this.jdbcTemplate.update(INSERT_PHOTO_SQL,
                 photo.getRestaurantId(),
                 photo.getS3URL(),
                 photo.getDescription(),
@@ -27,6 +31,21 @@ public class PhotosRepositoryImpl implements PhotosRepository {
         );
     }
 
+    @Override
+    public void batchInsertPhotos(List<Photo> photos) {
+        if (photos.isEmpty()) {
+            return;
+        }
+
+        // With rewriteBatchedStatements the driver sends the whole batch as one multi-row INSERT
+        this.jdbcTemplate.batchUpdate(INSERT_PHOTO_SQL, photos, photos.size(), (ps, photo) -> {
+            ps.setInt(1, photo.getRestaurantId());
+            ps.setString(2, photo.getS3URL());
+            ps.setString(3, photo.getDescription());
+            ps.setTimestamp(4, photo.getUploadedAt());
+        });
+    }
+
     @Override
     public List<Photo> getPhotosByRestaurantId(int restaurantId) {
         String sql = "SELECT * FROM photos WHERE restaurant_id = ?";
@@ -50,4 +69,76 @@ public class PhotosRepositoryImpl implements PhotosRepository {
         }
         this.jdbcTemplate.update(sql, params);
     }
+
+    @Override
+    public List<Photo> findPhotosWithoutDerivatives(Timestamp since, int limit) {
+        String sql = "SELECT restaurant_id, s3_url FROM photos WHERE thumbnail_key IS NULL AND uploaded_at >= ? " +
+                "UNION ALL " +
+                "SELECT id, main_photo_url FROM restaurants WHERE main_photo_url IS NOT NULL AND main_photo_thumbnail_key IS NULL " +
+                "AND deleted = FALSE AND updated_at >= ? " +
+                "LIMIT ?";
+        return this.jdbcTemplate.query(sql, (rs, rowNum) -> Photo.builder()
+                .restaurantId(rs.getInt(1))
+                .s3URL(rs.getString(2))
+                .build(), since, since, limit);
+    }
+
+    @Override
+    public void updateDerivativeKeys(String s3Url, String thumbnailKey, String mediumKey) {
+        this.jdbcTemplate.update("UPDATE photos SET thumbnail_key = ?, medium_key = ? WHERE s3_url = ?",
+                thumbnailKey, mediumKey, s3Url);
+        this.jdbcTemplate.update("UPDATE restaurants SET main_photo_thumbnail_key = ?, main_photo_medium_key = ? WHERE main_photo_url = ?",
+                thumbnailKey, mediumKey, s3Url);
+    }
+
+    @Override
+    public List<String> findAllPhotoKeys() {
+        // Photos of soft deleted restaurants are still referenced, the restaurant can be restored
+        String sql = "SELECT s3_url, thumbnail_key, medium_key FROM photos " +
+                "UNION ALL " +
+                "SELECT main_photo_url, main_photo_thumbnail_key, main_photo_medium_key FROM restaurants WHERE main_photo_url IS NOT NULL";
+        List<String> keys = new ArrayList<>();
+        this.jdbcTemplate.query(sql, rs -> {
+            for (int column = 1; column <= 3; column++) {
+                String key = rs.getString(column);
+                if (key != null) {
+                    keys.add(key);
+                }
+            }
+        });
+        return keys;
+    }
+
+    @Override
+    public List<String> findPhotoKeysReferencing(Collection<String> keys) {
+        List<String> referencing = new ArrayList<>();
+        if (keys.isEmpty()) {
+            return referencing;
+        }
+
+        String placeholders = buildPlaceholders(new ArrayList<>(keys));
+        String sql = "SELECT s3_url, thumbnail_key, medium_key FROM photos " +
+                "WHERE s3_url IN (" + placeholders + ") OR thumbnail_key IN (" + placeholders + ") OR medium_key IN (" + placeholders + ") " +
+                "UNION ALL " +
+                "SELECT main_photo_url, main_photo_thumbnail_key, main_photo_medium_key FROM restaurants " +
+                "WHERE main_photo_url IN (" + placeholders + ") OR main_photo_thumbnail_key IN (" + placeholders + ") " +
+                "OR main_photo_medium_key IN (" + placeholders + ")";
+
+        Object[] params = new Object[keys.size() * 6];
+        int index = 0;
+        for (int column = 0; column < 6; column++) {
+            for (String key : keys) {
+                params[index++] = key;
+            }
+        }
+        this.jdbcTemplate.query(sql, rs -> {
+            for (int column = 1; column <= 3; column++) {
+                String key = rs.getString(column);
+                if (key != null) {
+                    referencing.add(key);
+                }
+            }
+        }, params);
+        return referencing;
+    }
 }
@@ -13,5 +13,7 @@ public interface RestaurantHoursRepository {
 
     RestaurantHours getHoursByRestaurantAndDay(int restaurantId, int dayOfWeek);
 
+    List<RestaurantHours> getHoursByRestaurantIds(List<Integer> restaurantIds);
+
     List<RestaurantHours> getHoursByRestaurantId(int restaurantId);
 }
@@ -11,8 +11,11 @@ import org.springframework.stereotype.Repository;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Time;
+import java.util.Collections;
 import java.util.List;
 
+import static com.sjsu.booktable.utils.SQLUtils.buildPlaceholders;
+
 @Repository
 public class RestaurantHoursRepositoryImpl implements RestaurantHoursRepository {
 
@@ -53,6 +56,16 @@ public class RestaurantHoursRepositoryImpl implements RestaurantHoursRepository
         return jdbcTemplate.queryForObject(sql, new HoursRowMapper(), restaurantId, dayOfWeek);
     }
 
+    @Override
+    public List<RestaurantHours> getHoursByRestaurantIds(List<Integer> restaurantIds) {
+        if (restaurantIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        String sql = "SELECT * FROM hours WHERE restaurant_id IN (" + buildPlaceholders(restaurantIds) + ")";
+        return jdbcTemplate.query(sql, new HoursRowMapper(), restaurantIds.toArray());
+    }
+
     @Override
     public List<RestaurantHours> getHoursByRestaurantId(int restaurantId) {
         String sql = "SELECT * FROM hours WHERE restaurant_id = ?";
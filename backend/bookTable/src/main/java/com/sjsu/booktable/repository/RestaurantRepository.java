@@ -1,6 +1,7 @@
 package com.sjsu.booktable.repository;
 
 import com.sjsu.booktable.model.dto.restaurant.RestaurantDetailsRequest;
+import com.sjsu.booktable.model.dto.restaurantSearch.RestaurantLocation;
 import com.sjsu.booktable.model.dto.restaurantSearch.RestaurantSearchDetails;
 import com.sjsu.booktable.model.entity.Restaurant;
 
@@ -23,14 +24,19 @@ public interface RestaurantRepository {
 
     List<Restaurant> findAllNonDeleted();
 
+    /**
+     * Ids of the non-deleted restaurants after afterId, in ascending order.
+     */
+    List<Integer> findIdsAfter(int afterId, int limit);
+
 
     int addRestaurantDetails(RestaurantDetailsRequest details, double longitude, double latitude, String photoUrl, String managerId);
 
     void updateRestaurantDetails(int id, RestaurantDetailsRequest details, double longitude, double latitude, String photoUrl);
 
-    List<RestaurantSearchDetails> searchRestaurants(double longitude, double latitude, String searchText);
+    List<RestaurantSearchDetails> findSearchDetailsByIds(List<Integer> ids);
 
-    List<RestaurantSearchDetails> findNearbyRestaurants(double longitude, double latitude, int radiusInKm);
+    List<RestaurantLocation> findSearchableLocations();
 
     List<RestaurantSearchDetails> findByManagerId(String managerId);
 
@@ -3,9 +3,9 @@ package com.sjsu.booktable.repository;
 import com.sjsu.booktable.mappers.RestaurantRowMapper;
 import com.sjsu.booktable.mappers.RestaurantSearchRowMapper;
 import com.sjsu.booktable.model.dto.restaurant.RestaurantDetailsRequest;
+import com.sjsu.booktable.model.dto.restaurantSearch.RestaurantLocation;
 import com.sjsu.booktable.model.dto.restaurantSearch.RestaurantSearchDetails;
 import com.sjsu.booktable.model.entity.Restaurant;
-import com.sjsu.booktable.utils.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
@@ -14,9 +14,12 @@ import org.springframework.stereotype.Repository;
 
 import java.sql.PreparedStatement;
 import java.sql.Statement;
+import java.util.Collections;
 import java.util.List;
 import java.time.LocalDateTime;
 
+import static com.sjsu.booktable.utils.SQLUtils.buildPlaceholders;
+
 
 @Repository
 public class RestaurantRepositoryImpl implements RestaurantRepository {
@@ -24,14 +27,12 @@ public class RestaurantRepositoryImpl implements RestaurantRepository {
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
-    private static final int FIXED_RADIUS = 15000; // 15 km in meters for ST_Distance_Sphere
-
     @Override
     public Restaurant findById(int id) {
         String sql = "SELECT id, name, cuisine_type, cost_rating, description, contact_phone, " +
                 "address_line, city, state, zip_code, country, " +
                 "ST_X(location) as longitude, ST_Y(location) as latitude, " +
-                "main_photo_url, created_at, updated_at, approved, manager_id, deleted " +
+                "main_photo_url, main_photo_medium_key, created_at, updated_at, approved, manager_id, deleted " +
                 "FROM restaurants WHERE id = ?";
         try {
             return this.jdbcTemplate.queryForObject(sql, new RestaurantRowMapper(), id);
@@ -120,47 +121,44 @@ public class RestaurantRepositoryImpl implements RestaurantRepository {
 
     @Override
     public void updateRestaurantDetails(int id, RestaurantDetailsRequest details, double longitude, double latitude, String photoUrl) {
+        // The renditions of a replaced main photo are dropped. MySQL assigns left to right, so they are compared
+        // with main_photo_url before it changes.
         String sql = "UPDATE restaurants SET name = ?, cuisine_type = ?, cost_rating = ?, description = ?, contact_phone = ?, " +
-                "address_line = ?, city = ?, state = ?, zip_code = ?, country = ?, location = POINT(?, ?), main_photo_url = ?, updated_at = NOW() " +
+                "address_line = ?, city = ?, state = ?, zip_code = ?, country = ?, location = POINT(?, ?), " +
+                "main_photo_thumbnail_key = IF(main_photo_url <=> ?, main_photo_thumbnail_key, NULL), " +
+                "main_photo_medium_key = IF(main_photo_url <=> ?, main_photo_medium_key, NULL), " +
+                "main_photo_url = ?, updated_at = NOW() " +
                 "WHERE id = ?";
         jdbcTemplate.update(sql,
                 details.getName(), details.getCuisineType(), details.getCostRating(), details.getDescription(),
                 details.getContactPhone(), details.getAddressLine(), details.getCity(), details.getState(),
-                details.getZipCode(), details.getCountry(), longitude, latitude, photoUrl, id);
+                details.getZipCode(), details.getCountry(), longitude, latitude, photoUrl, photoUrl, photoUrl, id);
     }
 
     @Override
-    public List<RestaurantSearchDetails> searchRestaurants(double longitude, double latitude, String searchText) {
-        // Note: Using ST_Distance_Sphere which takes (point1, point2) where points are (longitude, latitude)
-        // The POINT() function in MySQL also stores as (longitude, latitude)
-        StringBuilder sql = new StringBuilder();
-        sql.append("SELECT id, name, cuisine_type, cost_rating, address_line, city, state, zip_code, main_photo_url, ");
-        // Calculate distance in meters using user's location and restaurant's location
-        sql.append("ST_Distance_Sphere(location, POINT(?, ?)) AS distance "); // Parameters: restaurant's location, user's location (lng, lat)
-        sql.append("FROM restaurants ");
-        sql.append("WHERE approved = TRUE AND deleted = FALSE ");
-        // Filter by distance using the same function and radius
-        sql.append("AND ST_Distance_Sphere(location, POINT(?, ?)) <= ? "); // Parameters: restaurant's location, user's location (lng, lat), radius in meters
-
-        Object[] params;
-        // Parameters need to be in the order they appear in the SQL: userLng, userLat, userLng, userLat, radius
-        List<Object> paramList = new java.util.ArrayList<>(List.of(longitude, latitude, longitude, latitude, FIXED_RADIUS));
-
-        if (!StringUtils.isBlank(searchText)) {
-            sql.append("AND (name LIKE ? OR description LIKE ? OR cuisine_type LIKE ?) ");
-            String likeParam = "%" + searchText.trim() + "%";
-            paramList.add(likeParam);
-            paramList.add(likeParam);
-            paramList.add(likeParam);
+    public List<RestaurantSearchDetails> findSearchDetailsByIds(List<Integer> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
         }
 
-        sql.append("ORDER BY distance ASC");
-
-        params = paramList.toArray(); // Convert list to array for query method
-
-        return jdbcTemplate.query(sql.toString(), new RestaurantSearchRowMapper(), params);
+        // Candidates come from the in-memory geo and text indexes, so only their rows are read by primary key.
+        // Search results show the thumbnail of the main photo once it is generated.
+        String sql = "SELECT id, name, cuisine_type, cost_rating, address_line, city, state, zip_code, " +
+                "COALESCE(main_photo_thumbnail_key, main_photo_url) AS main_photo_url " +
+                "FROM restaurants WHERE id IN (" + buildPlaceholders(ids) + ") AND approved = TRUE AND deleted = FALSE";
+        return jdbcTemplate.query(sql, new RestaurantSearchRowMapper(), ids.toArray());
     }
 
+    @Override
+    public List<RestaurantLocation> findSearchableLocations() {
+        String sql = "SELECT id, ST_X(location) AS longitude, ST_Y(location) AS latitude " +
+                "FROM restaurants WHERE approved = TRUE AND deleted = FALSE AND location IS NOT NULL";
+        return jdbcTemplate.query(sql, (rs, rowNum) -> RestaurantLocation.builder()
+                .id(rs.getInt("id"))
+                .longitude(rs.getDouble("longitude"))
+                .latitude(rs.getDouble("latitude"))
+                .build());
+    }
 
     @Override
     public List<RestaurantSearchDetails> findByManagerId(String managerId) {
@@ -176,17 +174,8 @@ public class RestaurantRepositoryImpl implements RestaurantRepository {
     }
 
     @Override
-    public List<RestaurantSearchDetails> findNearbyRestaurants(double longitude, double latitude, int radiusInKm) {
-        int radiusInMeters = radiusInKm * 1000;
-
-        String sql = "SELECT id, name, cuisine_type, cost_rating, address_line, city, state, zip_code, main_photo_url, " +
-                "ST_Distance_Sphere(location, POINT(?, ?)) AS distance " +
-                "FROM restaurants " +
-                "WHERE approved = TRUE AND deleted = FALSE " +
-                "AND ST_Distance_Sphere(location, POINT(?, ?)) <= ? " +
-                "ORDER BY distance ";
-
-        Object[] params = {longitude, latitude, longitude, latitude, radiusInMeters};
-        return jdbcTemplate.query(sql, new RestaurantSearchRowMapper(), params);
+    public List<Integer> findIdsAfter(int afterId, int limit) {
+        String sql = "SELECT id FROM restaurants WHERE deleted = false AND id > ? ORDER BY id LIMIT ?";
+        return this.jdbcTemplate.queryForList(sql, Integer.class, afterId, limit);
     }
 }
\ No newline at end of file
@@ -1,12 +1,43 @@
 package com.sjsu.booktable.repository;
 
+import com.sjsu.booktable.model.dto.review.RatingSummaryDto;
 import com.sjsu.booktable.model.entity.Review;
+
+import java.sql.Timestamp;
 import java.util.List;
+import java.util.Map;
 
 public interface ReviewRepository {
-    List<Review> findByRestaurantId(int restaurantId);
+    List<Review> findPageByRestaurantId(int restaurantId, Timestamp afterCreatedAt, Integer afterId, int limit);
+
+    Map<Integer, RatingSummaryDto> getRatingSummariesByRestaurantIds(List<Integer> restaurantIds);
+
+    int addReview(Review review);
+
+    void addToRatingSummary(int restaurantId, int rating);
+
+    int findMaxReviewId();
+
+    /**
+     * Restaurants with a review whose id is greater than afterId and at most upToId.
+     */
+    List<Integer> findRestaurantIdsWithReviewsBetween(int afterId, int upToId);
+
+    /**
+     * Recomputes the rating aggregates of the given restaurants from their reviews.
+     */
+    void rebuildRatingSummaries(List<Integer> restaurantIds);
+
+    /**
+     * Aggregates the reviews of the given restaurants. Restaurants without reviews are left out.
+     */
+    Map<Integer, RatingSummaryDto> computeRatingSummaries(List<Integer> restaurantIds);
 
-    double getAverageRatingByRestaurant(int restaurantId);
+    /**
+     * Writes the recomputed aggregates. A stored aggregate is only replaced while it still holds the value in
+     * stored, so one rebuilt concurrently is kept; a missing one is inserted.
+     */
+    void replaceRatingSummaries(Map<Integer, RatingSummaryDto> stored, List<RatingSummaryDto> recomputed);
 }
 
 
@@ -1,13 +1,25 @@
 package com.sjsu.booktable.repository;
 
 import com.sjsu.booktable.mappers.ReviewRowMapper;
+import com.sjsu.booktable.model.dto.review.RatingSummaryDto;
 import com.sjsu.booktable.model.entity.Review;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
 
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+
+import static com.sjsu.booktable.utils.SQLUtils.buildPlaceholders;
 
 @Repository
 @Slf4j
@@ -17,20 +29,136 @@ public class ReviewRepositoryImpl implements ReviewRepository {
     private JdbcTemplate jdbcTemplate;
 
     @Override
-    public List<Review> findByRestaurantId(int restaurantId) {
-        String sql = "SELECT * FROM reviews WHERE restaurantId = ? ORDER BY createdAt DESC";
-        return jdbcTemplate.query(sql, new ReviewRowMapper(), restaurantId);
+    public List<Review> findPageByRestaurantId(int restaurantId, Timestamp afterCreatedAt, Integer afterId, int limit) {
+        // Keyset pagination: seek past the last (createdAt, id) of the previous page instead of using OFFSET
+        if (afterCreatedAt == null || afterId == null) {
+            String sql = "SELECT * FROM reviews WHERE restaurantId = ? ORDER BY createdAt DESC, id DESC LIMIT ?";
+            return jdbcTemplate.query(sql, new ReviewRowMapper(), restaurantId, limit);
+        }
+
+        String sql = "SELECT * FROM reviews WHERE restaurantId = ? AND (createdAt < ? OR (createdAt = ? AND id < ?)) " +
+                "ORDER BY createdAt DESC, id DESC LIMIT ?";
+        return jdbcTemplate.query(sql, new ReviewRowMapper(), restaurantId, afterCreatedAt, afterCreatedAt, afterId, limit);
     }
 
     @Override
-    public double getAverageRatingByRestaurant(int restaurantId) {
-        String sql = "SELECT COALESCE(AVG(rating), 0.0) FROM reviews WHERE restaurantId = ?";
+    public Map<Integer, RatingSummaryDto> getRatingSummariesByRestaurantIds(List<Integer> restaurantIds) {
+        if (restaurantIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        String sql = "SELECT restaurant_id, rating_sum, rating_count FROM restaurant_rating_summary " +
+                "WHERE restaurant_id IN (" + buildPlaceholders(restaurantIds) + ")";
         try {
-            Double average = jdbcTemplate.queryForObject(sql, Double.class, restaurantId);
-            return average != null ? average : 0.0;
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList(sql, restaurantIds.toArray());
+
+            Map<Integer, RatingSummaryDto> summaries = new HashMap<>();
+            for (Map<String, Object> row : rows) {
+                int restaurantId = ((Number) row.get("restaurant_id")).intValue();
+                summaries.put(restaurantId, RatingSummaryDto.builder()
+                        .restaurantId(restaurantId)
+                        .ratingSum(((Number) row.get("rating_sum")).longValue())
+                        .reviewCount(((Number) row.get("rating_count")).intValue())
+                        .build());
+            }
+            return summaries;
         } catch (Exception e) {
-            log.error("Error fetching average rating for restaurant {}: {}", restaurantId, e.getMessage(), e);
-            return 0.0;
+            log.error("Error fetching rating summaries for restaurants {}: {}", restaurantIds, e.getMessage(), e);
+            return Collections.emptyMap();
+        }
+    }
+
+    @Override
+    public int addReview(Review review) {
+        String sql = "INSERT INTO reviews (restaurantId, rating, reviewText, userName, createdAt) VALUES (?, ?, ?, ?, CURRENT_TIMESTAMP)";
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+            ps.setInt(1, review.getRestaurantId());
+            ps.setInt(2, review.getRating());
+            ps.setString(3, review.getReviewText());
+            ps.setString(4, review.getUserName());
+            return ps;
+        }, keyHolder);
+
+        Number key = keyHolder.getKey();
+        if (key == null) {
+            throw new RuntimeException("Failed to retrieve generated key after review insert.");
+        }
+        return key.intValue();
+    }
+
+    @Override
+    public void addToRatingSummary(int restaurantId, int rating) {
+        String sql = "INSERT INTO restaurant_rating_summary (restaurant_id, rating_sum, rating_count) VALUES (?, ?, 1) " +
+                "ON DUPLICATE KEY UPDATE rating_sum = rating_sum + VALUES(rating_sum), rating_count = rating_count + 1";
+        jdbcTemplate.update(sql, restaurantId, rating);
+    }
+
+    @Override
+    public int findMaxReviewId() {
+        Integer maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM reviews", Integer.class);
+        return maxId == null ? 0 : maxId;
+    }
+
+    @Override
+    public List<Integer> findRestaurantIdsWithReviewsBetween(int afterId, int upToId) {
+        String sql = "SELECT DISTINCT restaurantId FROM reviews WHERE id > ? AND id <= ?";
+        return jdbcTemplate.queryForList(sql, Integer.class, afterId, upToId);
+    }
+
+    @Override
+    public void rebuildRatingSummaries(List<Integer> restaurantIds) {
+        if (restaurantIds.isEmpty()) {
+            return;
+        }
+        String sql = "INSERT INTO restaurant_rating_summary (restaurant_id, rating_sum, rating_count) " +
+                "SELECT restaurantId, SUM(rating), COUNT(*) FROM reviews WHERE restaurantId IN (" + buildPlaceholders(restaurantIds) + ") " +
+                "GROUP BY restaurantId " +
+                "ON DUPLICATE KEY UPDATE rating_sum = VALUES(rating_sum), rating_count = VALUES(rating_count)";
+        jdbcTemplate.update(sql, restaurantIds.toArray());
+    }
+
+    @Override
+    public Map<Integer, RatingSummaryDto> computeRatingSummaries(List<Integer> restaurantIds) {
+        Map<Integer, RatingSummaryDto> summaries = new HashMap<>();
+        if (restaurantIds.isEmpty()) {
+            return summaries;
+        }
+        String sql = "SELECT restaurantId, SUM(rating) AS rating_sum, COUNT(*) AS rating_count FROM reviews " +
+                "WHERE restaurantId IN (" + buildPlaceholders(restaurantIds) + ") GROUP BY restaurantId";
+        for (Map<String, Object> row : jdbcTemplate.queryForList(sql, restaurantIds.toArray())) {
+            int restaurantId = ((Number) row.get("restaurantId")).intValue();
+            summaries.put(restaurantId, RatingSummaryDto.builder()
+                    .restaurantId(restaurantId)
+                    .ratingSum(((Number) row.get("rating_sum")).longValue())
+                    .reviewCount(((Number) row.get("rating_count")).intValue())
+                    .build());
+        }
+        return summaries;
+    }
+
+    @Override
+    public void replaceRatingSummaries(Map<Integer, RatingSummaryDto> stored, List<RatingSummaryDto> recomputed) {
+        List<Object[]> updates = new ArrayList<>();
+        List<Object[]> inserts = new ArrayList<>();
+        for (RatingSummaryDto summary : recomputed) {
+            RatingSummaryDto current = stored.get(summary.getRestaurantId());
+            if (current != null) {
+                updates.add(new Object[]{summary.getRatingSum(), summary.getReviewCount(), summary.getRestaurantId(),
+                        current.getRatingSum(), current.getReviewCount()});
+            } else {
+                inserts.add(new Object[]{summary.getRestaurantId(), summary.getRatingSum(), summary.getReviewCount()});
+            }
+        }
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE restaurant_rating_summary SET rating_sum = ?, rating_count = ? " +
+                    "WHERE restaurant_id = ? AND rating_sum = ? AND rating_count = ?", updates);
+        }
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT IGNORE INTO restaurant_rating_summary (restaurant_id, rating_sum, rating_count) " +
+                    "VALUES (?, ?, ?)", inserts);
         }
     }
-}
\ No newline at end of file
+}
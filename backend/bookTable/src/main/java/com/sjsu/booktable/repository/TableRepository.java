@@ -14,4 +14,6 @@ public interface TableRepository {
     Integer getTotalCapacity(int restaurantId);
 
     List<TableEntity> getTableConfigurationsForRestaurant(int restaurantId);
+
+    List<TableEntity> getTableConfigurationsForRestaurants(List<Integer> restaurantIds);
 }
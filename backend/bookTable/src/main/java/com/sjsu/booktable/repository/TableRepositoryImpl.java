@@ -10,8 +10,11 @@ import org.springframework.stereotype.Repository;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.Collections;
 import java.util.List;
 
+import static com.sjsu.booktable.utils.SQLUtils.buildPlaceholders;
+
 @Repository
 public class TableRepositoryImpl implements TableRepository {
 
@@ -55,4 +58,14 @@ public class TableRepositoryImpl implements TableRepository {
         String sql = "SELECT * FROM tables WHERE restaurant_id = ?";
         return jdbcTemplate.query(sql, new TableRowMapper(), restaurantId);
     }
+
+    @Override
+    public List<TableEntity> getTableConfigurationsForRestaurants(List<Integer> restaurantIds) {
+        if (restaurantIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        String sql = "SELECT * FROM tables WHERE restaurant_id IN (" + buildPlaceholders(restaurantIds) + ")";
+        return jdbcTemplate.query(sql, new TableRowMapper(), restaurantIds.toArray());
+    }
 }
@@ -14,6 +14,8 @@ public interface TimeSlotRepository {
 
     List<LocalTime> getTimeSlotsByRestaurantAndDay(int restaurantId, int dayOfWeek);
 
+    List<TimeSlot> getTimeSlotsByRestaurantIds(List<Integer> restaurantIds);
+
     List<TimeSlot> getTimeSlotsByRestaurantId(int restaurantId);
 
 
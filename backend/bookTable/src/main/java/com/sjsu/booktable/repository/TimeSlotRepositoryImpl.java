@@ -10,8 +10,11 @@ import org.springframework.stereotype.Repository;
 import java.sql.Time;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
+import static com.sjsu.booktable.utils.SQLUtils.buildPlaceholders;
+
 @Repository
 public class TimeSlotRepositoryImpl implements TimeSlotRepository {
 
@@ -44,6 +47,17 @@ public class TimeSlotRepositoryImpl implements TimeSlotRepository {
         return jdbcTemplate.query(sql, (rs, rowNum) -> rs.getTime("slot_time").toLocalTime(), restaurantId, dayOfWeek);
     }
 
+    @Override
+    public List<TimeSlot> getTimeSlotsByRestaurantIds(List<Integer> restaurantIds) {
+        if (restaurantIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        String sql = "SELECT * FROM time_slots WHERE restaurant_id IN (" + buildPlaceholders(restaurantIds) + ") " +
+                "ORDER BY restaurant_id, day_of_week, slot_time";
+        return jdbcTemplate.query(sql, new TimeSlotRowMapper(), restaurantIds.toArray());
+    }
+
     @Override
     public List<TimeSlot> getTimeSlotsByRestaurantId(int restaurantId) {
         String sql = "SELECT * FROM time_slots WHERE restaurant_id = ? ORDER BY day_of_week, slot_time";
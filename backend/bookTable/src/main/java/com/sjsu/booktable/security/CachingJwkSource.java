@@ -0,0 +1,90 @@
+package com.sjsu.booktable.security;
+
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URL;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * JSON web key set of the token issuer, kept in memory for as long as it knows the key ids of the tokens.
+ * The set is only downloaded again when a token names a key id that is not in it, i.e. after the issuer
+ * rotated its signing keys. Refreshes are at least minRefreshInterval apart, so tokens with made-up key ids
+ * cannot make every request download the set.
+ */
+@Slf4j
+public class CachingJwkSource implements JWKSource<SecurityContext> {
+
+    private static final int CONNECT_TIMEOUT_MS = 2000;
+    private static final int READ_TIMEOUT_MS = 2000;
+    private static final int SIZE_LIMIT_BYTES = 64 * 1024;
+
+    private final Loader loader;
+    private final long minRefreshIntervalNanos;
+
+    private final Object refreshLock = new Object();
+    private volatile JWKSet jwkSet;
+    private long lastRefreshNanos;
+    private int refreshes;
+
+    public CachingJwkSource(Loader loader, Duration minRefreshInterval) {
+        this.loader = loader;
+        this.minRefreshIntervalNanos = minRefreshInterval.toNanos();
+    }
+
+    public static CachingJwkSource forUrl(URL jwkSetUrl, Duration minRefreshInterval) {
+        return new CachingJwkSource(() -> JWKSet.load(jwkSetUrl, CONNECT_TIMEOUT_MS, READ_TIMEOUT_MS, SIZE_LIMIT_BYTES),
+                minRefreshInterval);
+    }
+
+    @Override
+    public List<JWK> get(JWKSelector jwkSelector, SecurityContext context) throws KeySourceException {
+        JWKSet current = jwkSet;
+        if (current != null) {
+            List<JWK> keys = jwkSelector.select(current);
+            if (!keys.isEmpty()) {
+                return keys;
+            }
+        }
+        return jwkSelector.select(refresh(current));
+    }
+
+    public int getRefreshCount() {
+        synchronized (refreshLock) {
+            return refreshes;
+        }
+    }
+
+    private JWKSet refresh(JWKSet stale) throws KeySourceException {
+        synchronized (refreshLock) {
+            if (jwkSet != stale) {
+                return jwkSet; // refreshed by another thread meanwhile
+            }
+            if (stale != null && System.nanoTime() - lastRefreshNanos < minRefreshIntervalNanos) {
+                return stale;
+            }
+            try {
+                jwkSet = loader.load();
+            } catch (IOException | ParseException e) {
+                throw new KeySourceException("Failed to load the JSON web key set: " + e.getMessage(), e);
+            }
+            lastRefreshNanos = System.nanoTime();
+            refreshes++;
+            log.info("Loaded JSON web key set with {} keys", jwkSet.getKeys().size());
+            return jwkSet;
+        }
+    }
+
+    @FunctionalInterface
+    public interface Loader {
+        JWKSet load() throws IOException, ParseException;
+    }
+}
@@ -0,0 +1,114 @@
+package com.sjsu.booktable.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.server.resource.InvalidBearerTokenException;
+import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthenticationToken;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Authenticates the bearer token of a request, decoding and verifying each distinct token once.
+ * Verified tokens are kept with their authorities until they expire, bounded by maxSize, so the requests
+ * made with a token after its first one cost a cache lookup instead of a signature verification.
+ * Tokens that fail verification are not cached. Every request gets its own authentication object carrying
+ * its own details. Hit/miss statistics are published as cache.* metrics with cache=jwtAuthentication.
+ */
+public class CachingJwtAuthenticationManager implements AuthenticationManager {
+
+    private final JwtDecoder jwtDecoder;
+    private final Converter<Jwt, AbstractAuthenticationToken> authenticationConverter;
+    private final Cache<String, JwtAuthenticationToken> verifiedTokens;
+
+    public CachingJwtAuthenticationManager(JwtDecoder jwtDecoder, Converter<Jwt, AbstractAuthenticationToken> authenticationConverter,
+                                           long maxSize, MeterRegistry meterRegistry) {
+        this(jwtDecoder, authenticationConverter, maxSize, meterRegistry, Ticker.systemTicker());
+    }
+
+    CachingJwtAuthenticationManager(JwtDecoder jwtDecoder, Converter<Jwt, AbstractAuthenticationToken> authenticationConverter,
+                                    long maxSize, MeterRegistry meterRegistry, Ticker ticker) {
+        this.jwtDecoder = jwtDecoder;
+        this.authenticationConverter = authenticationConverter;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new UntilTokenExpiry())
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwtAuthentication");
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) {
+        BearerTokenAuthenticationToken bearer = (BearerTokenAuthenticationToken) authentication;
+        JwtAuthenticationToken verified = verifiedTokens.get(bearer.getToken(), this::verify);
+
+        JwtAuthenticationToken result = new JwtAuthenticationToken(verified.getToken(), verified.getAuthorities(), verified.getName());
+        result.setDetails(bearer.getDetails());
+        return result;
+    }
+
+    private JwtAuthenticationToken verify(String token) {
+        Jwt jwt;
+        try {
+            jwt = jwtDecoder.decode(token);
+        } catch (BadJwtException e) {
+            throw new InvalidBearerTokenException(e.getMessage(), e);
+        } catch (JwtException e) {
+            throw new AuthenticationServiceException(e.getMessage(), e);
+        }
+        AbstractAuthenticationToken converted = authenticationConverter.convert(jwt);
+        if (!(converted instanceof JwtAuthenticationToken jwtAuthentication)) {
+            throw new AuthenticationServiceException("Unsupported authentication type " + converted);
+        }
+        return jwtAuthentication;
+    }
+
+    /**
+     * Keeps a token until its exp claim. The wall clock is read when the entry is created, the cache's ticker
+     * then counts down the remaining time.
+     */
+    private static final class UntilTokenExpiry implements Expiry<String, JwtAuthenticationToken> {
+
+        // Longer than any Cognito token lives, keeps the nanosecond arithmetic from overflowing
+        private static final Duration MAX_LIFETIME = Duration.ofDays(1);
+
+        @Override
+        public long expireAfterCreate(String token, JwtAuthenticationToken authentication, long currentTime) {
+            Instant expiresAt = authentication.getToken().getExpiresAt();
+            if (expiresAt == null) {
+                return 0;
+            }
+            Duration remaining = Duration.between(Instant.now(), expiresAt);
+            if (remaining.isNegative()) {
+                return 0;
+            }
+            return remaining.compareTo(MAX_LIFETIME) > 0 ? MAX_LIFETIME.toNanos() : remaining.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, JwtAuthenticationToken authentication, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String token, JwtAuthenticationToken authentication, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.sjsu.booktable.security;
+
+import com.sjsu.booktable.model.enums.Role;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Restricts a controller method, or every method of a controller, to users in one of the given roles.
+ * Checked by {@link RoleAuthorizationManager} without evaluating an expression per call.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RequiresRole {
+
+    Role[] value();
+}
@@ -0,0 +1,71 @@
+package com.sjsu.booktable.security;
+
+import com.sjsu.booktable.model.enums.Role;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One shared GrantedAuthority per Role, named after its Cognito group. Tokens of users in a single group,
+ * which is every BookTable user, map to a shared immutable list instead of a freshly built one.
+ * Groups that are not a Role still become authorities of their own.
+ */
+public final class RoleAuthorities {
+
+    private static final Map<Role, GrantedAuthority> BY_ROLE = new EnumMap<>(Role.class);
+    private static final Map<String, List<GrantedAuthority>> SINGLE_GROUP = new HashMap<>();
+
+    static {
+        for (Role role : Role.values()) {
+            GrantedAuthority authority = new SimpleGrantedAuthority(role.getName());
+            BY_ROLE.put(role, authority);
+            SINGLE_GROUP.put(role.getName(), List.of(authority));
+        }
+    }
+
+    private RoleAuthorities() {
+    }
+
+    public static GrantedAuthority of(Role role) {
+        return BY_ROLE.get(role);
+    }
+
+    public static Collection<GrantedAuthority> fromGroups(List<String> groups) {
+        if (groups == null || groups.isEmpty()) {
+            return Collections.emptyList();
+        }
+        if (groups.size() == 1) {
+            List<GrantedAuthority> authorities = SINGLE_GROUP.get(groups.get(0));
+            if (authorities != null) {
+                return authorities;
+            }
+        }
+        List<GrantedAuthority> authorities = new ArrayList<>(groups.size());
+        for (String group : groups) {
+            List<GrantedAuthority> known = SINGLE_GROUP.get(group);
+            authorities.add(known != null ? known.get(0) : new SimpleGrantedAuthority(group));
+        }
+        return authorities;
+    }
+
+    /**
+     * Whether the authorities include the one of the role. The interned instance is compared by identity
+     * first, authorities created elsewhere fall back to comparing names.
+     */
+    public static boolean hasRole(Collection<? extends GrantedAuthority> authorities, Role role) {
+        GrantedAuthority required = BY_ROLE.get(role);
+        for (GrantedAuthority authority : authorities) {
+            if (authority == required || required.getAuthority().equals(authority.getAuthority())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
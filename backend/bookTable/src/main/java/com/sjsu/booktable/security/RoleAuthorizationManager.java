@@ -0,0 +1,56 @@
+package com.sjsu.booktable.security;
+
+import com.sjsu.booktable.model.enums.Role;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Authorizes calls to methods annotated with {@link RequiresRole}. The roles of a method are looked up once,
+ * method annotation before class annotation, and every later call only compares them with the caller's
+ * authorities. The two decisions are shared instances, so granting or denying allocates nothing.
+ */
+public class RoleAuthorizationManager implements AuthorizationManager<MethodInvocation> {
+
+    private static final AuthorizationDecision GRANTED = new AuthorizationDecision(true);
+    private static final AuthorizationDecision DENIED = new AuthorizationDecision(false);
+    private static final Role[] NO_ROLES = new Role[0];
+
+    private final Map<Method, Role[]> requiredRoles = new ConcurrentHashMap<>();
+
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, MethodInvocation invocation) {
+        Role[] roles = requiredRoles.computeIfAbsent(invocation.getMethod(), method -> resolve(method, invocation.getThis()));
+        if (roles.length == 0) {
+            return null; // not annotated, abstain
+        }
+        Authentication current = authentication.get();
+        if (current == null || !current.isAuthenticated()) {
+            return DENIED;
+        }
+        for (Role role : roles) {
+            if (RoleAuthorities.hasRole(current.getAuthorities(), role)) {
+                return GRANTED;
+            }
+        }
+        return DENIED;
+    }
+
+    private static Role[] resolve(Method method, Object target) {
+        Class<?> targetClass = target != null ? AopUtils.getTargetClass(target) : method.getDeclaringClass();
+        Method specificMethod = AopUtils.getMostSpecificMethod(method, targetClass);
+        RequiresRole annotation = AnnotatedElementUtils.findMergedAnnotation(specificMethod, RequiresRole.class);
+        if (annotation == null) {
+            annotation = AnnotatedElementUtils.findMergedAnnotation(targetClass, RequiresRole.class);
+        }
+        return annotation != null ? annotation.value() : NO_ROLES;
+    }
+}
@@ -1,11 +1,17 @@
 package com.sjsu.booktable.service.admin;
 
 import com.sjsu.booktable.model.dto.restaurant.RestaurantResponse;
+import com.sjsu.booktable.model.entity.Booking;
 import com.sjsu.booktable.model.entity.Restaurant;
 import com.sjsu.booktable.repository.RestaurantRepository;
+import com.sjsu.booktable.service.booking.BookingService;
+import com.sjsu.booktable.service.restaurant.RestaurantDetailsCache;
+import com.sjsu.booktable.service.restaurant.RestaurantGeoIndex;
+import com.sjsu.booktable.service.restaurant.RestaurantTextIndex;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.*;
 import java.util.List;
@@ -20,6 +26,18 @@ public class AdminServiceImpl implements AdminService {
     @Autowired
     private RestaurantRepository restaurantRepository;
 
+    @Autowired
+    private RestaurantGeoIndex geoIndex;
+
+    @Autowired
+    private RestaurantTextIndex textIndex;
+
+    @Autowired
+    private RestaurantDetailsCache detailsCache;
+
+    @Autowired
+    private BookingService bookingService;
+
     @Override
     public List<RestaurantResponse> getPendingRestaurants() {
         try {
@@ -43,6 +61,10 @@ public class AdminServiceImpl implements AdminService {
             }
             restaurant.setApproved(true);
             restaurantRepository.updateRestaurant(restaurant);
+            detailsCache.invalidate(id);
+            if (restaurant.getLocation() != null && !restaurant.isDeleted()) {
+                geoIndex.put(id, restaurant.getLocation().getX(), restaurant.getLocation().getY());
+            }
             return convertToResponse(restaurant);
         } catch (NumberFormatException e) {
             log.error("Invalid restaurant ID format: {}", restaurantId, e);
@@ -53,11 +75,25 @@ public class AdminServiceImpl implements AdminService {
         }
     }
 
+    /**
+     * Removes the restaurant and cancels its upcoming bookings in one transaction. The indexes, caches and
+     * table ledger follow once it commits, and the customers are notified in bulk through the email outbox.
+     */
     @Override
+    @Transactional
     public void removeRestaurant(String restaurantId) {
         try {
             int id = Integer.parseInt(restaurantId);
             restaurantRepository.deleteById(id);
+            geoIndex.remove(id);
+            textIndex.remove(id);
+            detailsCache.invalidate(id);
+
+            List<Booking> cancelledBookings = bookingService.cancelUpcomingBookings(id);
+            if (!cancelledBookings.isEmpty()) {
+                log.info("Cancelling {} upcoming bookings of removed restaurant {}, cancellation emails queued",
+                        cancelledBookings.size(), id);
+            }
         } catch (NumberFormatException e) {
             log.error("Invalid restaurant ID format: {}", restaurantId, e);
             throw new RuntimeException("Invalid restaurant ID format");
@@ -3,83 +3,64 @@ package com.sjsu.booktable.service.auth;
 import com.amazonaws.services.cognitoidp.AWSCognitoIdentityProvider;
 import com.amazonaws.services.cognitoidp.model.*;
 import com.sjsu.booktable.model.enums.Role;
+import com.sjsu.booktable.service.auth.CognitoUserDirectory.CognitoUser;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.util.CollectionUtils;
-
-import javax.crypto.Mac;
-import javax.crypto.spec.SecretKeySpec;
-import java.nio.charset.StandardCharsets;
-import java.util.Base64;
-import java.util.List;
 
 @Slf4j
 public abstract class BaseOTPStrategy implements OTPStrategy {
 
     protected final AWSCognitoIdentityProvider cognitoClient;
+    protected final CognitoUserDirectory userDirectory;
+    protected final CognitoRequestMetrics requestMetrics;
 
     @Value("${cognito.userPoolId}") protected String userPoolId;
     @Value("${cognito.clientId}") protected String clientId;
     @Value("${cognito.clientSecret}") protected String clientSecret;
 
-    public BaseOTPStrategy(AWSCognitoIdentityProvider cognitoClient) {
+    private volatile SecretHashCalculator secretHashCalculator;
+
+    public BaseOTPStrategy(AWSCognitoIdentityProvider cognitoClient, CognitoUserDirectory userDirectory,
+                           CognitoRequestMetrics requestMetrics) {
         this.cognitoClient = cognitoClient;
+        this.userDirectory = userDirectory;
+        this.requestMetrics = requestMetrics;
     }
 
     protected String resolveUsername(String value, String attributeName) {
-        try {
-            cognitoClient.adminGetUser(new AdminGetUserRequest()
-                    .withUserPoolId(userPoolId)
-                    .withUsername(value));
-            return value;
-        } catch (UserNotFoundException e) {
-            ListUsersRequest listRequest = new ListUsersRequest()
-                    .withUserPoolId(userPoolId)
-                    .withFilter(attributeName + " = \"" + value + "\"");
-            ListUsersResult result = cognitoClient.listUsers(listRequest);
-            return !result.getUsers().isEmpty() ? result.getUsers().get(0).getUsername() : null;
-        }
+        CognitoUser user = userDirectory.findUser(value, attributeName);
+        return user != null ? user.username() : null;
     }
 
     protected boolean checkRegistrationStatus(String username) {
-        AdminGetUserResult user = cognitoClient.adminGetUser(new AdminGetUserRequest()
-                .withUserPoolId(userPoolId)
-                .withUsername(username));
-        return user.getUserAttributes().stream()
-                .noneMatch(attr -> "custom:registered".equals(attr.getName()) && "true".equals(attr.getValue()));
+        return !userDirectory.getUser(username).isTrue("custom:registered");
     }
 
     protected Role getUserRoleFromCognito(String username) {
-        try {
-            AdminListGroupsForUserRequest request = new AdminListGroupsForUserRequest()
-                    .withUserPoolId(userPoolId)
-                    .withUsername(username);
-            
-            AdminListGroupsForUserResult result = cognitoClient.adminListGroupsForUser(request);
-            List<GroupType> groups = result.getGroups();
-            
-            if (!CollectionUtils.isEmpty(groups)) {
-                return Role.getRoleFromName(groups.get(0).getGroupName());
-            }
+        return userDirectory.getRole(username);
+    }
 
-            return null;
-        } catch (Exception e) {
-            log.warn("Error getting user role from Cognito: {}", e.getMessage());
-            return null;
+    /**
+     * Marks the login channel of the user verified, unless it already is.
+     */
+    protected void ensureVerified(String username, String verifiedAttribute) {
+        if (!userDirectory.getUser(username).isTrue(verifiedAttribute)) {
+            userDirectory.updateAttributes(username, new AttributeType().withName(verifiedAttribute).withValue("true"));
         }
     }
 
     protected String calculateSecretHash(String username) {
-        try {
-            String data = username + clientId;
-            SecretKeySpec signingKey = new SecretKeySpec(clientSecret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
-            Mac mac = Mac.getInstance("HmacSHA256");
-            mac.init(signingKey);
-            byte[] rawHmac = mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
-            return Base64.getEncoder().encodeToString(rawHmac);
-        } catch (Exception e) {
-            throw new RuntimeException("Error calculating SECRET_HASH", e);
+        SecretHashCalculator calculator = secretHashCalculator;
+        if (calculator == null) {
+            // Created on first use, the client id and secret are injected after construction
+            synchronized (this) {
+                if (secretHashCalculator == null) {
+                    secretHashCalculator = new SecretHashCalculator(clientId, clientSecret);
+                }
+                calculator = secretHashCalculator;
+            }
         }
+        return calculator.calculate(username);
     }
 
 }
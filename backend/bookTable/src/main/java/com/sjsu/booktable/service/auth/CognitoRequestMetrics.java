@@ -0,0 +1,87 @@
+package com.sjsu.booktable.service.auth;
+
+import com.amazonaws.Request;
+import com.amazonaws.Response;
+import com.amazonaws.handlers.HandlerContextKey;
+import com.amazonaws.handlers.RequestHandler2;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Request handler of the Cognito client timing every remote call as cognito.requests, tagged with the
+ * operation and its outcome. The synchronous client runs handlers on the calling thread, which lets
+ * {@link #countLoginRequests(Supplier)} publish the number of calls made by one login as
+ * auth.login.cognito.requests.
+ */
+@Component
+@RequiredArgsConstructor
+public class CognitoRequestMetrics extends RequestHandler2 {
+
+    private static final HandlerContextKey<Long> START_NANOS = new HandlerContextKey<>("BookTableStartNanos");
+
+    private final MeterRegistry meterRegistry;
+
+    // Cognito calls started by the current thread, never reset
+    private final ThreadLocal<int[]> requestsOnThread = ThreadLocal.withInitial(() -> new int[1]);
+    private DistributionSummary loginRequests;
+
+    @PostConstruct
+    public void init() {
+        loginRequests = DistributionSummary.builder("auth.login.cognito.requests")
+                .description("Cognito calls made by one OTP verification")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void beforeRequest(Request<?> request) {
+        request.addHandlerContext(START_NANOS, System.nanoTime());
+        requestsOnThread.get()[0]++;
+    }
+
+    @Override
+    public void afterResponse(Request<?> request, Response<?> response) {
+        record(request, "success");
+    }
+
+    @Override
+    public void afterError(Request<?> request, Response<?> response, Exception e) {
+        record(request, "error");
+    }
+
+    /**
+     * Runs a login and records how many Cognito calls it made on this thread.
+     */
+    public <T> T countLoginRequests(Supplier<T> login) {
+        int before = requestsOnThread.get()[0];
+        try {
+            return login.get();
+        } finally {
+            loginRequests.record(requestsOnThread.get()[0] - before);
+        }
+    }
+
+    private void record(Request<?> request, String outcome) {
+        Long start = request.getHandlerContext(START_NANOS);
+        if (start == null) {
+            return;
+        }
+        Timer.builder("cognito.requests")
+                .description("Cognito calls made by the application")
+                .tag("operation", operation(request))
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private static String operation(Request<?> request) {
+        String name = request.getOriginalRequest().getClass().getSimpleName();
+        return name.endsWith("Request") ? name.substring(0, name.length() - "Request".length()) : name;
+    }
+}
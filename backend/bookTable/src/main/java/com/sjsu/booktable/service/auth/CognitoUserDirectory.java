@@ -0,0 +1,180 @@
+package com.sjsu.booktable.service.auth;
+
+import com.amazonaws.services.cognitoidp.AWSCognitoIdentityProvider;
+import com.amazonaws.services.cognitoidp.model.*;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sjsu.booktable.model.enums.Role;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.CollectionUtils;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Short-lived cache of the Cognito users seen by the login flow: their attributes, the username an email
+ * or phone number resolves to, and their role. Sending and verifying an OTP for the same user within the
+ * time to live reads the user once instead of on every check.
+ * Attribute updates made through {@link #updateAttributes(String, AttributeType...)} are applied to the
+ * cached user; any other change to a user must call {@link #invalidate(String)}. Changes made by another
+ * instance are picked up once the entry expires.
+ * Hit/miss statistics are published as cache.* metrics with cache=cognitoUsers and cache=cognitoRoles.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CognitoUserDirectory {
+
+    private final AWSCognitoIdentityProvider cognitoClient;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${cognito.userPoolId}")
+    private String userPoolId;
+
+    @Value("${booktable.auth.cognito-user-cache.ttl-seconds:120}")
+    private long ttlSeconds;
+
+    @Value("${booktable.auth.cognito-user-cache.max-size:10000}")
+    private long maxSize;
+
+    private Cache<String, CognitoUser> users;
+    // "attribute=value" -> username
+    private Cache<String, String> usernames;
+    private Cache<String, Optional<Role>> roles;
+
+    @PostConstruct
+    public void init() {
+        users = newCache();
+        usernames = newCache();
+        roles = newCache();
+        CaffeineCacheMetrics.monitor(meterRegistry, users, "cognitoUsers");
+        CaffeineCacheMetrics.monitor(meterRegistry, roles, "cognitoRoles");
+    }
+
+    /**
+     * The user whose username is the given value or, failing that, the first user whose attribute has
+     * that value. Null when there is none.
+     */
+    public CognitoUser findUser(String value, String attributeName) {
+        CognitoUser user = users.getIfPresent(value);
+        if (user != null) {
+            return user;
+        }
+        String lookupKey = attributeName + "=" + value;
+        String username = usernames.getIfPresent(lookupKey);
+        if (username != null && (user = users.getIfPresent(username)) != null) {
+            return user;
+        }
+
+        try {
+            return getUser(value);
+        } catch (UserNotFoundException e) {
+            ListUsersResult result = cognitoClient.listUsers(new ListUsersRequest()
+                    .withUserPoolId(userPoolId)
+                    .withFilter(attributeName + " = \"" + value + "\""));
+            if (CollectionUtils.isEmpty(result.getUsers())) {
+                return null;
+            }
+            UserType found = result.getUsers().get(0);
+            user = new CognitoUser(found.getUsername(), toMap(found.getAttributes()));
+            users.put(user.username(), user);
+            usernames.put(lookupKey, user.username());
+            return user;
+        }
+    }
+
+    /**
+     * Throws UserNotFoundException when there is no such user.
+     */
+    public CognitoUser getUser(String username) {
+        return users.get(username, key -> {
+            AdminGetUserResult result = cognitoClient.adminGetUser(new AdminGetUserRequest()
+                    .withUserPoolId(userPoolId)
+                    .withUsername(key));
+            return new CognitoUser(key, toMap(result.getUserAttributes()));
+        });
+    }
+
+    /**
+     * Role of the first group of the user, null when the user is in no known group or the groups cannot
+     * be read. Failed lookups are not cached.
+     */
+    public Role getRole(String username) {
+        Optional<Role> role = roles.get(username, key -> {
+            try {
+                AdminListGroupsForUserResult result = cognitoClient.adminListGroupsForUser(new AdminListGroupsForUserRequest()
+                        .withUserPoolId(userPoolId)
+                        .withUsername(key));
+                List<GroupType> groups = result.getGroups();
+                return Optional.ofNullable(CollectionUtils.isEmpty(groups) ? null : Role.getRoleFromName(groups.get(0).getGroupName()));
+            } catch (Exception e) {
+                log.warn("Error getting user role from Cognito: {}", e.getMessage());
+                return null;
+            }
+        });
+        return role == null ? null : role.orElse(null);
+    }
+
+    public void updateAttributes(String username, AttributeType... attributes) {
+        cognitoClient.adminUpdateUserAttributes(new AdminUpdateUserAttributesRequest()
+                .withUserPoolId(userPoolId)
+                .withUsername(username)
+                .withUserAttributes(attributes));
+        users.asMap().computeIfPresent(username, (key, user) -> user.with(attributes));
+    }
+
+    /**
+     * Forgets a user changed outside of this class, e.g. created, registered or added to a group.
+     */
+    public void invalidate(String username) {
+        users.invalidate(username);
+        roles.invalidate(username);
+        usernames.asMap().values().removeIf(username::equals);
+    }
+
+    private <V> Cache<String, V> newCache() {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    private static Map<String, String> toMap(List<AttributeType> attributes) {
+        Map<String, String> values = new HashMap<>();
+        if (attributes != null) {
+            for (AttributeType attribute : attributes) {
+                values.put(attribute.getName(), attribute.getValue());
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Username and attributes of a Cognito user. The attribute map is never modified.
+     */
+    public record CognitoUser(String username, Map<String, String> attributes) {
+
+        public String attribute(String name) {
+            return attributes.get(name);
+        }
+
+        public boolean isTrue(String name) {
+            return "true".equals(attributes.get(name));
+        }
+
+        CognitoUser with(AttributeType... updates) {
+            Map<String, String> updated = new HashMap<>(attributes);
+            for (AttributeType update : updates) {
+                updated.put(update.getName(), update.getValue());
+            }
+            return new CognitoUser(username, updated);
+        }
+    }
+}
@@ -18,8 +18,9 @@ import java.util.Map;
 @Slf4j
 public class EmailOTPStrategy extends BaseOTPStrategy {
 
-    public EmailOTPStrategy(AWSCognitoIdentityProvider cognitoClient) {
-        super(cognitoClient);
+    public EmailOTPStrategy(AWSCognitoIdentityProvider cognitoClient, CognitoUserDirectory userDirectory,
+                            CognitoRequestMetrics requestMetrics) {
+        super(cognitoClient, userDirectory, requestMetrics);
     }
 
     @Override
@@ -37,14 +38,11 @@ public class EmailOTPStrategy extends BaseOTPStrategy {
                                 new AttributeType().withName("custom:login_method").withValue("email")
                         )
                         .withMessageAction(MessageActionType.SUPPRESS));
+                userDirectory.invalidate(username);
             } else {
                 // Update for existing user
-                cognitoClient.adminUpdateUserAttributes(new AdminUpdateUserAttributesRequest()
-                        .withUserPoolId(userPoolId)
-                        .withUsername(username)
-                        .withUserAttributes(
-                                new AttributeType().withName("custom:login_method").withValue("email")
-                        ));
+                userDirectory.updateAttributes(username,
+                        new AttributeType().withName("custom:login_method").withValue("email"));
             }
 
             AdminInitiateAuthRequest authRequest = new AdminInitiateAuthRequest()
@@ -70,6 +68,10 @@ public class EmailOTPStrategy extends BaseOTPStrategy {
 
     @Override
     public VerifyOTPResponse verifyOtp(VerifyOTPRequest request) {
+        return requestMetrics.countLoginRequests(() -> verify(request));
+    }
+
+    private VerifyOTPResponse verify(VerifyOTPRequest request) {
         try {
             String username = resolveUsername(request.getValue(), "email");
             if (username == null) {
@@ -100,16 +102,7 @@ public class EmailOTPStrategy extends BaseOTPStrategy {
                 Role userRole = getUserRoleFromCognito(username);
                 response.setUserRole(userRole);
 
-                AdminGetUserResult user = cognitoClient.adminGetUser(new AdminGetUserRequest()
-                        .withUserPoolId(userPoolId).withUsername(username));
-                boolean emailVerified = user.getUserAttributes().stream()
-                        .anyMatch(attr -> "email_verified".equals(attr.getName()) && "true".equals(attr.getValue()));
-                if (!emailVerified) {
-                    cognitoClient.adminUpdateUserAttributes(new AdminUpdateUserAttributesRequest()
-                            .withUserPoolId(userPoolId)
-                            .withUsername(username)
-                            .withUserAttributes(new AttributeType().withName("email_verified").withValue("true")));
-                }
+                ensureVerified(username, "email_verified");
             } else {
                 // OTP failed, return new session for retry
                 response.setSession(result.getSession());
@@ -19,8 +19,9 @@ import java.util.Map;
 @Slf4j
 public class PhoneOTPStrategy extends BaseOTPStrategy {
 
-    public PhoneOTPStrategy(AWSCognitoIdentityProvider cognitoClient) {
-        super(cognitoClient);
+    public PhoneOTPStrategy(AWSCognitoIdentityProvider cognitoClient, CognitoUserDirectory userDirectory,
+                            CognitoRequestMetrics requestMetrics) {
+        super(cognitoClient, userDirectory, requestMetrics);
     }
 
     @Override
@@ -38,14 +39,11 @@ public class PhoneOTPStrategy extends BaseOTPStrategy {
                                 new AttributeType().withName("custom:login_method").withValue("phone_number")
                         )
                         .withMessageAction(MessageActionType.SUPPRESS));
+                userDirectory.invalidate(username);
             } else {
                 // Update for existing user
-                cognitoClient.adminUpdateUserAttributes(new AdminUpdateUserAttributesRequest()
-                        .withUserPoolId(userPoolId)
-                        .withUsername(username)
-                        .withUserAttributes(
-                                new AttributeType().withName("custom:login_method").withValue("phone_number")
-                        ));
+                userDirectory.updateAttributes(username,
+                        new AttributeType().withName("custom:login_method").withValue("phone_number"));
             }
 
             AdminInitiateAuthRequest authRequest = new AdminInitiateAuthRequest()
@@ -71,6 +69,10 @@ public class PhoneOTPStrategy extends BaseOTPStrategy {
 
     @Override
     public VerifyOTPResponse verifyOtp(VerifyOTPRequest request) {
+        return requestMetrics.countLoginRequests(() -> verify(request));
+    }
+
+    private VerifyOTPResponse verify(VerifyOTPRequest request) {
         try {
             String username = resolveUsername(request.getValue(), "phone_number");
             if (username == null) {
@@ -101,16 +103,7 @@ public class PhoneOTPStrategy extends BaseOTPStrategy {
                 Role userRole = getUserRoleFromCognito(username);
                 response.setUserRole(userRole);
 
-                AdminGetUserResult user = cognitoClient.adminGetUser(new AdminGetUserRequest()
-                        .withUserPoolId(userPoolId).withUsername(username));
-                boolean phoneVerified = user.getUserAttributes().stream()
-                        .anyMatch(attr -> "phone_number_verified".equals(attr.getName()) && "true".equals(attr.getValue()));
-                if (!phoneVerified) {
-                    cognitoClient.adminUpdateUserAttributes(new AdminUpdateUserAttributesRequest()
-                            .withUserPoolId(userPoolId)
-                            .withUsername(username)
-                            .withUserAttributes(new AttributeType().withName("phone_number_verified").withValue("true")));
-                }
+                ensureVerified(username, "phone_number_verified");
             } else {
                 // OTP failed, return new session for retry
                 response.setSession(result.getSession());
@@ -0,0 +1,60 @@
+package com.sjsu.booktable.service.auth;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+
+/**
+ * Cognito SECRET_HASH of a username, Base64(HMAC-SHA256(client secret, username + client id)).
+ * Every thread keeps its own Mac already keyed with the client secret, so computing a hash needs no provider
+ * lookup or key setup, and the hashes of recently seen usernames are memoized since a login hashes the same
+ * username on both the send and the verify.
+ */
+public final class SecretHashCalculator {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MEMOIZED_USERNAMES = 10_000;
+
+    private final SecretKeySpec signingKey;
+    private final byte[] clientIdBytes;
+    private final ThreadLocal<Mac> macs = ThreadLocal.withInitial(this::newMac);
+    private final Cache<String, String> hashes = Caffeine.newBuilder()
+            .maximumSize(MEMOIZED_USERNAMES)
+            .build();
+
+    public SecretHashCalculator(String clientId, String clientSecret) {
+        this.signingKey = new SecretKeySpec(clientSecret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.clientIdBytes = clientId.getBytes(StandardCharsets.UTF_8);
+        // Fail on a missing algorithm or unusable key now rather than on the first login
+        macs.get();
+    }
+
+    public String calculate(String username) {
+        return hashes.get(username, this::compute);
+    }
+
+    /**
+     * Computes the hash without looking at or filling the memo.
+     */
+    public String compute(String username) {
+        Mac mac = macs.get();
+        // doFinal leaves the Mac reset to its keyed initial state, ready for the next hash
+        mac.update(username.getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().encodeToString(mac.doFinal(clientIdBytes));
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(signingKey);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new RuntimeException("Error calculating SECRET_HASH", e);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.sjsu.booktable.service.booking;
 import com.sjsu.booktable.model.dto.booking.BookingConflictResponseDto;
 import com.sjsu.booktable.model.dto.booking.BookingRequestDTO;
 import com.sjsu.booktable.model.dto.booking.BookingResponseDTO;
+import com.sjsu.booktable.model.entity.Booking;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
@@ -11,10 +12,16 @@ import java.util.Map;
 
 public interface BookingService {
 
+    /**
+     * Seats booked per slot of one restaurant, served from the {@link TableOccupancyLedger} without querying
+     * the bookings table. Slots without bookings are left out.
+     */
     Map<LocalTime, Integer> getBookedCapacitiesForSlotsForRestaurant(int restaurantId, LocalDate reservationDate, List<LocalTime> timeSlots);
+    Map<Integer, List<LocalTime>> getSeatableTimeSlots(Map<Integer, List<LocalTime>> candidateSlots, LocalDate reservationDate, int partySize);
     BookingResponseDTO createBooking(BookingRequestDTO bookingRequestDTO);
     BookingResponseDTO cancelBooking(int bookingId);
     List<BookingResponseDTO> getBookingsByCustomerId(String customerId);
     BookingConflictResponseDto checkConflictingBooking(String customerId, LocalDate bookingDate, LocalTime bookingTime);
     Map<Integer, Integer> getBookingCountsByRestaurantIds(List<Integer> restaurantIds, LocalDate date);
+    List<Booking> cancelUpcomingBookings(int restaurantId);
 }
@@ -6,16 +6,20 @@ import com.sjsu.booktable.model.dto.booking.BookingRequestDTO;
 import com.sjsu.booktable.model.dto.booking.BookingResponseDTO;
 import com.sjsu.booktable.model.entity.Booking;
 import com.sjsu.booktable.model.enums.BookingStatus;
+import com.sjsu.booktable.model.enums.EmailNotificationType;
 import com.sjsu.booktable.repository.BookingRepository;
-import com.sjsu.booktable.service.email.EmailService;
+import com.sjsu.booktable.service.email.EmailOutbox;
 import com.sjsu.booktable.utils.StringUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.CollectionUtils;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -27,33 +31,30 @@ import java.util.stream.Collectors;
 public class BookingServiceImpl implements BookingService {
 
     private final BookingRepository bookingRepository;
-    private final EmailService emailService;
+    private final EmailOutbox emailOutbox;
+    private final TableOccupancyLedger tableOccupancyLedger;
 
     @Override
+    @Transactional
     public BookingResponseDTO createBooking(BookingRequestDTO bookingRequest) {
-        int bookingId = bookingRepository.saveBooking(bookingRequest);
+        int bookingId = tableOccupancyLedger.recordBooking(bookingRequest.getRestaurantId(), bookingRequest.getBookingDate(),
+                bookingRequest.getBookingTime(), bookingRequest.getPartySize(), () -> bookingRepository.saveBooking(bookingRequest));
         BookingResponseDTO bookingResponse = new BookingResponseDTO();
         if (bookingId > 0) {
             Booking booking = bookingRepository.findBookingById(bookingId);
             bookingResponse.setBooking(booking);
             bookingResponse.setStatus(booking.getStatus());
-            try {
-                boolean emailSent = emailService.sendBookingConfirmationEmail(bookingId, bookingRequest);
-                bookingResponse.setEmailSent(emailSent);
-                if (emailSent) {
-                    log.info("Booking confirmation email sent for booking ID: {}", bookingId);
-                } else {
-                    log.warn("Failed to send booking confirmation email for booking ID: {}", bookingId);
-                }
-            } catch (Exception e) {
-                log.error("Error sending booking confirmation email", e);
-            }
+
+            // Sent asynchronously once the booking is committed
+            emailOutbox.enqueue(EmailNotificationType.BOOKING_CONFIRMATION, bookingId, bookingRequest.getEmail());
+            bookingResponse.setEmailQueued(true);
         }
 
         return bookingResponse;
     }
 
     @Override
+    @Transactional
     public BookingResponseDTO cancelBooking(int bookingId) {
         Booking booking = bookingRepository.findBookingById(bookingId);
         if(booking == null){
@@ -64,7 +65,8 @@ public class BookingServiceImpl implements BookingService {
             throw new IllegalStateException("Booking is already cancelled");
         }
 
-        int rowsAffected = bookingRepository.cancelBookingById(bookingId);
+        int rowsAffected = tableOccupancyLedger.recordCancellation(booking.getRestaurantId(), booking.getBookingDate().toLocalDate(),
+                booking.getBookingTime().toLocalTime(), booking.getPartySize(), () -> bookingRepository.cancelBookingById(bookingId));
         if(rowsAffected == 0){
             throw new RuntimeException("Booking cancellation failed");
         }
@@ -73,17 +75,8 @@ public class BookingServiceImpl implements BookingService {
         bookingResponse.setBooking(updatedBooking);
         bookingResponse.setStatus(updatedBooking.getStatus());
 
-        try {
-            boolean emailSent = emailService.sendBookingCancellationEmail(updatedBooking, updatedBooking.getEmail());
-            bookingResponse.setEmailSent(emailSent);
-            if (emailSent) {
-                log.info("Booking cancellation email sent for booking ID: {}", bookingId);
-            } else {
-                log.warn("Failed to send booking cancellation email for booking ID: {}", bookingId);
-            }
-        } catch (Exception e) {
-            log.error("Error sending booking cancellation email", e);
-        }
+        emailOutbox.enqueue(EmailNotificationType.BOOKING_CANCELLATION, bookingId, updatedBooking.getEmail());
+        bookingResponse.setEmailQueued(true);
 
         return bookingResponse;
     }
@@ -96,7 +89,17 @@ public class BookingServiceImpl implements BookingService {
             return slotBookedMap;
         }
 
-        return bookingRepository.getBookedCapacityForTimeSlotsForRestaurant(restaurantId, reservationDate, timeSlots);
+        return tableOccupancyLedger.getBookedCapacities(Collections.singletonList(restaurantId), reservationDate, timeSlots)
+                .getOrDefault(restaurantId, slotBookedMap);
+    }
+
+    @Override
+    public Map<Integer, List<LocalTime>> getSeatableTimeSlots(Map<Integer, List<LocalTime>> candidateSlots, LocalDate reservationDate, int partySize) {
+        if (CollectionUtils.isEmpty(candidateSlots)) {
+            return new HashMap<>();
+        }
+
+        return tableOccupancyLedger.getSeatableSlots(candidateSlots, reservationDate, partySize);
     }
 
     @Override
@@ -150,4 +153,18 @@ public class BookingServiceImpl implements BookingService {
                 .collect(Collectors.toMap(id -> id, id -> 0));
         }
     }
+
+    /**
+     * Cancels every confirmed booking of the restaurant from today on and returns them. Their tables are
+     * released and their cancellation emails sent in bulk once the transaction commits.
+     */
+    @Override
+    @Transactional
+    public List<Booking> cancelUpcomingBookings(int restaurantId) {
+        LocalDate today = LocalDate.now(ZoneId.of("America/Los_Angeles"));
+        List<Booking> cancelledBookings = tableOccupancyLedger.recordCancellations(
+                () -> bookingRepository.cancelUpcomingBookingsByRestaurantId(restaurantId, today));
+        emailOutbox.enqueueCancellations(cancelledBookings);
+        return cancelledBookings;
+    }
 }
@@ -0,0 +1,580 @@
+package com.sjsu.booktable.service.booking;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sjsu.booktable.exception.booking.BookingCapacityExceededException;
+import com.sjsu.booktable.model.entity.Booking;
+import com.sjsu.booktable.repository.BookingRepository;
+import com.sjsu.booktable.service.restaurant.RestaurantSchedule;
+import com.sjsu.booktable.service.restaurant.RestaurantScheduleCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntConsumer;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+import static com.sjsu.booktable.utils.TransactionUtils.runAfterCompletion;
+
+/**
+ * In-process seat assignment engine. For every (restaurant, date, slot) it keeps how many tables of each
+ * size are occupied and seats a party at the smallest free table that fits it.
+ * The ledger of a restaurant day is warmed on first access by replaying the confirmed bookings of the day,
+ * kept up to date by the booking write paths and periodically reconciled against the database.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TableOccupancyLedger {
+
+    private final BookingRepository bookingRepository;
+    private final RestaurantScheduleCache scheduleCache;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${booktable.booking.ledger.max-days:50000}")
+    private long maxDays;
+
+    @Value("${booktable.booking.ledger.expire-after-access-minutes:60}")
+    private long expireAfterAccessMinutes;
+
+    private Cache<LedgerKey, DayLedger> cache;
+
+    // Days with a write whose transaction has not completed yet. A cache miss for one of them returns it instead
+    // of a replay of the committed bookings, so eviction and layout rebuilds cannot drop its pending assignments.
+    private final ConcurrentHashMap<LedgerKey, DayLedger> writingDays = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxDays)
+                .expireAfterAccess(Duration.ofMinutes(expireAfterAccessMinutes))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "tableOccupancyLedger");
+    }
+
+    /**
+     * @return booked capacity (sum of party sizes) of the given slots keyed by restaurant id. Slots without
+     * confirmed bookings and restaurants without any booked slot are omitted.
+     */
+    public Map<Integer, Map<LocalTime, Integer>> getBookedCapacities(List<Integer> restaurantIds, LocalDate date, List<LocalTime> timeSlots) {
+        Map<Integer, Map<LocalTime, Integer>> bookedCapacities = new HashMap<>();
+        for (Map.Entry<Integer, DayLedger> entry : getDays(restaurantIds, date).entrySet()) {
+            Map<LocalTime, Integer> booked = new HashMap<>();
+            for (LocalTime slot : timeSlots) {
+                int bookedSeats = entry.getValue().getBookedSeats(slot);
+                if (bookedSeats > 0) {
+                    booked.put(slot, bookedSeats);
+                }
+            }
+            if (!booked.isEmpty()) {
+                bookedCapacities.put(entry.getKey(), booked);
+            }
+        }
+        return bookedCapacities;
+    }
+
+    /**
+     * @param candidateSlots candidate slots keyed by restaurant id
+     * @return the candidate slots with a free table for the party, keyed by restaurant id and in the given order.
+     * Restaurants without any such slot are omitted.
+     */
+    public Map<Integer, List<LocalTime>> getSeatableSlots(Map<Integer, List<LocalTime>> candidateSlots, LocalDate date, int partySize) {
+        Map<Integer, List<LocalTime>> seatableSlots = new HashMap<>();
+        for (Map.Entry<Integer, DayLedger> entry : getDays(candidateSlots.keySet(), date).entrySet()) {
+            DayLedger day = entry.getValue();
+            List<LocalTime> slots = new ArrayList<>();
+            for (LocalTime slot : candidateSlots.get(entry.getKey())) {
+                if (day.canSeat(slot, partySize)) {
+                    slots.add(slot);
+                }
+            }
+            if (!slots.isEmpty()) {
+                seatableSlots.put(entry.getKey(), slots);
+            }
+        }
+        return seatableSlots;
+    }
+
+    /**
+     * Assigns the party to the smallest free table that fits it and runs the insert of the confirmed booking.
+     * The table is released again when the insert fails or the surrounding transaction rolls back. Assignment
+     * only locks the slot, so bookings for different slots never wait on each other. The day stays in flight
+     * until the transaction completes, so {@link #reconcile()} cannot replace the assignment with a replay
+     * that does not see the uncommitted booking yet.
+     *
+     * @param insert inserts the booking and returns the generated booking id
+     * @throws BookingCapacityExceededException when no free table fits the party
+     */
+    public int recordBooking(int restaurantId, LocalDate date, LocalTime time, int partySize, IntSupplier insert) {
+        // The day is loaded before the insert, so the warm-up query cannot already contain the new booking
+        LedgerKey key = new LedgerKey(restaurantId, date);
+        DayLedger day = beginWrite(key);
+        boolean completing = false;
+        try {
+            if (!day.assign(time, partySize)) {
+                throw new BookingCapacityExceededException("No table available for the party size at the selected time slot");
+            }
+
+            boolean inserted = false;
+            try {
+                int bookingId = insert.getAsInt();
+                inserted = bookingId > 0;
+                if (inserted) {
+                    completing = true;
+                    endWriteAfterCompletion(key, day, status -> {
+                        if (status == TransactionSynchronization.STATUS_ROLLED_BACK) {
+                            day.release(time, partySize);
+                        }
+                    });
+                }
+                return bookingId;
+            } finally {
+                if (!inserted) {
+                    day.release(time, partySize);
+                }
+            }
+        } finally {
+            if (!completing) {
+                endWrite(key, day);
+            }
+        }
+    }
+
+    /**
+     * Runs the cancellation of a confirmed booking and releases its table once the surrounding transaction
+     * commits, so the table cannot be handed to another party while the cancellation may still roll back.
+     *
+     * @param cancel cancels the booking and returns the number of affected rows
+     */
+    public int recordCancellation(int restaurantId, LocalDate date, LocalTime time, int partySize, IntSupplier cancel) {
+        LedgerKey key = new LedgerKey(restaurantId, date);
+        DayLedger day = beginWrite(key);
+        boolean completing = false;
+        try {
+            int rowsAffected = cancel.getAsInt();
+            if (rowsAffected > 0) {
+                completing = true;
+                endWriteAfterCompletion(key, day, status -> {
+                    if (status == TransactionSynchronization.STATUS_COMMITTED) {
+                        day.release(time, partySize);
+                    }
+                });
+            }
+            return rowsAffected;
+        } finally {
+            if (!completing) {
+                endWrite(key, day);
+            }
+        }
+    }
+
+    /**
+     * Runs a bulk cancellation of confirmed bookings and releases their tables once the surrounding transaction
+     * commits. Only days already in the ledger are updated; a day loaded later replays the committed bookings.
+     *
+     * @param cancel cancels the bookings and returns the cancelled ones
+     */
+    public List<Booking> recordCancellations(Supplier<List<Booking>> cancel) {
+        List<Booking> cancelled = cancel.get();
+        Map<LedgerKey, List<Booking>> cancelledByDay = new HashMap<>();
+        for (Booking booking : cancelled) {
+            cancelledByDay.computeIfAbsent(new LedgerKey(booking.getRestaurantId(), booking.getBookingDate().toLocalDate()),
+                    k -> new ArrayList<>()).add(booking);
+        }
+
+        for (Map.Entry<LedgerKey, List<Booking>> entry : cancelledByDay.entrySet()) {
+            LedgerKey key = entry.getKey();
+            // Loading the day here would replay this transaction's own cancellations, releasing them twice
+            DayLedger day = beginWriteIfCached(key);
+            if (day == null) {
+                continue;
+            }
+            endWriteAfterCompletion(key, day, status -> {
+                if (status == TransactionSynchronization.STATUS_COMMITTED) {
+                    entry.getValue().forEach(booking -> day.release(booking.getBookingTime().toLocalTime(), booking.getPartySize()));
+                }
+            });
+        }
+        return cancelled;
+    }
+
+    /**
+     * Rebuilds the occupancy of every cached day from the bookings table. A day is skipped when a write was
+     * in flight, its transaction not completed yet, or started while its bookings were being read; it is picked
+     * up on the next run.
+     */
+    @Scheduled(fixedDelayString = "${booktable.booking.ledger.reconcile-interval-ms:300000}",
+            initialDelayString = "${booktable.booking.ledger.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        Map<LocalDate, Map<Integer, DayLedger>> daysByDate = new HashMap<>();
+        for (Map.Entry<LedgerKey, DayLedger> entry : cache.asMap().entrySet()) {
+            daysByDate.computeIfAbsent(entry.getKey().date(), k -> new HashMap<>())
+                    .put(entry.getKey().restaurantId(), entry.getValue());
+        }
+
+        int corrected = 0;
+        for (Map.Entry<LocalDate, Map<Integer, DayLedger>> entry : daysByDate.entrySet()) {
+            Map<Integer, Long> versions = new HashMap<>();
+            entry.getValue().forEach((restaurantId, day) -> {
+                if (day.isIdle()) {
+                    versions.put(restaurantId, day.getVersion());
+                }
+            });
+            if (versions.isEmpty()) {
+                continue;
+            }
+
+            Map<Integer, Map<LocalTime, Map<Integer, Integer>>> bookedParties = bookingRepository.getBookedPartiesForRestaurantsAndDate(
+                    new ArrayList<>(versions.keySet()), entry.getKey());
+            for (Map.Entry<Integer, Long> version : versions.entrySet()) {
+                DayLedger day = entry.getValue().get(version.getKey());
+                if (day.replaceIfUnchanged(version.getValue(), bookedParties.getOrDefault(version.getKey(), Collections.emptyMap()))) {
+                    corrected++;
+                }
+            }
+        }
+
+        if (corrected > 0) {
+            log.warn("Table occupancy ledger corrected for {} restaurant days", corrected);
+        }
+    }
+
+    /**
+     * Starts a write on the day, loading it when it is not cached, and pins it until the write ends.
+     */
+    private DayLedger beginWrite(LedgerKey key) {
+        return beginWrite(key, true);
+    }
+
+    /**
+     * Starts a write on the day if it is cached or pinned, without loading it.
+     */
+    private DayLedger beginWriteIfCached(LedgerKey key) {
+        return beginWrite(key, false);
+    }
+
+    private DayLedger beginWrite(LedgerKey key, boolean load) {
+        while (true) {
+            DayLedger day = load ? getDay(key.restaurantId(), key.date()) : getCachedDay(key);
+            if (day == null) {
+                return null;
+            }
+            DayLedger pinned = writingDays.compute(key, (k, writing) -> {
+                if (writing != null && writing != day) {
+                    return writing;
+                }
+                day.beginWrite();
+                return day;
+            });
+            if (pinned == day) {
+                // Evicted or rebuilt before it was pinned, the write has to go to the day readers see now. Without
+                // loading, a day that is not cached anymore is returned by the next load as it is pinned.
+                DayLedger cached = cache.asMap().get(key);
+                if (cached == day || (!load && cached == null)) {
+                    return day;
+                }
+                endWrite(key, day);
+            }
+        }
+    }
+
+    private DayLedger getCachedDay(LedgerKey key) {
+        DayLedger day = cache.getIfPresent(key);
+        return day != null ? day : writingDays.get(key);
+    }
+
+    private void endWrite(LedgerKey key, DayLedger day) {
+        writingDays.computeIfPresent(key, (k, writing) -> day.endWrite() ? null : writing);
+    }
+
+    /**
+     * Ends the write once the surrounding transaction completes, after applying its outcome to the day.
+     */
+    private void endWriteAfterCompletion(LedgerKey key, DayLedger day, IntConsumer onCompletion) {
+        runAfterCompletion(status -> {
+            try {
+                onCompletion.accept(status);
+            } finally {
+                endWrite(key, day);
+            }
+        });
+    }
+
+    private DayLedger getDay(int restaurantId, LocalDate date) {
+        return getDays(Collections.singletonList(restaurantId), date).get(restaurantId);
+    }
+
+    private Map<Integer, DayLedger> getDays(Collection<Integer> restaurantIds, LocalDate date) {
+        Map<Integer, RestaurantSchedule> schedules = scheduleCache.getSchedules(restaurantIds);
+        List<LedgerKey> keys = new ArrayList<>(restaurantIds.size());
+        for (Integer restaurantId : restaurantIds) {
+            keys.add(new LedgerKey(restaurantId, date));
+        }
+
+        Map<LedgerKey, DayLedger> days = cache.getAll(keys, this::loadDays);
+
+        // A day built for a table layout that has since been replaced is rebuilt with the current one, a day with
+        // a write in flight is kept until the write completes
+        List<LedgerKey> staleKeys = new ArrayList<>();
+        for (Map.Entry<LedgerKey, DayLedger> entry : days.entrySet()) {
+            if (entry.getValue().schedule != schedules.get(entry.getKey().restaurantId())) {
+                cache.asMap().remove(entry.getKey(), entry.getValue());
+                staleKeys.add(entry.getKey());
+            }
+        }
+        if (!staleKeys.isEmpty()) {
+            days = new HashMap<>(days);
+            days.putAll(cache.getAll(staleKeys, this::loadDays));
+        }
+
+        Map<Integer, DayLedger> daysByRestaurant = new HashMap<>();
+        for (Map.Entry<LedgerKey, DayLedger> entry : days.entrySet()) {
+            daysByRestaurant.put(entry.getKey().restaurantId(), entry.getValue());
+        }
+        return daysByRestaurant;
+    }
+
+    private Map<LedgerKey, DayLedger> loadDays(Set<? extends LedgerKey> keys) {
+        Map<LedgerKey, DayLedger> days = new HashMap<>();
+        Map<LocalDate, List<Integer>> restaurantIdsByDate = new HashMap<>();
+        for (LedgerKey key : keys) {
+            DayLedger writing = writingDays.get(key);
+            if (writing != null) {
+                days.put(key, writing);
+            } else {
+                restaurantIdsByDate.computeIfAbsent(key.date(), k -> new ArrayList<>()).add(key.restaurantId());
+            }
+        }
+
+        for (Map.Entry<LocalDate, List<Integer>> entry : restaurantIdsByDate.entrySet()) {
+            Map<Integer, RestaurantSchedule> schedules = scheduleCache.getSchedules(entry.getValue());
+            Map<Integer, Map<LocalTime, Map<Integer, Integer>>> bookedParties = bookingRepository.getBookedPartiesForRestaurantsAndDate(entry.getValue(), entry.getKey());
+            for (Integer restaurantId : entry.getValue()) {
+                DayLedger day = new DayLedger(schedules.get(restaurantId));
+                day.slots = day.replay(bookedParties.getOrDefault(restaurantId, Collections.emptyMap()));
+                days.put(new LedgerKey(restaurantId, entry.getKey()), day);
+            }
+        }
+        return days;
+    }
+
+    private record LedgerKey(int restaurantId, LocalDate date) {
+    }
+
+    private static final class DayLedger {
+
+        private final RestaurantSchedule schedule;   // table layout the occupancy was built for
+        private volatile ConcurrentHashMap<LocalTime, SlotOccupancy> slots = new ConcurrentHashMap<>();
+        private final AtomicLong version = new AtomicLong();
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        private DayLedger(RestaurantSchedule schedule) {
+            this.schedule = schedule;
+        }
+
+        private int getBookedSeats(LocalTime slot) {
+            SlotOccupancy occupancy = slots.get(slot);
+            return occupancy == null ? 0 : occupancy.getBookedSeats();
+        }
+
+        private boolean canSeat(LocalTime slot, int partySize) {
+            SlotOccupancy occupancy = slots.get(slot);
+            if (occupancy == null) {
+                return partySize <= schedule.getLargestTableSize();
+            }
+            return occupancy.canSeat(schedule, partySize);
+        }
+
+        private boolean assign(LocalTime slot, int partySize) {
+            if (partySize > schedule.getLargestTableSize()) {
+                return false;
+            }
+            return slots.computeIfAbsent(slot, k -> new SlotOccupancy(schedule)).assign(schedule, partySize);
+        }
+
+        private void release(LocalTime slot, int partySize) {
+            SlotOccupancy occupancy = slots.get(slot);
+            if (occupancy != null) {
+                occupancy.release(schedule, partySize);
+            }
+        }
+
+        private ConcurrentHashMap<LocalTime, SlotOccupancy> replay(Map<LocalTime, Map<Integer, Integer>> bookedParties) {
+            ConcurrentHashMap<LocalTime, SlotOccupancy> replayed = new ConcurrentHashMap<>();
+            for (Map.Entry<LocalTime, Map<Integer, Integer>> entry : bookedParties.entrySet()) {
+                SlotOccupancy occupancy = new SlotOccupancy(schedule);
+
+                // Seat the largest parties first, as the write path would have done with best-fit assignment
+                List<Integer> partySizes = new ArrayList<>(entry.getValue().keySet());
+                partySizes.sort(Comparator.reverseOrder());
+                for (Integer partySize : partySizes) {
+                    for (int i = 0; i < entry.getValue().get(partySize); i++) {
+                        occupancy.seatExisting(schedule, partySize);
+                    }
+                }
+                replayed.put(entry.getKey(), occupancy);
+            }
+            return replayed;
+        }
+
+        private synchronized void beginWrite() {
+            inFlight.incrementAndGet();
+            version.incrementAndGet();
+        }
+
+        /**
+         * @return whether no write is in flight anymore
+         */
+        private boolean endWrite() {
+            return inFlight.decrementAndGet() == 0;
+        }
+
+        private boolean isIdle() {
+            return inFlight.get() == 0;
+        }
+
+        private long getVersion() {
+            return version.get();
+        }
+
+        private synchronized boolean replaceIfUnchanged(long expectedVersion, Map<LocalTime, Map<Integer, Integer>> bookedParties) {
+            // Writes register under the same monitor, so none can slip in between this check and the swap
+            if (inFlight.get() != 0 || version.get() != expectedVersion) {
+                return false;
+            }
+
+            ConcurrentHashMap<LocalTime, SlotOccupancy> replayed = replay(bookedParties);
+            boolean changed = !sameOccupancy(slots, replayed);
+            slots = replayed;
+            return changed;
+        }
+
+        private static boolean sameOccupancy(Map<LocalTime, SlotOccupancy> current, Map<LocalTime, SlotOccupancy> replayed) {
+            Set<LocalTime> allSlots = new HashSet<>(current.keySet());
+            allSlots.addAll(replayed.keySet());
+            for (LocalTime slot : allSlots) {
+                SlotOccupancy a = current.get(slot);
+                SlotOccupancy b = replayed.get(slot);
+                if (!SlotOccupancy.isSame(a, b)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Occupancy of one slot: occupied tables per entry of {@link RestaurantSchedule#getTableSizes()}, plus the
+     * parties confirmed before the current layout that no table was left for.
+     * Guarded by its own monitor, so only requests for the same slot contend.
+     */
+    private static final class SlotOccupancy {
+
+        private final int[] occupiedTables;
+        private int bookedSeats;
+        // Unplaced parties per party size, null while there are none
+        private Map<Integer, Integer> unplacedParties;
+
+        private SlotOccupancy(RestaurantSchedule schedule) {
+            this.occupiedTables = new int[schedule.getTableSizes().length];
+        }
+
+        private synchronized int getBookedSeats() {
+            return bookedSeats;
+        }
+
+        private synchronized boolean canSeat(RestaurantSchedule schedule, int partySize) {
+            return findFreeTable(schedule, partySize) >= 0;
+        }
+
+        private synchronized boolean assign(RestaurantSchedule schedule, int partySize) {
+            int table = findFreeTable(schedule, partySize);
+            if (table < 0) {
+                return false;
+            }
+            occupiedTables[table]++;
+            bookedSeats += partySize;
+            return true;
+        }
+
+        private synchronized void seatExisting(RestaurantSchedule schedule, int partySize) {
+            // Bookings confirmed before the current layout may not fit anymore; their seats still count
+            int table = findFreeTable(schedule, partySize);
+            if (table >= 0) {
+                occupiedTables[table]++;
+            } else {
+                if (unplacedParties == null) {
+                    unplacedParties = new HashMap<>();
+                }
+                unplacedParties.merge(partySize, 1, Integer::sum);
+            }
+            bookedSeats += partySize;
+        }
+
+        private synchronized void release(RestaurantSchedule schedule, int partySize) {
+            bookedSeats = Math.max(0, bookedSeats - partySize);
+
+            // An unplaced party of the same size goes first: if the cancelled party held a table, the remaining
+            // one takes it over, so no table is freed either way
+            if (unplacedParties != null && unplacedParties.containsKey(partySize)) {
+                if (unplacedParties.merge(partySize, -1, Integer::sum) == 0) {
+                    unplacedParties.remove(partySize);
+                }
+                if (unplacedParties.isEmpty()) {
+                    unplacedParties = null;
+                }
+                return;
+            }
+
+            // The assignment is not persisted, so free the smallest occupied table that fits the party
+            int[] sizes = schedule.getTableSizes();
+            for (int i = 0; i < sizes.length; i++) {
+                if (sizes[i] >= partySize && occupiedTables[i] > 0) {
+                    occupiedTables[i]--;
+                    break;
+                }
+            }
+        }
+
+        private int findFreeTable(RestaurantSchedule schedule, int partySize) {
+            // Best fit: sizes are ascending, so the first free table that fits wastes the fewest seats
+            int[] sizes = schedule.getTableSizes();
+            int[] counts = schedule.getTableCounts();
+            for (int i = 0; i < sizes.length; i++) {
+                if (sizes[i] >= partySize && occupiedTables[i] < counts[i]) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private static boolean isSame(SlotOccupancy a, SlotOccupancy b) {
+            int seatsA = a == null ? 0 : a.getBookedSeats();
+            int seatsB = b == null ? 0 : b.getBookedSeats();
+            if (seatsA != seatsB) {
+                return false;
+            }
+            if (a == null || b == null) {
+                return seatsA == 0;
+            }
+            synchronized (a) {
+                return Arrays.equals(a.occupiedTables, b.occupiedTables) && Objects.equals(a.unplacedParties, b.unplacedParties);
+            }
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package com.sjsu.booktable.service.email;
+
+import com.sjsu.booktable.model.dto.email.BulkEmailDestinationResult;
+import com.sjsu.booktable.model.entity.Booking;
+import com.sjsu.booktable.model.entity.EmailOutboxEntry;
+import com.sjsu.booktable.model.enums.BookingStatus;
+import com.sjsu.booktable.model.enums.EmailNotificationType;
+import com.sjsu.booktable.model.enums.EmailOutboxStatus;
+import com.sjsu.booktable.repository.BookingRepository;
+import com.sjsu.booktable.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+
+import static com.sjsu.booktable.utils.TransactionUtils.runAfterCommit;
+
+/**
+ * Transactional outbox for booking notification emails. {@link #enqueue} stores the email in the
+ * email_outbox table as part of the booking transaction and hands it to a bounded worker pool once that
+ * commits, so the request thread never waits on template rendering or SES.
+ * A worker first claims the entry by leasing it, which keeps other workers and instances away from it. A
+ * failed send is retried with exponential backoff up to a maximum number of attempts. {@link #dispatchDue()}
+ * periodically picks up the entries that are due: retries, entries whose worker died with its lease, those
+ * that did not fit in the queue and those left pending by a restart.
+ * The cancellations of many bookings are queued together by {@link #enqueueCancellations} and sent with one
+ * bulk send; the entries whose send fails are retried one by one.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EmailOutbox {
+
+    private static final int CLAIM_BATCH_SIZE = 500;
+
+    private final EmailOutboxRepository outboxRepository;
+    private final BookingRepository bookingRepository;
+    private final EmailService emailService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${booktable.email.outbox.workers:4}")
+    private int workers;
+
+    @Value("${booktable.email.outbox.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${booktable.email.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${booktable.email.outbox.initial-backoff-ms:2000}")
+    private long initialBackoffMs;
+
+    @Value("${booktable.email.outbox.max-backoff-ms:600000}")
+    private long maxBackoffMs;
+
+    @Value("${booktable.email.outbox.lease-ms:120000}")
+    private long leaseMs;
+
+    @Value("${booktable.email.outbox.poll-batch-size:100}")
+    private int pollBatchSize;
+
+    // Entries queued or being sent by this instance, so that polling does not submit them twice
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+    private ThreadPoolExecutor executor;
+    private Timer sendTimer;
+    private Timer bulkSendTimer;
+
+    @PostConstruct
+    public void init() {
+        executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("email-outbox-"));
+        Gauge.builder("email.outbox.queue.size", executor, e -> e.getQueue().size())
+                .description("Outbox emails waiting for a worker")
+                .register(meterRegistry);
+        sendTimer = Timer.builder("email.outbox.send")
+                .description("Time spent rendering and sending outbox emails, one email or one bulk send")
+                .tag("mode", "single")
+                .register(meterRegistry);
+        bulkSendTimer = Timer.builder("email.outbox.send")
+                .description("Time spent rendering and sending outbox emails, one email or one bulk send")
+                .tag("mode", "bulk")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        // Queued entries stay pending in the table and are sent after the restart
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Records the email in the current transaction and dispatches it once the transaction commits.
+     */
+    public void enqueue(EmailNotificationType type, int bookingId, String recipient) {
+        long id = outboxRepository.insert(type, bookingId, recipient);
+        runAfterCommit(() -> submit(id));
+    }
+
+    /**
+     * Records a cancellation email per booking in the current transaction and sends them in bulk once the
+     * transaction commits.
+     */
+    public void enqueueCancellations(List<Booking> bookings) {
+        if (bookings.isEmpty()) {
+            return;
+        }
+        List<Long> ids = outboxRepository.insertAll(EmailNotificationType.BOOKING_CANCELLATION, bookings);
+        runAfterCommit(() -> submitBulk(ids));
+    }
+
+    /**
+     * Dispatches the pending entries whose next attempt is due.
+     */
+    @Scheduled(fixedDelayString = "${booktable.email.outbox.poll-interval-ms:5000}",
+            initialDelayString = "${booktable.email.outbox.poll-interval-ms:5000}")
+    public void dispatchDue() {
+        List<Long> dueIds = outboxRepository.findDueIds(new Timestamp(System.currentTimeMillis()), pollBatchSize);
+        for (Long id : dueIds) {
+            if (!submit(id)) {
+                break; // queue full, the rest waits for the next poll
+            }
+        }
+    }
+
+    boolean submit(long id) {
+        if (!inFlight.add(id)) {
+            return true;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    process(id);
+                } finally {
+                    inFlight.remove(id);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(id);
+            log.debug("Email outbox queue is full, entry {} is left for the next poll", id);
+            return false;
+        }
+    }
+
+    void submitBulk(List<Long> ids) {
+        List<Long> submitted = ids.stream().filter(inFlight::add).toList();
+        if (submitted.isEmpty()) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    processBulk(submitted);
+                } finally {
+                    submitted.forEach(inFlight::remove);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            submitted.forEach(inFlight::remove);
+            log.debug("Email outbox queue is full, {} bulk entries are left for the next poll", submitted.size());
+        }
+    }
+
+    /**
+     * Sends the claimable cancellation entries with one bulk send and records the outcome of each. The entries
+     * are leased under one claim token, a statement per {@value #CLAIM_BATCH_SIZE} ids, and read back together.
+     */
+    void processBulk(List<Long> ids) {
+        long now = System.currentTimeMillis();
+        String claimToken = UUID.randomUUID().toString();
+        int claimed = 0;
+        for (int from = 0; from < ids.size(); from += CLAIM_BATCH_SIZE) {
+            List<Long> batch = ids.subList(from, Math.min(from + CLAIM_BATCH_SIZE, ids.size()));
+            claimed += outboxRepository.claimAll(claimToken, batch, new Timestamp(now), new Timestamp(now + leaseMs));
+        }
+        if (claimed == 0) {
+            return; // already sent, or claimed by another worker
+        }
+        List<EmailOutboxEntry> entries = outboxRepository.findClaimed(claimToken);
+        Map<Integer, Booking> bookings = bookingRepository.findBookingsByIds(entries.stream().map(EmailOutboxEntry::getBookingId).toList())
+                .stream()
+                .collect(Collectors.toMap(Booking::getId, booking -> booking));
+
+        List<EmailOutboxEntry> toSend = new ArrayList<>();
+        List<Booking> bookingsToSend = new ArrayList<>();
+        for (EmailOutboxEntry entry : entries) {
+            Booking booking = bookings.get(entry.getBookingId());
+            if (booking == null) {
+                complete(entry, EmailOutboxStatus.SKIPPED, "Booking not found");
+                continue;
+            }
+            booking.setEmail(entry.getRecipient());
+            toSend.add(entry);
+            bookingsToSend.add(booking);
+        }
+        if (toSend.isEmpty()) {
+            return;
+        }
+
+        Map<Integer, String> errors = new HashMap<>();
+        long start = System.nanoTime();
+        try {
+            for (BulkEmailDestinationResult result : emailService.sendBookingCancellationEmails(bookingsToSend).getDestinations()) {
+                if (!result.isSent()) {
+                    errors.put(result.getBookingId(), result.getError() != null ? result.getError() : "Email could not be sent");
+                }
+            }
+        } catch (Exception e) {
+            toSend.forEach(entry -> errors.put(entry.getBookingId(), e.toString()));
+        } finally {
+            bulkSendTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        for (EmailOutboxEntry entry : toSend) {
+            String error = errors.get(entry.getBookingId());
+            if (error == null) {
+                complete(entry, EmailOutboxStatus.SENT, null);
+            } else {
+                fail(entry, EmailNotificationType.BOOKING_CANCELLATION, error);
+            }
+        }
+    }
+
+    void process(long id) {
+        long now = System.currentTimeMillis();
+        if (!outboxRepository.claim(id, new Timestamp(now), new Timestamp(now + leaseMs))) {
+            return; // already sent, or claimed by another worker
+        }
+        EmailOutboxEntry entry = outboxRepository.findById(id);
+        EmailNotificationType type = EmailNotificationType.fromType(entry.getType());
+
+        Booking booking = bookingRepository.findBookingById(entry.getBookingId());
+        if (booking == null) {
+            complete(entry, EmailOutboxStatus.SKIPPED, "Booking not found");
+            return;
+        }
+        if (type == EmailNotificationType.BOOKING_CONFIRMATION && BookingStatus.CANCELLED.getStatus().equals(booking.getStatus())) {
+            complete(entry, EmailOutboxStatus.SKIPPED, "Booking was cancelled before the confirmation was sent");
+            return;
+        }
+
+        String error = null;
+        long start = System.nanoTime();
+        try {
+            boolean sent = switch (type) {
+                case BOOKING_CONFIRMATION -> emailService.sendBookingConfirmationEmail(booking, entry.getRecipient());
+                case BOOKING_CANCELLATION -> emailService.sendBookingCancellationEmail(booking, entry.getRecipient());
+            };
+            if (!sent) {
+                error = "Email could not be sent";
+            }
+        } catch (Exception e) {
+            error = e.toString();
+        } finally {
+            sendTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        if (error == null) {
+            complete(entry, EmailOutboxStatus.SENT, null);
+        } else {
+            fail(entry, type, error);
+        }
+    }
+
+    /**
+     * Schedules a retry of the failed entry, or gives up on it after the maximum number of attempts.
+     */
+    private void fail(EmailOutboxEntry entry, EmailNotificationType type, String error) {
+        if (entry.getAttempts() >= maxAttempts) {
+            log.error("Giving up on {} email for booking ID {} after {} attempts: {}", type.getType(), entry.getBookingId(), entry.getAttempts(), error);
+            complete(entry, EmailOutboxStatus.FAILED, error);
+        } else {
+            long delay = backoffMillis(entry.getAttempts());
+            log.warn("Attempt {} of {} email for booking ID {} failed, retrying in {} ms: {}", entry.getAttempts(), type.getType(), entry.getBookingId(), delay, error);
+            outboxRepository.scheduleRetry(entry.getId(), new Timestamp(System.currentTimeMillis() + delay), error);
+            meterRegistry.counter("email.outbox.processed", "outcome", "retry").increment();
+        }
+    }
+
+    /**
+     * Delay before the next attempt: the initial backoff doubled per failed attempt, capped, plus up to 20% jitter.
+     */
+    long backoffMillis(int failedAttempts) {
+        long delay = initialBackoffMs << Math.min(failedAttempts - 1, 30);
+        if (delay <= 0 || delay > maxBackoffMs) {
+            delay = maxBackoffMs;
+        }
+        return delay + ThreadLocalRandom.current().nextLong(delay / 5 + 1);
+    }
+
+    private void complete(EmailOutboxEntry entry, EmailOutboxStatus status, String error) {
+        outboxRepository.complete(entry.getId(), status, error);
+        meterRegistry.counter("email.outbox.processed", "outcome", status.getStatus()).increment();
+    }
+}
@@ -1,11 +1,19 @@
 package com.sjsu.booktable.service.email;
 
-import com.sjsu.booktable.model.dto.booking.BookingRequestDTO;
+import com.sjsu.booktable.model.dto.email.BulkEmailResult;
 import com.sjsu.booktable.model.entity.Booking;
 
+import java.util.List;
+
 public interface EmailService {
 
-    boolean sendBookingConfirmationEmail(int bookingId, BookingRequestDTO bookingRequest);
+    boolean sendBookingConfirmationEmail(Booking booking, String recipientEmail);
 
     boolean sendBookingCancellationEmail(Booking booking,String recipientEmail);
+
+    /**
+     * Sends the cancellation email of every booking to its booking email, in bulk, and reports the outcome
+     * per booking.
+     */
+    BulkEmailResult sendBookingCancellationEmails(List<Booking> bookings);
 } 
\ No newline at end of file
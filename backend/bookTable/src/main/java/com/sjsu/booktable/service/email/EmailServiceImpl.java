@@ -2,62 +2,74 @@ package com.sjsu.booktable.service.email;
 
 import com.amazonaws.services.simpleemail.AmazonSimpleEmailService;
 import com.amazonaws.services.simpleemail.model.*;
-import com.sjsu.booktable.model.dto.booking.BookingRequestDTO;
+import com.sjsu.booktable.model.dto.email.BulkEmailDestinationResult;
+import com.sjsu.booktable.model.dto.email.BulkEmailResult;
 import com.sjsu.booktable.model.entity.Booking;
+import com.sjsu.booktable.utils.JsonUtil;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
-import org.thymeleaf.TemplateEngine;
-import org.thymeleaf.context.Context;
 
-import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class EmailServiceImpl implements EmailService {
 
+    static final String BOOKING_CANCELLATION_SES_TEMPLATE = "booktable-booking-cancellation";
+    // Most destinations SES accepts in one SendBulkTemplatedEmail call
+    static final int MAX_BULK_DESTINATIONS = 50;
+    private static final String SES_SUCCESS = "Success";
+
     private final AmazonSimpleEmailService sesClient;
-    private final TemplateEngine templateEngine;
+    private final EmailTemplateRenderer templateRenderer;
 
     @Value("${aws.ses.from-email}")
     private String fromEmail;
 
-    @Value("${booktable.app.name}")
-    private String appName;
+    @Value("${booktable.email.bulk.concurrency:4}")
+    private int bulkConcurrency;
 
-    @Value("${booktable.app.base-url}")
-    private String appBaseUrl;
+    // Bounds the SendBulkTemplatedEmail calls in flight across all bulk sends
+    private ExecutorService bulkExecutor;
+    private volatile boolean cancellationTemplateReady;
 
-    @Override
-    public boolean sendBookingConfirmationEmail(int bookingId, BookingRequestDTO bookingRequest) {
-        try {
-            String formattedDate = bookingRequest.getBookingDate().format(DateTimeFormatter.ofPattern("EEEE, MMMM d, yyyy"));
-            String formattedTime = bookingRequest.getBookingTime().format(DateTimeFormatter.ofPattern("h:mm a"));
+    @PostConstruct
+    public void init() {
+        bulkExecutor = Executors.newFixedThreadPool(bulkConcurrency, new CustomizableThreadFactory("email-bulk-"));
+    }
 
-            Context context = new Context();
-            context.setVariable("booking", bookingRequest);
-            context.setVariable("formattedDate", formattedDate);
-            context.setVariable("formattedTime", formattedTime);
-            context.setVariable("appName", appName);
-            context.setVariable("appBaseUrl", appBaseUrl);
-            context.setVariable("bookingId", bookingId);
-            context.setVariable("restaurantName", bookingRequest.getRestaurantName());
+    @PreDestroy
+    public void shutdown() {
+        bulkExecutor.shutdownNow();
+    }
 
-            String emailContent = templateEngine.process("booking-confirmation", context);
+    @Override
+    public boolean sendBookingConfirmationEmail(Booking booking, String recipientEmail) {
+        try {
+            String emailContent = templateRenderer.renderBookingConfirmation(booking);
 
             // Create SES email request
             SendEmailRequest request = new SendEmailRequest()
                     .withSource(fromEmail)
-                    .withDestination(new Destination().withToAddresses(bookingRequest.getEmail()))
+                    .withDestination(new Destination().withToAddresses(recipientEmail))
                     .withMessage(new Message()
-                            .withSubject(new Content().withCharset("UTF-8").withData("Your Reservation Confirmation - " + bookingRequest.getRestaurantName()))
+                            .withSubject(new Content().withCharset("UTF-8").withData("Your Reservation Confirmation - " + booking.getRestaurantName()))
                             .withBody(new Body().withHtml(new Content().withCharset("UTF-8").withData(emailContent)))
                     );
 
             sesClient.sendEmail(request);
-            log.info("Booking confirmation email sent to: {}", bookingRequest.getEmail());
+            log.info("Booking confirmation email sent to: {}", recipientEmail);
             return true;
         } catch (Exception e) {
             log.error("Failed to send booking confirmation email", e);
@@ -68,19 +80,7 @@ public class EmailServiceImpl implements EmailService {
     @Override
     public boolean sendBookingCancellationEmail(Booking booking, String recipientEmail) {
         try {
-            String formattedDate = booking.getBookingDate().toLocalDate().format(DateTimeFormatter.ofPattern("EEEE, MMMM d, yyyy"));
-            String formattedTime = booking.getBookingTime().toLocalTime().format(DateTimeFormatter.ofPattern("h:mm a"));
-
-            // Prepare the context with variables for the template
-            Context context = new Context();
-            context.setVariable("booking", booking);
-            context.setVariable("formattedDate", formattedDate);
-            context.setVariable("formattedTime", formattedTime);
-            context.setVariable("appName", appName);
-            context.setVariable("appBaseUrl", appBaseUrl);
-
-            // Process the template to get the email content
-            String emailContent = templateEngine.process("booking-cancellation", context);
+            String emailContent = templateRenderer.renderBookingCancellation(booking);
 
             // Create SES email request
             SendEmailRequest request = new SendEmailRequest()
@@ -99,4 +99,113 @@ public class EmailServiceImpl implements EmailService {
         }
     }
 
-} 
\ No newline at end of file
+    @Override
+    public BulkEmailResult sendBookingCancellationEmails(List<Booking> bookings) {
+        List<BulkEmailDestinationResult> results = new ArrayList<>(bookings.size());
+        if (bookings.isEmpty()) {
+            return BulkEmailResult.builder().destinations(results).build();
+        }
+        try {
+            ensureCancellationTemplate();
+        } catch (Exception e) {
+            log.error("Failed to publish the SES booking cancellation template", e);
+            bookings.forEach(booking -> results.add(failed(booking, e.getMessage())));
+            return BulkEmailResult.builder().destinations(results).build();
+        }
+
+        List<Future<List<BulkEmailDestinationResult>>> chunks = new ArrayList<>();
+        for (int from = 0; from < bookings.size(); from += MAX_BULK_DESTINATIONS) {
+            List<Booking> chunk = bookings.subList(from, Math.min(from + MAX_BULK_DESTINATIONS, bookings.size()));
+            chunks.add(bulkExecutor.submit(() -> sendCancellationChunk(chunk)));
+        }
+        for (Future<List<BulkEmailDestinationResult>> chunk : chunks) {
+            try {
+                results.addAll(chunk.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                chunk.cancel(true);
+                throw new IllegalStateException("Interrupted while sending booking cancellation emails", e);
+            } catch (ExecutionException e) {
+                // sendCancellationChunk reports its own failures, so this is a bug
+                throw new IllegalStateException("Failed to send booking cancellation emails", e.getCause());
+            }
+        }
+
+        BulkEmailResult result = BulkEmailResult.builder().destinations(results).build();
+        log.info("Bulk booking cancellation emails: {} sent, {} failed", result.getSentCount(), result.getFailedCount());
+        return result;
+    }
+
+    /**
+     * Sends one SendBulkTemplatedEmail call. SES reports a status per destination, in request order; when the
+     * call itself fails every destination of the chunk is reported failed.
+     */
+    private List<BulkEmailDestinationResult> sendCancellationChunk(List<Booking> chunk) {
+        List<BulkEmailDestinationResult> results = new ArrayList<>(chunk.size());
+        try {
+            List<BulkEmailDestination> destinations = new ArrayList<>(chunk.size());
+            for (Booking booking : chunk) {
+                destinations.add(new BulkEmailDestination()
+                        .withDestination(new Destination().withToAddresses(booking.getEmail()))
+                        .withReplacementTemplateData(JsonUtil.toJson(templateRenderer.bookingCancellationTemplateData(booking))));
+            }
+            SendBulkTemplatedEmailRequest request = new SendBulkTemplatedEmailRequest()
+                    .withSource(fromEmail)
+                    .withTemplate(BOOKING_CANCELLATION_SES_TEMPLATE)
+                    .withDefaultTemplateData("{}")
+                    .withDestinations(destinations);
+
+            List<BulkEmailDestinationStatus> statuses = sesClient.sendBulkTemplatedEmail(request).getStatus();
+            for (int i = 0; i < chunk.size(); i++) {
+                Booking booking = chunk.get(i);
+                BulkEmailDestinationStatus status = i < statuses.size() ? statuses.get(i) : null;
+                if (status != null && SES_SUCCESS.equals(status.getStatus())) {
+                    results.add(BulkEmailDestinationResult.builder()
+                            .bookingId(booking.getId())
+                            .recipient(booking.getEmail())
+                            .sent(true)
+                            .messageId(status.getMessageId())
+                            .build());
+                } else {
+                    String error = status == null ? "No status returned" : status.getStatus() + ": " + status.getError();
+                    log.warn("Booking cancellation email for booking {} to {} not sent: {}", booking.getId(), booking.getEmail(), error);
+                    results.add(failed(booking, error));
+                }
+            }
+        } catch (Exception e) {
+            log.error("Failed to send {} booking cancellation emails", chunk.size(), e);
+            results.clear();
+            chunk.forEach(booking -> results.add(failed(booking, e.getMessage())));
+        }
+        return results;
+    }
+
+    /**
+     * Publishes the cancellation template once per process, so that a redeployment with a changed template
+     * replaces the one stored in SES.
+     */
+    private synchronized void ensureCancellationTemplate() {
+        if (cancellationTemplateReady) {
+            return;
+        }
+        Template template = new Template()
+                .withTemplateName(BOOKING_CANCELLATION_SES_TEMPLATE)
+                .withSubjectPart("Your Reservation Cancellation - {{restaurantName}}")
+                .withHtmlPart(templateRenderer.renderBookingCancellationSesTemplate());
+        try {
+            sesClient.updateTemplate(new UpdateTemplateRequest().withTemplate(template));
+        } catch (TemplateDoesNotExistException e) {
+            sesClient.createTemplate(new CreateTemplateRequest().withTemplate(template));
+        }
+        cancellationTemplateReady = true;
+    }
+
+    private static BulkEmailDestinationResult failed(Booking booking, String error) {
+        return BulkEmailDestinationResult.builder()
+                .bookingId(booking.getId())
+                .recipient(booking.getEmail())
+                .sent(false)
+                .error(error)
+                .build();
+    }
+}
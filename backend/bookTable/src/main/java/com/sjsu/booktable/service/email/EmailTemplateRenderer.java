@@ -0,0 +1,182 @@
+package com.sjsu.booktable.service.email;
+
+import com.sjsu.booktable.model.entity.Booking;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.io.Writer;
+import java.sql.Date;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.Year;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Renders the HTML body of the booking emails. Both templates are parsed into the template engine's cache at
+ * startup, so a broken template fails the deployment and the first email does not pay for parsing.
+ * Each thread reuses its own context and output buffer across renders, which together with the shared
+ * formatters leaves little more than the output string to allocate per email.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EmailTemplateRenderer {
+
+    static final String BOOKING_CONFIRMATION_TEMPLATE = "booking-confirmation";
+    static final String BOOKING_CANCELLATION_TEMPLATE = "booking-cancellation";
+    static final List<String> BOOKING_CANCELLATION_FIELDS = List.of("restaurantName", "formattedDate", "formattedTime",
+            "partySizeText", "bookingId", "currentYear");
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("EEEE, MMMM d, yyyy", Locale.US);
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("h:mm a", Locale.US);
+    // A buffer grown past this by an unusually large email is dropped instead of being kept by the thread
+    private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+
+    private static final ThreadLocal<RenderState> RENDER_STATE = ThreadLocal.withInitial(RenderState::new);
+
+    private final TemplateEngine templateEngine;
+
+    @Value("${booktable.app.name}")
+    private String appName;
+
+    @Value("${booktable.app.base-url}")
+    private String appBaseUrl;
+
+    @PostConstruct
+    public void precompile() {
+        Booking sample = Booking.builder()
+                .id(1)
+                .restaurantName("BookTable")
+                .bookingDate(Date.valueOf(LocalDate.of(2025, 1, 1)))
+                .bookingTime(Time.valueOf(LocalTime.NOON))
+                .partySize(2)
+                .build();
+        renderBookingConfirmation(sample);
+        renderBookingCancellation(sample);
+        log.info("Precompiled email templates {} and {}", BOOKING_CONFIRMATION_TEMPLATE, BOOKING_CANCELLATION_TEMPLATE);
+    }
+
+    public String renderBookingConfirmation(Booking booking) {
+        RenderState state = RENDER_STATE.get();
+        Context context = state.context(appName, appBaseUrl);
+        context.setVariable("booking", booking);
+        context.setVariable("formattedDate", DATE_FORMATTER.format(booking.getBookingDate().toLocalDate()));
+        context.setVariable("formattedTime", TIME_FORMATTER.format(booking.getBookingTime().toLocalTime()));
+        context.setVariable("currentYear", Year.now().getValue());
+        context.setVariable("bookingId", booking.getId());
+        context.setVariable("restaurantName", booking.getRestaurantName());
+        return state.render(templateEngine, BOOKING_CONFIRMATION_TEMPLATE);
+    }
+
+    public String renderBookingCancellation(Booking booking) {
+        RenderState state = RENDER_STATE.get();
+        Context context = state.context(appName, appBaseUrl);
+        bookingCancellationTemplateData(booking).forEach(context::setVariable);
+        return state.render(templateEngine, BOOKING_CANCELLATION_TEMPLATE);
+    }
+
+    /**
+     * The cancellation email as an SES template: every per-booking value is a {{placeholder}} which SES fills
+     * in from {@link #bookingCancellationTemplateData(Booking)}.
+     */
+    public String renderBookingCancellationSesTemplate() {
+        RenderState state = RENDER_STATE.get();
+        Context context = state.context(appName, appBaseUrl);
+        for (String field : BOOKING_CANCELLATION_FIELDS) {
+            context.setVariable(field, "{{" + field + "}}");
+        }
+        return state.render(templateEngine, BOOKING_CANCELLATION_TEMPLATE);
+    }
+
+    /**
+     * Per-booking values of the cancellation email, keyed by template variable.
+     */
+    public Map<String, String> bookingCancellationTemplateData(Booking booking) {
+        Map<String, String> data = new LinkedHashMap<>();
+        data.put("restaurantName", booking.getRestaurantName());
+        data.put("formattedDate", DATE_FORMATTER.format(booking.getBookingDate().toLocalDate()));
+        data.put("formattedTime", TIME_FORMATTER.format(booking.getBookingTime().toLocalTime()));
+        data.put("partySizeText", booking.getPartySize() + (booking.getPartySize() == 1 ? " person" : " people"));
+        data.put("bookingId", String.valueOf(booking.getId()));
+        data.put("currentYear", String.valueOf(Year.now().getValue()));
+        return data;
+    }
+
+    /**
+     * Context and output buffer owned by one thread.
+     */
+    private static final class RenderState {
+
+        private final Context context = new Context(Locale.US);
+        private StringBuilderWriter writer = new StringBuilderWriter();
+
+        private Context context(String appName, String appBaseUrl) {
+            context.clearVariables();
+            context.setVariable("appName", appName);
+            context.setVariable("appBaseUrl", appBaseUrl);
+            return context;
+        }
+
+        private String render(TemplateEngine templateEngine, String template) {
+            try {
+                templateEngine.process(template, context, writer);
+                return writer.builder.toString();
+            } finally {
+                // Do not keep the booking reachable from the thread
+                context.clearVariables();
+                if (writer.builder.capacity() > MAX_RETAINED_BUFFER) {
+                    writer = new StringBuilderWriter();
+                } else {
+                    writer.builder.setLength(0);
+                }
+            }
+        }
+    }
+
+    /**
+     * Unsynchronized writer into a reusable StringBuilder.
+     */
+    private static final class StringBuilderWriter extends Writer {
+
+        private final StringBuilder builder = new StringBuilder(8 * 1024);
+
+        @Override
+        public void write(int c) {
+            builder.append((char) c);
+        }
+
+        @Override
+        public void write(char[] buffer, int offset, int length) {
+            builder.append(buffer, offset, length);
+        }
+
+        @Override
+        public void write(String text, int offset, int length) {
+            builder.append(text, offset, offset + length);
+        }
+
+        @Override
+        public Writer append(CharSequence text) {
+            builder.append(text);
+            return this;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.sjsu.booktable.service.restaurant;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+
+public interface AvailabilityService {
+
+    /**
+     * Computes the bookable time slots for a whole set of candidate restaurants at once.
+     *
+     * @return available slots (formatted as {@link LocalTime#toString()}) keyed by restaurant id.
+     * Restaurants without any available slot are not present in the map.
+     */
+    Map<Integer, List<String>> getAvailableTimeSlots(List<Integer> restaurantIds, LocalDate reservationDate, LocalTime reservationTime, int partySize);
+}
@@ -0,0 +1,83 @@
+package com.sjsu.booktable.service.restaurant;
+
+import com.sjsu.booktable.service.booking.BookingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.util.CollectionUtils;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+
+/**
+ * Set-based availability engine used by the search endpoints.
+ * Hours and time slots of all candidates come from the {@link RestaurantScheduleCache}, the
+ * matching slots are then checked for a free table against the table occupancy of the booking service.
+ */
+@Service
+@RequiredArgsConstructor
+public class AvailabilityServiceImpl implements AvailabilityService {
+
+    private final RestaurantScheduleCache scheduleCache;
+    private final BookingService bookingService;
+
+    private static final int SLOT_TOLERANCE_MINUTES = 30;
+
+    @Override
+    public Map<Integer, List<String>> getAvailableTimeSlots(List<Integer> restaurantIds, LocalDate reservationDate, LocalTime reservationTime, int partySize) {
+        Map<Integer, List<String>> availableTimeSlots = new HashMap<>();
+        if (CollectionUtils.isEmpty(restaurantIds)) {
+            return availableTimeSlots;
+        }
+
+        int dayOfWeek = reservationDate.getDayOfWeek().getValue() % 7;
+        Map<Integer, RestaurantSchedule> schedules = scheduleCache.getSchedules(restaurantIds);
+
+        // Keep only the restaurants open at the requested time having slots within the tolerance window
+        Map<Integer, List<LocalTime>> matchingSlotsByRestaurant = new HashMap<>();
+        for (Integer restaurantId : restaurantIds) {
+            RestaurantSchedule schedule = schedules.get(restaurantId);
+            if (schedule == null || schedule.getLargestTableSize() < partySize || !schedule.isOpenAt(dayOfWeek, reservationTime)) {
+                continue;
+            }
+
+            List<LocalTime> matchingSlots = getMatchingTimeSlots(schedule.getSlotMinutes(dayOfWeek), reservationTime);
+            if (!matchingSlots.isEmpty()) {
+                matchingSlotsByRestaurant.put(restaurantId, matchingSlots);
+            }
+        }
+        if (matchingSlotsByRestaurant.isEmpty()) {
+            return availableTimeSlots;
+        }
+
+        // Keep the slots having a free table that fits the party
+        Map<Integer, List<LocalTime>> seatableSlots = bookingService.getSeatableTimeSlots(matchingSlotsByRestaurant, reservationDate, partySize);
+        for (Map.Entry<Integer, List<LocalTime>> entry : seatableSlots.entrySet()) {
+            List<String> slots = new ArrayList<>(entry.getValue().size());
+            for (LocalTime slot : entry.getValue()) {
+                slots.add(slot.toString());
+            }
+            availableTimeSlots.put(entry.getKey(), slots);
+        }
+
+        return availableTimeSlots;
+    }
+
+    private List<LocalTime> getMatchingTimeSlots(short[] slotMinutes, LocalTime resTime) {
+        // Filter candidate slots that are within ± tolerance of the requested time.
+        // Slots are sorted, so the scan stops at the end of the tolerance window.
+        int resMinutes = RestaurantSchedule.toMinutes(resTime);
+        List<LocalTime> matchingSlots = new ArrayList<>();
+
+        for (short slot : slotMinutes) {
+            if (slot > resMinutes + SLOT_TOLERANCE_MINUTES) {
+                break;
+            }
+            if (slot >= resMinutes - SLOT_TOLERANCE_MINUTES) {
+                matchingSlots.add(RestaurantSchedule.toLocalTime(slot));
+            }
+        }
+
+        return matchingSlots;
+    }
+}
@@ -1,6 +1,11 @@
 package com.sjsu.booktable.service.restaurant;
 
+import java.util.Collection;
+import java.util.Map;
+
 public interface GeocodingService {
 
     double[] geocode(String address);
+
+    Map<String, double[]> geocodeAll(Collection<String> addresses);
 }
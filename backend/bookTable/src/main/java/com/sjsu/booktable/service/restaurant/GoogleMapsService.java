@@ -1,27 +1,168 @@
 package com.sjsu.booktable.service.restaurant;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.maps.GeoApiContext;
 import com.google.maps.GeocodingApi;
 import com.google.maps.model.GeocodingResult;
 import com.google.maps.model.LatLng;
 import com.sjsu.booktable.exception.restaurant.GeocodingException;
+import com.sjsu.booktable.repository.GeocodeCacheRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Pattern;
 
+/**
+ * Geocodes addresses through the Google Geocoding API, remembering the result per normalized address:
+ * in memory, bounded by booktable.geocoding.cache.max-size, and in the geocode_cache table, so an address
+ * is sent to Google once, not once per process or per restaurant update. Failed lookups are not cached.
+ * Requests to Google are rate limited by the GeoApiContext, see GoogleApiConfig.
+ * Hit/miss statistics are published as cache.* metrics with cache=geocode, calls to the API as
+ * geocoding.api.requests.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class GoogleMapsService implements GeocodingService {
 
+    // Length of geocode_cache.address_key, longer addresses are only cached in memory
+    private static final int MAX_PERSISTED_KEY_LENGTH = 512;
+    private static final int KEY_LOOKUP_BATCH_SIZE = 500;
+    private static final Pattern SEPARATOR = Pattern.compile("\\s*,\\s*");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
     private final GeoApiContext geoApiContext;
+    private final GeocodeCacheRepository geocodeCacheRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${booktable.geocoding.cache.max-size:10000}")
+    private long cacheMaxSize;
+
+    @Value("${booktable.geocoding.bulk.concurrency:4}")
+    private int bulkConcurrency;
+
+    private Cache<String, double[]> geocodeCache;
+    private Counter apiRequests;
+    private ExecutorService bulkExecutor;
+
+    @PostConstruct
+    public void init() {
+        geocodeCache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, geocodeCache, "geocode");
+        apiRequests = Counter.builder("geocoding.api.requests")
+                .description("Addresses sent to the Google Geocoding API")
+                .register(meterRegistry);
+        bulkExecutor = Executors.newFixedThreadPool(bulkConcurrency);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        bulkExecutor.shutdownNow();
+    }
 
     @Override
     public double[] geocode(String address) {
+        String addressKey = normalize(address);
+        return geocodeCache.get(addressKey, key -> lookup(key, address)).clone();
+    }
+
+    /**
+     * Geocodes many addresses, e.g. for an import, with at most booktable.geocoding.bulk.concurrency requests
+     * to Google in flight. Addresses already known are answered from the caches, with one query for all the
+     * stored ones. Addresses that cannot be geocoded are logged and left out of the result.
+     */
+    @Override
+    public Map<String, double[]> geocodeAll(Collection<String> addresses) {
+        Map<String, String> addressByKey = new LinkedHashMap<>();
+        for (String address : addresses) {
+            addressByKey.putIfAbsent(normalize(address), address);
+        }
+        loadStored(addressByKey.keySet());
+
+        Map<String, CompletableFuture<double[]>> pending = new LinkedHashMap<>();
+        addressByKey.forEach((key, address) -> pending.put(key,
+                CompletableFuture.supplyAsync(() -> geocodeCache.get(key, k -> lookup(k, address)), bulkExecutor)));
+
+        Map<String, double[]> coordsByKey = new HashMap<>();
+        pending.forEach((key, future) -> {
+            try {
+                coordsByKey.put(key, future.join());
+            } catch (CompletionException e) {
+                log.warn("Skipping address {} in bulk geocoding: {}", addressByKey.get(key), e.getCause().getMessage());
+            }
+        });
+
+        Map<String, double[]> coordsByAddress = new LinkedHashMap<>();
+        for (String address : addresses) {
+            double[] coords = coordsByKey.get(normalize(address));
+            if (coords != null) {
+                coordsByAddress.put(address, coords.clone());
+            }
+        }
+        log.info("Bulk geocoded {} of {} addresses", coordsByAddress.size(), addresses.size());
+        return coordsByAddress;
+    }
+
+    /**
+     * Key of an address in the caches: case, whitespace, periods and the spacing around commas do not
+     * change where an address is.
+     */
+    static String normalize(String address) {
+        String key = Normalizer.normalize(address, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT).replace(".", "");
+        key = SEPARATOR.matcher(key).replaceAll(", ");
+        return WHITESPACE.matcher(key).replaceAll(" ").trim();
+    }
+
+    private void loadStored(Set<String> addressKeys) {
+        List<String> missing = new ArrayList<>();
+        for (String key : addressKeys) {
+            if (key.length() <= MAX_PERSISTED_KEY_LENGTH && geocodeCache.getIfPresent(key) == null) {
+                missing.add(key);
+            }
+        }
+        for (int from = 0; from < missing.size(); from += KEY_LOOKUP_BATCH_SIZE) {
+            List<String> batch = missing.subList(from, Math.min(from + KEY_LOOKUP_BATCH_SIZE, missing.size()));
+            geocodeCache.putAll(geocodeCacheRepository.findByAddressKeys(batch));
+        }
+    }
+
+    private double[] lookup(String addressKey, String address) {
+        boolean persisted = addressKey.length() <= MAX_PERSISTED_KEY_LENGTH;
+        if (persisted) {
+            double[] stored = geocodeCacheRepository.findByAddressKey(addressKey);
+            if (stored != null) {
+                return stored;
+            }
+        }
+        double[] coords = requestGeocode(address);
+        if (persisted) {
+            geocodeCacheRepository.save(addressKey, coords[0], coords[1]);
+        }
+        return coords;
+    }
+
+    private double[] requestGeocode(String address) {
         try {
             log.info("Geocoding address: {}", address);
+            apiRequests.increment();
             GeocodingResult[] results = GeocodingApi.geocode(geoApiContext, address).await();
 
             if (results == null || results.length == 0) {
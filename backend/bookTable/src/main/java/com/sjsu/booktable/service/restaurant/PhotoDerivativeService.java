@@ -0,0 +1,264 @@
+package com.sjsu.booktable.service.restaurant;
+
+import com.sjsu.booktable.model.entity.Photo;
+import com.sjsu.booktable.model.enums.PhotoSize;
+import com.sjsu.booktable.repository.PhotosRepository;
+import com.sjsu.booktable.service.s3.ObjectStore;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Timestamp;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static com.sjsu.booktable.utils.TransactionUtils.runAfterCommit;
+
+/**
+ * Generates the {@link PhotoSize} renditions of uploaded restaurant photos off the request thread. Once the
+ * restaurant that references a photo commits, the original is read from the {@link ObjectStore}, scaled to
+ * each size, stored next to it as JPEG and recorded in photos (or restaurants, for a main photo). Until then
+ * endpoints keep serving the original.
+ * Work is queued in memory only, {@link #generateMissing()} periodically picks up photos of the last
+ * booktable.photos.derivatives.sweep-window-hours that still have no renditions: failed attempts, photos
+ * that did not fit in the queue and those lost by a restart. A file that is not a readable image gets its
+ * original recorded as every rendition, so it is not tried again.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PhotoDerivativeService {
+
+    static final String JPEG = "image/jpeg";
+    private static final float JPEG_QUALITY = 0.8f;
+
+    private final ObjectStore objectStore;
+    private final PhotosRepository photosRepository;
+    private final RestaurantDetailsCache detailsCache;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${booktable.photos.derivatives.workers:2}")
+    private int workers;
+
+    @Value("${booktable.photos.derivatives.queue-capacity:500}")
+    private int queueCapacity;
+
+    @Value("${booktable.photos.derivatives.sweep-window-hours:24}")
+    private long sweepWindowHours;
+
+    @Value("${booktable.photos.derivatives.sweep-batch-size:100}")
+    private int sweepBatchSize;
+
+    // Originals queued or being processed by this instance, so that the sweep does not submit them twice
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private ThreadPoolExecutor executor;
+    private Timer generateTimer;
+
+    @PostConstruct
+    public void init() {
+        executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("photo-derivatives-"));
+        Gauge.builder("photo.derivatives.queue.size", executor, e -> e.getQueue().size())
+                .description("Photos waiting for their renditions")
+                .register(meterRegistry);
+        generateTimer = Timer.builder("photo.derivatives.generate")
+                .description("Time spent reading, scaling and storing the renditions of one photo")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        // Queued photos still have no renditions recorded and are picked up by the sweep after the restart
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Generates the renditions of the given originals once the current transaction commits.
+     */
+    public void generateAfterCommit(int restaurantId, Collection<String> keys) {
+        List<String> originals = keys.stream().filter(Objects::nonNull).filter(key -> !key.isBlank()).distinct().toList();
+        if (!originals.isEmpty()) {
+            runAfterCommit(() -> originals.forEach(key -> submit(restaurantId, key)));
+        }
+    }
+
+    /**
+     * The originals with the keys of all their renditions, for deleting a photo completely.
+     */
+    public static List<String> withDerivativeKeys(Collection<String> keys) {
+        List<String> all = new ArrayList<>(keys.size() * (PhotoSize.values().length + 1));
+        for (String key : keys) {
+            all.add(key);
+            for (PhotoSize size : PhotoSize.values()) {
+                all.add(size.keyFor(key));
+            }
+        }
+        return all;
+    }
+
+    @Scheduled(fixedDelayString = "${booktable.photos.derivatives.sweep-interval-ms:300000}",
+            initialDelayString = "${booktable.photos.derivatives.sweep-interval-ms:300000}")
+    public void generateMissing() {
+        Timestamp since = new Timestamp(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(sweepWindowHours));
+        for (Photo photo : photosRepository.findPhotosWithoutDerivatives(since, sweepBatchSize)) {
+            if (!submit(photo.getRestaurantId(), photo.getS3URL())) {
+                break; // queue full, the rest waits for the next sweep
+            }
+        }
+    }
+
+    boolean submit(int restaurantId, String key) {
+        if (!inFlight.add(key)) {
+            return true;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    process(restaurantId, key);
+                } finally {
+                    inFlight.remove(key);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(key);
+            log.debug("Photo derivative queue is full, {} is left for the next sweep", key);
+            return false;
+        }
+    }
+
+    void process(int restaurantId, String key) {
+        long start = System.nanoTime();
+        try {
+            byte[] content;
+            try (InputStream in = objectStore.getObject(key)) {
+                content = in.readAllBytes();
+            }
+
+            BufferedImage original = decode(content, PhotoSize.MEDIUM.getMaxDimension());
+            if (original == null) {
+                log.warn("Photo {} is not a readable image, serving the original in every size", key);
+                record(restaurantId, key, key, key, "unreadable");
+                return;
+            }
+
+            // Largest rendition first, each smaller one is scaled from the previous
+            BufferedImage medium = scale(original, PhotoSize.MEDIUM.getMaxDimension());
+            BufferedImage thumbnail = scale(medium, PhotoSize.THUMBNAIL.getMaxDimension());
+            String mediumKey = PhotoSize.MEDIUM.keyFor(key);
+            String thumbnailKey = PhotoSize.THUMBNAIL.keyFor(key);
+            objectStore.putObject(mediumKey, encodeJpeg(medium), JPEG);
+            objectStore.putObject(thumbnailKey, encodeJpeg(thumbnail), JPEG);
+            record(restaurantId, key, thumbnailKey, mediumKey, "generated");
+        } catch (Exception e) {
+            log.warn("Could not generate renditions of photo {}, retrying with the next sweep: {}", key, e.toString());
+            meterRegistry.counter("photo.derivatives.processed", "outcome", "retry").increment();
+        } finally {
+            generateTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void record(int restaurantId, String key, String thumbnailKey, String mediumKey, String outcome) {
+        photosRepository.updateDerivativeKeys(key, thumbnailKey, mediumKey);
+        detailsCache.invalidate(restaurantId);
+        meterRegistry.counter("photo.derivatives.processed", "outcome", outcome).increment();
+    }
+
+    /**
+     * Decodes an image, null when no reader understands it. Large images are subsampled while decoding, keeping
+     * at least twice the given dimension on the longest side, so a 12 megapixel photo never sits in memory whole.
+     */
+    static BufferedImage decode(byte[] content, int maxDimension) throws IOException {
+        try (ImageInputStream input = new MemoryCacheImageInputStream(new ByteArrayInputStream(content))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int longestSide = Math.max(reader.getWidth(0), reader.getHeight(0));
+                int subsampling = Math.max(1, longestSide / (2 * maxDimension));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } catch (IOException | RuntimeException e) {
+                log.debug("Failed to decode image: {}", e.toString());
+                return null;
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Scales the longest side down to at most maxDimension as an opaque RGB image, transparency on white.
+     * Halving in bilinear steps keeps large reductions from aliasing the way a single step would.
+     */
+    static BufferedImage scale(BufferedImage source, int maxDimension) {
+        double ratio = Math.min(1.0, (double) maxDimension / Math.max(source.getWidth(), source.getHeight()));
+        int targetWidth = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+        int targetHeight = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            BufferedImage step = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = step.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(current, 0, 0, width, height, Color.WHITE, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = step;
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    static byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream output = new MemoryCacheImageOutputStream(out)) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+}
@@ -7,6 +7,8 @@ public interface PhotoService {
 
     void addPhoto(Photo photo);
 
+    void addPhotos(List<Photo> photos);
+
     List<Photo> getPhotosByRestaurantId(int restaurantId);
 
     void deletePhotoByRestaurantIdAndS3Url(int restaurantId, List<String> s3Urls);
@@ -21,6 +21,11 @@ public class PhotoServiceImpl implements PhotoService {
         photosRepository.insertPhoto(photo);
     }
 
+    @Override
+    public void addPhotos(List<Photo> photos) {
+        photosRepository.batchInsertPhotos(photos);
+    }
+
     @Override
     public List<Photo> getPhotosByRestaurantId(int restaurantId) {
         List<Photo> photos = ListUtils.nullSafeList(photosRepository.getPhotosByRestaurantId(restaurantId));
@@ -0,0 +1,80 @@
+package com.sjsu.booktable.service.restaurant;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sjsu.booktable.model.dto.restaurant.RestaurantDetailsResponse;
+import com.sjsu.booktable.utils.TransactionUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.IntFunction;
+import java.util.function.IntSupplier;
+
+/**
+ * Read-through cache of the assembled restaurant details page: restaurant row, tables, photos, hours,
+ * time slots, rating summary and the first page of reviews. The entry is evicted by {@link #invalidate(int)}
+ * whenever one of those changes, i.e. on restaurant update, approval, removal and review writes.
+ * Today's booking count changes with every booking and is kept apart with a short time to live.
+ * Hit/miss statistics are published as cache.* metrics with cache=restaurantDetails and
+ * cache=restaurantBookingCount, the time spent assembling a missing entry as restaurant.details.assembly.
+ */
+@Component
+@RequiredArgsConstructor
+public class RestaurantDetailsCache {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${booktable.cache.restaurant-details.max-size:5000}")
+    private long maxSize;
+
+    @Value("${booktable.cache.restaurant-details.booking-count-ttl-seconds:30}")
+    private long bookingCountTtlSeconds;
+
+    private Cache<Integer, RestaurantDetailsResponse> detailsCache;
+    private Cache<Integer, Integer> bookingCountCache;
+    private Timer assemblyTimer;
+
+    @PostConstruct
+    public void init() {
+        detailsCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        bookingCountCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(bookingCountTtlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, detailsCache, "restaurantDetails");
+        CaffeineCacheMetrics.monitor(meterRegistry, bookingCountCache, "restaurantBookingCount");
+        assemblyTimer = Timer.builder("restaurant.details.assembly")
+                .description("Time spent loading and assembling restaurant details on a cache miss")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached details, assembling them on a miss. Returns null, without caching, when the
+     * loader finds no restaurant. The returned instance is shared and must not be modified.
+     */
+    public RestaurantDetailsResponse getDetails(int restaurantId, IntFunction<RestaurantDetailsResponse> loader) {
+        return detailsCache.get(restaurantId, id -> assemblyTimer.record(() -> loader.apply(id)));
+    }
+
+    public int getBookingCount(int restaurantId, IntSupplier loader) {
+        return bookingCountCache.get(restaurantId, id -> loader.getAsInt());
+    }
+
+    public void invalidate(int restaurantId) {
+        detailsCache.invalidate(restaurantId);
+
+        // Evict again once the new rows are committed, so that a request running concurrently
+        // with the update cannot re-cache the old details.
+        TransactionUtils.runAfterCommit(() -> detailsCache.invalidate(restaurantId));
+    }
+}
@@ -0,0 +1,402 @@
+package com.sjsu.booktable.service.restaurant;
+
+import com.sjsu.booktable.model.dto.restaurantSearch.RestaurantLocation;
+import com.sjsu.booktable.repository.RestaurantRepository;
+import com.sjsu.booktable.utils.ListUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.sjsu.booktable.utils.TransactionUtils.runAfterCommit;
+
+/**
+ * In-memory spatial index of the approved, non-deleted restaurants used by search and nearby queries.
+ * Only ids and coordinates are kept, in primitive arrays ordered by a fixed 0.1 degree latitude/longitude
+ * grid cell. A radius query binary-searches the cells overlapping the bounding box of the circle and only
+ * measures the restaurants inside them.
+ * Readers work on an immutable snapshot which is swapped on every change. Writes are applied after commit
+ * through {@link #put(int, double, double)} and {@link #remove(int)}, each copying the arrays once without
+ * re-sorting them, and {@link #rebuild()} periodically reloads the whole index from the database.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RestaurantGeoIndex {
+
+    // Sphere radius used by MySQL ST_Distance_Sphere, so distances match the previous SQL query
+    static final double EARTH_RADIUS_METERS = 6370986;
+
+    private static final double CELL_DEGREES = 0.1;
+    private static final int ROWS = 1800;
+    private static final int COLUMNS = 3600;
+
+    private final RestaurantRepository restaurantRepository;
+
+    private final Object writeLock = new Object();
+    private final Object rebuildLock = new Object();
+    private volatile Snapshot snapshot;
+    // Changes applied while a rebuild reads the database, replayed on top of its result; null otherwise
+    private List<Change> changesDuringRebuild;
+
+    /**
+     * Restaurants whose great-circle distance to the given point is at most radiusMeters, nearest first.
+     */
+    public GeoHits findWithin(double longitude, double latitude, double radiusMeters) {
+        if (!isValidPoint(longitude, latitude) || !(radiusMeters >= 0)) {
+            return GeoHits.EMPTY;
+        }
+        Snapshot current = loadedSnapshot();
+        if (current.size == 0) {
+            return GeoHits.EMPTY;
+        }
+
+        // Bounding box of the circle, whole rows when it reaches a pole or spans all longitudes
+        double angularRadius = radiusMeters / EARTH_RADIUS_METERS;
+        double latDelta = Math.toDegrees(angularRadius);
+        double lngDelta = 180;
+        if (latitude + latDelta < 90 && latitude - latDelta > -90) {
+            double sinRatio = Math.sin(angularRadius) / Math.cos(Math.toRadians(latitude));
+            if (sinRatio < 1) {
+                lngDelta = Math.toDegrees(Math.asin(sinRatio));
+            }
+        }
+        boolean wholeRows = 2 * lngDelta >= 360 - CELL_DEGREES;
+
+        HitCollector collector = new HitCollector(longitude, latitude, radiusMeters);
+        int fromRow = row(latitude - latDelta);
+        int toRow = row(latitude + latDelta);
+        for (int row = fromRow; row <= toRow; row++) {
+            int rowStart = row * COLUMNS;
+            if (wholeRows) {
+                collector.scan(current, rowStart, rowStart + COLUMNS - 1);
+                continue;
+            }
+            int fromColumn = column(longitude - lngDelta);
+            int toColumn = column(longitude + lngDelta);
+            if (fromColumn <= toColumn) {
+                collector.scan(current, rowStart + fromColumn, rowStart + toColumn);
+            } else {
+                // The box crosses the antimeridian
+                collector.scan(current, rowStart + fromColumn, rowStart + COLUMNS - 1);
+                collector.scan(current, rowStart, rowStart + toColumn);
+            }
+        }
+        return collector.sortedHits();
+    }
+
+    /**
+     * Adds or moves a searchable restaurant once the current transaction commits.
+     */
+    public void put(int restaurantId, double longitude, double latitude) {
+        if (!isValidPoint(longitude, latitude)) {
+            log.warn("Not indexing restaurant {} with invalid coordinates ({}, {})", restaurantId, longitude, latitude);
+            remove(restaurantId);
+            return;
+        }
+        runAfterCommit(() -> apply(restaurantId, true, longitude, latitude));
+    }
+
+    /**
+     * Drops a restaurant that is no longer searchable once the current transaction commits.
+     */
+    public void remove(int restaurantId) {
+        runAfterCommit(() -> apply(restaurantId, false, 0, 0));
+    }
+
+    /**
+     * Reloads every approved, non-deleted restaurant location from the database.
+     */
+    @Scheduled(fixedDelayString = "${booktable.search.geo-index.rebuild-interval-ms:600000}",
+            initialDelayString = "${booktable.search.geo-index.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            synchronized (writeLock) {
+                changesDuringRebuild = new ArrayList<>();
+            }
+            try {
+                // Read and sort without the write lock, so puts and removes are not held up by the query
+                Snapshot rebuilt = load();
+                synchronized (writeLock) {
+                    // A put or remove committed meanwhile may be missing from the rows read, apply it on top
+                    for (Change change : changesDuringRebuild) {
+                        rebuilt = rebuilt.with(change.restaurantId(), change.searchable(), change.longitude(), change.latitude());
+                    }
+                    snapshot = rebuilt;
+                }
+                log.debug("Rebuilt restaurant geo index with {} restaurants", rebuilt.size);
+            } finally {
+                synchronized (writeLock) {
+                    changesDuringRebuild = null;
+                }
+            }
+        }
+    }
+
+    public int size() {
+        return loadedSnapshot().size;
+    }
+
+    private Snapshot loadedSnapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (rebuildLock) {
+                if (snapshot == null) {
+                    rebuild();
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    private Snapshot load() {
+        List<RestaurantLocation> locations = ListUtils.nullSafeList(restaurantRepository.findSearchableLocations());
+        int[] ids = new int[locations.size()];
+        double[] longitudes = new double[locations.size()];
+        double[] latitudes = new double[locations.size()];
+        int size = 0;
+        for (RestaurantLocation location : locations) {
+            if (!isValidPoint(location.getLongitude(), location.getLatitude())) {
+                continue;
+            }
+            ids[size] = location.getId();
+            longitudes[size] = location.getLongitude();
+            latitudes[size] = location.getLatitude();
+            size++;
+        }
+        return Snapshot.of(ids, longitudes, latitudes, size);
+    }
+
+    private void apply(int restaurantId, boolean searchable, double longitude, double latitude) {
+        synchronized (writeLock) {
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(new Change(restaurantId, searchable, longitude, latitude));
+            }
+            Snapshot current = snapshot;
+            if (current == null) {
+                return; // not loaded yet, the first query reads the committed rows
+            }
+            snapshot = current.with(restaurantId, searchable, longitude, latitude);
+        }
+    }
+
+    private static boolean isValidPoint(double longitude, double latitude) {
+        return latitude >= -90 && latitude <= 90 && longitude >= -180 && longitude <= 180;
+    }
+
+    private static int row(double latitude) {
+        int row = (int) ((latitude + 90) / CELL_DEGREES);
+        return Math.max(0, Math.min(ROWS - 1, row));
+    }
+
+    private static int column(double longitude) {
+        double normalized = ((longitude + 180) % 360 + 360) % 360;
+        return Math.min(COLUMNS - 1, (int) (normalized / CELL_DEGREES));
+    }
+
+    private static int cell(double longitude, double latitude) {
+        return row(latitude) * COLUMNS + column(longitude);
+    }
+
+    static double distanceMeters(double lng1, double lat1, double lng2, double lat2) {
+        double sinLat = Math.sin(Math.toRadians(lat2 - lat1) / 2);
+        double sinLng = Math.sin(Math.toRadians(lng2 - lng1) / 2);
+        double a = sinLat * sinLat + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * sinLng * sinLng;
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    /**
+     * Restaurant ids and their distances in meters, nearest first.
+     */
+    public record GeoHits(int[] ids, double[] distances) {
+
+        static final GeoHits EMPTY = new GeoHits(new int[0], new double[0]);
+
+        public int size() {
+            return ids.length;
+        }
+
+        public List<Integer> idList() {
+            return Arrays.stream(ids).boxed().toList();
+        }
+    }
+
+    private record Change(int restaurantId, boolean searchable, double longitude, double latitude) {
+    }
+
+    /**
+     * Entries sorted by grid cell, parallel arrays indexed by position. The arrays are never modified once
+     * built, so snapshots may share them.
+     */
+    private static final class Snapshot {
+
+        private final int[] cells;
+        private final int[] ids;
+        private final double[] longitudes;
+        private final double[] latitudes;
+        private final int size;
+
+        private Snapshot(int[] cells, int[] ids, double[] longitudes, double[] latitudes, int size) {
+            this.cells = cells;
+            this.ids = ids;
+            this.longitudes = longitudes;
+            this.latitudes = latitudes;
+            this.size = size;
+        }
+
+        static Snapshot of(int[] ids, double[] longitudes, double[] latitudes, int size) {
+            // Sort positions by cell without boxing: cell in the high half, original position in the low half
+            long[] order = new long[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = ((long) cell(longitudes[i], latitudes[i]) << 32) | i;
+            }
+            Arrays.sort(order);
+
+            int[] sortedCells = new int[size];
+            int[] sortedIds = new int[size];
+            double[] sortedLongitudes = new double[size];
+            double[] sortedLatitudes = new double[size];
+            for (int i = 0; i < size; i++) {
+                int from = (int) order[i];
+                sortedCells[i] = (int) (order[i] >>> 32);
+                sortedIds[i] = ids[from];
+                sortedLongitudes[i] = longitudes[from];
+                sortedLatitudes[i] = latitudes[from];
+            }
+            return new Snapshot(sortedCells, sortedIds, sortedLongitudes, sortedLatitudes, size);
+        }
+
+        /**
+         * Copy with the restaurant moved, added or removed. A move within its cell only replaces the
+         * coordinates, anything else removes the old entry and inserts the new one after the last entry of its
+         * cell, keeping the order without sorting.
+         */
+        Snapshot with(int restaurantId, boolean searchable, double longitude, double latitude) {
+            int removeAt = indexOf(restaurantId);
+            if (!searchable && removeAt < 0) {
+                return this;
+            }
+            int newCell = searchable ? cell(longitude, latitude) : -1;
+            if (searchable && removeAt >= 0 && cells[removeAt] == newCell) {
+                double[] newLongitudes = Arrays.copyOf(longitudes, size);
+                double[] newLatitudes = Arrays.copyOf(latitudes, size);
+                newLongitudes[removeAt] = longitude;
+                newLatitudes[removeAt] = latitude;
+                return new Snapshot(cells, ids, newLongitudes, newLatitudes, size);
+            }
+
+            int insertAt = searchable ? firstAtOrAfter(newCell + 1) : -1;
+            int newSize = size - (removeAt >= 0 ? 1 : 0) + (searchable ? 1 : 0);
+            int[] newCells = new int[newSize];
+            int[] newIds = new int[newSize];
+            double[] newLongitudes = new double[newSize];
+            double[] newLatitudes = new double[newSize];
+            int to = 0;
+            for (int from = 0; from <= size; from++) {
+                if (from == insertAt) {
+                    newCells[to] = newCell;
+                    newIds[to] = restaurantId;
+                    newLongitudes[to] = longitude;
+                    newLatitudes[to] = latitude;
+                    to++;
+                }
+                if (from == size || from == removeAt) {
+                    continue;
+                }
+                newCells[to] = cells[from];
+                newIds[to] = ids[from];
+                newLongitudes[to] = longitudes[from];
+                newLatitudes[to] = latitudes[from];
+                to++;
+            }
+            return new Snapshot(newCells, newIds, newLongitudes, newLatitudes, newSize);
+        }
+
+        private int indexOf(int restaurantId) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == restaurantId) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        int firstAtOrAfter(int cell) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (cells[mid] < cell) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+
+    /**
+     * Growable primitive buffer of the restaurants found within the radius.
+     */
+    private static final class HitCollector {
+
+        private final double longitude;
+        private final double latitude;
+        private final double radiusMeters;
+        private int[] ids = new int[16];
+        private double[] distances = new double[16];
+        private int size;
+
+        HitCollector(double longitude, double latitude, double radiusMeters) {
+            this.longitude = longitude;
+            this.latitude = latitude;
+            this.radiusMeters = radiusMeters;
+        }
+
+        void scan(Snapshot snapshot, int fromCell, int toCell) {
+            for (int i = snapshot.firstAtOrAfter(fromCell); i < snapshot.size && snapshot.cells[i] <= toCell; i++) {
+                double distance = distanceMeters(longitude, latitude, snapshot.longitudes[i], snapshot.latitudes[i]);
+                if (distance <= radiusMeters) {
+                    add(snapshot.ids[i], distance);
+                }
+            }
+        }
+
+        private void add(int id, double distance) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                distances = Arrays.copyOf(distances, size * 2);
+            }
+            ids[size] = id;
+            distances[size] = distance;
+            size++;
+        }
+
+        GeoHits sortedHits() {
+            if (size == 0) {
+                return GeoHits.EMPTY;
+            }
+            // Distance in centimeters in the high half (half the circumference fits in 31 bits), position in the low half
+            long[] order = new long[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = (Math.round(distances[i] * 100) << 32) | i;
+            }
+            Arrays.sort(order);
+
+            int[] sortedIds = new int[size];
+            double[] sortedDistances = new double[size];
+            for (int i = 0; i < size; i++) {
+                int from = (int) order[i];
+                sortedIds[i] = ids[from];
+                sortedDistances[i] = distances[from];
+            }
+            return new GeoHits(sortedIds, sortedDistances);
+        }
+    }
+}
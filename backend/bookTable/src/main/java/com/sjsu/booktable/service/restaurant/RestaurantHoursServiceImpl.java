@@ -17,6 +17,7 @@ import java.util.List;
 public class RestaurantHoursServiceImpl implements RestaurantHoursService {
 
     private final RestaurantHoursRepository restaurantHoursRepository;
+    private final RestaurantScheduleCache scheduleCache;
 
     @Override
     public void addHours(int restaurantId, List<HoursDto> hours) {
@@ -28,30 +29,33 @@ public class RestaurantHoursServiceImpl implements RestaurantHoursService {
     public void replaceHours(int restaurantId, List<HoursDto> hours) {
         restaurantHoursRepository.deleteByRestaurantId(restaurantId);
         restaurantHoursRepository.insertHours(restaurantId, hours);
+        scheduleCache.invalidate(restaurantId);
     }
 
     @Override
     public HoursDto getHoursForRestaurantAndDay(int restaurantId, int dayOfWeek) {
-        RestaurantHours hours = restaurantHoursRepository.getHoursByRestaurantAndDay(restaurantId, dayOfWeek);
-        if(hours == null){
+        RestaurantSchedule schedule = scheduleCache.getSchedule(restaurantId);
+        if(schedule == null || !schedule.hasHours(dayOfWeek)){
             throw new RestaurantException("Restaurant hours not found for the given restaurant and day", HttpStatus.NOT_FOUND);
         }
         HoursDto hoursDto = new HoursDto();
-        hoursDto.setDayOfWeek(hours.getDayOfWeek());
-        hoursDto.setOpenTime(hours.getOpenTime() == null ? null : hours.getOpenTime().toLocalTime());
-        hoursDto.setCloseTime(hours.getCloseTime() == null ? null : hours.getCloseTime().toLocalTime());
+        hoursDto.setDayOfWeek(dayOfWeek);
+        hoursDto.setOpenTime(schedule.getOpenTime(dayOfWeek));
+        hoursDto.setCloseTime(schedule.getCloseTime(dayOfWeek));
         return hoursDto;
     }
 
     @Override
     public List<HoursDto> getHoursForRestaurant(int restaurantId) {
         List<RestaurantHours> hoursList = ListUtils.nullSafeList(restaurantHoursRepository.getHoursByRestaurantId(restaurantId));
-        return hoursList.stream().map(hours -> {
-            HoursDto hoursDto = new HoursDto();
-            hoursDto.setDayOfWeek(hours.getDayOfWeek());
-            hoursDto.setOpenTime(hours.getOpenTime() == null ? null : hours.getOpenTime().toLocalTime());
-            hoursDto.setCloseTime(hours.getCloseTime() == null ? null : hours.getCloseTime().toLocalTime());
-            return hoursDto;
-        }).toList();
+        return hoursList.stream().map(this::convertToDto).toList();
+    }
+
+    private HoursDto convertToDto(RestaurantHours hours) {
+        HoursDto hoursDto = new HoursDto();
+        hoursDto.setDayOfWeek(hours.getDayOfWeek());
+        hoursDto.setOpenTime(hours.getOpenTime() == null ? null : hours.getOpenTime().toLocalTime());
+        hoursDto.setCloseTime(hours.getCloseTime() == null ? null : hours.getCloseTime().toLocalTime());
+        return hoursDto;
     }
 }
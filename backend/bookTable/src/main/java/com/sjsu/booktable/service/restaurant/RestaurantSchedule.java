@@ -0,0 +1,178 @@
+package com.sjsu.booktable.service.restaurant;
+
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compact, immutable weekly schedule of a restaurant as kept by {@link RestaurantScheduleCache}.
+ * Times are stored as minutes of the day; day indexes follow the hours/time_slots tables (0 = Sunday).
+ * Tables are kept as distinct sizes in ascending order with the number of tables of each size.
+ */
+public final class RestaurantSchedule {
+
+    public static final int DAYS_IN_WEEK = 7;
+
+    private static final short NO_TIME = -1;
+    private static final short[] NO_SLOTS = new short[0];
+    private static final int[] NO_TABLES = new int[0];
+
+    private final byte hoursMask;          // bit set when an hours row exists for the day
+    private final short[] openMinutes;     // NO_TIME when the row has no open time
+    private final short[] closeMinutes;    // NO_TIME when the row has no close time
+    private final short[][] slotMinutes;   // sorted ascending
+    private final int[] tableSizes;        // distinct, sorted ascending
+    private final int[] tableCounts;       // number of tables per entry of tableSizes
+    private final int capacity;
+
+    private RestaurantSchedule(byte hoursMask, short[] openMinutes, short[] closeMinutes, short[][] slotMinutes,
+                               int[] tableSizes, int[] tableCounts) {
+        this.hoursMask = hoursMask;
+        this.openMinutes = openMinutes;
+        this.closeMinutes = closeMinutes;
+        this.slotMinutes = slotMinutes;
+        this.tableSizes = tableSizes;
+        this.tableCounts = tableCounts;
+
+        int totalCapacity = 0;
+        for (int i = 0; i < tableSizes.length; i++) {
+            totalCapacity += tableSizes[i] * tableCounts[i];
+        }
+        this.capacity = totalCapacity;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public boolean hasHours(int dayOfWeek) {
+        return (hoursMask & (1 << dayOfWeek)) != 0;
+    }
+
+    public LocalTime getOpenTime(int dayOfWeek) {
+        return toLocalTime(openMinutes[dayOfWeek]);
+    }
+
+    public LocalTime getCloseTime(int dayOfWeek) {
+        return toLocalTime(closeMinutes[dayOfWeek]);
+    }
+
+    public boolean isOpenAt(int dayOfWeek, LocalTime resTime) {
+        short open = openMinutes[dayOfWeek];
+        short close = closeMinutes[dayOfWeek];
+        if (open == NO_TIME || close == NO_TIME) {
+            return false;
+        }
+
+        int minute = toMinutes(resTime);
+        if (open < close) {
+            // Normal day: 11:00 to 22:00
+            return minute >= open && minute < close;
+        }
+        // Over-midnight: e.g., 18:00 to 02:00
+        return minute >= open || minute < close && resTime.isAfter(LocalTime.MIDNIGHT);
+    }
+
+    /**
+     * @return the sorted slot minutes of the day. The returned array is shared and must not be modified.
+     */
+    public short[] getSlotMinutes(int dayOfWeek) {
+        return slotMinutes[dayOfWeek];
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return the distinct table sizes in ascending order. The returned array is shared and must not be modified.
+     */
+    public int[] getTableSizes() {
+        return tableSizes;
+    }
+
+    /**
+     * @return the number of tables per entry of {@link #getTableSizes()}. The returned array is shared and must not be modified.
+     */
+    public int[] getTableCounts() {
+        return tableCounts;
+    }
+
+    public int getLargestTableSize() {
+        return tableSizes.length == 0 ? 0 : tableSizes[tableSizes.length - 1];
+    }
+
+    public static int toMinutes(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    public static LocalTime toLocalTime(int minutes) {
+        return minutes < 0 ? null : LocalTime.of(minutes / 60, minutes % 60);
+    }
+
+    public static final class Builder {
+
+        private byte hoursMask;
+        private final short[] openMinutes = new short[DAYS_IN_WEEK];
+        private final short[] closeMinutes = new short[DAYS_IN_WEEK];
+        private final short[][] slotMinutes = new short[DAYS_IN_WEEK][];
+        private final int[] slotCounts = new int[DAYS_IN_WEEK];
+        private final TreeMap<Integer, Integer> tables = new TreeMap<>();
+
+        private Builder() {
+            Arrays.fill(openMinutes, NO_TIME);
+            Arrays.fill(closeMinutes, NO_TIME);
+        }
+
+        public Builder hours(int dayOfWeek, LocalTime openTime, LocalTime closeTime) {
+            hoursMask |= (byte) (1 << dayOfWeek);
+            openMinutes[dayOfWeek] = openTime == null ? NO_TIME : (short) toMinutes(openTime);
+            closeMinutes[dayOfWeek] = closeTime == null ? NO_TIME : (short) toMinutes(closeTime);
+            return this;
+        }
+
+        public Builder slot(int dayOfWeek, LocalTime slotTime) {
+            short[] slots = slotMinutes[dayOfWeek];
+            int count = slotCounts[dayOfWeek];
+            if (slots == null) {
+                slots = new short[8];
+            } else if (count == slots.length) {
+                slots = Arrays.copyOf(slots, count * 2);
+            }
+            slots[count] = (short) toMinutes(slotTime);
+            slotMinutes[dayOfWeek] = slots;
+            slotCounts[dayOfWeek] = count + 1;
+            return this;
+        }
+
+        public Builder table(int size, int quantity) {
+            if (size > 0 && quantity > 0) {
+                tables.merge(size, quantity, Integer::sum);
+            }
+            return this;
+        }
+
+        public RestaurantSchedule build() {
+            short[][] slots = new short[DAYS_IN_WEEK][];
+            for (int day = 0; day < DAYS_IN_WEEK; day++) {
+                int count = slotCounts[day];
+                if (count == 0) {
+                    slots[day] = NO_SLOTS;
+                } else {
+                    slots[day] = Arrays.copyOf(slotMinutes[day], count);
+                    Arrays.sort(slots[day]);
+                }
+            }
+
+            int[] tableSizes = tables.isEmpty() ? NO_TABLES : new int[tables.size()];
+            int[] tableCounts = tables.isEmpty() ? NO_TABLES : new int[tables.size()];
+            int index = 0;
+            for (Map.Entry<Integer, Integer> table : tables.entrySet()) {
+                tableSizes[index] = table.getKey();
+                tableCounts[index++] = table.getValue();
+            }
+            return new RestaurantSchedule(hoursMask, openMinutes.clone(), closeMinutes.clone(), slots, tableSizes, tableCounts);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.sjsu.booktable.service.restaurant;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sjsu.booktable.model.entity.RestaurantHours;
+import com.sjsu.booktable.model.entity.TableEntity;
+import com.sjsu.booktable.model.entity.TimeSlot;
+import com.sjsu.booktable.repository.RestaurantHoursRepository;
+import com.sjsu.booktable.repository.TableRepository;
+import com.sjsu.booktable.repository.TimeSlotRepository;
+import com.sjsu.booktable.utils.ListUtils;
+import com.sjsu.booktable.utils.TransactionUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Bounded in-memory cache of {@link RestaurantSchedule}s keyed by restaurant id.
+ * The hours, time_slots and tables rows only change through the replace* paths of the
+ * corresponding services, which call {@link #invalidate(int)}.
+ * Hit/miss statistics are published to the meter registry as cache.* metrics with cache=restaurantSchedule.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RestaurantScheduleCache {
+
+    private final RestaurantHoursRepository restaurantHoursRepository;
+    private final TimeSlotRepository timeSlotRepository;
+    private final TableRepository tableRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${booktable.cache.schedule.max-size:10000}")
+    private long maxSize;
+
+    private Cache<Integer, RestaurantSchedule> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "restaurantSchedule");
+    }
+
+    public RestaurantSchedule getSchedule(int restaurantId) {
+        return cache.get(restaurantId, id -> loadSchedules(Collections.singleton(id)).get(id));
+    }
+
+    /**
+     * Returns the schedules of all given restaurants, loading every missing one with a single
+     * query per table.
+     */
+    public Map<Integer, RestaurantSchedule> getSchedules(Collection<Integer> restaurantIds) {
+        return cache.getAll(restaurantIds, this::loadSchedules);
+    }
+
+    public void invalidate(int restaurantId) {
+        cache.invalidate(restaurantId);
+
+        // Evict again once the new rows are committed, so that a search running concurrently
+        // with the update cannot re-cache the old schedule.
+        TransactionUtils.runAfterCommit(() -> cache.invalidate(restaurantId));
+    }
+
+    private Map<Integer, RestaurantSchedule> loadSchedules(Set<? extends Integer> restaurantIds) {
+        List<Integer> ids = new ArrayList<>(restaurantIds);
+        log.debug("Loading schedules for restaurants {}", ids);
+
+        Map<Integer, RestaurantSchedule.Builder> builders = new HashMap<>();
+        for (Integer restaurantId : ids) {
+            builders.put(restaurantId, RestaurantSchedule.builder());
+        }
+
+        for (RestaurantHours hours : ListUtils.nullSafeList(restaurantHoursRepository.getHoursByRestaurantIds(ids))) {
+            builders.get(hours.getRestaurantId()).hours(hours.getDayOfWeek(),
+                    hours.getOpenTime() == null ? null : hours.getOpenTime().toLocalTime(),
+                    hours.getCloseTime() == null ? null : hours.getCloseTime().toLocalTime());
+        }
+
+        for (TimeSlot timeSlot : ListUtils.nullSafeList(timeSlotRepository.getTimeSlotsByRestaurantIds(ids))) {
+            builders.get(timeSlot.getRestaurantId()).slot(timeSlot.getDayOfWeek(), timeSlot.getSlotTime().toLocalTime());
+        }
+
+        for (TableEntity table : ListUtils.nullSafeList(tableRepository.getTableConfigurationsForRestaurants(ids))) {
+            builders.get(table.getRestaurantId()).table(table.getSize(), table.getQuantity());
+        }
+
+        Map<Integer, RestaurantSchedule> schedules = new HashMap<>();
+        for (Map.Entry<Integer, RestaurantSchedule.Builder> entry : builders.entrySet()) {
+            schedules.put(entry.getKey(), entry.getValue().build());
+        }
+        return schedules;
+    }
+}
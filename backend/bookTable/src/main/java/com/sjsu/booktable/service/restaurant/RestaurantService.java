@@ -19,6 +19,11 @@ public interface RestaurantService {
 
     RestaurantSearchResponse fetchRestaurantsByManager(String managerId);
 
-    RestaurantDetailsResponse fetchRestaurantDetails(int restaurantId);
+    RestaurantDetailsResponse fetchRestaurantDetails(int restaurantId, String reviewCursor);
+
+    /**
+     * Details for the customer facing page, with the medium renditions of the photos instead of the originals.
+     */
+    RestaurantDetailsResponse fetchRestaurantDetailsForDisplay(int restaurantId, String reviewCursor);
 
 }
@@ -7,13 +7,15 @@ import com.sjsu.booktable.model.dto.restaurantSearch.NearbyRestaurantRequest;
 import com.sjsu.booktable.model.dto.restaurantSearch.RestaurantSearchDetails;
 import com.sjsu.booktable.model.dto.restaurantSearch.RestaurantSearchRequest;
 import com.sjsu.booktable.model.dto.restaurantSearch.RestaurantSearchResponse;
-import com.sjsu.booktable.model.dto.review.ReviewDto;
+import com.sjsu.booktable.model.dto.review.RatingSummaryDto;
+import com.sjsu.booktable.model.dto.review.ReviewPageDto;
 import com.sjsu.booktable.model.entity.Photo;
 import com.sjsu.booktable.model.entity.Restaurant;
 import com.sjsu.booktable.repository.RestaurantRepository;
 import com.sjsu.booktable.service.booking.BookingService;
+import com.sjsu.booktable.service.restaurant.RestaurantGeoIndex.GeoHits;
 import com.sjsu.booktable.service.review.ReviewService;
-import com.sjsu.booktable.service.s3.S3Service;
+import com.sjsu.booktable.service.s3.ObjectCleanupQueue;
 import com.sjsu.booktable.utils.ListUtils;
 import com.sjsu.booktable.utils.StringUtils;
 import com.sjsu.booktable.validator.RestaurantValidator;
@@ -29,6 +31,7 @@ import java.time.*;
 import java.util.*;
 import java.util.stream.Collectors;
 
+import static com.sjsu.booktable.utils.RestaurantUtil.METERS_PER_MILE;
 import static com.sjsu.booktable.utils.RestaurantUtil.buildFullAddress;
 
 @Service
@@ -36,6 +39,9 @@ import static com.sjsu.booktable.utils.RestaurantUtil.buildFullAddress;
 @Slf4j
 public class RestaurantServiceImpl implements RestaurantService {
 
+    private static final int REVIEW_PAGE_SIZE = 10;
+    private static final int SEARCH_RADIUS_METERS = 15000;
+
     private final RestaurantRepository restaurantRepository;
     private final TableService tableService;
     private final PhotoService photoService;
@@ -45,9 +51,12 @@ public class RestaurantServiceImpl implements RestaurantService {
     private final BookingService bookingService;
     private final RestaurantValidator validator;
     private final ReviewService reviewService;
-
-    private static final int SLOT_TOLERANCE_MINUTES = 30;
-    private final S3Service s3Service;
+    private final AvailabilityService availabilityService;
+    private final ObjectCleanupQueue objectCleanupQueue;
+    private final RestaurantGeoIndex geoIndex;
+    private final RestaurantTextIndex textIndex;
+    private final RestaurantDetailsCache detailsCache;
+    private final PhotoDerivativeService photoDerivativeService;
 
     @Override
     @Transactional
@@ -57,8 +66,14 @@ public class RestaurantServiceImpl implements RestaurantService {
             String fullAddress = buildFullAddress(request);
             double[] coords = googleMapsService.geocode(fullAddress);
             int restaurantId = saveRestaurantDetails(request, coords, request.getMainPhotoUrl(), managerId);
+            // New restaurants are not approved yet, they enter the geo index on approval
+            textIndex.put(restaurantId, request.getBasicDetails().getName(), request.getBasicDetails().getCuisineType(),
+                    request.getBasicDetails().getDescription());
 
             saveAdditionalPhotos(request.getAdditionalPhotoUrls(), restaurantId);
+            List<String> uploadedPhotos = new ArrayList<>(ListUtils.nullSafeList(request.getAdditionalPhotoUrls()));
+            uploadedPhotos.add(request.getMainPhotoUrl());
+            photoDerivativeService.generateAfterCommit(restaurantId, uploadedPhotos);
 
             tableService.addTables(restaurantId, request.getTableConfigurations());
             restaurantHoursService.addHours(restaurantId, request.getOperatingHours());
@@ -86,18 +101,28 @@ public class RestaurantServiceImpl implements RestaurantService {
             verifyOwnership(existingRestaurant, managerId);
             validator.validateRestaurantRequest(request);
 
-            String fullAddress = buildFullAddress(request);
-            double[] coords = googleMapsService.geocode(fullAddress);
+            double[] coords = resolveUpdatedCoordinates(existingRestaurant, request);
             updateRestaurantDetails(restaurantId, request.getBasicDetails(), coords, request.getMainPhotoUrl());
+            if (existingRestaurant.isApproved() && !existingRestaurant.isDeleted()) {
+                geoIndex.put(restaurantId, coords[0], coords[1]);
+            }
+            textIndex.put(restaurantId, request.getBasicDetails().getName(), request.getBasicDetails().getCuisineType(),
+                    request.getBasicDetails().getDescription());
+            detailsCache.invalidate(restaurantId);
 
-            updateAdditionalPhotos(restaurantId, request.getAdditionalPhotoUrls());
+            List<String> uploadedPhotos = updateAdditionalPhotos(restaurantId, request.getAdditionalPhotoUrls());
+            if (!Objects.equals(existingRestaurant.getMainPhotoUrl(), request.getMainPhotoUrl())) {
+                uploadedPhotos.add(request.getMainPhotoUrl());
+            }
+            photoDerivativeService.generateAfterCommit(restaurantId, uploadedPhotos);
 
             tableService.replaceTables(restaurantId, request.getTableConfigurations());
             restaurantHoursService.replaceHours(restaurantId, request.getOperatingHours());
             timeSlotService.replaceTimeSlots(restaurantId, request.getTimeSlots());
 
             if(existingRestaurant.getMainPhotoUrl() != null && !existingRestaurant.getMainPhotoUrl().equals(request.getMainPhotoUrl())) {
-                s3Service.deleteFilesBulk(Collections.singletonList(existingRestaurant.getMainPhotoUrl()));
+                // Deleted once the update commits, a rollback keeps the photo its row still refers to
+                objectCleanupQueue.enqueue(PhotoDerivativeService.withDerivativeKeys(Collections.singletonList(existingRestaurant.getMainPhotoUrl())));
             }
 
             return RestaurantResponse.builder()
@@ -114,65 +139,14 @@ public class RestaurantServiceImpl implements RestaurantService {
     @Override
     public RestaurantSearchResponse searchRestaurants(RestaurantSearchRequest searchRequest) {
         try {
-            List<RestaurantSearchDetails> nearbyRestaurants = restaurantRepository.searchRestaurants(
-                    searchRequest.getLongitude(), searchRequest.getLatitude(), searchRequest.getSearchText());
-
-            List<RestaurantSearchDetails> availableRestaurants = new ArrayList<>();
-            LocalDate resDate = searchRequest.getDate();
-            int dayOfWeek = resDate.getDayOfWeek().getValue() % 7;
-            LocalTime resTime = searchRequest.getTime();
-            int partySize = searchRequest.getPartySize();
-
-            // Extract restaurant IDs for batch booking count query
-            List<Integer> restaurantIds = new ArrayList<>();
-            Map<Integer, RestaurantSearchDetails> restaurantMap = new HashMap<>();
-
-            for (RestaurantSearchDetails nearbyRestaurant : ListUtils.nullSafeList(nearbyRestaurants)) {
-                int restaurantId = nearbyRestaurant.getId();
-                restaurantIds.add(restaurantId);
-                restaurantMap.put(restaurantId, nearbyRestaurant);
-
-                boolean withinHours = isWithinOperatingHours(restaurantId, resTime, dayOfWeek);
-                if (!withinHours) {
-                    continue;
-                }
-
-                List<LocalTime> matchingSlots = getMatchingTimeSlots(restaurantId, dayOfWeek, resTime);
-
-                if (matchingSlots.isEmpty()) {
-                    continue;
-                }
-
-                List<String> availableTimeSlots = getAvailableTimeSlots(restaurantId, resDate, matchingSlots, partySize);
-
-                if (availableTimeSlots.isEmpty()) {
-                    continue;
-                }
-
-                nearbyRestaurant.setAvailableTimeSlots(availableTimeSlots);
-
-                // fetch ratings
-                double avgRating = reviewService.getAverageRatingByRestaurant(restaurantId);
-                nearbyRestaurant.setAvgRating(avgRating);
-
-                availableRestaurants.add(nearbyRestaurant);
+            GeoHits hits = geoIndex.findWithin(searchRequest.getLongitude(), searchRequest.getLatitude(), SEARCH_RADIUS_METERS);
+            if (!StringUtils.isBlank(searchRequest.getSearchText())) {
+                hits = textIndex.rank(hits, searchRequest.getSearchText());
             }
+            List<RestaurantSearchDetails> nearbyRestaurants = findSearchDetails(hits);
 
-            // Get booking counts for all restaurants for the specified date
-            if (!restaurantIds.isEmpty()) {
-                Map<Integer, Integer> bookingCounts = bookingService.getBookingCountsByRestaurantIds(restaurantIds, resDate);
-
-                // Set booking counts for all restaurants
-                for (Map.Entry<Integer, Integer> entry : bookingCounts.entrySet()) {
-                    Integer restaurantId = entry.getKey();
-                    Integer count = entry.getValue();
-
-                    RestaurantSearchDetails restaurant = restaurantMap.get(restaurantId);
-                    if (restaurant != null) {
-                        restaurant.setBookingCount(count);
-                    }
-                }
-            }
+            List<RestaurantSearchDetails> availableRestaurants = filterAvailableRestaurants(nearbyRestaurants,
+                    searchRequest.getDate(), searchRequest.getTime(), searchRequest.getPartySize());
 
             return RestaurantSearchResponse.builder()
                     .count(availableRestaurants.size())
@@ -187,64 +161,14 @@ public class RestaurantServiceImpl implements RestaurantService {
     @Override
     public RestaurantSearchResponse getNearbyRestaurants(NearbyRestaurantRequest request) {
         try {
-            List<RestaurantSearchDetails> nearbyRestaurants = restaurantRepository.findNearbyRestaurants(
-                    request.getLongitude(), request.getLatitude(), request.getRadius());
-
-            List<RestaurantSearchDetails> availableRestaurants = new ArrayList<>();
+            GeoHits hits = geoIndex.findWithin(request.getLongitude(), request.getLatitude(), request.getRadius() * 1000.0);
+            List<RestaurantSearchDetails> nearbyRestaurants = findSearchDetails(hits);
 
             LocalDate currentDate = LocalDate.now(ZoneId.of("America/Los_Angeles"));
-            int dayOfWeek = currentDate.getDayOfWeek().getValue() % 7;
             LocalTime currentTime = LocalTime.now(ZoneId.of("America/Los_Angeles")).plusMinutes(30);
 
-            // Extract restaurant IDs for batch booking count query
-            List<Integer> restaurantIds = new ArrayList<>();
-            Map<Integer, RestaurantSearchDetails> restaurantMap = new HashMap<>();
-
-            for (RestaurantSearchDetails nearbyRestaurant : ListUtils.nullSafeList(nearbyRestaurants)) {
-                int restaurantId = nearbyRestaurant.getId();
-                restaurantIds.add(restaurantId);
-                restaurantMap.put(restaurantId, nearbyRestaurant);
-
-                boolean withinHours = isWithinOperatingHours(restaurantId, currentTime, dayOfWeek);
-                if (!withinHours) {
-                    continue;
-                }
-
-                List<LocalTime> matchingSlots = getMatchingTimeSlots(restaurantId, dayOfWeek, currentTime);
-
-                if (matchingSlots.isEmpty()) {
-                    continue;
-                }
-
-                List<String> availableTimeSlots = getAvailableTimeSlots(restaurantId, currentDate, matchingSlots, 1);
-
-                if (availableTimeSlots.isEmpty()) {
-                    continue;
-                }
-
-                nearbyRestaurant.setAvailableTimeSlots(availableTimeSlots);
-
-                // fetch ratings
-                double avgRating = reviewService.getAverageRatingByRestaurant(restaurantId);
-                nearbyRestaurant.setAvgRating(avgRating);
-                availableRestaurants.add(nearbyRestaurant);
-            }
-
-            // Get booking counts for all restaurants for the current date
-            if (!restaurantIds.isEmpty()) {
-                Map<Integer, Integer> bookingCounts = bookingService.getBookingCountsByRestaurantIds(restaurantIds, currentDate);
-
-                // Set booking counts for all restaurants
-                for (Map.Entry<Integer, Integer> entry : bookingCounts.entrySet()) {
-                    Integer restaurantId = entry.getKey();
-                    Integer count = entry.getValue();
-
-                    RestaurantSearchDetails restaurant = restaurantMap.get(restaurantId);
-                    if (restaurant != null) {
-                        restaurant.setBookingCount(count);
-                    }
-                }
-            }
+            List<RestaurantSearchDetails> availableRestaurants = filterAvailableRestaurants(nearbyRestaurants,
+                    currentDate, currentTime, 1);
 
             return RestaurantSearchResponse.builder()
                     .count(availableRestaurants.size())
@@ -276,28 +200,62 @@ public class RestaurantServiceImpl implements RestaurantService {
     }
 
     @Override
-    public RestaurantDetailsResponse fetchRestaurantDetails(int restaurantId) {
+    public RestaurantDetailsResponse fetchRestaurantDetails(int restaurantId, String reviewCursor) {
+        return fetchRestaurantDetails(restaurantId, reviewCursor, false);
+    }
+
+    @Override
+    public RestaurantDetailsResponse fetchRestaurantDetailsForDisplay(int restaurantId, String reviewCursor) {
+        return fetchRestaurantDetails(restaurantId, reviewCursor, true);
+    }
+
+    private RestaurantDetailsResponse fetchRestaurantDetails(int restaurantId, String reviewCursor, boolean mediumPhotos) {
+        RestaurantDetailsResponse cachedDetails = detailsCache.getDetails(restaurantId, this::assembleRestaurantDetails);
+        if (cachedDetails == null) {
+            throw new RestaurantException("Restaurant not found", HttpStatus.NOT_FOUND);
+        }
+
+        // The cached instance is shared, hand out a copy with the per-request parts
+        RestaurantDetailsResponse.RestaurantDetailsResponseBuilder response = cachedDetails.toBuilder();
+        if (mediumPhotos) {
+            response.mainPhotoUrl(cachedDetails.getMainPhotoMediumUrl())
+                    .additionalPhotoUrls(cachedDetails.getAdditionalPhotoMediumUrls());
+        }
+        if (!StringUtils.isBlank(reviewCursor)) {
+            ReviewPageDto reviewPage = reviewService.getReviewPage(restaurantId, reviewCursor, REVIEW_PAGE_SIZE);
+            response.reviews(reviewPage.getReviews()).nextReviewCursor(reviewPage.getNextCursor());
+        }
+
+        // Get booking count for today
+        int bookingCount = detailsCache.getBookingCount(restaurantId, () -> {
+            LocalDate today = LocalDate.now(ZoneId.of("America/Los_Angeles"));
+            return bookingService.getBookingCountsByRestaurantIds(Collections.singletonList(restaurantId), today)
+                    .getOrDefault(restaurantId, 0);
+        });
+        return response.bookingCount(bookingCount).build();
+    }
+
+    /**
+     * Loads everything on the details page except the booking count, null when the restaurant does not exist.
+     */
+    private RestaurantDetailsResponse assembleRestaurantDetails(int restaurantId) {
         Restaurant restaurant = restaurantRepository.findById(restaurantId);
         if (restaurant == null) {
-            throw new RestaurantException("Restaurant not found", HttpStatus.NOT_FOUND);
+            return null;
         }
 
         List<TableConfigurationDto> tableConfigurations = tableService.getTableConfigurationsForRestaurant(restaurantId);
         List<Photo> photos = photoService.getPhotosByRestaurantId(restaurantId);
         List<String> additionalPhotoUrls = photos.stream().map(Photo::getS3URL).toList();
+        List<String> additionalPhotoMediumUrls = photos.stream()
+                .map(photo -> photo.getMediumKey() != null ? photo.getMediumKey() : photo.getS3URL())
+                .toList();
         List<HoursDto> hours = restaurantHoursService.getHoursForRestaurant(restaurantId);
         List<TimeSlotDto> timeSlots = timeSlotService.getTimeSlotsForRestaurant(restaurantId);
 
-        //restaurant reviews
-        List<ReviewDto> reviews = reviewService.getReviewsByRestaurantId(restaurantId);
-        double overallAverageRating = reviewService.getAverageRatingByRestaurant(restaurantId);
-        int totalReviewCount = reviews != null ? reviews.size() : 0;
-
-        // Get booking count for today
-        LocalDate today = LocalDate.now(ZoneId.of("America/Los_Angeles"));
-        Map<Integer, Integer> bookingCounts = bookingService.getBookingCountsByRestaurantIds(
-                Collections.singletonList(restaurantId), today);
-        Integer bookingCount = bookingCounts.getOrDefault(restaurantId, 0);
+        //restaurant reviews, first page
+        ReviewPageDto reviewPage = reviewService.getReviewPage(restaurantId, null, REVIEW_PAGE_SIZE);
+        RatingSummaryDto ratingSummary = reviewService.getRatingSummaries(Collections.singletonList(restaurantId)).get(restaurantId);
 
         // Extract coordinates safely handling null locations
         Double longitude = null;
@@ -323,14 +281,16 @@ public class RestaurantServiceImpl implements RestaurantService {
                 .latitude(latitude)
                 .mainPhotoUrl(restaurant.getMainPhotoUrl())
                 .additionalPhotoUrls(additionalPhotoUrls)
-                .tableConfigurations(tableConfigurations)
-                .operatingHours(hours)
-                .timeSlots(timeSlots)
+                .mainPhotoMediumUrl(restaurant.getMainPhotoMediumKey() != null ? restaurant.getMainPhotoMediumKey() : restaurant.getMainPhotoUrl())
+                .additionalPhotoMediumUrls(additionalPhotoMediumUrls)
+                .tableConfigurations(Collections.unmodifiableList(tableConfigurations))
+                .operatingHours(Collections.unmodifiableList(hours))
+                .timeSlots(Collections.unmodifiableList(timeSlots))
                 .approved(restaurant.isApproved())
-                .reviews(reviews)
-                .averageRating(overallAverageRating)
-                .reviewCount(totalReviewCount)
-                .bookingCount(bookingCount)
+                .reviews(Collections.unmodifiableList(reviewPage.getReviews()))
+                .nextReviewCursor(reviewPage.getNextCursor())
+                .averageRating(ratingSummary.getAverageRating())
+                .reviewCount(ratingSummary.getReviewCount())
                 .build();
     }
 
@@ -344,18 +304,14 @@ public class RestaurantServiceImpl implements RestaurantService {
             return;
         }
 
-        for (String additionalPhotoUrl : additionalPhotoUrls) {
-            Photo photoEntity = Photo.builder()
-                    .restaurantId(restaurantId)
-                    .s3URL(additionalPhotoUrl)
-                    .description("Additional photo")
-                    .uploadedAt(new Timestamp(System.currentTimeMillis()))
-                    .build();
-            photoService.addPhoto(photoEntity);
-        }
+        photoService.addPhotos(buildAdditionalPhotos(restaurantId, additionalPhotoUrls));
     }
 
-    private void updateAdditionalPhotos(int restaurantId, List<String> additionalPhotoUrls) {
+    /**
+     * Replaces the additional photos with the requested ones, returning the newly added keys. The diff costs
+     * one DELETE and one batched INSERT however many photos change.
+     */
+    private List<String> updateAdditionalPhotos(int restaurantId, List<String> additionalPhotoUrls) {
         List<Photo> existingPhotos = photoService.getPhotosByRestaurantId(restaurantId);
         Set<String> existingPhotoUrls = existingPhotos.stream()
                 .map(Photo::getS3URL)
@@ -368,25 +324,28 @@ public class RestaurantServiceImpl implements RestaurantService {
 
         Set<String> toAdd = new HashSet<>(requestedPhotoUrls);
         toAdd.removeAll(existingPhotoUrls);
-        System.out.println("toDelete: " + toDelete);
-        System.out.println("toAdd: " + toAdd);
 
         if(!toDelete.isEmpty()) {
             photoService.deletePhotoByRestaurantIdAndS3Url(restaurantId, toDelete.stream().toList());
-            s3Service.deleteFilesBulk(toDelete.stream().toList());
+            objectCleanupQueue.enqueue(PhotoDerivativeService.withDerivativeKeys(toDelete));
         }
 
         if(!toAdd.isEmpty()) {
-            for (String additionalPhotoUrl : toAdd) {
-                Photo photoEntity = Photo.builder()
+            photoService.addPhotos(buildAdditionalPhotos(restaurantId, toAdd));
+        }
+        return new ArrayList<>(toAdd);
+    }
+
+    private List<Photo> buildAdditionalPhotos(int restaurantId, Collection<String> additionalPhotoUrls) {
+        Timestamp uploadedAt = new Timestamp(System.currentTimeMillis());
+        return additionalPhotoUrls.stream()
+                .map(additionalPhotoUrl -> Photo.builder()
                         .restaurantId(restaurantId)
                         .s3URL(additionalPhotoUrl)
                         .description("Additional photo")
-                        .uploadedAt(new Timestamp(System.currentTimeMillis()))
-                        .build();
-                photoService.addPhoto(photoEntity);
-            }
-        }
+                        .uploadedAt(uploadedAt)
+                        .build())
+                .toList();
     }
 
     private void verifyOwnership(Restaurant existingRestaurant, String managerId) {
@@ -395,68 +354,91 @@ public class RestaurantServiceImpl implements RestaurantService {
         }
     }
 
+    /**
+     * Keeps the stored location when the address did not change, geocoding only edited addresses.
+     */
+    private double[] resolveUpdatedCoordinates(Restaurant existingRestaurant, RestaurantRequest request) {
+        RestaurantDetailsRequest details = request.getBasicDetails();
+        boolean sameAddress = existingRestaurant.getLocation() != null
+                && Objects.equals(existingRestaurant.getAddressLine(), details.getAddressLine())
+                && Objects.equals(existingRestaurant.getCity(), details.getCity())
+                && Objects.equals(existingRestaurant.getState(), details.getState())
+                && Objects.equals(existingRestaurant.getZipCode(), details.getZipCode())
+                && Objects.equals(existingRestaurant.getCountry(), details.getCountry());
+        if (sameAddress) {
+            return new double[]{existingRestaurant.getLocation().getX(), existingRestaurant.getLocation().getY()};
+        }
+        return googleMapsService.geocode(buildFullAddress(request));
+    }
+
     private void updateRestaurantDetails(int restaurantId, RestaurantDetailsRequest basicDetails, double[] coords, String mainPhotoUrl) {
         restaurantRepository.updateRestaurantDetails(restaurantId, basicDetails, coords[0], coords[1], mainPhotoUrl);
     }
 
-    private boolean isWithinOperatingHours(int restaurantId, LocalTime resTime, int dayOfWeek) {
-        // Retrieve operating hours (HoursDto) for the given day
-        HoursDto hours = restaurantHoursService.getHoursForRestaurantAndDay(restaurantId, dayOfWeek);
-
-        if (hours == null || hours.getOpenTime() == null || hours.getCloseTime() == null) {
-            return false;
+    private List<RestaurantSearchDetails> findSearchDetails(GeoHits hits) {
+        List<RestaurantSearchDetails> nearbyRestaurants = new ArrayList<>();
+        if (hits.size() == 0) {
+            return nearbyRestaurants;
         }
 
-        // Check if the requested time falls within operating hours,
-        // handling over-midnight cases:
-        LocalTime open = hours.getOpenTime();
-        LocalTime close = hours.getCloseTime();
-
-        if (open.isBefore(close)) {
-            // Normal day: 11:00 to 22:00
-            return !resTime.isBefore(open) && resTime.isBefore(close);
-        } else {
-            // Over-midnight: e.g., 18:00 to 02:00
-            return !resTime.isBefore(open) || resTime.isBefore(close) && resTime.isAfter(LocalTime.MIDNIGHT);
+        Map<Integer, RestaurantSearchDetails> detailsById = new HashMap<>();
+        for (RestaurantSearchDetails details : ListUtils.nullSafeList(restaurantRepository.findSearchDetailsByIds(hits.idList()))) {
+            detailsById.put(details.getId(), details);
         }
 
+        // Keep the order of the indexes, nearest first or by text relevance
+        for (int i = 0; i < hits.size(); i++) {
+            RestaurantSearchDetails details = detailsById.get(hits.ids()[i]);
+            if (details != null) {
+                details.setDistance(hits.distances()[i] / METERS_PER_MILE);
+                nearbyRestaurants.add(details);
+            }
+        }
+        return nearbyRestaurants;
     }
 
-    private List<LocalTime> getMatchingTimeSlots(int restaurantId, int dayOfWeek, LocalTime resTime) {
-        // Retrieve time slots for the restaurant on that day:
-        TimeSlotDto slots = timeSlotService.getTimeSlotsForRestaurantAndDay(restaurantId, dayOfWeek);
-
-        // Filter candidate slots that are within ± tolerance of the requested time.
-        List<LocalTime> matchingSlots = new ArrayList<>();
+    private List<RestaurantSearchDetails> filterAvailableRestaurants(List<RestaurantSearchDetails> nearbyRestaurants,
+                                                                     LocalDate resDate, LocalTime resTime, int partySize) {
+        // Extract restaurant IDs for the batch availability, rating and booking count queries
+        List<Integer> restaurantIds = new ArrayList<>();
+        for (RestaurantSearchDetails nearbyRestaurant : ListUtils.nullSafeList(nearbyRestaurants)) {
+            restaurantIds.add(nearbyRestaurant.getId());
+        }
 
-        for (LocalTime slot : slots.getTimes()) {
-            long diffMinutes = Math.abs(Duration.between(slot, resTime).toMinutes());
-            if (diffMinutes <= SLOT_TOLERANCE_MINUTES) {
-                matchingSlots.add(slot);
-            }
+        List<RestaurantSearchDetails> availableRestaurants = new ArrayList<>();
+        if (restaurantIds.isEmpty()) {
+            return availableRestaurants;
         }
 
-        return matchingSlots;
-    }
+        Map<Integer, List<String>> availableTimeSlots = availabilityService.getAvailableTimeSlots(restaurantIds, resDate, resTime, partySize);
 
-    private List<String> getAvailableTimeSlots(int restaurantId, LocalDate resDate, List<LocalTime> matchingSlots, int partySize) {
-        // Retrieve the total seating capacity
-        int totalCapacity = tableService.getTotalCapacity(restaurantId);
+        List<Integer> availableRestaurantIds = new ArrayList<>();
+        for (RestaurantSearchDetails nearbyRestaurant : nearbyRestaurants) {
+            List<String> slots = availableTimeSlots.get(nearbyRestaurant.getId());
+            if (CollectionUtils.isEmpty(slots)) {
+                continue;
+            }
+            nearbyRestaurant.setAvailableTimeSlots(slots);
+            availableRestaurantIds.add(nearbyRestaurant.getId());
+            availableRestaurants.add(nearbyRestaurant);
+        }
 
-        // Retrieve booked capacities for all candidate slots
-        Map<LocalTime, Integer> slotBookedMap = bookingService.getBookedCapacitiesForSlotsForRestaurant(restaurantId, resDate, matchingSlots);
+        // fetch ratings
+        Map<Integer, RatingSummaryDto> ratingSummaries = reviewService.getRatingSummaries(availableRestaurantIds);
+        for (RestaurantSearchDetails availableRestaurant : availableRestaurants) {
+            availableRestaurant.setAvgRating(ratingSummaries.get(availableRestaurant.getId()).getAverageRating());
+        }
 
-        // Evaluate each candidate time slot's availability.
-        List<String> availableTimeSlots = new ArrayList<>();
-        for (LocalTime slot : matchingSlots) {
-            int bookedCapacity = slotBookedMap.getOrDefault(slot, 0);
-            int availableCapacity = totalCapacity - bookedCapacity;
-            if (availableCapacity >= partySize) {
-                availableTimeSlots.add(slot.toString());
+        // Get booking counts for all restaurants for the specified date
+        Map<Integer, Integer> bookingCounts = bookingService.getBookingCountsByRestaurantIds(restaurantIds, resDate);
+        for (RestaurantSearchDetails nearbyRestaurant : nearbyRestaurants) {
+            Integer count = bookingCounts.get(nearbyRestaurant.getId());
+            if (count != null) {
+                nearbyRestaurant.setBookingCount(count);
             }
         }
 
-        return availableTimeSlots;
+        return availableRestaurants;
     }
 
 }
@@ -0,0 +1,224 @@
+package com.sjsu.booktable.service.restaurant;
+
+import com.sjsu.booktable.model.entity.Restaurant;
+import com.sjsu.booktable.repository.RestaurantRepository;
+import com.sjsu.booktable.service.restaurant.RestaurantGeoIndex.GeoHits;
+import com.sjsu.booktable.utils.ListUtils;
+import com.sjsu.booktable.utils.StringUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static com.sjsu.booktable.utils.TransactionUtils.runAfterCommit;
+
+/**
+ * In-memory inverted index over the name, cuisine type and description of the non-deleted restaurants.
+ * Text is split on anything that is not a letter or digit and lowercased. Every query token must match
+ * an indexed term exactly or as a prefix, and a match in the name weighs more than one in the cuisine
+ * type, which weighs more than one in the description.
+ * The index is updated after commit through {@link #put(int, String, String, String)} and
+ * {@link #remove(int)}, and {@link #rebuild()} periodically reloads it from the database.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RestaurantTextIndex {
+
+    private static final int NAME_WEIGHT = 3;
+    private static final int CUISINE_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final double PREFIX_MATCH_FACTOR = 0.5;
+    // Distance at which the text score of a restaurant is halved
+    private static final double DISTANCE_DECAY_METERS = 5000;
+
+    private final RestaurantRepository restaurantRepository;
+
+    // term -> restaurant id -> weight of the best field containing the term
+    private final NavigableMap<String, Map<Integer, Integer>> postings = new TreeMap<>();
+    private final Map<Integer, Set<String>> termsByRestaurant = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object writeLock = new Object();
+    private volatile boolean loaded;
+
+    /**
+     * Keeps the candidates matching every token of the query, ordered by text relevance discounted by
+     * distance. Distances are carried over from the candidates.
+     */
+    public GeoHits rank(GeoHits candidates, String query) {
+        List<String> queryTokens = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (queryTokens.isEmpty() || candidates.size() == 0) {
+            return candidates;
+        }
+        ensureLoaded();
+
+        Map<Integer, Double> scores = new HashMap<>();
+        for (int id : candidates.ids()) {
+            scores.put(id, 0.0);
+        }
+
+        lock.readLock().lock();
+        try {
+            for (String token : queryTokens) {
+                Map<Integer, Double> tokenScores = new HashMap<>();
+                for (Map.Entry<String, Map<Integer, Integer>> term
+                        : postings.subMap(token, true, token + Character.MAX_VALUE, true).entrySet()) {
+                    double factor = term.getKey().length() == token.length() ? 1 : PREFIX_MATCH_FACTOR;
+                    for (Map.Entry<Integer, Integer> posting : term.getValue().entrySet()) {
+                        if (scores.containsKey(posting.getKey())) {
+                            tokenScores.merge(posting.getKey(), posting.getValue() * factor, Math::max);
+                        }
+                    }
+                }
+                // Restaurants missing any query token are dropped
+                scores.keySet().retainAll(tokenScores.keySet());
+                tokenScores.forEach((id, score) -> scores.computeIfPresent(id, (k, total) -> total + score));
+                if (scores.isEmpty()) {
+                    break;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Integer> matches = new ArrayList<>();
+        double[] ranks = new double[candidates.size()];
+        for (int i = 0; i < candidates.size(); i++) {
+            Double score = scores.get(candidates.ids()[i]);
+            if (score != null) {
+                ranks[i] = score / (1 + candidates.distances()[i] / DISTANCE_DECAY_METERS);
+                matches.add(i);
+            }
+        }
+        // Candidates are nearest first, so the stable sort breaks ties by distance
+        matches.sort((a, b) -> Double.compare(ranks[b], ranks[a]));
+
+        int[] ids = new int[matches.size()];
+        double[] distances = new double[matches.size()];
+        for (int i = 0; i < matches.size(); i++) {
+            ids[i] = candidates.ids()[matches.get(i)];
+            distances[i] = candidates.distances()[matches.get(i)];
+        }
+        return new GeoHits(ids, distances);
+    }
+
+    /**
+     * Indexes the new text of a restaurant once the current transaction commits.
+     */
+    public void put(int restaurantId, String name, String cuisineType, String description) {
+        runAfterCommit(() -> apply(restaurantId, terms(name, cuisineType, description)));
+    }
+
+    /**
+     * Drops a deleted restaurant once the current transaction commits.
+     */
+    public void remove(int restaurantId) {
+        runAfterCommit(() -> apply(restaurantId, Collections.emptyMap()));
+    }
+
+    /**
+     * Reloads the text of every non-deleted restaurant from the database.
+     */
+    @Scheduled(fixedDelayString = "${booktable.search.text-index.rebuild-interval-ms:600000}",
+            initialDelayString = "${booktable.search.text-index.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        // Writers are serialized while the rows are read, so a put or remove committed meanwhile is applied on top
+        synchronized (writeLock) {
+            List<Restaurant> restaurants = ListUtils.nullSafeList(restaurantRepository.findAllNonDeleted());
+            lock.writeLock().lock();
+            try {
+                postings.clear();
+                termsByRestaurant.clear();
+                for (Restaurant restaurant : restaurants) {
+                    add(restaurant.getId(), terms(restaurant.getName(), restaurant.getCuisineType(), restaurant.getDescription()));
+                }
+                loaded = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.debug("Rebuilt restaurant text index with {} restaurants and {} terms", restaurants.size(), postings.size());
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (StringUtils.isBlank(text)) {
+            return tokens;
+        }
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            synchronized (writeLock) {
+                if (!loaded) {
+                    rebuild();
+                }
+            }
+        }
+    }
+
+    private void apply(int restaurantId, Map<String, Integer> terms) {
+        synchronized (writeLock) {
+            if (!loaded) {
+                return; // not loaded yet, the first query reads the committed rows
+            }
+            lock.writeLock().lock();
+            try {
+                removeLocked(restaurantId);
+                add(restaurantId, terms);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private void add(int restaurantId, Map<String, Integer> terms) {
+        if (terms.isEmpty()) {
+            return;
+        }
+        for (Map.Entry<String, Integer> term : terms.entrySet()) {
+            postings.computeIfAbsent(term.getKey(), k -> new HashMap<>()).put(restaurantId, term.getValue());
+        }
+        termsByRestaurant.put(restaurantId, terms.keySet());
+    }
+
+    private void removeLocked(int restaurantId) {
+        Set<String> terms = termsByRestaurant.remove(restaurantId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Integer, Integer> restaurants = postings.get(term);
+            if (restaurants != null) {
+                restaurants.remove(restaurantId);
+                if (restaurants.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private static Map<String, Integer> terms(String name, String cuisineType, String description) {
+        Map<String, Integer> terms = new HashMap<>();
+        for (String token : tokenize(description)) {
+            terms.merge(token, DESCRIPTION_WEIGHT, Math::max);
+        }
+        for (String token : tokenize(cuisineType)) {
+            terms.merge(token, CUISINE_WEIGHT, Math::max);
+        }
+        for (String token : tokenize(name)) {
+            terms.merge(token, NAME_WEIGHT, Math::max);
+        }
+        return terms;
+    }
+}
@@ -14,6 +14,7 @@ import java.util.List;
 public class TableServiceImpl implements TableService {
 
     private final TableRepository tableRepository;
+    private final RestaurantScheduleCache scheduleCache;
 
     @Override
     public void addTables(int restaurantId, List<TableConfigurationDto> tables) {
@@ -25,12 +26,13 @@ public class TableServiceImpl implements TableService {
     public void replaceTables(int restaurantId, List<TableConfigurationDto> tables) {
         tableRepository.deleteByRestaurantId(restaurantId);
         tableRepository.insertTables(restaurantId, tables);
+        scheduleCache.invalidate(restaurantId);
     }
 
     @Override
     public int getTotalCapacity(int restaurantId) {
-        Integer capacity = tableRepository.getTotalCapacity(restaurantId);
-        return capacity != null ? capacity : 0;
+        RestaurantSchedule schedule = scheduleCache.getSchedule(restaurantId);
+        return schedule != null ? schedule.getCapacity() : 0;
     }
 
     @Override
@@ -19,6 +19,7 @@ import java.util.Map;
 public class TimeSlotServiceImpl implements TimeSlotService {
 
     private final TimeSlotRepository timeSlotRepository;
+    private final RestaurantScheduleCache scheduleCache;
 
     @Override
     public void addTimeSlots(int restaurantId, List<TimeSlotDto> slots) {
@@ -30,11 +31,18 @@ public class TimeSlotServiceImpl implements TimeSlotService {
     public void replaceTimeSlots(int restaurantId, List<TimeSlotDto> slots) {
         timeSlotRepository.deleteByRestaurantId(restaurantId);
         timeSlotRepository.insertTimeSlots(restaurantId, slots);
+        scheduleCache.invalidate(restaurantId);
     }
 
     @Override
     public TimeSlotDto getTimeSlotsForRestaurantAndDay(int restaurantId, int dayOfWeek) {
-        List<LocalTime> timeSlots = ListUtils.nullSafeList(timeSlotRepository.getTimeSlotsByRestaurantAndDay(restaurantId, dayOfWeek));
+        RestaurantSchedule schedule = scheduleCache.getSchedule(restaurantId);
+        List<LocalTime> timeSlots = new ArrayList<>();
+        if (schedule != null) {
+            for (short slotMinutes : schedule.getSlotMinutes(dayOfWeek)) {
+                timeSlots.add(RestaurantSchedule.toLocalTime(slotMinutes));
+            }
+        }
         return TimeSlotDto.builder()
                 .dayOfWeek(dayOfWeek)
                 .times(timeSlots)
@@ -0,0 +1,32 @@
+package com.sjsu.booktable.service.review;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor over (createdAt, id) of the last review of a page.
+ */
+public record ReviewCursor(Timestamp createdAt, int id) {
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String payload = createdAt.toInstant() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ReviewCursor decode(String cursor) {
+        try {
+            String payload = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = payload.lastIndexOf(SEPARATOR);
+            Timestamp createdAt = Timestamp.from(Instant.parse(payload.substring(0, separator)));
+            int id = Integer.parseInt(payload.substring(separator + 1));
+            return new ReviewCursor(createdAt, id);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid review cursor");
+        }
+    }
+}
@@ -1,10 +1,26 @@
 package com.sjsu.booktable.service.review;
 
+import com.sjsu.booktable.model.dto.review.RatingSummaryDto;
 import com.sjsu.booktable.model.dto.review.ReviewDto;
+import com.sjsu.booktable.model.dto.review.ReviewPageDto;
 import java.util.List;
+import java.util.Map;
 
 public interface ReviewService {
-    List<ReviewDto> getReviewsByRestaurantId(int restaurantId);
+    /**
+     * Returns the reviews of a restaurant, newest first, one page at a time.
+     *
+     * @param cursor nextCursor of the previous page, or null for the first page
+     */
+    ReviewPageDto getReviewPage(int restaurantId, String cursor, int pageSize);
 
     double getAverageRatingByRestaurant(int restaurantId);
+
+    /**
+     * Reads the precomputed (sum, count) rating aggregates of the given restaurants.
+     * Restaurants without reviews get an empty summary.
+     */
+    Map<Integer, RatingSummaryDto> getRatingSummaries(List<Integer> restaurantIds);
+
+    int addReview(ReviewDto review);
 }
\ No newline at end of file
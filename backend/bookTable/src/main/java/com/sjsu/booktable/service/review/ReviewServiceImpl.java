@@ -1,32 +1,169 @@
 package com.sjsu.booktable.service.review;
 
+import com.sjsu.booktable.model.dto.review.RatingSummaryDto;
 import com.sjsu.booktable.model.dto.review.ReviewDto;
+import com.sjsu.booktable.model.dto.review.ReviewPageDto;
 import com.sjsu.booktable.model.entity.Review;
+import com.sjsu.booktable.repository.RestaurantRepository;
 import com.sjsu.booktable.repository.ReviewRepository;
+import com.sjsu.booktable.service.restaurant.RestaurantDetailsCache;
 import com.sjsu.booktable.utils.ListUtils;
+import com.sjsu.booktable.utils.StringUtils;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.CollectionUtils;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class ReviewServiceImpl implements ReviewService {
 
+    private static final int RATING_SUMMARY_REBUILD_BATCH_SIZE = 500;
+
     private final ReviewRepository reviewRepository;
+    private final RestaurantRepository restaurantRepository;
+    private final RestaurantDetailsCache detailsCache;
+
+    @Value("${booktable.reviews.rating-summary.sweep-batch-size:500}")
+    private int sweepBatchSize;
+
+    // Highest review id seen by the last reconcile, -1 before the first one
+    private int reconciledUpToId = -1;
+    // Lower bound of the next reconcile, trailing one run so reviews committed late are still picked up
+    private int rescanAfterId;
+    // Last restaurant id checked by the sweep, 0 to start over
+    private int sweptUpToRestaurantId;
 
     @Override
-    public List<ReviewDto> getReviewsByRestaurantId(int restaurantId) {
-        List<Review> reviews = ListUtils.nullSafeList(reviewRepository.findByRestaurantId(restaurantId));
-        return reviews.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    public ReviewPageDto getReviewPage(int restaurantId, String cursor, int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        ReviewCursor after = StringUtils.isBlank(cursor) ? null : ReviewCursor.decode(cursor);
+
+        // Fetch one extra row to know whether another page follows
+        List<Review> reviews = ListUtils.nullSafeList(reviewRepository.findPageByRestaurantId(restaurantId,
+                after == null ? null : after.createdAt(), after == null ? null : after.id(), pageSize + 1));
+
+        String nextCursor = null;
+        if (reviews.size() > pageSize) {
+            reviews = reviews.subList(0, pageSize);
+            Review last = reviews.get(pageSize - 1);
+            nextCursor = new ReviewCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        return ReviewPageDto.builder()
+                .reviews(reviews.stream().map(this::convertToDto).collect(Collectors.toList()))
+                .nextCursor(nextCursor)
+                .build();
     }
 
     @Override
     public double getAverageRatingByRestaurant(int restaurantId) {
-        return reviewRepository.getAverageRatingByRestaurant(restaurantId);
+        return getRatingSummaries(Collections.singletonList(restaurantId)).get(restaurantId).getAverageRating();
+    }
+
+    @Override
+    public Map<Integer, RatingSummaryDto> getRatingSummaries(List<Integer> restaurantIds) {
+        Map<Integer, RatingSummaryDto> summaries = new HashMap<>();
+        if (CollectionUtils.isEmpty(restaurantIds)) {
+            return summaries;
+        }
+
+        summaries.putAll(reviewRepository.getRatingSummariesByRestaurantIds(restaurantIds));
+        for (Integer restaurantId : restaurantIds) {
+            summaries.computeIfAbsent(restaurantId, RatingSummaryDto::empty);
+        }
+        return summaries;
+    }
+
+    @Override
+    @Transactional
+    public int addReview(ReviewDto review) {
+        Review entity = Review.builder()
+                .restaurantId(review.getRestaurantId())
+                .rating(review.getRating())
+                .reviewText(review.getReviewText())
+                .userName(review.getUserName())
+                .build();
+        int reviewId = reviewRepository.addReview(entity);
+        reviewRepository.addToRatingSummary(review.getRestaurantId(), review.getRating());
+        detailsCache.invalidate(review.getRestaurantId());
+        return reviewId;
+    }
+
+    /**
+     * Rebuilds the rating aggregates of restaurants with reviews added since the previous runs, covering
+     * reviews inserted outside of {@link #addReview}. The first run after startup only records the highest
+     * review id, aggregates stored before are checked by {@link #sweepRatingSummaries()}. Each run also
+     * rescans the window of the run before it, since a review id taken before that run may have committed
+     * only after it.
+     */
+    @Scheduled(fixedDelayString = "${booktable.reviews.rating-summary.reconcile-interval-ms:60000}",
+            initialDelayString = "${booktable.reviews.rating-summary.reconcile-interval-ms:60000}")
+    public void reconcileNewReviews() {
+        int upToId = reviewRepository.findMaxReviewId();
+        if (reconciledUpToId < 0) {
+            rescanAfterId = upToId;
+            reconciledUpToId = upToId;
+            return;
+        }
+
+        List<Integer> restaurantIds = ListUtils.nullSafeList(reviewRepository.findRestaurantIdsWithReviewsBetween(rescanAfterId, upToId));
+        for (int from = 0; from < restaurantIds.size(); from += RATING_SUMMARY_REBUILD_BATCH_SIZE) {
+            List<Integer> batch = restaurantIds.subList(from, Math.min(from + RATING_SUMMARY_REBUILD_BATCH_SIZE, restaurantIds.size()));
+            reviewRepository.rebuildRatingSummaries(batch);
+            batch.forEach(detailsCache::invalidate);
+        }
+        if (!restaurantIds.isEmpty()) {
+            log.debug("Rebuilt rating summaries of {} restaurants for reviews {} to {}", restaurantIds.size(), rescanAfterId + 1, upToId);
+        }
+        rescanAfterId = reconciledUpToId;
+        reconciledUpToId = upToId;
+    }
+
+    /**
+     * Compares the stored rating aggregates of the next batch of restaurants with their reviews and corrects
+     * those that differ, which catches reviews deleted or edited outside of the application. A run checks one
+     * batch, so a pass over all restaurants is spread over many runs and starts over once it reaches the end.
+     */
+    @Scheduled(fixedDelayString = "${booktable.reviews.rating-summary.sweep-interval-ms:10000}",
+            initialDelayString = "${booktable.reviews.rating-summary.sweep-interval-ms:10000}")
+    public void sweepRatingSummaries() {
+        List<Integer> restaurantIds = ListUtils.nullSafeList(restaurantRepository.findIdsAfter(sweptUpToRestaurantId, sweepBatchSize));
+        if (restaurantIds.isEmpty()) {
+            sweptUpToRestaurantId = 0;
+            return;
+        }
+        sweptUpToRestaurantId = restaurantIds.get(restaurantIds.size() - 1);
+
+        Map<Integer, RatingSummaryDto> stored = reviewRepository.getRatingSummariesByRestaurantIds(restaurantIds);
+        Map<Integer, RatingSummaryDto> actual = reviewRepository.computeRatingSummaries(restaurantIds);
+        List<RatingSummaryDto> changed = new ArrayList<>();
+        for (Integer restaurantId : restaurantIds) {
+            RatingSummaryDto recomputed = actual.getOrDefault(restaurantId, RatingSummaryDto.empty(restaurantId));
+            if (!recomputed.equals(stored.getOrDefault(restaurantId, RatingSummaryDto.empty(restaurantId)))) {
+                changed.add(recomputed);
+            }
+        }
+        if (changed.isEmpty()) {
+            return;
+        }
+
+        reviewRepository.replaceRatingSummaries(stored, changed);
+        changed.forEach(summary -> detailsCache.invalidate(summary.getRestaurantId()));
+        log.info("Corrected the rating summaries of {} restaurants", changed.size());
     }
 
     private ReviewDto convertToDto(Review review) {
@@ -0,0 +1,205 @@
+package com.sjsu.booktable.service.s3;
+
+import com.sjsu.booktable.exception.storage.ObjectStoreException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.util.UriUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Objects as files under a local directory, for load tests and deployments without S3. Presigned URLs point
+ * at the embedded endpoint of LocalObjectStoreController and carry their expiry and an HMAC-SHA256 signature
+ * over method, key and expiry, so like S3 presigned URLs they need no other credentials. Object bytes move
+ * between file and connection with FileChannel.transferTo/transferFrom instead of through heap buffers.
+ */
+@Slf4j
+public class LocalObjectStore implements ObjectStore {
+
+    public static final String PATH = "/api/local-store";
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final String UPLOAD_PREFIX = ".upload-";
+    private static final long TRANSFER_CHUNK_BYTES = 8L * 1024 * 1024;
+
+    private final Path root;
+    private final String baseUrl;
+    private final SecretKeySpec signingKey;
+    private final ThreadLocal<Mac> macs = ThreadLocal.withInitial(this::newMac);
+
+    public LocalObjectStore(Path root, String baseUrl, byte[] signingSecret) throws IOException {
+        this.root = root.toAbsolutePath().normalize();
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.signingKey = new SecretKeySpec(signingSecret, ALGORITHM);
+        Files.createDirectories(this.root);
+        macs.get();
+    }
+
+    @Override
+    public URL presignPut(String key, Date expiration) {
+        return presign("PUT", key, expiration);
+    }
+
+    @Override
+    public URL presignGet(String key, Date expiration) {
+        return presign("GET", key, expiration);
+    }
+
+    @Override
+    public void deleteObjects(List<String> keys) {
+        for (String key : keys) {
+            try {
+                Files.deleteIfExists(resolve(key));
+            } catch (IOException | ObjectStoreException e) {
+                log.warn("Failed to delete local object {}: {}", key, e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public InputStream getObject(String key) throws IOException {
+        return Files.newInputStream(resolve(key));
+    }
+
+    @Override
+    public void putObject(String key, byte[] content, String contentType) throws IOException {
+        transferFrom(Channels.newChannel(new ByteArrayInputStream(content)), resolve(key));
+    }
+
+    @Override
+    public void listObjects(String prefix, Consumer<ObjectSummary> consumer) throws IOException {
+        try (Stream<Path> files = Files.walk(root)) {
+            Iterator<Path> iterator = files.filter(Files::isRegularFile).iterator();
+            while (iterator.hasNext()) {
+                Path file = iterator.next();
+                String key = root.relativize(file).toString().replace(File.separatorChar, '/');
+                if (key.startsWith(prefix) && !file.getFileName().toString().startsWith(UPLOAD_PREFIX)) {
+                    consumer.accept(new ObjectSummary(key, Files.getLastModifiedTime(file).toInstant()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks the signature and expiry of a presigned request and returns the file of its object.
+     * A GET for an object that does not exist fails with NOT_FOUND.
+     */
+    public Path authorize(String method, String key, long expiresEpochSecond, String signature) {
+        if (expiresEpochSecond < System.currentTimeMillis() / 1000) {
+            throw new ObjectStoreException("Presigned URL expired", HttpStatus.FORBIDDEN);
+        }
+        byte[] expected = sign(method, key, expiresEpochSecond).getBytes(StandardCharsets.US_ASCII);
+        if (signature == null || !MessageDigest.isEqual(expected, signature.getBytes(StandardCharsets.US_ASCII))) {
+            throw new ObjectStoreException("Invalid presigned URL signature", HttpStatus.FORBIDDEN);
+        }
+        Path object = resolve(key);
+        if ("GET".equals(method) && !Files.isRegularFile(object)) {
+            throw new ObjectStoreException("Object not found: " + key, HttpStatus.NOT_FOUND);
+        }
+        return object;
+    }
+
+    /**
+     * Sends the whole file to the target channel, returning the number of bytes sent.
+     */
+    public long transferTo(Path object, WritableByteChannel target) throws IOException {
+        try (FileChannel channel = FileChannel.open(object, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                long transferred = channel.transferTo(position, size - position, target);
+                if (transferred <= 0) {
+                    break; // the file was truncated meanwhile
+                }
+                position += transferred;
+            }
+            return position;
+        }
+    }
+
+    /**
+     * Stores everything the source channel delivers as the object, returning its size. The bytes go to a
+     * temporary file first and replace the object in one move, so readers never see a partial upload.
+     */
+    public long transferFrom(ReadableByteChannel source, Path object) throws IOException {
+        Files.createDirectories(object.getParent());
+        Path upload = Files.createTempFile(object.getParent(), UPLOAD_PREFIX, ".tmp");
+        try {
+            long position = 0;
+            try (FileChannel channel = FileChannel.open(upload, StandardOpenOption.WRITE)) {
+                long transferred;
+                while ((transferred = channel.transferFrom(source, position, TRANSFER_CHUNK_BYTES)) > 0) {
+                    position += transferred;
+                }
+            }
+            Files.move(upload, object, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return position;
+        } finally {
+            Files.deleteIfExists(upload);
+        }
+    }
+
+    private URL presign(String method, String key, Date expiration) {
+        resolve(key);
+        long expires = expiration.getTime() / 1000;
+        String url = baseUrl + PATH + "/" + UriUtils.encodePath(key, StandardCharsets.UTF_8)
+                + "?expires=" + expires + "&signature=" + sign(method, key, expires);
+        try {
+            return URI.create(url).toURL();
+        } catch (MalformedURLException e) {
+            throw new ObjectStoreException("Failed to build presigned URL for " + key, HttpStatus.INTERNAL_SERVER_ERROR, e);
+        }
+    }
+
+    private String sign(String method, String key, long expiresEpochSecond) {
+        Mac mac = macs.get();
+        byte[] digest = mac.doFinal((method + "\n" + key + "\n" + expiresEpochSecond).getBytes(StandardCharsets.UTF_8));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+    }
+
+    /**
+     * File of a key, refusing keys that would leave the root directory.
+     */
+    private Path resolve(String key) {
+        Path object = root.resolve(key).normalize();
+        if (key.isBlank() || !object.startsWith(root) || object.equals(root)) {
+            throw new ObjectStoreException("Invalid object key: " + key, HttpStatus.BAD_REQUEST);
+        }
+        return object;
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(signingKey);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new RuntimeException("Error signing local object URLs", e);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.sjsu.booktable.service.s3;
+
+import com.sjsu.booktable.repository.ObjectCleanupRepository;
+import com.sjsu.booktable.repository.PhotosRepository;
+import com.sjsu.booktable.service.restaurant.PhotoDerivativeService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.sjsu.booktable.utils.TransactionUtils.runAfterCommit;
+
+/**
+ * Durable queue of objects to delete from the {@link ObjectStore}. {@link #enqueue} stores the keys in the
+ * object_cleanup_queue table as part of the transaction that drops their references, so a rollback keeps the
+ * objects, and wakes the cleanup thread once that commits. The request never waits on the store.
+ * The cleanup thread claims due keys in batches of up to booktable.storage.cleanup.batch-size (1000, the
+ * S3 DeleteObjects limit) and deletes each batch in one call, so keys queued by many commits while it works
+ * share requests. Keys that a photo or restaurant refers to again by then, a removed photo added back or a
+ * main photo reverted, are dropped from the queue instead of deleted. A failed batch is retried with exponential backoff; {@link #pollDue()} picks up retries,
+ * batches whose worker died with its lease and keys left queued by a restart.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ObjectCleanupQueue {
+
+    private final ObjectCleanupRepository cleanupRepository;
+    private final PhotosRepository photosRepository;
+    private final ObjectStore objectStore;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${booktable.storage.cleanup.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${booktable.storage.cleanup.lease-ms:120000}")
+    private long leaseMs;
+
+    @Value("${booktable.storage.cleanup.initial-backoff-ms:60000}")
+    private long initialBackoffMs;
+
+    @Value("${booktable.storage.cleanup.max-backoff-ms:3600000}")
+    private long maxBackoffMs;
+
+    private final AtomicBoolean drainRequested = new AtomicBoolean();
+    private ExecutorService executor;
+    // Only touched by the cleanup thread
+    private int consecutiveFailures;
+
+    @PostConstruct
+    public void init() {
+        executor = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("object-cleanup-"));
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        // Keys not deleted yet stay queued in the table and are deleted after the restart
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Queues the objects in the current transaction and deletes them once it commits.
+     */
+    public void enqueue(Collection<String> keys) {
+        List<String> distinctKeys = keys.stream().filter(Objects::nonNull).filter(key -> !key.isBlank()).distinct().toList();
+        if (distinctKeys.isEmpty()) {
+            return;
+        }
+        cleanupRepository.insertKeys(distinctKeys);
+        runAfterCommit(this::requestDrain);
+    }
+
+    @Scheduled(fixedDelayString = "${booktable.storage.cleanup.poll-interval-ms:60000}",
+            initialDelayString = "${booktable.storage.cleanup.poll-interval-ms:60000}")
+    public void pollDue() {
+        requestDrain();
+    }
+
+    /**
+     * Wakes the cleanup thread unless a drain is already waiting for it, which will pick up these keys too.
+     */
+    void requestDrain() {
+        if (!drainRequested.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                drainRequested.set(false);
+                drainDue();
+            });
+        } catch (RejectedExecutionException e) {
+            drainRequested.set(false);
+            log.debug("Object cleanup is shut down, queued keys are left for the next start");
+        }
+    }
+
+    /**
+     * Deletes due keys batch by batch until none is left or a batch fails, returning the number deleted.
+     */
+    int drainDue() {
+        int deleted = 0;
+        while (true) {
+            long now = System.currentTimeMillis();
+            String claimToken = UUID.randomUUID().toString();
+            int claimed = cleanupRepository.claimDue(claimToken, new Timestamp(now), new Timestamp(now + leaseMs), batchSize);
+            if (claimed == 0) {
+                return deleted;
+            }
+            List<String> keys = cleanupRepository.findClaimedKeys(claimToken);
+            List<String> unreferenced;
+            try {
+                unreferenced = withoutReferencedKeys(keys);
+                if (!unreferenced.isEmpty()) {
+                    objectStore.deleteObjects(unreferenced);
+                }
+            } catch (Exception e) {
+                long delay = backoffMillis(++consecutiveFailures);
+                log.warn("Failed to delete {} objects, retrying in {} ms: {}", keys.size(), delay, e.toString());
+                cleanupRepository.releaseClaimed(claimToken, new Timestamp(System.currentTimeMillis() + delay), e.toString());
+                meterRegistry.counter("object.cleanup.batches", "outcome", "retry").increment();
+                return deleted;
+            }
+            consecutiveFailures = 0;
+            cleanupRepository.deleteClaimed(claimToken);
+            meterRegistry.counter("object.cleanup.batches", "outcome", "deleted").increment();
+            meterRegistry.counter("object.cleanup.objects").increment(unreferenced.size());
+            meterRegistry.counter("object.cleanup.referenced").increment(keys.size() - unreferenced.size());
+            log.debug("Deleted {} queued objects, {} referenced again were kept", unreferenced.size(), keys.size() - unreferenced.size());
+            deleted += unreferenced.size();
+            if (claimed < batchSize) {
+                return deleted;
+            }
+        }
+    }
+
+    /**
+     * The keys no photo or restaurant refers to. Renditions of a referenced original count as referenced even
+     * before they are recorded, they are queued together with it.
+     */
+    private List<String> withoutReferencedKeys(List<String> keys) {
+        Set<String> referenced = new HashSet<>(PhotoDerivativeService.withDerivativeKeys(photosRepository.findPhotoKeysReferencing(keys)));
+        return keys.stream().filter(key -> !referenced.contains(key)).toList();
+    }
+
+    /**
+     * Delay after consecutive failed batches: the initial backoff doubled per failure, capped.
+     */
+    long backoffMillis(int failures) {
+        long delay = initialBackoffMs << Math.min(failures - 1, 30);
+        return delay <= 0 || delay > maxBackoffMs ? maxBackoffMs : delay;
+    }
+}
@@ -0,0 +1,33 @@
+package com.sjsu.booktable.service.s3;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Storage of restaurant photos. Browsers upload and download objects themselves through presigned URLs,
+ * the application hands out those URLs, reads originals and writes their renditions, and deletes objects.
+ */
+public interface ObjectStore {
+
+    URL presignPut(String key, Date expiration);
+
+    URL presignGet(String key, Date expiration);
+
+    void deleteObjects(List<String> keys);
+
+    /**
+     * Content of an object, closed by the caller.
+     */
+    InputStream getObject(String key) throws IOException;
+
+    void putObject(String key, byte[] content, String contentType) throws IOException;
+
+    /**
+     * Hands every object whose key starts with the prefix to the consumer, page by page.
+     */
+    void listObjects(String prefix, Consumer<ObjectSummary> consumer) throws IOException;
+}
@@ -0,0 +1,9 @@
+package com.sjsu.booktable.service.s3;
+
+import java.time.Instant;
+
+/**
+ * An object listed from the {@link ObjectStore}.
+ */
+public record ObjectSummary(String key, Instant lastModified) {
+}
@@ -0,0 +1,74 @@
+package com.sjsu.booktable.service.s3;
+
+import com.sjsu.booktable.repository.PhotosRepository;
+import com.sjsu.booktable.service.restaurant.PhotoDerivativeService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Periodically queues for deletion the photo objects that neither photos nor restaurants refer to: uploads
+ * whose restaurant was never saved, and anything a lost cleanup left behind. Renditions of referenced photos
+ * count as referenced even before they are recorded. Objects younger than
+ * booktable.storage.cleanup.reconcile.grace-hours are kept, a manager uploads photos before saving the
+ * restaurant that refers to them.
+ */
+@Component
+@ConditionalOnProperty(name = "booktable.storage.cleanup.reconcile.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class OrphanedObjectReconciler {
+
+    private final PhotosRepository photosRepository;
+    private final ObjectStore objectStore;
+    private final ObjectCleanupQueue cleanupQueue;
+
+    @Value("${booktable.storage.cleanup.reconcile.prefix:restaurants/}")
+    private String prefix;
+
+    @Value("${booktable.storage.cleanup.reconcile.grace-hours:24}")
+    private long graceHours;
+
+    @Scheduled(fixedDelayString = "${booktable.storage.cleanup.reconcile.interval-ms:86400000}",
+            initialDelayString = "${booktable.storage.cleanup.reconcile.initial-delay-ms:600000}")
+    public void reconcile() {
+        try {
+            removeOrphans(Instant.now());
+        } catch (Exception e) {
+            log.error("Orphaned object reconciliation failed: ", e);
+        }
+    }
+
+    /**
+     * Queues the orphaned objects under the prefix, returning how many were found.
+     */
+    int removeOrphans(Instant now) throws IOException {
+        // References are read before listing, an object referenced later was uploaded later and is within the grace period
+        Set<String> referenced = new HashSet<>(PhotoDerivativeService.withDerivativeKeys(photosRepository.findAllPhotoKeys()));
+        Instant uploadedBefore = now.minus(graceHours, ChronoUnit.HOURS);
+
+        List<String> orphans = new ArrayList<>();
+        objectStore.listObjects(prefix, object -> {
+            if (object.lastModified().isBefore(uploadedBefore) && !referenced.contains(object.key())) {
+                orphans.add(object.key());
+            }
+        });
+
+        if (!orphans.isEmpty()) {
+            log.info("Queueing {} orphaned objects under {} for deletion", orphans.size(), prefix);
+            cleanupQueue.enqueue(orphans);
+        }
+        return orphans.size();
+    }
+}
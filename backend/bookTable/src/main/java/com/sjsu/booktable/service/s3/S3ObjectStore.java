@@ -0,0 +1,91 @@
+package com.sjsu.booktable.service.s3;
+
+import com.amazonaws.HttpMethod;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.DeleteObjectsRequest;
+import com.amazonaws.services.s3.model.GeneratePresignedUrlRequest;
+import com.amazonaws.services.s3.model.ListObjectsV2Request;
+import com.amazonaws.services.s3.model.ListObjectsV2Result;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Objects in an S3 bucket, the production store.
+ */
+public class S3ObjectStore implements ObjectStore {
+
+    // Most keys S3 accepts in one DeleteObjects request
+    static final int MAX_KEYS_PER_DELETE = 1000;
+
+    private final AmazonS3 s3Client;
+    private final String bucketName;
+
+    public S3ObjectStore(AmazonS3 s3Client, String bucketName) {
+        this.s3Client = s3Client;
+        this.bucketName = bucketName;
+    }
+
+    @Override
+    public URL presignPut(String key, Date expiration) {
+        return presign(key, HttpMethod.PUT, expiration);
+    }
+
+    @Override
+    public URL presignGet(String key, Date expiration) {
+        return presign(key, HttpMethod.GET, expiration);
+    }
+
+    @Override
+    public void deleteObjects(List<String> keys) {
+        for (int from = 0; from < keys.size(); from += MAX_KEYS_PER_DELETE) {
+            List<DeleteObjectsRequest.KeyVersion> keyVersions = keys.subList(from, Math.min(keys.size(), from + MAX_KEYS_PER_DELETE))
+                    .stream().map(DeleteObjectsRequest.KeyVersion::new).toList();
+            // Quiet mode only reports the keys that failed, which the client raises as MultiObjectDeleteException
+            DeleteObjectsRequest delReq = new DeleteObjectsRequest(bucketName)
+                    .withKeys(keyVersions)
+                    .withQuiet(true);
+            s3Client.deleteObjects(delReq);
+        }
+    }
+
+    @Override
+    public InputStream getObject(String key) {
+        return s3Client.getObject(bucketName, key).getObjectContent();
+    }
+
+    @Override
+    public void putObject(String key, byte[] content, String contentType) {
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentLength(content.length);
+        metadata.setContentType(contentType);
+        s3Client.putObject(new PutObjectRequest(bucketName, key, new ByteArrayInputStream(content), metadata));
+    }
+
+    @Override
+    public void listObjects(String prefix, Consumer<ObjectSummary> consumer) {
+        ListObjectsV2Request request = new ListObjectsV2Request().withBucketName(bucketName).withPrefix(prefix);
+        ListObjectsV2Result result;
+        do {
+            result = s3Client.listObjectsV2(request);
+            for (S3ObjectSummary summary : result.getObjectSummaries()) {
+                consumer.accept(new ObjectSummary(summary.getKey(), summary.getLastModified().toInstant()));
+            }
+            request.setContinuationToken(result.getNextContinuationToken());
+        } while (result.isTruncated());
+    }
+
+    private URL presign(String key, HttpMethod method, Date expiration) {
+        GeneratePresignedUrlRequest request = new GeneratePresignedUrlRequest(bucketName, key)
+                .withMethod(method)
+                .withExpiration(expiration);
+        return s3Client.generatePresignedUrl(request);
+    }
+}
@@ -1,53 +1,84 @@
 package com.sjsu.booktable.service.s3;
 
-import com.amazonaws.HttpMethod;
-import com.amazonaws.services.s3.AmazonS3;
-import com.amazonaws.services.s3.model.DeleteObjectsRequest;
-import com.amazonaws.services.s3.model.GeneratePresignedUrlRequest;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
 
-import java.util.Date;
-import java.util.List;
 import java.net.URL;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
+/**
+ * Presigned URLs and deletes of restaurant photos in the configured {@link ObjectStore}.
+ * Presigned GET URLs are cached per key and expiry bucket. A bucket is a quarter of the requested
+ * expiration, at least a minute, and every URL signed in a bucket expires at the end of the bucket plus the
+ * requested expiration. So a cached URL is handed out until its bucket ends, always with at least the
+ * requested validity left, and browsers see the same URL for a photo across requests.
+ * Hit/miss statistics are published as cache.* metrics with cache=presignedGetUrl.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class S3Service {
 
-    private final AmazonS3 s3Client;
+    private static final long MIN_BUCKET_MILLIS = TimeUnit.MINUTES.toMillis(1);
 
-    @Value("${aws.s3.bucket}")
-    private String bucketName;
+    private final ObjectStore objectStore;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${booktable.s3.presign.concurrency:4}")
+    private int presignConcurrency;
+
+    @Value("${booktable.s3.presign.cache-max-size:20000}")
+    private long presignCacheMaxSize;
+
+    private Cache<PresignKey, URL> presignedGetUrls;
+    private ExecutorService presignExecutor;
+
+    @PostConstruct
+    public void init() {
+        presignedGetUrls = Caffeine.newBuilder()
+                .maximumSize(presignCacheMaxSize)
+                .expireAfter(new UntilBucketEnds())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, presignedGetUrls, "presignedGetUrl");
+        presignExecutor = Executors.newFixedThreadPool(presignConcurrency, new CustomizableThreadFactory("s3-presign-"));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        presignExecutor.shutdownNow();
+    }
 
     public URL generatePresignedUrl(String folder, String fileName, int expirationInMinutes) {
         String key = folder + "/" + fileName;
         Date expiration = new Date();
         long expTimeMillis = expiration.getTime() + ((long) expirationInMinutes * 60 * 1000);
         expiration.setTime(expTimeMillis);
-        GeneratePresignedUrlRequest request = new GeneratePresignedUrlRequest(bucketName, key)
-                .withMethod(HttpMethod.PUT)
-                .withExpiration(expiration);
-        URL url = s3Client.generatePresignedUrl(request);
+        URL url = objectStore.presignPut(key, expiration);
         log.info("Generated pre-signed URL for key {}: {}", key, url.toString());
         return url;
     }
 
     public URL generatePresignedGetUrl(String key, int expirationInMinutes) {
         try {
-            Date expiration = new Date();
-            long expTimeMillis = expiration.getTime() + ((long) expirationInMinutes * 60 * 1000);
-            expiration.setTime(expTimeMillis);
-            GeneratePresignedUrlRequest request = new GeneratePresignedUrlRequest(bucketName, key)
-                    .withMethod(HttpMethod.GET)
-                    .withExpiration(expiration);
-            URL url = s3Client.generatePresignedUrl(request);
-            log.info("Generated pre-signed GET URL for key {}: {}", key, url.toString());
-            return url;
+            return presignedGetUrls.get(PresignKey.of(key, expirationInMinutes, System.currentTimeMillis()), this::signGet);
         } catch (Exception e) {
             log.error("Error generating pre-signed GET URL for {} : {}", key, e.getMessage());
             return null;
@@ -55,7 +86,49 @@ public class S3Service {
     }
 
     /**
-     * Deletes multiple files from S3 in one call.
+     * Presigned GET URLs for many keys, in the order of the keys. Cached URLs are returned directly, the others
+     * are signed on up to booktable.s3.presign.concurrency threads. Keys that cannot be signed are logged and
+     * left out.
+     */
+    public Map<String, URL> generatePresignedGetUrls(Collection<String> keys, int expirationInMinutes) {
+        long now = System.currentTimeMillis();
+        Map<String, URL> urlsByKey = new HashMap<>();
+        Map<String, PresignKey> unsigned = new LinkedHashMap<>();
+        for (String key : keys) {
+            if (urlsByKey.containsKey(key) || unsigned.containsKey(key)) {
+                continue;
+            }
+            PresignKey presignKey = PresignKey.of(key, expirationInMinutes, now);
+            URL cached = presignedGetUrls.getIfPresent(presignKey);
+            if (cached != null) {
+                urlsByKey.put(key, cached);
+            } else {
+                unsigned.put(key, presignKey);
+            }
+        }
+        if (unsigned.size() == 1) {
+            unsigned.forEach((key, presignKey) -> putIfSigned(urlsByKey, key, () -> presignedGetUrls.get(presignKey, this::signGet)));
+        } else if (!unsigned.isEmpty()) {
+            Map<String, CompletableFuture<URL>> pending = new LinkedHashMap<>();
+            unsigned.forEach((key, presignKey) -> pending.put(key,
+                    CompletableFuture.supplyAsync(() -> presignedGetUrls.get(presignKey, this::signGet), presignExecutor)));
+            pending.forEach((key, future) -> putIfSigned(urlsByKey, key, future::join));
+        }
+        log.debug("Presigned {} GET URLs, {} signed now", urlsByKey.size(), unsigned.size());
+
+        Map<String, URL> urls = new LinkedHashMap<>();
+        for (String key : keys) {
+            URL url = urlsByKey.get(key);
+            if (url != null) {
+                urls.put(key, url);
+            }
+        }
+        return urls;
+    }
+
+    /**
+     * Deletes multiple files right away, in DeleteObjects requests of up to 1000 keys. Photos replaced inside a
+     * transaction go through ObjectCleanupQueue instead.
      *
      * @param keys List of S3 object keys to delete.
      */
@@ -65,11 +138,60 @@ public class S3Service {
             return;
         }
 
-        List<DeleteObjectsRequest.KeyVersion> keyVersions = keys.stream().map(DeleteObjectsRequest.KeyVersion::new).toList();
-        DeleteObjectsRequest delReq = new DeleteObjectsRequest(bucketName)
-                .withKeys(keyVersions);
-        s3Client.deleteObjects(delReq);
+        objectStore.deleteObjects(keys);
         log.info("Bulk deleted keys: {}", keys);
     }
 
+    private URL signGet(PresignKey presignKey) {
+        return objectStore.presignGet(presignKey.key(), new Date(presignKey.expiresAtMillis()));
+    }
+
+    private static void putIfSigned(Map<String, URL> urls, String key, Supplier<URL> signer) {
+        try {
+            urls.put(key, signer.get());
+        } catch (CompletionException e) {
+            log.error("Error generating pre-signed GET URL for {} : {}", key, e.getCause().getMessage());
+        } catch (Exception e) {
+            log.error("Error generating pre-signed GET URL for {} : {}", key, e.getMessage());
+        }
+    }
+
+    /**
+     * A key signed within one expiry bucket. URLs of the bucket expire at its end plus the requested expiration.
+     */
+    record PresignKey(String key, long bucketEndMillis, long expirationMillis) {
+
+        static PresignKey of(String key, int expirationInMinutes, long nowMillis) {
+            long expirationMillis = TimeUnit.MINUTES.toMillis(expirationInMinutes);
+            long bucketMillis = Math.max(MIN_BUCKET_MILLIS, expirationMillis / 4);
+            long bucketEndMillis = (nowMillis / bucketMillis + 1) * bucketMillis;
+            return new PresignKey(key, bucketEndMillis, expirationMillis);
+        }
+
+        long expiresAtMillis() {
+            return bucketEndMillis + expirationMillis;
+        }
+    }
+
+    /**
+     * Drops a URL once its bucket ended, later requests belong to the next bucket and sign a new URL.
+     */
+    private static final class UntilBucketEnds implements Expiry<PresignKey, URL> {
+
+        @Override
+        public long expireAfterCreate(PresignKey key, URL url, long currentTime) {
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, key.bucketEndMillis() - System.currentTimeMillis()));
+        }
+
+        @Override
+        public long expireAfterUpdate(PresignKey key, URL url, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(PresignKey key, URL url, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
 }
@@ -8,6 +8,7 @@ import com.sjsu.booktable.model.dto.user.RegistrationRequest;
 import com.sjsu.booktable.model.dto.user.RegistrationResponse;
 import com.sjsu.booktable.model.entity.User;
 import com.sjsu.booktable.repository.UserRepository;
+import com.sjsu.booktable.service.auth.CognitoUserDirectory;
 import com.sjsu.booktable.utils.StringUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -25,6 +26,7 @@ public class UserServiceImpl implements UserService {
 
     protected final AWSCognitoIdentityProvider cognitoClient;
     private final UserRepository userRepository;
+    private final CognitoUserDirectory userDirectory;
 
     @Value("${cognito.userPoolId}") protected String userPoolId;
 
@@ -93,6 +95,8 @@ public class UserServiceImpl implements UserService {
                     .withUsername(cognitoUserId)
                     .withGroupName(request.getRole().getName())
             );
+            // The login flow caches the registration marker and role
+            userDirectory.invalidate(cognitoUserId);
 
             userRepository.save(cognitoUserId, request);
 
@@ -6,6 +6,8 @@ import lombok.experimental.UtilityClass;
 @UtilityClass
 public class RestaurantUtil {
 
+    public static final double METERS_PER_MILE = 1609.34;
+
     public static String buildFullAddress(RestaurantRequest request) {
         return String.format("%s, %s, %s %s, %s",
                 request.getBasicDetails().getAddressLine(), request.getBasicDetails().getCity(),
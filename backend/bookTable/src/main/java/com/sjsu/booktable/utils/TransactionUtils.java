@@ -0,0 +1,44 @@
+package com.sjsu.booktable.utils;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.IntConsumer;
+
+@UtilityClass
+public class TransactionUtils {
+
+    /**
+     * Runs the action once the current transaction commits, or right away when no transaction is active.
+     */
+    public static void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Runs the action with the completion status of the current transaction once it committed or rolled back,
+     * or right away with {@link TransactionSynchronization#STATUS_COMMITTED} when no transaction is active.
+     */
+    public static void runAfterCompletion(IntConsumer action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    action.accept(status);
+                }
+            });
+        } else {
+            action.accept(TransactionSynchronization.STATUS_COMMITTED);
+        }
+    }
+}
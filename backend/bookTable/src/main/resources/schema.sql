@@ -0,0 +1,89 @@
+-- Precomputed (sum, count) rating aggregate per restaurant, maintained by ReviewService.addReview, rebuilt
+-- for restaurants with new reviews by ReviewServiceImpl.reconcileNewReviews and checked against the reviews
+-- batch by batch by ReviewServiceImpl.sweepRatingSummaries
+CREATE TABLE IF NOT EXISTS restaurant_rating_summary (
+    restaurant_id INT PRIMARY KEY,
+    rating_sum BIGINT NOT NULL DEFAULT 0,
+    rating_count INT NOT NULL DEFAULT 0
+);
+
+-- Outbox of booking notification emails, written in the booking transaction and sent asynchronously by EmailOutbox
+CREATE TABLE IF NOT EXISTS email_outbox (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    booking_id INT NOT NULL,
+    type VARCHAR(32) NOT NULL,
+    recipient VARCHAR(255) NOT NULL,
+    status VARCHAR(16) NOT NULL DEFAULT 'pending',
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    last_error VARCHAR(1024),
+    claim_token CHAR(36),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    INDEX idx_email_outbox_due (status, next_attempt_at),
+    INDEX idx_email_outbox_claim (claim_token)
+);
+
+-- Token of the bulk send that leased the entries, added to outboxes created before it existed
+SET @add_email_outbox_claim = (SELECT IF(COUNT(*) = 0,
+    'ALTER TABLE email_outbox ADD COLUMN claim_token CHAR(36), ADD INDEX idx_email_outbox_claim (claim_token)',
+    'DO 0')
+    FROM information_schema.columns
+    WHERE table_schema = DATABASE() AND table_name = 'email_outbox' AND column_name = 'claim_token');
+PREPARE add_email_outbox_claim FROM @add_email_outbox_claim;
+EXECUTE add_email_outbox_claim;
+DEALLOCATE PREPARE add_email_outbox_claim;
+
+-- Coordinates per normalized address, the persistent tier of the geocode cache in GoogleMapsService
+CREATE TABLE IF NOT EXISTS geocode_cache (
+    address_key VARCHAR(512) PRIMARY KEY,
+    longitude DOUBLE NOT NULL,
+    latitude DOUBLE NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Keys of the thumbnail and medium renditions generated by PhotoDerivativeService, null until generated.
+-- MySQL has no ADD COLUMN IF NOT EXISTS, so the columns are only added when information_schema lacks them.
+SET @add_photo_derivatives = (SELECT IF(COUNT(*) = 0,
+    'ALTER TABLE photos ADD COLUMN thumbnail_key VARCHAR(512), ADD COLUMN medium_key VARCHAR(512)',
+    'DO 0')
+    FROM information_schema.columns
+    WHERE table_schema = DATABASE() AND table_name = 'photos' AND column_name = 'thumbnail_key');
+PREPARE add_photo_derivatives FROM @add_photo_derivatives;
+EXECUTE add_photo_derivatives;
+DEALLOCATE PREPARE add_photo_derivatives;
+
+SET @add_main_photo_derivatives = (SELECT IF(COUNT(*) = 0,
+    'ALTER TABLE restaurants ADD COLUMN main_photo_thumbnail_key VARCHAR(512), ADD COLUMN main_photo_medium_key VARCHAR(512)',
+    'DO 0')
+    FROM information_schema.columns
+    WHERE table_schema = DATABASE() AND table_name = 'restaurants' AND column_name = 'main_photo_thumbnail_key');
+PREPARE add_main_photo_derivatives FROM @add_main_photo_derivatives;
+EXECUTE add_main_photo_derivatives;
+DEALLOCATE PREPARE add_main_photo_derivatives;
+
+-- Serves the (createdAt, id) keyset pagination of restaurant reviews in ReviewRepositoryImpl.
+-- MySQL has no CREATE INDEX IF NOT EXISTS, so the index is only created when information_schema lacks it.
+SET @add_reviews_keyset_index = (SELECT IF(COUNT(*) = 0,
+    'CREATE INDEX idx_reviews_restaurant_created ON reviews (restaurantId, createdAt, id)',
+    'DO 0')
+    FROM information_schema.statistics
+    WHERE table_schema = DATABASE() AND table_name = 'reviews' AND index_name = 'idx_reviews_restaurant_created');
+PREPARE add_reviews_keyset_index FROM @add_reviews_keyset_index;
+EXECUTE add_reviews_keyset_index;
+DEALLOCATE PREPARE add_reviews_keyset_index;
+
+-- Objects to delete from the object store, written in the transaction that drops their references and
+-- deleted in batches by ObjectCleanupQueue once it commits
+CREATE TABLE IF NOT EXISTS object_cleanup_queue (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    object_key VARCHAR(512) NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    claim_token CHAR(36),
+    last_error VARCHAR(1024),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    UNIQUE KEY uk_object_cleanup_queue_key (object_key),
+    INDEX idx_object_cleanup_queue_due (next_attempt_at),
+    INDEX idx_object_cleanup_queue_claim (claim_token)
+);
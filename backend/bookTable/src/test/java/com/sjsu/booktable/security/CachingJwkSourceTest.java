@@ -0,0 +1,109 @@
+package com.sjsu.booktable.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingJwkSourceTest {
+
+    private RSAKey currentKey;
+    private RSAKey nextKey;
+    private final AtomicReference<JWKSet> publishedKeys = new AtomicReference<>();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private CachingJwkSource jwkSource;
+    private JwtDecoder jwtDecoder;
+
+    @BeforeEach
+    void setUp() throws JOSEException {
+        currentKey = new RSAKeyGenerator(2048).keyID("current").generate();
+        nextKey = new RSAKeyGenerator(2048).keyID("next").generate();
+        publishedKeys.set(new JWKSet(currentKey.toPublicJWK()));
+
+        jwkSource = new CachingJwkSource(() -> {
+            loads.incrementAndGet();
+            return publishedKeys.get();
+        }, Duration.ofMinutes(1));
+        DefaultJWTProcessor<SecurityContext> jwtProcessor = new DefaultJWTProcessor<>();
+        jwtProcessor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.RS256, jwkSource));
+        jwtProcessor.setJWTClaimsSetVerifier((claims, context) -> { });
+        jwtDecoder = new NimbusJwtDecoder(jwtProcessor);
+    }
+
+    @Test
+    void get_LoadsKeySetOnceForKnownKeys() throws JOSEException {
+        // Act
+        jwtDecoder.decode(sign(currentKey, "alice"));
+        jwtDecoder.decode(sign(currentKey, "bob"));
+
+        // Assert
+        assertEquals(1, loads.get());
+        assertEquals(1, jwkSource.getRefreshCount());
+    }
+
+    @Test
+    void get_RefreshesOnUnknownKeyId() throws JOSEException {
+        // Arrange
+        jwtDecoder.decode(sign(currentKey, "alice"));
+        publishedKeys.set(new JWKSet(List.of(currentKey.toPublicJWK(), nextKey.toPublicJWK())));
+
+        // Act
+        String subject = jwtDecoder.decode(sign(nextKey, "bob")).getSubject();
+        jwtDecoder.decode(sign(currentKey, "carol"));
+        jwtDecoder.decode(sign(nextKey, "dave"));
+
+        // Assert
+        assertEquals("bob", subject);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_ThrottlesRefreshesForMadeUpKeyIds() throws JOSEException {
+        // Arrange
+        RSAKey forgedKey = new RSAKeyGenerator(2048).keyID("forged").generate();
+        jwtDecoder.decode(sign(currentKey, "alice"));
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            String forged = sign(forgedKey, "mallory");
+            assertThrows(JwtException.class, () -> jwtDecoder.decode(forged));
+        }
+
+        // Assert
+        assertEquals(1, loads.get());
+    }
+
+    private static String sign(RSAKey key, String subject) throws JOSEException {
+        SignedJWT jwt = new SignedJWT(
+                new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(key.getKeyID()).build(),
+                new JWTClaimsSet.Builder()
+                        .subject(subject)
+                        .expirationTime(Date.from(Instant.now().plusSeconds(3600)))
+                        .build());
+        jwt.sign(new RSASSASigner(key));
+        return jwt.serialize();
+    }
+}
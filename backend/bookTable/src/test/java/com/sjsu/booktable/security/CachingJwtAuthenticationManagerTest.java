@@ -0,0 +1,97 @@
+package com.sjsu.booktable.security;
+
+import com.sjsu.booktable.config.SecurityConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.server.resource.InvalidBearerTokenException;
+import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthenticationToken;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingJwtAuthenticationManagerTest {
+
+    private final AtomicInteger decodes = new AtomicInteger();
+    private final AtomicLong tickerNanos = new AtomicLong();
+    private final JwtDecoder jwtDecoder = token -> {
+        decodes.incrementAndGet();
+        if (token.startsWith("bad")) {
+            throw new BadJwtException("Signed JWT rejected: Invalid signature");
+        }
+        Instant now = Instant.now();
+        return Jwt.withTokenValue(token)
+                .header("alg", "RS256")
+                .subject(token + "-user")
+                .claim("cognito:groups", List.of("Customer"))
+                .issuedAt(now)
+                .expiresAt(now.plusSeconds(60))
+                .build();
+    };
+
+    private CachingJwtAuthenticationManager authenticationManager;
+
+    @BeforeEach
+    void setUp() {
+        authenticationManager = new CachingJwtAuthenticationManager(jwtDecoder, new SecurityConfig().jwtAuthenticationConverter(),
+                100, new SimpleMeterRegistry(), tickerNanos::get);
+    }
+
+    @Test
+    void authenticate_VerifiesEachTokenOnce() {
+        // Arrange
+        BearerTokenAuthenticationToken first = bearer("token-1", "10.0.0.1");
+        BearerTokenAuthenticationToken second = bearer("token-1", "10.0.0.2");
+
+        // Act
+        Authentication firstResult = authenticationManager.authenticate(first);
+        Authentication secondResult = authenticationManager.authenticate(second);
+        authenticationManager.authenticate(bearer("token-2", "10.0.0.3"));
+
+        // Assert
+        assertEquals(2, decodes.get());
+        assertNotSame(firstResult, secondResult);
+        assertTrue(secondResult.isAuthenticated());
+        assertEquals("token-1-user", secondResult.getName());
+        assertEquals(List.of("Customer"), secondResult.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+        assertEquals("10.0.0.1", firstResult.getDetails());
+        assertEquals("10.0.0.2", secondResult.getDetails());
+    }
+
+    @Test
+    void authenticate_VerifiesAgainOnceTheTokenExpired() {
+        // Arrange
+        authenticationManager.authenticate(bearer("token-1", null));
+
+        // Act
+        tickerNanos.addAndGet(Duration.ofSeconds(61).toNanos());
+        authenticationManager.authenticate(bearer("token-1", null));
+
+        // Assert
+        assertEquals(2, decodes.get());
+    }
+
+    @Test
+    void authenticate_RejectedTokenIsNotCached() {
+        // Act & Assert
+        assertThrows(InvalidBearerTokenException.class, () -> authenticationManager.authenticate(bearer("bad-token", null)));
+        assertThrows(InvalidBearerTokenException.class, () -> authenticationManager.authenticate(bearer("bad-token", null)));
+        assertEquals(2, decodes.get());
+    }
+
+    private static BearerTokenAuthenticationToken bearer(String token, Object details) {
+        BearerTokenAuthenticationToken bearer = new BearerTokenAuthenticationToken(token);
+        bearer.setDetails(details);
+        return bearer;
+    }
+}
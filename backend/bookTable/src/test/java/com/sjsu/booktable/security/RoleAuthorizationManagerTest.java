@@ -0,0 +1,117 @@
+package com.sjsu.booktable.security;
+
+import com.sjsu.booktable.model.enums.Role;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.util.SimpleMethodInvocation;
+
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoleAuthorizationManagerTest {
+
+    private final RoleAuthorizationManager authorizationManager = new RoleAuthorizationManager();
+
+    @RequiresRole(Role.ADMIN)
+    static class AdminEndpoint {
+
+        public void classRole() {
+        }
+
+        @RequiresRole({Role.CUSTOMER, Role.RESTAURANT_MANAGER})
+        public void methodRoles() {
+        }
+    }
+
+    static class OpenEndpoint {
+
+        public void open() {
+        }
+    }
+
+    @Test
+    void check_UsesClassRoleWhenMethodIsNotAnnotated() throws NoSuchMethodException {
+        // Arrange
+        SimpleMethodInvocation invocation = new SimpleMethodInvocation(new AdminEndpoint(), AdminEndpoint.class.getMethod("classRole"));
+
+        // Act
+        AuthorizationDecision admin = authorizationManager.check(() -> authenticated(Role.ADMIN), invocation);
+        AuthorizationDecision customer = authorizationManager.check(() -> authenticated(Role.CUSTOMER), invocation);
+
+        // Assert
+        assertTrue(admin.isGranted());
+        assertFalse(customer.isGranted());
+    }
+
+    @Test
+    void check_MethodRolesOverrideClassRole() throws NoSuchMethodException {
+        // Arrange
+        SimpleMethodInvocation invocation = new SimpleMethodInvocation(new AdminEndpoint(), AdminEndpoint.class.getMethod("methodRoles"));
+
+        // Act & Assert
+        assertTrue(authorizationManager.check(() -> authenticated(Role.RESTAURANT_MANAGER), invocation).isGranted());
+        assertTrue(authorizationManager.check(() -> authenticated(Role.CUSTOMER), invocation).isGranted());
+        assertFalse(authorizationManager.check(() -> authenticated(Role.ADMIN), invocation).isGranted());
+    }
+
+    @Test
+    void check_MatchesAuthoritiesCreatedOutsideTheRegistry() throws NoSuchMethodException {
+        // Arrange
+        SimpleMethodInvocation invocation = new SimpleMethodInvocation(new AdminEndpoint(), AdminEndpoint.class.getMethod("classRole"));
+        TestingAuthenticationToken authentication = new TestingAuthenticationToken("admin", null,
+                List.of(new SimpleGrantedAuthority("Admin")));
+
+        // Act
+        AuthorizationDecision decision = authorizationManager.check(() -> authentication, invocation);
+
+        // Assert
+        assertTrue(decision.isGranted());
+    }
+
+    @Test
+    void check_DeniesUnauthenticatedCaller() throws NoSuchMethodException {
+        // Arrange
+        SimpleMethodInvocation invocation = new SimpleMethodInvocation(new AdminEndpoint(), AdminEndpoint.class.getMethod("classRole"));
+        TestingAuthenticationToken authentication = new TestingAuthenticationToken("admin", null,
+                List.of(RoleAuthorities.of(Role.ADMIN)));
+        authentication.setAuthenticated(false);
+
+        // Act & Assert
+        assertFalse(authorizationManager.check(() -> authentication, invocation).isGranted());
+        assertFalse(authorizationManager.check(() -> null, invocation).isGranted());
+    }
+
+    @Test
+    void check_AbstainsForMethodsWithoutRoles() throws NoSuchMethodException {
+        // Arrange
+        SimpleMethodInvocation invocation = new SimpleMethodInvocation(new OpenEndpoint(), OpenEndpoint.class.getMethod("open"));
+
+        // Act & Assert
+        assertNull(authorizationManager.check(() -> authenticated(Role.CUSTOMER), invocation));
+    }
+
+    @Test
+    void fromGroups_ReusesInternedAuthorities() {
+        // Act
+        Collection<GrantedAuthority> first = RoleAuthorities.fromGroups(List.of("Customer"));
+        Collection<GrantedAuthority> second = RoleAuthorities.fromGroups(List.of("Customer"));
+        Collection<GrantedAuthority> mixed = RoleAuthorities.fromGroups(List.of("Admin", "Beta"));
+
+        // Assert
+        assertSame(first, second);
+        assertSame(RoleAuthorities.of(Role.CUSTOMER), first.iterator().next());
+        assertEquals(List.of("Admin", "Beta"), mixed.stream().map(GrantedAuthority::getAuthority).toList());
+        assertSame(RoleAuthorities.of(Role.ADMIN), mixed.iterator().next());
+        assertTrue(RoleAuthorities.fromGroups(null).isEmpty());
+    }
+
+    private static Authentication authenticated(Role role) {
+        return new TestingAuthenticationToken(role.getName(), null, List.of(RoleAuthorities.of(role)));
+    }
+}
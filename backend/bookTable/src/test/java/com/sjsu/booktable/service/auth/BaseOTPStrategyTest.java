@@ -6,6 +6,7 @@ import com.sjsu.booktable.model.dto.auth.SendOTPRequest;
 import com.sjsu.booktable.model.dto.auth.SendOTPResponse;
 import com.sjsu.booktable.model.dto.auth.VerifyOTPRequest;
 import com.sjsu.booktable.model.dto.auth.VerifyOTPResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -13,7 +14,12 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -28,8 +34,9 @@ class BaseOTPStrategyTest {
     private TestOTPStrategy testStrategy;
 
     private static class TestOTPStrategy extends BaseOTPStrategy {
-        public TestOTPStrategy(AWSCognitoIdentityProvider cognitoClient) {
-            super(cognitoClient);
+        public TestOTPStrategy(AWSCognitoIdentityProvider cognitoClient, CognitoUserDirectory userDirectory,
+                               CognitoRequestMetrics requestMetrics) {
+            super(cognitoClient, userDirectory, requestMetrics);
         }
 
         @Override
@@ -45,7 +52,16 @@ class BaseOTPStrategyTest {
 
     @BeforeEach
     void setUp() {
-        testStrategy = new TestOTPStrategy(cognitoClient);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        CognitoUserDirectory userDirectory = new CognitoUserDirectory(cognitoClient, meterRegistry);
+        ReflectionTestUtils.setField(userDirectory, "userPoolId", "test-pool-id");
+        ReflectionTestUtils.setField(userDirectory, "ttlSeconds", 120L);
+        ReflectionTestUtils.setField(userDirectory, "maxSize", 100L);
+        userDirectory.init();
+        CognitoRequestMetrics requestMetrics = new CognitoRequestMetrics(meterRegistry);
+        requestMetrics.init();
+
+        testStrategy = new TestOTPStrategy(cognitoClient, userDirectory, requestMetrics);
         ReflectionTestUtils.setField(testStrategy, "userPoolId", "test-pool-id");
         ReflectionTestUtils.setField(testStrategy, "clientId", "test-client-id");
         ReflectionTestUtils.setField(testStrategy, "clientSecret", "test-client-secret");
@@ -163,4 +179,25 @@ class BaseOTPStrategyTest {
         assertNotNull(result);
         assertTrue(result.length() > 0);
     }
-} 
\ No newline at end of file
+
+    @Test
+    void calculateSecretHash_MatchesCognitoSecretHashOnEveryThread() throws Exception {
+        // Arrange
+        // Base64(HMAC-SHA256("test-client-secret", "testuser" + "test-client-id"))
+        String expected = "1xEAywlzj2kqs5YxvP7WXzmKCguLpp9VfyPimVGLIbc=";
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // Act
+        List<Future<String>> hashes = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            hashes.add(executor.submit(() -> testStrategy.calculateSecretHash("testuser")));
+        }
+
+        // Assert
+        for (Future<String> hash : hashes) {
+            assertEquals(expected, hash.get());
+        }
+        assertEquals(expected, new SecretHashCalculator("test-client-id", "test-client-secret").compute("testuser"));
+        executor.shutdown();
+    }
+}
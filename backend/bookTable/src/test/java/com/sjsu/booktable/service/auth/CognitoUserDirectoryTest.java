@@ -0,0 +1,137 @@
+package com.sjsu.booktable.service.auth;
+
+import com.amazonaws.services.cognitoidp.AWSCognitoIdentityProvider;
+import com.amazonaws.services.cognitoidp.model.*;
+import com.sjsu.booktable.model.enums.Role;
+import com.sjsu.booktable.service.auth.CognitoUserDirectory.CognitoUser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CognitoUserDirectoryTest {
+
+    @Mock
+    private AWSCognitoIdentityProvider cognitoClient;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CognitoUserDirectory userDirectory;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        userDirectory = new CognitoUserDirectory(cognitoClient, meterRegistry);
+        ReflectionTestUtils.setField(userDirectory, "userPoolId", "test-pool-id");
+        ReflectionTestUtils.setField(userDirectory, "ttlSeconds", 120L);
+        ReflectionTestUtils.setField(userDirectory, "maxSize", 100L);
+        userDirectory.init();
+    }
+
+    @Test
+    void getUser_ReadsCognitoOnceWithinTtl() {
+        // Arrange
+        when(cognitoClient.adminGetUser(any(AdminGetUserRequest.class)))
+                .thenReturn(new AdminGetUserResult().withUserAttributes(
+                        new AttributeType().withName("custom:registered").withValue("true")));
+
+        // Act
+        CognitoUser first = userDirectory.getUser("testuser");
+        CognitoUser second = userDirectory.getUser("testuser");
+
+        // Assert
+        assertSame(first, second);
+        assertTrue(second.isTrue("custom:registered"));
+        verify(cognitoClient, times(1)).adminGetUser(any(AdminGetUserRequest.class));
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "cognitoUsers").tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void findUser_ByAttributeCachesTheResolvedUsername() {
+        // Arrange
+        when(cognitoClient.adminGetUser(any(AdminGetUserRequest.class)))
+                .thenThrow(new UserNotFoundException("User not found"));
+        when(cognitoClient.listUsers(any(ListUsersRequest.class)))
+                .thenReturn(new ListUsersResult().withUsers(new UserType()
+                        .withUsername("founduser")
+                        .withAttributes(new AttributeType().withName("email").withValue("test@example.com"))));
+
+        // Act
+        CognitoUser first = userDirectory.findUser("test@example.com", "email");
+        CognitoUser second = userDirectory.findUser("test@example.com", "email");
+        CognitoUser byUsername = userDirectory.getUser("founduser");
+
+        // Assert
+        assertEquals("founduser", first.username());
+        assertEquals("test@example.com", first.attribute("email"));
+        assertSame(first, second);
+        assertSame(first, byUsername);
+        verify(cognitoClient, times(1)).adminGetUser(any(AdminGetUserRequest.class));
+        verify(cognitoClient, times(1)).listUsers(any(ListUsersRequest.class));
+    }
+
+    @Test
+    void updateAttributes_AppliesToCachedUser() {
+        // Arrange
+        when(cognitoClient.adminGetUser(any(AdminGetUserRequest.class)))
+                .thenReturn(new AdminGetUserResult().withUserAttributes(
+                        new AttributeType().withName("email_verified").withValue("false")));
+        userDirectory.getUser("testuser");
+
+        // Act
+        userDirectory.updateAttributes("testuser", new AttributeType().withName("email_verified").withValue("true"));
+
+        // Assert
+        assertTrue(userDirectory.getUser("testuser").isTrue("email_verified"));
+        verify(cognitoClient).adminUpdateUserAttributes(any(AdminUpdateUserAttributesRequest.class));
+        verify(cognitoClient, times(1)).adminGetUser(any(AdminGetUserRequest.class));
+    }
+
+    @Test
+    void invalidate_RereadsUserAndRole() {
+        // Arrange
+        when(cognitoClient.adminGetUser(any(AdminGetUserRequest.class)))
+                .thenReturn(new AdminGetUserResult());
+        when(cognitoClient.adminListGroupsForUser(any(AdminListGroupsForUserRequest.class)))
+                .thenReturn(new AdminListGroupsForUserResult())
+                .thenReturn(new AdminListGroupsForUserResult().withGroups(new GroupType().withGroupName("Customer")));
+        userDirectory.getUser("testuser");
+
+        // Act
+        Role beforeRegistration = userDirectory.getRole("testuser");
+        Role cached = userDirectory.getRole("testuser");
+        userDirectory.invalidate("testuser");
+        Role afterRegistration = userDirectory.getRole("testuser");
+        userDirectory.getUser("testuser");
+
+        // Assert
+        assertNull(beforeRegistration);
+        assertNull(cached);
+        assertEquals(Role.CUSTOMER, afterRegistration);
+        verify(cognitoClient, times(2)).adminListGroupsForUser(any(AdminListGroupsForUserRequest.class));
+        verify(cognitoClient, times(2)).adminGetUser(any(AdminGetUserRequest.class));
+    }
+
+    @Test
+    void getRole_FailedLookupIsNotCached() {
+        // Arrange
+        when(cognitoClient.adminListGroupsForUser(any(AdminListGroupsForUserRequest.class)))
+                .thenThrow(new TooManyRequestsException("Rate exceeded"))
+                .thenReturn(new AdminListGroupsForUserResult().withGroups(new GroupType().withGroupName("Admin")));
+
+        // Act
+        Role failed = userDirectory.getRole("testuser");
+        Role retried = userDirectory.getRole("testuser");
+
+        // Assert
+        assertNull(failed);
+        assertEquals(Role.ADMIN, retried);
+    }
+}
@@ -7,6 +7,8 @@ import com.sjsu.booktable.model.dto.auth.SendOTPRequest;
 import com.sjsu.booktable.model.dto.auth.SendOTPResponse;
 import com.sjsu.booktable.model.dto.auth.VerifyOTPRequest;
 import com.sjsu.booktable.model.dto.auth.VerifyOTPResponse;
+import com.sjsu.booktable.model.enums.Role;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -31,7 +33,16 @@ class EmailOTPStrategyTest {
 
     @BeforeEach
     void setUp() {
-        emailOtpStrategy = new EmailOTPStrategy(cognitoClient);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        CognitoUserDirectory userDirectory = new CognitoUserDirectory(cognitoClient, meterRegistry);
+        ReflectionTestUtils.setField(userDirectory, "userPoolId", "test-pool-id");
+        ReflectionTestUtils.setField(userDirectory, "ttlSeconds", 120L);
+        ReflectionTestUtils.setField(userDirectory, "maxSize", 100L);
+        userDirectory.init();
+        CognitoRequestMetrics requestMetrics = new CognitoRequestMetrics(meterRegistry);
+        requestMetrics.init();
+
+        emailOtpStrategy = new EmailOTPStrategy(cognitoClient, userDirectory, requestMetrics);
         ReflectionTestUtils.setField(emailOtpStrategy, "userPoolId", "test-pool-id");
         ReflectionTestUtils.setField(emailOtpStrategy, "clientId", "test-client-id");
         ReflectionTestUtils.setField(emailOtpStrategy, "clientSecret", "test-client-secret");
@@ -176,4 +187,37 @@ class EmailOTPStrategyTest {
         assertTrue(response.getMessage().contains("Authentication failed"));
         verify(cognitoClient).adminRespondToAuthChallenge(any(AdminRespondToAuthChallengeRequest.class));
     }
-} 
\ No newline at end of file
+
+    @Test
+    void verifyOtp_AfterSendOtp_ReusesCachedUser() {
+        // Arrange
+        SendOTPRequest sendRequest = new SendOTPRequest();
+        sendRequest.setValue("existing@example.com");
+        VerifyOTPRequest verifyRequest = new VerifyOTPRequest();
+        verifyRequest.setValue("existing@example.com");
+        verifyRequest.setOtp("123456");
+        verifyRequest.setSession("test-session");
+
+        when(cognitoClient.adminGetUser(any(AdminGetUserRequest.class)))
+                .thenReturn(new AdminGetUserResult().withUserAttributes(
+                        new AttributeType().withName("email_verified").withValue("true"),
+                        new AttributeType().withName("custom:registered").withValue("true")));
+        when(cognitoClient.adminInitiateAuth(any(AdminInitiateAuthRequest.class)))
+                .thenReturn(new AdminInitiateAuthResult().withSession("test-session"));
+        when(cognitoClient.adminRespondToAuthChallenge(any(AdminRespondToAuthChallengeRequest.class)))
+                .thenReturn(new AdminRespondToAuthChallengeResult()
+                        .withAuthenticationResult(new AuthenticationResultType().withIdToken("test-id-token")));
+        when(cognitoClient.adminListGroupsForUser(any(AdminListGroupsForUserRequest.class)))
+                .thenReturn(new AdminListGroupsForUserResult().withGroups(new GroupType().withGroupName("Customer")));
+
+        // Act
+        emailOtpStrategy.sendOtp(sendRequest);
+        VerifyOTPResponse response = emailOtpStrategy.verifyOtp(verifyRequest);
+
+        // Assert
+        assertFalse(response.isRequiresRegistration());
+        assertEquals(Role.CUSTOMER, response.getUserRole());
+        verify(cognitoClient, times(1)).adminGetUser(any(AdminGetUserRequest.class));
+        verify(cognitoClient, times(1)).adminUpdateUserAttributes(any(AdminUpdateUserAttributesRequest.class));
+    }
+}
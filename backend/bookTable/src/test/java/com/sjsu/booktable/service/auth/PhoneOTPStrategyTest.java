@@ -7,6 +7,7 @@ import com.sjsu.booktable.model.dto.auth.SendOTPRequest;
 import com.sjsu.booktable.model.dto.auth.SendOTPResponse;
 import com.sjsu.booktable.model.dto.auth.VerifyOTPRequest;
 import com.sjsu.booktable.model.dto.auth.VerifyOTPResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -31,7 +32,16 @@ class PhoneOTPStrategyTest {
 
     @BeforeEach
     void setUp() {
-        phoneOtpStrategy = new PhoneOTPStrategy(cognitoClient);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        CognitoUserDirectory userDirectory = new CognitoUserDirectory(cognitoClient, meterRegistry);
+        ReflectionTestUtils.setField(userDirectory, "userPoolId", "test-pool-id");
+        ReflectionTestUtils.setField(userDirectory, "ttlSeconds", 120L);
+        ReflectionTestUtils.setField(userDirectory, "maxSize", 100L);
+        userDirectory.init();
+        CognitoRequestMetrics requestMetrics = new CognitoRequestMetrics(meterRegistry);
+        requestMetrics.init();
+
+        phoneOtpStrategy = new PhoneOTPStrategy(cognitoClient, userDirectory, requestMetrics);
         ReflectionTestUtils.setField(phoneOtpStrategy, "userPoolId", "test-pool-id");
         ReflectionTestUtils.setField(phoneOtpStrategy, "clientId", "test-client-id");
         ReflectionTestUtils.setField(phoneOtpStrategy, "clientSecret", "test-client-secret");
@@ -1,6 +1,13 @@
 package com.sjsu.booktable.service.booking;
 
+import com.sjsu.booktable.exception.booking.BookingCapacityExceededException;
+import com.sjsu.booktable.model.dto.booking.BookingRequestDTO;
+import com.sjsu.booktable.model.dto.booking.BookingResponseDTO;
+import com.sjsu.booktable.model.entity.Booking;
+import com.sjsu.booktable.model.enums.BookingStatus;
+import com.sjsu.booktable.model.enums.EmailNotificationType;
 import com.sjsu.booktable.repository.BookingRepository;
+import com.sjsu.booktable.service.email.EmailOutbox;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,11 +22,13 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyInt;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class BookingServiceImplTest {
@@ -27,6 +36,12 @@ class BookingServiceImplTest {
     @Mock
     private BookingRepository bookingRepository;
 
+    @Mock
+    private TableOccupancyLedger tableOccupancyLedger;
+
+    @Mock
+    private EmailOutbox emailOutbox;
+
     @InjectMocks
     private BookingServiceImpl bookingService;
 
@@ -59,7 +74,7 @@ class BookingServiceImplTest {
     @Test
     void getBookedCapacitiesForSlotsForRestaurant_NoBookings() {
         // Arrange
-        when(bookingRepository.getBookedCapacityForTimeSlotsForRestaurant(anyInt(), any(), any()))
+        when(tableOccupancyLedger.getBookedCapacities(anyList(), any(), any()))
                 .thenReturn(new HashMap<>());
 
         // Act
@@ -78,8 +93,8 @@ class BookingServiceImplTest {
         expectedBookings.put(LocalTime.of(19, 0), 6);
         expectedBookings.put(LocalTime.of(20, 0), 2);
 
-        when(bookingRepository.getBookedCapacityForTimeSlotsForRestaurant(anyInt(), any(), any()))
-                .thenReturn(expectedBookings);
+        when(tableOccupancyLedger.getBookedCapacities(anyList(), any(), any()))
+                .thenReturn(Collections.singletonMap(1, expectedBookings));
 
         // Act
         Map<LocalTime, Integer> result = bookingService.getBookedCapacitiesForSlotsForRestaurant(1, testDate, testTimeSlots);
@@ -91,4 +106,59 @@ class BookingServiceImplTest {
         assertEquals(6, result.get(LocalTime.of(19, 0)));
         assertEquals(2, result.get(LocalTime.of(20, 0)));
     }
-} 
\ No newline at end of file
+
+    @Test
+    void createBooking_RejectedWhenNoTableIsFree() {
+        // Arrange
+        BookingRequestDTO request = new BookingRequestDTO();
+        request.setRestaurantId(1);
+        request.setBookingDate(testDate);
+        request.setBookingTime(LocalTime.of(19, 0));
+        request.setPartySize(4);
+        when(tableOccupancyLedger.recordBooking(eq(1), eq(testDate), eq(LocalTime.of(19, 0)), eq(4), any()))
+                .thenThrow(new BookingCapacityExceededException("No table available for the party size at the selected time slot"));
+
+        // Act & Assert
+        assertThrows(BookingCapacityExceededException.class, () -> bookingService.createBooking(request));
+        verify(bookingRepository, never()).saveBooking(any());
+    }
+
+    @Test
+    void createBooking_QueuesConfirmationEmailInsteadOfSending() {
+        // Arrange
+        BookingRequestDTO request = new BookingRequestDTO();
+        request.setRestaurantId(1);
+        request.setBookingDate(testDate);
+        request.setBookingTime(LocalTime.of(19, 0));
+        request.setPartySize(4);
+        request.setEmail("diner@example.com");
+        Booking booking = Booking.builder().id(7).restaurantId(1).status(BookingStatus.CONFIRMED.getStatus()).build();
+        when(tableOccupancyLedger.recordBooking(eq(1), eq(testDate), eq(LocalTime.of(19, 0)), eq(4), any())).thenReturn(7);
+        when(bookingRepository.findBookingById(7)).thenReturn(booking);
+
+        // Act
+        BookingResponseDTO response = bookingService.createBooking(request);
+
+        // Assert
+        assertSame(booking, response.getBooking());
+        assertTrue(response.isEmailQueued());
+        verify(emailOutbox).enqueue(EmailNotificationType.BOOKING_CONFIRMATION, 7, "diner@example.com");
+    }
+
+    @Test
+    void cancelUpcomingBookings_ReleasesTablesAndQueuesEmailsThroughOutbox() {
+        // Arrange
+        List<Booking> cancelled = Arrays.asList(
+                Booking.builder().id(7).restaurantId(1).status(BookingStatus.CANCELLED.getStatus()).build(),
+                Booking.builder().id(8).restaurantId(1).status(BookingStatus.CANCELLED.getStatus()).build());
+        when(tableOccupancyLedger.recordCancellations(any())).thenAnswer(invocation -> invocation.<Supplier<List<Booking>>>getArgument(0).get());
+        when(bookingRepository.cancelUpcomingBookingsByRestaurantId(eq(1), any())).thenReturn(cancelled);
+
+        // Act
+        List<Booking> result = bookingService.cancelUpcomingBookings(1);
+
+        // Assert
+        assertEquals(cancelled, result);
+        verify(emailOutbox).enqueueCancellations(cancelled);
+    }
+}
@@ -0,0 +1,390 @@
+package com.sjsu.booktable.service.booking;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.sjsu.booktable.exception.booking.BookingCapacityExceededException;
+import com.sjsu.booktable.model.entity.Booking;
+import com.sjsu.booktable.repository.BookingRepository;
+import com.sjsu.booktable.service.restaurant.RestaurantSchedule;
+import com.sjsu.booktable.service.restaurant.RestaurantScheduleCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TableOccupancyLedgerTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private RestaurantScheduleCache scheduleCache;
+
+    private TableOccupancyLedger ledger;
+
+    private final LocalDate date = LocalDate.of(2025, 5, 5);
+    private final LocalTime slot = LocalTime.of(19, 0);
+    private final List<LocalTime> slots = Arrays.asList(LocalTime.of(18, 30), slot);
+
+    // Two 2-tops, one 4-top and one 6-top
+    private final RestaurantSchedule schedule = RestaurantSchedule.builder()
+            .table(2, 2)
+            .table(4, 1)
+            .table(6, 1)
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        ledger = new TableOccupancyLedger(bookingRepository, scheduleCache, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(ledger, "maxDays", 100L);
+        ReflectionTestUtils.setField(ledger, "expireAfterAccessMinutes", 60L);
+        ledger.init();
+    }
+
+    @Test
+    void getBookedCapacities_WarmsEachDayOnceFromDatabase() {
+        // Arrange
+        Map<Integer, RestaurantSchedule> schedules = new HashMap<>();
+        schedules.put(1, schedule);
+        schedules.put(2, schedule);
+        when(scheduleCache.getSchedules(anyCollection())).thenReturn(schedules);
+        when(bookingRepository.getBookedPartiesForRestaurantsAndDate(anyList(), eq(date)))
+                .thenReturn(bookedParties(1, Collections.singletonMap(3, 2)));
+
+        // Act
+        Map<Integer, Map<LocalTime, Integer>> first = ledger.getBookedCapacities(Arrays.asList(1, 2), date, slots);
+        Map<Integer, Map<LocalTime, Integer>> second = ledger.getBookedCapacities(Arrays.asList(1, 2), date, slots);
+
+        // Assert
+        assertEquals(Collections.singletonMap(slot, 6), first.get(1));
+        assertNull(first.get(2));
+        assertEquals(first, second);
+        verify(bookingRepository, times(1)).getBookedPartiesForRestaurantsAndDate(anyList(), eq(date));
+    }
+
+    @Test
+    void recordBooking_AssignsSmallestFreeTableThatFits() {
+        // Arrange
+        givenNoBookings();
+
+        // Act
+        ledger.recordBooking(1, date, slot, 3, () -> 1);   // 4-top
+        ledger.recordBooking(1, date, slot, 4, () -> 2);   // 4-top taken -> 6-top
+
+        // Assert
+        assertThrows(BookingCapacityExceededException.class, () -> ledger.recordBooking(1, date, slot, 3, () -> 3));
+        assertEquals(7, ledger.getBookedCapacities(Collections.singletonList(1), date, slots).get(1).get(slot));
+        assertTrue(ledger.getSeatableSlots(Collections.singletonMap(1, slots), date, 2).get(1).contains(slot));
+    }
+
+    @Test
+    void recordBooking_RejectsPartyLargerThanAnyFreeTable() {
+        // Arrange
+        RestaurantSchedule twoTops = RestaurantSchedule.builder().table(2, 6).build();
+        when(scheduleCache.getSchedules(anyCollection())).thenReturn(Collections.singletonMap(1, twoTops));
+        when(bookingRepository.getBookedPartiesForRestaurantsAndDate(anyList(), eq(date))).thenReturn(Collections.emptyMap());
+        IntSupplier insert = mock(IntSupplier.class);
+
+        // Act & Assert
+        assertTrue(ledger.getSeatableSlots(Collections.singletonMap(1, slots), date, 6).isEmpty());
+        assertThrows(BookingCapacityExceededException.class, () -> ledger.recordBooking(1, date, slot, 6, insert));
+        verifyNoInteractions(insert);
+    }
+
+    @Test
+    void recordBookingAndCancellation_UpdateOccupancyIncrementally() {
+        // Arrange
+        givenNoBookings();
+
+        Map<Integer, List<LocalTime>> candidates = Collections.singletonMap(1, Collections.singletonList(slot));
+
+        // Act
+        ledger.recordBooking(1, date, slot, 5, () -> 1);
+        boolean seatableWhileBooked = ledger.getSeatableSlots(candidates, date, 5).containsKey(1);
+        ledger.recordCancellation(1, date, slot, 5, () -> 1);
+        ledger.recordCancellation(1, date, slot, 5, () -> 0);
+        Map<Integer, List<LocalTime>> seatableAfterCancel = ledger.getSeatableSlots(candidates, date, 5);
+
+        // Assert
+        assertFalse(seatableWhileBooked);
+        assertEquals(Collections.singletonList(slot), seatableAfterCancel.get(1));
+        assertTrue(ledger.getBookedCapacities(Collections.singletonList(1), date, slots).isEmpty());
+        verify(bookingRepository, times(1)).getBookedPartiesForRestaurantsAndDate(anyList(), eq(date));
+    }
+
+    @Test
+    void recordBooking_FailedInsertReleasesTable() {
+        // Arrange
+        givenNoBookings();
+
+        // Act
+        assertThrows(IllegalStateException.class, () -> ledger.recordBooking(1, date, slot, 6, () -> {
+            throw new IllegalStateException("insert failed");
+        }));
+
+        // Assert
+        assertEquals(slots, ledger.getSeatableSlots(Collections.singletonMap(1, slots), date, 6).get(1));
+    }
+
+    @Test
+    void recordBooking_RolledBackTransactionReleasesTable() {
+        // Arrange
+        givenNoBookings();
+        TransactionSynchronizationManager.initSynchronization();
+
+        try {
+            // Act
+            ledger.recordBooking(1, date, slot, 6, () -> 1);
+            boolean seatableBeforeRollback = ledger.getSeatableSlots(Collections.singletonMap(1, slots), date, 6).get(1).contains(slot);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+            // Assert
+            assertFalse(seatableBeforeRollback);
+            assertEquals(slots, ledger.getSeatableSlots(Collections.singletonMap(1, slots), date, 6).get(1));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void reconcile_BetweenInsertAndCommitKeepsTableTaken() {
+        // Arrange: the database shows the booking only once it is committed
+        when(scheduleCache.getSchedules(anyCollection())).thenReturn(Collections.singletonMap(1, schedule));
+        when(bookingRepository.getBookedPartiesForRestaurantsAndDate(anyList(), eq(date)))
+                .thenReturn(Collections.emptyMap())
+                .thenReturn(bookedParties(1, Collections.singletonMap(6, 1)));
+        TransactionSynchronizationManager.initSynchronization();
+
+        try {
+            // Act
+            ledger.recordBooking(1, date, slot, 6, () -> 1);
+            ledger.reconcile();
+
+            // Assert: the uncommitted booking still holds the only 6-top
+            assertThrows(BookingCapacityExceededException.class, () -> ledger.recordBooking(1, date, slot, 6, () -> 2));
+            verify(bookingRepository, times(1)).getBookedPartiesForRestaurantsAndDate(anyList(), eq(date));
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Once committed the day is reconciled again
+        ledger.reconcile();
+        assertThrows(BookingCapacityExceededException.class, () -> ledger.recordBooking(1, date, slot, 6, () -> 3));
+        verify(bookingRepository, times(2)).getBookedPartiesForRestaurantsAndDate(anyList(), eq(date));
+    }
+
+    @Test
+    void recordCancellation_ReleasesTableOnlyOnCommit() {
+        // Arrange
+        givenNoBookings();
+        ledger.recordBooking(1, date, slot, 6, () -> 1);
+        Map<Integer, List<LocalTime>> candidates = Collections.singletonMap(1, Collections.singletonList(slot));
+        TransactionSynchronizationManager.initSynchronization();
+
+        try {
+            // Act
+            ledger.recordCancellation(1, date, slot, 6, () -> 1);
+            boolean seatableBeforeCommit = ledger.getSeatableSlots(candidates, date, 6).containsKey(1);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+            // Assert
+            assertFalse(seatableBeforeCommit);
+            assertEquals(candidates, ledger.getSeatableSlots(candidates, date, 6));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void recordCancellation_UnplacedPartyFreesNoTable() {
+        // Arrange
+        // Three 4-person parties confirmed before the layout shrank: the 4-top and 6-top hold two, one is unplaced
+        when(scheduleCache.getSchedules(anyCollection())).thenReturn(Collections.singletonMap(1, schedule));
+        when(bookingRepository.getBookedPartiesForRestaurantsAndDate(anyList(), eq(date)))
+                .thenReturn(bookedParties(1, Collections.singletonMap(4, 3)));
+        Map<Integer, List<LocalTime>> candidates = Collections.singletonMap(1, Collections.singletonList(slot));
+
+        // Act
+        ledger.recordCancellation(1, date, slot, 4, () -> 1);
+
+        // Assert
+        assertEquals(8, ledger.getBookedCapacities(Collections.singletonList(1), date, slots).get(1).get(slot));
+        assertTrue(ledger.getSeatableSlots(candidates, date, 3).isEmpty());
+        ledger.recordCancellation(1, date, slot, 4, () -> 1);
+        assertEquals(candidates, ledger.getSeatableSlots(candidates, date, 3));
+    }
+
+    @Test
+    void getDays_LayoutChangeDuringBookingKeepsPendingAssignment() {
+        // Arrange: the booking is not committed, so a rebuild from the database would not see it
+        AtomicReference<RestaurantSchedule> currentSchedule = new AtomicReference<>(schedule);
+        when(scheduleCache.getSchedules(anyCollection())).thenAnswer(invocation -> Collections.singletonMap(1, currentSchedule.get()));
+        when(bookingRepository.getBookedPartiesForRestaurantsAndDate(anyList(), eq(date))).thenReturn(Collections.emptyMap());
+        Map<Integer, List<LocalTime>> candidates = Collections.singletonMap(1, Collections.singletonList(slot));
+        TransactionSynchronizationManager.initSynchronization();
+
+        try {
+            // Act
+            ledger.recordBooking(1, date, slot, 6, () -> 1);
+            currentSchedule.set(RestaurantSchedule.builder().table(2, 2).table(4, 1).table(6, 1).build());
+
+            // Assert: the day is not rebuilt while the booking is in flight
+            assertTrue(ledger.getSeatableSlots(candidates, date, 6).isEmpty());
+            assertThrows(BookingCapacityExceededException.class, () -> ledger.recordBooking(1, date, slot, 6, () -> 2));
+            verify(bookingRepository, times(1)).getBookedPartiesForRestaurantsAndDate(anyList(), eq(date));
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Rebuilt with the new layout once the booking completed
+        ledger.getSeatableSlots(candidates, date, 6);
+        verify(bookingRepository, times(2)).getBookedPartiesForRestaurantsAndDate(anyList(), eq(date));
+    }
+
+    @Test
+    void getDays_EvictionDuringBookingKeepsPendingAssignment() {
+        // Arrange
+        givenNoBookings();
+        Cache<?, ?> days = (Cache<?, ?>) ReflectionTestUtils.getField(ledger, "cache");
+        Map<Integer, List<LocalTime>> candidates = Collections.singletonMap(1, Collections.singletonList(slot));
+        TransactionSynchronizationManager.initSynchronization();
+
+        try {
+            // Act
+            ledger.recordBooking(1, date, slot, 6, () -> 1);
+            days.invalidateAll();
+
+            // Assert
+            assertTrue(ledger.getSeatableSlots(candidates, date, 6).isEmpty());
+            assertThrows(BookingCapacityExceededException.class, () -> ledger.recordBooking(1, date, slot, 6, () -> 2));
+            verify(bookingRepository, times(1)).getBookedPartiesForRestaurantsAndDate(anyList(), eq(date));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void recordCancellations_ReleasesCachedTablesOnCommit() {
+        // Arrange
+        givenNoBookings();
+        ledger.recordBooking(1, date, slot, 6, () -> 1);
+        Map<Integer, List<LocalTime>> candidates = Collections.singletonMap(1, Collections.singletonList(slot));
+        List<Booking> cancelled = Arrays.asList(
+                Booking.builder().id(1).restaurantId(1).bookingDate(Date.valueOf(date)).bookingTime(Time.valueOf(slot)).partySize(6).build(),
+                Booking.builder().id(2).restaurantId(1).bookingDate(Date.valueOf(date.plusDays(1))).bookingTime(Time.valueOf(slot)).partySize(2).build());
+        TransactionSynchronizationManager.initSynchronization();
+
+        try {
+            // Act
+            List<Booking> result = ledger.recordCancellations(() -> cancelled);
+            boolean seatableBeforeCommit = ledger.getSeatableSlots(candidates, date, 6).containsKey(1);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+            // Assert: the day that was not cached is not loaded
+            assertSame(cancelled, result);
+            assertFalse(seatableBeforeCommit);
+            assertEquals(candidates, ledger.getSeatableSlots(candidates, date, 6));
+            verify(bookingRepository, never()).getBookedPartiesForRestaurantsAndDate(anyList(), eq(date.plusDays(1)));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void recordBooking_NoOverbookingUnderConcurrentRequestsForOneSlot() throws Exception {
+        // Arrange
+        int requests = 500;
+        RestaurantSchedule layout = RestaurantSchedule.builder().table(2, 10).table(4, 5).build();
+        when(scheduleCache.getSchedules(anyCollection())).thenReturn(Collections.singletonMap(1, layout));
+        when(bookingRepository.getBookedPartiesForRestaurantsAndDate(anyList(), eq(date))).thenReturn(Collections.emptyMap());
+
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger nextBookingId = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < requests; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    ledger.recordBooking(1, date, slot, 2, () -> {
+                        Thread.yield();
+                        return nextBookingId.incrementAndGet();
+                    });
+                } catch (BookingCapacityExceededException e) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Assert: one party per table, 15 tables
+        assertEquals(15, nextBookingId.get());
+        assertEquals(requests - 15, rejected.get());
+        assertEquals(30, ledger.getBookedCapacities(Collections.singletonList(1), date, slots).get(1).get(slot));
+    }
+
+    @Test
+    void reconcile_RebuildsOccupancyFromDatabase() {
+        // Arrange
+        when(scheduleCache.getSchedules(anyCollection())).thenReturn(Collections.singletonMap(1, schedule));
+        when(bookingRepository.getBookedPartiesForRestaurantsAndDate(anyList(), eq(date)))
+                .thenReturn(Collections.emptyMap())
+                .thenReturn(bookedParties(1, Collections.singletonMap(6, 1)));
+        ledger.getBookedCapacities(Collections.singletonList(1), date, slots);
+
+        // Act
+        ledger.reconcile();
+
+        // Assert
+        assertEquals(6, ledger.getBookedCapacities(Collections.singletonList(1), date, slots).get(1).get(slot));
+        assertTrue(ledger.getSeatableSlots(Collections.singletonMap(1, Collections.singletonList(slot)), date, 5).isEmpty());
+        verify(bookingRepository, times(2)).getBookedPartiesForRestaurantsAndDate(Collections.singletonList(1), date);
+    }
+
+    private void givenNoBookings() {
+        when(scheduleCache.getSchedules(anyCollection())).thenReturn(Collections.singletonMap(1, schedule));
+        when(bookingRepository.getBookedPartiesForRestaurantsAndDate(anyList(), eq(date))).thenReturn(Collections.emptyMap());
+    }
+
+    private Map<Integer, Map<LocalTime, Map<Integer, Integer>>> bookedParties(int restaurantId, Map<Integer, Integer> partiesBySize) {
+        return Collections.singletonMap(restaurantId, Collections.singletonMap(slot, partiesBySize));
+    }
+}
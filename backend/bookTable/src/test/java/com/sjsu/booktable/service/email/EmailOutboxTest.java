@@ -0,0 +1,276 @@
+package com.sjsu.booktable.service.email;
+
+import com.sjsu.booktable.model.dto.email.BulkEmailDestinationResult;
+import com.sjsu.booktable.model.dto.email.BulkEmailResult;
+import com.sjsu.booktable.model.entity.Booking;
+import com.sjsu.booktable.model.entity.EmailOutboxEntry;
+import com.sjsu.booktable.model.enums.BookingStatus;
+import com.sjsu.booktable.model.enums.EmailNotificationType;
+import com.sjsu.booktable.model.enums.EmailOutboxStatus;
+import com.sjsu.booktable.repository.BookingRepository;
+import com.sjsu.booktable.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmailOutboxTest {
+
+    @Mock
+    private EmailOutboxRepository outboxRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private EmailService emailService;
+
+    private EmailOutbox emailOutbox;
+
+    private final Booking booking = Booking.builder()
+            .id(7)
+            .restaurantName("Golden Dragon")
+            .email("diner@example.com")
+            .status(BookingStatus.CONFIRMED.getStatus())
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        emailOutbox = new EmailOutbox(outboxRepository, bookingRepository, emailService, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(emailOutbox, "workers", 2);
+        ReflectionTestUtils.setField(emailOutbox, "queueCapacity", 10);
+        ReflectionTestUtils.setField(emailOutbox, "maxAttempts", 3);
+        ReflectionTestUtils.setField(emailOutbox, "initialBackoffMs", 1000L);
+        ReflectionTestUtils.setField(emailOutbox, "maxBackoffMs", 60000L);
+        ReflectionTestUtils.setField(emailOutbox, "leaseMs", 120000L);
+        ReflectionTestUtils.setField(emailOutbox, "pollBatchSize", 100);
+        emailOutbox.init();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        emailOutbox.shutdown();
+    }
+
+    @Test
+    void enqueue_PersistsThenSendsOnWorkerThread() {
+        // Arrange
+        when(outboxRepository.insert(EmailNotificationType.BOOKING_CONFIRMATION, 7, "diner@example.com")).thenReturn(1L);
+        givenClaimedEntry(EmailNotificationType.BOOKING_CONFIRMATION, 1);
+        when(emailService.sendBookingConfirmationEmail(booking, "diner@example.com")).thenReturn(true);
+
+        // Act
+        emailOutbox.enqueue(EmailNotificationType.BOOKING_CONFIRMATION, 7, "diner@example.com");
+
+        // Assert
+        verify(outboxRepository, timeout(5000)).complete(1L, EmailOutboxStatus.SENT, null);
+    }
+
+    @Test
+    void process_FailedSendIsRetriedWithBackoff() {
+        // Arrange
+        givenClaimedEntry(EmailNotificationType.BOOKING_CANCELLATION, 1);
+        when(emailService.sendBookingCancellationEmail(booking, "diner@example.com")).thenThrow(new IllegalStateException("SES throttled"));
+        long before = System.currentTimeMillis();
+
+        // Act
+        emailOutbox.process(1L);
+
+        // Assert
+        ArgumentCaptor<Timestamp> nextAttempt = ArgumentCaptor.forClass(Timestamp.class);
+        verify(outboxRepository).scheduleRetry(eq(1L), nextAttempt.capture(), contains("SES throttled"));
+        assertTrue(nextAttempt.getValue().getTime() >= before + 1000);
+        verify(outboxRepository, never()).complete(anyLong(), any(), any());
+    }
+
+    @Test
+    void process_GivesUpAfterMaxAttempts() {
+        // Arrange
+        givenClaimedEntry(EmailNotificationType.BOOKING_CONFIRMATION, 3);
+        when(emailService.sendBookingConfirmationEmail(booking, "diner@example.com")).thenReturn(false);
+
+        // Act
+        emailOutbox.process(1L);
+
+        // Assert
+        verify(outboxRepository).complete(eq(1L), eq(EmailOutboxStatus.FAILED), anyString());
+        verify(outboxRepository, never()).scheduleRetry(anyLong(), any(), any());
+    }
+
+    @Test
+    void process_SkipsConfirmationOfCancelledBooking() {
+        // Arrange
+        booking.setStatus(BookingStatus.CANCELLED.getStatus());
+        givenClaimedEntry(EmailNotificationType.BOOKING_CONFIRMATION, 1);
+
+        // Act
+        emailOutbox.process(1L);
+
+        // Assert
+        verify(outboxRepository).complete(eq(1L), eq(EmailOutboxStatus.SKIPPED), anyString());
+        verifyNoInteractions(emailService);
+    }
+
+    @Test
+    void process_EntryClaimedElsewhereIsNotSent() {
+        // Arrange
+        when(outboxRepository.claim(eq(1L), any(), any())).thenReturn(false);
+
+        // Act
+        emailOutbox.process(1L);
+
+        // Assert
+        verify(outboxRepository, never()).findById(anyLong());
+        verifyNoInteractions(emailService);
+    }
+
+    @Test
+    void dispatchDue_SubmitsPendingEntries() {
+        // Arrange
+        when(outboxRepository.findDueIds(any(), eq(100))).thenReturn(Arrays.asList(1L, 2L));
+        when(outboxRepository.claim(anyLong(), any(), any())).thenReturn(false);
+
+        // Act
+        emailOutbox.dispatchDue();
+
+        // Assert
+        verify(outboxRepository, timeout(5000)).claim(eq(1L), any(), any());
+        verify(outboxRepository, timeout(5000)).claim(eq(2L), any(), any());
+    }
+
+    @Test
+    void enqueueCancellations_SendsInBulkOnWorkerThread() {
+        // Arrange
+        Booking other = Booking.builder().id(8).email("other@example.com").status(BookingStatus.CANCELLED.getStatus()).build();
+        List<Booking> bookings = Arrays.asList(booking, other);
+        when(outboxRepository.insertAll(EmailNotificationType.BOOKING_CANCELLATION, bookings)).thenReturn(Arrays.asList(1L, 2L));
+        when(outboxRepository.claimAll(anyString(), eq(Arrays.asList(1L, 2L)), any(), any())).thenReturn(2);
+        when(outboxRepository.findClaimed(anyString())).thenReturn(Arrays.asList(
+                cancellationEntry(1L, 7, "diner@example.com"), cancellationEntry(2L, 8, "other@example.com")));
+        when(bookingRepository.findBookingsByIds(Arrays.asList(7, 8))).thenReturn(bookings);
+        when(emailService.sendBookingCancellationEmails(bookings)).thenReturn(BulkEmailResult.builder()
+                .destinations(Arrays.asList(sent(7), sent(8)))
+                .build());
+
+        // Act
+        emailOutbox.enqueueCancellations(bookings);
+
+        // Assert
+        verify(outboxRepository, timeout(5000)).complete(1L, EmailOutboxStatus.SENT, null);
+        verify(outboxRepository, timeout(5000)).complete(2L, EmailOutboxStatus.SENT, null);
+        verify(emailService, never()).sendBookingCancellationEmail(any(), any());
+    }
+
+    @Test
+    void processBulk_FailedDestinationIsRetriedAlone() {
+        // Arrange
+        Booking other = Booking.builder().id(8).email("other@example.com").build();
+        when(outboxRepository.claimAll(anyString(), eq(Arrays.asList(1L, 2L)), any(), any())).thenReturn(2);
+        when(outboxRepository.findClaimed(anyString())).thenReturn(Arrays.asList(
+                cancellationEntry(1L, 7, "diner@example.com"), cancellationEntry(2L, 8, "other@example.com")));
+        when(bookingRepository.findBookingsByIds(Arrays.asList(7, 8))).thenReturn(Arrays.asList(booking, other));
+        when(emailService.sendBookingCancellationEmails(anyList())).thenReturn(BulkEmailResult.builder()
+                .destinations(Arrays.asList(sent(7), BulkEmailDestinationResult.builder().bookingId(8).sent(false).error("MessageRejected").build()))
+                .build());
+
+        // Act
+        emailOutbox.processBulk(Arrays.asList(1L, 2L));
+
+        // Assert
+        verify(outboxRepository).complete(1L, EmailOutboxStatus.SENT, null);
+        verify(outboxRepository).scheduleRetry(eq(2L), any(), eq("MessageRejected"));
+        verify(outboxRepository, never()).complete(eq(2L), any(), any());
+    }
+
+    @Test
+    void processBulk_SendFailureRetriesEveryEntry() {
+        // Arrange
+        when(outboxRepository.claimAll(anyString(), eq(Collections.singletonList(1L)), any(), any())).thenReturn(1);
+        when(outboxRepository.findClaimed(anyString())).thenReturn(Collections.singletonList(cancellationEntry(1L, 7, "diner@example.com")));
+        when(bookingRepository.findBookingsByIds(Collections.singletonList(7))).thenReturn(Collections.singletonList(booking));
+        when(emailService.sendBookingCancellationEmails(anyList())).thenThrow(new IllegalStateException("Interrupted"));
+
+        // Act
+        emailOutbox.processBulk(Collections.singletonList(1L));
+
+        // Assert
+        verify(outboxRepository).scheduleRetry(eq(1L), any(), contains("Interrupted"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void processBulk_ClaimsInBatchesUnderOneToken() {
+        // Arrange
+        List<Long> ids = new ArrayList<>();
+        for (long id = 1; id <= 501; id++) {
+            ids.add(id);
+        }
+        when(outboxRepository.claimAll(anyString(), anyList(), any(), any())).thenReturn(0);
+
+        // Act
+        emailOutbox.processBulk(ids);
+
+        // Assert
+        ArgumentCaptor<String> tokens = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<List<Long>> batches = ArgumentCaptor.forClass(List.class);
+        verify(outboxRepository, times(2)).claimAll(tokens.capture(), batches.capture(), any(), any());
+        assertEquals(tokens.getAllValues().get(0), tokens.getAllValues().get(1));
+        assertEquals(500, batches.getAllValues().get(0).size());
+        assertEquals(Collections.singletonList(501L), batches.getAllValues().get(1));
+        verify(outboxRepository, never()).claim(anyLong(), any(), any());
+        verify(outboxRepository, never()).findClaimed(anyString());
+        verifyNoInteractions(emailService);
+    }
+
+    @Test
+    void backoffMillis_DoublesUpToTheCap() {
+        // Act & Assert
+        assertTrue(emailOutbox.backoffMillis(1) >= 1000 && emailOutbox.backoffMillis(1) <= 1200);
+        assertTrue(emailOutbox.backoffMillis(3) >= 4000 && emailOutbox.backoffMillis(3) <= 4800);
+        assertTrue(emailOutbox.backoffMillis(40) >= 60000 && emailOutbox.backoffMillis(40) <= 72000);
+    }
+
+    private static EmailOutboxEntry cancellationEntry(long id, int bookingId, String recipient) {
+        return EmailOutboxEntry.builder()
+                .id(id)
+                .bookingId(bookingId)
+                .type(EmailNotificationType.BOOKING_CANCELLATION.getType())
+                .recipient(recipient)
+                .status(EmailOutboxStatus.PENDING.getStatus())
+                .attempts(1)
+                .build();
+    }
+
+    private static BulkEmailDestinationResult sent(int bookingId) {
+        return BulkEmailDestinationResult.builder().bookingId(bookingId).sent(true).messageId("message-" + bookingId).build();
+    }
+
+    private void givenClaimedEntry(EmailNotificationType type, int attempts) {
+        when(outboxRepository.claim(eq(1L), any(), any())).thenReturn(true);
+        when(outboxRepository.findById(1L)).thenReturn(EmailOutboxEntry.builder()
+                .id(1L)
+                .bookingId(7)
+                .type(type.getType())
+                .recipient("diner@example.com")
+                .status(EmailOutboxStatus.PENDING.getStatus())
+                .attempts(attempts)
+                .build());
+        when(bookingRepository.findBookingById(7)).thenReturn(booking);
+    }
+}
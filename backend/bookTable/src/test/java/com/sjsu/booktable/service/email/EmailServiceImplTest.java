@@ -0,0 +1,229 @@
+package com.sjsu.booktable.service.email;
+
+import com.amazonaws.services.simpleemail.AbstractAmazonSimpleEmailService;
+import com.amazonaws.services.simpleemail.model.*;
+import com.sjsu.booktable.model.dto.email.BulkEmailDestinationResult;
+import com.sjsu.booktable.model.dto.email.BulkEmailResult;
+import com.sjsu.booktable.model.entity.Booking;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EmailServiceImplTest {
+
+    @Mock
+    private EmailTemplateRenderer templateRenderer;
+
+    private LocalSes ses;
+    private EmailServiceImpl emailService;
+
+    @BeforeEach
+    void setUp() {
+        ses = new LocalSes();
+        emailService = new EmailServiceImpl(ses, templateRenderer);
+        ReflectionTestUtils.setField(emailService, "fromEmail", "noreply@booktable.test");
+        ReflectionTestUtils.setField(emailService, "bulkConcurrency", 2);
+        emailService.init();
+
+        lenient().when(templateRenderer.renderBookingCancellationSesTemplate()).thenReturn("<p>{{restaurantName}} #{{bookingId}}</p>");
+        lenient().when(templateRenderer.bookingCancellationTemplateData(any()))
+                .thenAnswer(invocation -> Map.of("bookingId", String.valueOf(invocation.<Booking>getArgument(0).getId())));
+    }
+
+    @AfterEach
+    void tearDown() {
+        emailService.shutdown();
+    }
+
+    @Test
+    void sendBookingCancellationEmails_ChunksDestinationsWithinConcurrencyLimit() {
+        // Arrange
+        List<Booking> bookings = bookings(230);
+
+        // Act
+        BulkEmailResult result = emailService.sendBookingCancellationEmails(bookings);
+
+        // Assert
+        assertEquals(List.of(50, 50, 50, 50, 30), ses.chunkSizes.stream().sorted((a, b) -> b - a).toList());
+        assertTrue(ses.maxConcurrentCalls.get() <= 2);
+        assertEquals(230, result.getSentCount());
+        assertEquals(0, result.getFailedCount());
+        for (int i = 0; i < bookings.size(); i++) {
+            BulkEmailDestinationResult destination = result.getDestinations().get(i);
+            assertEquals(bookings.get(i).getId(), destination.getBookingId());
+            assertEquals(bookings.get(i).getEmail(), destination.getRecipient());
+            assertEquals("message-" + bookings.get(i).getEmail(), destination.getMessageId());
+        }
+        assertEquals("{\"bookingId\":\"1\"}", ses.templateDataByRecipient.get("diner1@example.com"));
+    }
+
+    @Test
+    void sendBookingCancellationEmails_CreatesMissingTemplateOnce() {
+        // Act
+        emailService.sendBookingCancellationEmails(bookings(3));
+        emailService.sendBookingCancellationEmails(bookings(3));
+
+        // Assert
+        assertEquals(1, ses.createTemplateCalls.get());
+        assertEquals(1, ses.updateTemplateCalls.get());
+        Template template = ses.templates.get(EmailServiceImpl.BOOKING_CANCELLATION_SES_TEMPLATE);
+        assertEquals("Your Reservation Cancellation - {{restaurantName}}", template.getSubjectPart());
+        assertEquals("<p>{{restaurantName}} #{{bookingId}}</p>", template.getHtmlPart());
+    }
+
+    @Test
+    void sendBookingCancellationEmails_UpdatesExistingTemplate() {
+        // Arrange
+        ses.templates.put(EmailServiceImpl.BOOKING_CANCELLATION_SES_TEMPLATE, new Template().withHtmlPart("<p>old</p>"));
+
+        // Act
+        emailService.sendBookingCancellationEmails(bookings(1));
+
+        // Assert
+        assertEquals(0, ses.createTemplateCalls.get());
+        assertEquals("<p>{{restaurantName}} #{{bookingId}}</p>",
+                ses.templates.get(EmailServiceImpl.BOOKING_CANCELLATION_SES_TEMPLATE).getHtmlPart());
+    }
+
+    @Test
+    void sendBookingCancellationEmails_TracksRejectedDestinations() {
+        // Arrange
+        List<Booking> bookings = bookings(3);
+        bookings.get(1).setEmail("bounce@example.com");
+
+        // Act
+        BulkEmailResult result = emailService.sendBookingCancellationEmails(bookings);
+
+        // Assert
+        assertEquals(2, result.getSentCount());
+        assertEquals(1, result.getFailedCount());
+        BulkEmailDestinationResult rejected = result.getDestinations().get(1);
+        assertFalse(rejected.isSent());
+        assertEquals("bounce@example.com", rejected.getRecipient());
+        assertEquals("MessageRejected: Address blacklisted", rejected.getError());
+        assertTrue(result.getDestinations().get(2).isSent());
+    }
+
+    @Test
+    void sendBookingCancellationEmails_FailedCallFailsOnlyItsChunk() {
+        // Arrange
+        List<Booking> bookings = bookings(60);
+        bookings.get(55).setEmail("throttle@example.com");
+
+        // Act
+        BulkEmailResult result = emailService.sendBookingCancellationEmails(bookings);
+
+        // Assert
+        assertEquals(50, result.getSentCount());
+        assertEquals(10, result.getFailedCount());
+        assertTrue(result.getDestinations().subList(0, 50).stream().allMatch(BulkEmailDestinationResult::isSent));
+        assertTrue(result.getDestinations().subList(50, 60).stream().noneMatch(BulkEmailDestinationResult::isSent));
+        assertTrue(result.getDestinations().get(50).getError().contains("Maximum sending rate exceeded"));
+    }
+
+    @Test
+    void sendBookingCancellationEmails_TemplateFailureFailsEveryDestination() {
+        // Arrange
+        when(templateRenderer.renderBookingCancellationSesTemplate()).thenThrow(new IllegalStateException("broken template"));
+
+        // Act
+        BulkEmailResult result = emailService.sendBookingCancellationEmails(bookings(3));
+
+        // Assert
+        assertEquals(3, result.getFailedCount());
+        assertTrue(ses.chunkSizes.isEmpty());
+    }
+
+    private static List<Booking> bookings(int count) {
+        return IntStream.rangeClosed(1, count)
+                .mapToObj(id -> Booking.builder()
+                        .id(id)
+                        .restaurantName("Golden Dragon")
+                        .email("diner" + id + "@example.com")
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * In-process SES: keeps templates in memory, rejects addresses containing "bounce" and throttles any call
+     * with an address containing "throttle".
+     */
+    private static class LocalSes extends AbstractAmazonSimpleEmailService {
+
+        private final Map<String, Template> templates = new ConcurrentHashMap<>();
+        private final Map<String, String> templateDataByRecipient = new ConcurrentHashMap<>();
+        private final List<Integer> chunkSizes = new CopyOnWriteArrayList<>();
+        private final AtomicInteger createTemplateCalls = new AtomicInteger();
+        private final AtomicInteger updateTemplateCalls = new AtomicInteger();
+        private final AtomicInteger concurrentCalls = new AtomicInteger();
+        private final AtomicInteger maxConcurrentCalls = new AtomicInteger();
+
+        @Override
+        public CreateTemplateResult createTemplate(CreateTemplateRequest request) {
+            createTemplateCalls.incrementAndGet();
+            if (templates.putIfAbsent(request.getTemplate().getTemplateName(), request.getTemplate()) != null) {
+                throw new AlreadyExistsException("Template already exists");
+            }
+            return new CreateTemplateResult();
+        }
+
+        @Override
+        public UpdateTemplateResult updateTemplate(UpdateTemplateRequest request) {
+            updateTemplateCalls.incrementAndGet();
+            if (templates.replace(request.getTemplate().getTemplateName(), request.getTemplate()) == null) {
+                throw new TemplateDoesNotExistException("Template does not exist");
+            }
+            return new UpdateTemplateResult();
+        }
+
+        @Override
+        public SendBulkTemplatedEmailResult sendBulkTemplatedEmail(SendBulkTemplatedEmailRequest request) {
+            maxConcurrentCalls.accumulateAndGet(concurrentCalls.incrementAndGet(), Math::max);
+            try {
+                if (!templates.containsKey(request.getTemplate())) {
+                    throw new TemplateDoesNotExistException("Template does not exist");
+                }
+                chunkSizes.add(request.getDestinations().size());
+                Thread.sleep(20);
+
+                SendBulkTemplatedEmailResult result = new SendBulkTemplatedEmailResult();
+                for (BulkEmailDestination destination : request.getDestinations()) {
+                    String recipient = destination.getDestination().getToAddresses().get(0);
+                    if (recipient.contains("throttle")) {
+                        throw new AmazonSimpleEmailServiceException("Maximum sending rate exceeded.");
+                    }
+                    templateDataByRecipient.put(recipient, destination.getReplacementTemplateData());
+                    if (recipient.contains("bounce")) {
+                        result.withStatus(new BulkEmailDestinationStatus().withStatus("MessageRejected").withError("Address blacklisted"));
+                    } else {
+                        result.withStatus(new BulkEmailDestinationStatus().withStatus("Success").withMessageId("message-" + recipient));
+                    }
+                }
+                return result;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            } finally {
+                concurrentCalls.decrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.sjsu.booktable.service.email;
+
+import com.sjsu.booktable.model.entity.Booking;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.Year;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmailTemplateRendererTest {
+
+    private EmailTemplateRenderer renderer;
+
+    @BeforeEach
+    void setUp() {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding("UTF-8");
+        SpringTemplateEngine templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(resolver);
+
+        renderer = new EmailTemplateRenderer(templateEngine);
+        ReflectionTestUtils.setField(renderer, "appName", "BookTable");
+        ReflectionTestUtils.setField(renderer, "appBaseUrl", "https://booktable.example.com");
+        renderer.precompile();
+    }
+
+    @Test
+    void renderBookingConfirmation_FillsBookingDetails() {
+        // Act
+        String html = renderer.renderBookingConfirmation(booking(42, "Golden Dragon", 4));
+
+        // Assert
+        assertTrue(html.contains("Golden Dragon"));
+        assertTrue(html.contains("Saturday, June 14, 2025"));
+        assertTrue(html.contains("7:30 PM"));
+        assertTrue(html.contains("4 people"));
+        assertTrue(html.contains(">42<"));
+        assertTrue(html.contains(String.valueOf(Year.now().getValue())));
+    }
+
+    @Test
+    void render_ReusedStateDoesNotLeakBetweenEmails() {
+        // Act
+        renderer.renderBookingConfirmation(booking(42, "Golden Dragon", 4));
+        String cancellation = renderer.renderBookingCancellation(booking(43, "Blue Bamboo", 1));
+        String confirmation = renderer.renderBookingConfirmation(booking(44, "Sakura Grill", 2));
+
+        // Assert
+        assertTrue(cancellation.contains("Blue Bamboo"));
+        assertFalse(cancellation.contains("Golden Dragon"));
+        assertTrue(confirmation.contains("Sakura Grill"));
+        assertFalse(confirmation.contains("Golden Dragon"));
+        assertFalse(confirmation.contains("Blue Bamboo"));
+    }
+
+    @Test
+    void renderBookingCancellationSesTemplate_MatchesRenderedEmailOnceFilledIn() {
+        // Arrange
+        Booking booking = booking(43, "Blue Bamboo", 1);
+
+        // Act
+        String sesTemplate = renderer.renderBookingCancellationSesTemplate();
+        String filledIn = sesTemplate;
+        for (Map.Entry<String, String> field : renderer.bookingCancellationTemplateData(booking).entrySet()) {
+            filledIn = filledIn.replace("{{" + field.getKey() + "}}", field.getValue());
+        }
+
+        // Assert
+        assertTrue(sesTemplate.contains("{{restaurantName}}"));
+        assertEquals(renderer.renderBookingCancellation(booking), filledIn);
+    }
+
+    private static Booking booking(int id, String restaurantName, int partySize) {
+        return Booking.builder()
+                .id(id)
+                .restaurantName(restaurantName)
+                .bookingDate(Date.valueOf(LocalDate.of(2025, 6, 14)))
+                .bookingTime(Time.valueOf(LocalTime.of(19, 30)))
+                .partySize(partySize)
+                .build();
+    }
+}
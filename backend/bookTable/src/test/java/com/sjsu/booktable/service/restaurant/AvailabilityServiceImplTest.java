@@ -0,0 +1,120 @@
+package com.sjsu.booktable.service.restaurant;
+
+import com.sjsu.booktable.service.booking.BookingService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AvailabilityServiceImplTest {
+
+    @Mock
+    private RestaurantScheduleCache scheduleCache;
+
+    @Mock
+    private BookingService bookingService;
+
+    @InjectMocks
+    private AvailabilityServiceImpl availabilityService;
+
+    // 2025-05-05 is a Monday -> dayOfWeek 1
+    private final LocalDate date = LocalDate.of(2025, 5, 5);
+    private final LocalTime time = LocalTime.of(19, 0);
+
+    @Test
+    void getAvailableTimeSlots_EmptyCandidates() {
+        // Act
+        Map<Integer, List<String>> result = availabilityService.getAvailableTimeSlots(Collections.emptyList(), date, time, 2);
+
+        // Assert
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(scheduleCache, bookingService);
+    }
+
+    @Test
+    void getAvailableTimeSlots_LoadsWholeCandidateSetInBulk() {
+        // Arrange
+        List<Integer> ids = Arrays.asList(1, 2, 3);
+        Map<Integer, RestaurantSchedule> schedules = new HashMap<>();
+        schedules.put(1, RestaurantSchedule.builder()
+                .hours(1, LocalTime.of(11, 0), LocalTime.of(22, 0))
+                .slot(1, LocalTime.of(19, 30))
+                .slot(1, LocalTime.of(17, 0))
+                .slot(1, LocalTime.of(19, 0))
+                .slot(1, LocalTime.of(18, 30))
+                .table(4, 2)
+                .build());
+        schedules.put(2, RestaurantSchedule.builder()
+                .hours(1, LocalTime.of(11, 0), LocalTime.of(22, 0))
+                .slot(1, LocalTime.of(19, 0))
+                .table(2, 2)
+                .build());
+        schedules.put(3, RestaurantSchedule.builder()
+                .hours(1, LocalTime.of(8, 0), LocalTime.of(15, 0))
+                .slot(1, LocalTime.of(12, 0))
+                .table(4, 5)
+                .build());
+        when(scheduleCache.getSchedules(ids)).thenReturn(schedules);
+
+        when(bookingService.getSeatableTimeSlots(anyMap(), eq(date), eq(4)))
+                .thenReturn(Collections.singletonMap(1, Arrays.asList(LocalTime.of(18, 30), LocalTime.of(19, 30))));
+
+        // Act
+        Map<Integer, List<String>> result = availabilityService.getAvailableTimeSlots(ids, date, time, 4);
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals(Arrays.asList("18:30", "19:30"), result.get(1));
+        verify(scheduleCache, times(1)).getSchedules(ids);
+        // Restaurant 2 has no table for 4 and restaurant 3 is closed, only restaurant 1 is checked for free tables
+        verify(bookingService).getSeatableTimeSlots(
+                eq(Collections.singletonMap(1, Arrays.asList(LocalTime.of(18, 30), LocalTime.of(19, 0), LocalTime.of(19, 30)))),
+                eq(date), eq(4));
+    }
+
+    @Test
+    void getAvailableTimeSlots_MissingHoursTreatedAsClosed() {
+        // Arrange
+        RestaurantSchedule noHours = RestaurantSchedule.builder()
+                .slot(1, LocalTime.of(19, 0))
+                .table(4, 2)
+                .build();
+        when(scheduleCache.getSchedules(anyList())).thenReturn(Collections.singletonMap(1, noHours));
+
+        // Act
+        Map<Integer, List<String>> result = availabilityService.getAvailableTimeSlots(Collections.singletonList(1), date, time, 2);
+
+        // Assert
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(bookingService);
+    }
+
+    @Test
+    void getAvailableTimeSlots_OverMidnightHours() {
+        // Arrange
+        RestaurantSchedule lateSchedule = RestaurantSchedule.builder()
+                .hours(1, LocalTime.of(18, 0), LocalTime.of(2, 0))
+                .slot(1, LocalTime.of(23, 0))
+                .table(6, 1)
+                .build();
+        when(scheduleCache.getSchedules(anyList())).thenReturn(Collections.singletonMap(1, lateSchedule));
+        when(bookingService.getSeatableTimeSlots(anyMap(), any(), anyInt()))
+                .thenReturn(Collections.singletonMap(1, Collections.singletonList(LocalTime.of(23, 0))));
+
+        // Act
+        Map<Integer, List<String>> result = availabilityService.getAvailableTimeSlots(Collections.singletonList(1), date, LocalTime.of(23, 0), 2);
+
+        // Assert
+        assertEquals(Collections.singletonList("23:00"), result.get(1));
+    }
+}
@@ -0,0 +1,177 @@
+package com.sjsu.booktable.service.restaurant;
+
+import com.google.maps.GeoApiContext;
+import com.sjsu.booktable.exception.restaurant.GeocodingException;
+import com.sjsu.booktable.repository.GeocodeCacheRepository;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs GoogleMapsService against a local HTTP server answering the Geocoding API, so the real
+ * GeoApiContext request and response handling is exercised.
+ */
+@ExtendWith(MockitoExtension.class)
+class GoogleMapsServiceTest {
+
+    private static final String OK_RESPONSE = "{\"status\":\"OK\",\"results\":[{\"geometry\":{\"location\":{\"lat\":37.3382,\"lng\":-121.8863}}}]}";
+    private static final String ZERO_RESULTS_RESPONSE = "{\"status\":\"ZERO_RESULTS\",\"results\":[]}";
+
+    @Mock
+    private GeocodeCacheRepository geocodeCacheRepository;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private GeoApiContext geoApiContext;
+    private GoogleMapsService googleMapsService;
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private volatile long responseDelayMs;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.start();
+        geoApiContext = new GeoApiContext.Builder()
+                .apiKey("AIzaLocalTestKey")
+                .baseUrlOverride("http://127.0.0.1:" + server.getAddress().getPort())
+                .maxRetries(0)
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        googleMapsService.shutdown();
+        geoApiContext.shutdown();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void geocode_SameAddressDifferentlyFormatted_CallsApiOnce() {
+        // Arrange
+        createService(2);
+
+        // Act
+        double[] first = googleMapsService.geocode("123 Test St., San Jose, CA 95112, USA");
+        double[] second = googleMapsService.geocode("  123 test st ,san jose,  CA 95112 , usa");
+
+        // Assert
+        assertArrayEquals(new double[]{-121.8863, 37.3382}, first);
+        assertArrayEquals(first, second);
+        assertNotSame(first, second);
+        assertEquals(1, requests.get());
+        verify(geocodeCacheRepository).save("123 test st, san jose, ca 95112, usa", -121.8863, 37.3382);
+    }
+
+    @Test
+    void geocode_StoredAddress_SkipsApi() {
+        // Arrange
+        createService(2);
+        when(geocodeCacheRepository.findByAddressKey("1 main st, san jose, ca 95112, usa"))
+                .thenReturn(new double[]{-121.9, 37.3});
+
+        // Act
+        double[] coords = googleMapsService.geocode("1 Main St, San Jose, CA 95112, USA");
+
+        // Assert
+        assertArrayEquals(new double[]{-121.9, 37.3}, coords);
+        assertEquals(0, requests.get());
+        verify(geocodeCacheRepository, never()).save(anyString(), anyDouble(), anyDouble());
+    }
+
+    @Test
+    void geocode_NoResults_ThrowsAndIsNotCached() {
+        // Arrange
+        createService(2);
+
+        // Act & Assert
+        assertThrows(GeocodingException.class, () -> googleMapsService.geocode("Nowhere, CA"));
+        assertThrows(GeocodingException.class, () -> googleMapsService.geocode("Nowhere, CA"));
+        assertEquals(2, requests.get());
+        verify(geocodeCacheRepository, never()).save(anyString(), anyDouble(), anyDouble());
+    }
+
+    @Test
+    void geocodeAll_BoundsConcurrencyAndSkipsFailures() {
+        // Arrange
+        createService(3);
+        responseDelayMs = 50;
+        List<String> addresses = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            addresses.add(i + " Market St, San Jose, CA 95113, USA");
+        }
+        addresses.add("0 market st, san jose, ca 95113, usa"); // same place as the first one
+        addresses.add("Nowhere, CA");
+        when(geocodeCacheRepository.findByAddressKeys(anyList()))
+                .thenReturn(Map.of("11 market st, san jose, ca 95113, usa", new double[]{-121.0, 37.0}));
+
+        // Act
+        Map<String, double[]> coords = googleMapsService.geocodeAll(addresses);
+
+        // Assert
+        assertEquals(13, coords.size());
+        assertFalse(coords.containsKey("Nowhere, CA"));
+        assertArrayEquals(new double[]{-121.0, 37.0}, coords.get("11 Market St, San Jose, CA 95113, USA"));
+        assertArrayEquals(new double[]{-121.8863, 37.3382}, coords.get("0 market st, san jose, ca 95113, usa"));
+        assertEquals(12, requests.get()); // 11 new addresses and the failing one
+        assertTrue(maxInFlight.get() <= 3, "at most 3 requests in flight, saw " + maxInFlight.get());
+    }
+
+    private void createService(int bulkConcurrency) {
+        googleMapsService = new GoogleMapsService(geoApiContext, geocodeCacheRepository, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(googleMapsService, "cacheMaxSize", 100L);
+        ReflectionTestUtils.setField(googleMapsService, "bulkConcurrency", bulkConcurrency);
+        googleMapsService.init();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try {
+            if (responseDelayMs > 0) {
+                Thread.sleep(responseDelayMs);
+            }
+            String query = URLDecoder.decode(exchange.getRequestURI().getRawQuery(), StandardCharsets.UTF_8);
+            byte[] body = (query.contains("Nowhere") ? ZERO_RESULTS_RESPONSE : OK_RESPONSE).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.sjsu.booktable.service.restaurant;
+
+import com.sjsu.booktable.model.entity.Photo;
+import com.sjsu.booktable.repository.PhotosRepository;
+import com.sjsu.booktable.service.s3.ObjectStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PhotoDerivativeServiceTest {
+
+    private static final String KEY = "restaurants/main/abc-photo.png";
+    private static final String THUMBNAIL_KEY = "restaurants/main/abc-photo_thumb.jpg";
+    private static final String MEDIUM_KEY = "restaurants/main/abc-photo_medium.jpg";
+
+    @Mock
+    private ObjectStore objectStore;
+
+    @Mock
+    private PhotosRepository photosRepository;
+
+    @Mock
+    private RestaurantDetailsCache detailsCache;
+
+    private PhotoDerivativeService derivativeService;
+
+    @BeforeEach
+    void setUp() {
+        derivativeService = new PhotoDerivativeService(objectStore, photosRepository, detailsCache, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(derivativeService, "workers", 1);
+        ReflectionTestUtils.setField(derivativeService, "queueCapacity", 10);
+        ReflectionTestUtils.setField(derivativeService, "sweepWindowHours", 24L);
+        ReflectionTestUtils.setField(derivativeService, "sweepBatchSize", 100);
+        derivativeService.init();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        derivativeService.shutdown();
+    }
+
+    @Test
+    void process_StoresScaledJpegRenditionsAndRecordsThem() throws IOException {
+        // Arrange
+        when(objectStore.getObject(KEY)).thenReturn(new ByteArrayInputStream(png(4000, 2000)));
+
+        // Act
+        derivativeService.process(7, KEY);
+
+        // Assert
+        ArgumentCaptor<byte[]> medium = ArgumentCaptor.forClass(byte[].class);
+        ArgumentCaptor<byte[]> thumbnail = ArgumentCaptor.forClass(byte[].class);
+        verify(objectStore).putObject(eq(MEDIUM_KEY), medium.capture(), eq("image/jpeg"));
+        verify(objectStore).putObject(eq(THUMBNAIL_KEY), thumbnail.capture(), eq("image/jpeg"));
+        BufferedImage mediumImage = ImageIO.read(new ByteArrayInputStream(medium.getValue()));
+        BufferedImage thumbnailImage = ImageIO.read(new ByteArrayInputStream(thumbnail.getValue()));
+        assertEquals(1024, mediumImage.getWidth());
+        assertEquals(512, mediumImage.getHeight());
+        assertEquals(320, thumbnailImage.getWidth());
+        assertEquals(160, thumbnailImage.getHeight());
+        verify(photosRepository).updateDerivativeKeys(KEY, THUMBNAIL_KEY, MEDIUM_KEY);
+        verify(detailsCache).invalidate(7);
+    }
+
+    @Test
+    void process_SmallImageIsNotUpscaled() throws IOException {
+        // Arrange
+        when(objectStore.getObject(KEY)).thenReturn(new ByteArrayInputStream(png(200, 300)));
+
+        // Act
+        derivativeService.process(7, KEY);
+
+        // Assert
+        ArgumentCaptor<byte[]> medium = ArgumentCaptor.forClass(byte[].class);
+        verify(objectStore).putObject(eq(MEDIUM_KEY), medium.capture(), anyString());
+        BufferedImage mediumImage = ImageIO.read(new ByteArrayInputStream(medium.getValue()));
+        assertEquals(200, mediumImage.getWidth());
+        assertEquals(300, mediumImage.getHeight());
+    }
+
+    @Test
+    void process_UnreadableImageRecordsOriginalForEverySize() throws IOException {
+        // Arrange
+        when(objectStore.getObject(KEY)).thenReturn(new ByteArrayInputStream("not an image".getBytes(StandardCharsets.UTF_8)));
+
+        // Act
+        derivativeService.process(7, KEY);
+
+        // Assert
+        verify(objectStore, never()).putObject(anyString(), any(), anyString());
+        verify(photosRepository).updateDerivativeKeys(KEY, KEY, KEY);
+        verify(detailsCache).invalidate(7);
+    }
+
+    @Test
+    void process_ReadFailureLeavesPhotoForTheSweep() throws IOException {
+        // Arrange
+        when(objectStore.getObject(KEY)).thenThrow(new IOException("connection reset"));
+
+        // Act
+        derivativeService.process(7, KEY);
+
+        // Assert
+        verifyNoInteractions(photosRepository, detailsCache);
+    }
+
+    @Test
+    void generateAfterCommit_WithoutTransactionGeneratesOnWorkerThread() throws IOException {
+        // Arrange
+        when(objectStore.getObject(KEY)).thenReturn(new ByteArrayInputStream(png(800, 600)));
+
+        // Act
+        derivativeService.generateAfterCommit(7, Arrays.asList(KEY, null, " "));
+
+        // Assert
+        verify(photosRepository, timeout(5000)).updateDerivativeKeys(KEY, THUMBNAIL_KEY, MEDIUM_KEY);
+        verify(objectStore).getObject(KEY);
+    }
+
+    @Test
+    void generateMissing_SubmitsPhotosWithoutRenditions() throws IOException {
+        // Arrange
+        Photo photo = Photo.builder().restaurantId(3).s3URL(KEY).build();
+        when(photosRepository.findPhotosWithoutDerivatives(any(), eq(100))).thenReturn(Collections.singletonList(photo));
+        when(objectStore.getObject(KEY)).thenReturn(new ByteArrayInputStream(png(800, 600)));
+
+        // Act
+        derivativeService.generateMissing();
+
+        // Assert
+        verify(photosRepository, timeout(5000)).updateDerivativeKeys(KEY, THUMBNAIL_KEY, MEDIUM_KEY);
+        verify(detailsCache, timeout(5000)).invalidate(3);
+    }
+
+    @Test
+    void withDerivativeKeys_AddsRenditionsOfEveryOriginal() {
+        // Act
+        List<String> keys = PhotoDerivativeService.withDerivativeKeys(Arrays.asList(KEY, "restaurants/additional/no-extension"));
+
+        // Assert
+        assertEquals(Arrays.asList(KEY, THUMBNAIL_KEY, MEDIUM_KEY, "restaurants/additional/no-extension",
+                "restaurants/additional/no-extension_thumb.jpg", "restaurants/additional/no-extension_medium.jpg"), keys);
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.ORANGE);
+        graphics.fillRect(0, 0, width / 2, height);
+        graphics.dispose();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
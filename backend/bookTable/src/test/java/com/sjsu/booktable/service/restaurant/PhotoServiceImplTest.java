@@ -10,7 +10,10 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.List;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -45,4 +48,22 @@ class PhotoServiceImplTest {
         verify(photosRepository).insertPhoto(eq(photo));
     }
 
+    @Test
+    void addPhotos_InsertsInOneBatch() {
+        // Arrange
+        List<Photo> photos = Arrays.asList(photo, Photo.builder()
+                .restaurantId(1)
+                .s3URL("https://example.com/photo-2.jpg")
+                .description("Test photo")
+                .uploadedAt(photo.getUploadedAt())
+                .build());
+
+        // Act
+        photoService.addPhotos(photos);
+
+        // Assert
+        verify(photosRepository).batchInsertPhotos(eq(photos));
+        verify(photosRepository, never()).insertPhoto(any());
+    }
+
 } 
\ No newline at end of file
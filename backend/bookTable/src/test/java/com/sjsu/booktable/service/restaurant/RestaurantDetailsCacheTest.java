@@ -0,0 +1,84 @@
+package com.sjsu.booktable.service.restaurant;
+
+import com.sjsu.booktable.model.dto.restaurant.RestaurantDetailsResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RestaurantDetailsCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RestaurantDetailsCache detailsCache;
+
+    private final AtomicInteger assemblies = new AtomicInteger();
+    private final IntFunction<RestaurantDetailsResponse> loader = id -> {
+        assemblies.incrementAndGet();
+        return RestaurantDetailsResponse.builder().id(id).name("Restaurant " + id).build();
+    };
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        detailsCache = new RestaurantDetailsCache(meterRegistry);
+        ReflectionTestUtils.setField(detailsCache, "maxSize", 100L);
+        ReflectionTestUtils.setField(detailsCache, "bookingCountTtlSeconds", 30L);
+        detailsCache.init();
+    }
+
+    @Test
+    void getDetails_AssemblesOnceAndReportsHitRatioAndLatency() {
+        // Act
+        RestaurantDetailsResponse first = detailsCache.getDetails(1, loader);
+        RestaurantDetailsResponse second = detailsCache.getDetails(1, loader);
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(1, assemblies.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "restaurantDetails").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "restaurantDetails").tag("result", "miss").functionCounter().count());
+        assertEquals(1, meterRegistry.get("restaurant.details.assembly").timer().count());
+    }
+
+    @Test
+    void getDetails_MissingRestaurantIsNotCached() {
+        // Act
+        RestaurantDetailsResponse first = detailsCache.getDetails(1, id -> null);
+        RestaurantDetailsResponse second = detailsCache.getDetails(1, loader);
+
+        // Assert
+        assertNull(first);
+        assertEquals("Restaurant 1", second.getName());
+    }
+
+    @Test
+    void invalidate_ReassemblesOnNextAccess() {
+        // Arrange
+        detailsCache.getDetails(1, loader);
+        detailsCache.getDetails(2, loader);
+
+        // Act
+        detailsCache.invalidate(1);
+        detailsCache.getDetails(1, loader);
+        detailsCache.getDetails(2, loader);
+
+        // Assert
+        assertEquals(3, assemblies.get());
+    }
+
+    @Test
+    void getBookingCount_CachedWithinTtl() {
+        // Act
+        int first = detailsCache.getBookingCount(1, () -> 4);
+        int second = detailsCache.getBookingCount(1, () -> 5);
+
+        // Assert
+        assertEquals(4, first);
+        assertEquals(4, second);
+    }
+}
@@ -0,0 +1,201 @@
+package com.sjsu.booktable.service.restaurant;
+
+import com.sjsu.booktable.model.dto.restaurantSearch.RestaurantLocation;
+import com.sjsu.booktable.repository.RestaurantRepository;
+import com.sjsu.booktable.service.restaurant.RestaurantGeoIndex.GeoHits;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RestaurantGeoIndexTest {
+
+    @Mock
+    private RestaurantRepository restaurantRepository;
+
+    private RestaurantGeoIndex geoIndex;
+
+    // Downtown San Jose
+    private final double longitude = -121.8863;
+    private final double latitude = 37.3382;
+
+    @BeforeEach
+    void setUp() {
+        geoIndex = new RestaurantGeoIndex(restaurantRepository);
+    }
+
+    @Test
+    void findWithin_ReturnsRestaurantsInsideRadiusNearestFirst() {
+        // Arrange: roughly 5.5 km, 1.1 km and 55 km north of the user
+        when(restaurantRepository.findSearchableLocations()).thenReturn(Arrays.asList(
+                location(1, longitude, latitude + 0.05),
+                location(2, longitude, latitude + 0.01),
+                location(3, longitude, latitude + 0.5)));
+
+        // Act
+        GeoHits hits = geoIndex.findWithin(longitude, latitude, 15000);
+
+        // Assert
+        assertArrayEquals(new int[]{2, 1}, hits.ids());
+        assertEquals(1112, hits.distances()[0], 1);
+        assertEquals(5560, hits.distances()[1], 1);
+    }
+
+    @Test
+    void findWithin_LoadsIndexOnce() {
+        // Arrange
+        when(restaurantRepository.findSearchableLocations())
+                .thenReturn(Collections.singletonList(location(1, longitude, latitude)));
+
+        // Act
+        geoIndex.findWithin(longitude, latitude, 1000);
+        geoIndex.findWithin(longitude, latitude, 5000);
+
+        // Assert
+        assertEquals(1, geoIndex.size());
+        verify(restaurantRepository, times(1)).findSearchableLocations();
+    }
+
+    @Test
+    void findWithin_CrossesAntimeridian() {
+        // Arrange
+        when(restaurantRepository.findSearchableLocations()).thenReturn(Arrays.asList(
+                location(1, 179.99, 0),
+                location(2, -179.99, 0),
+                location(3, 170, 0)));
+
+        // Act
+        GeoHits hits = geoIndex.findWithin(179.995, 0, 5000);
+
+        // Assert
+        assertArrayEquals(new int[]{1, 2}, hits.ids());
+    }
+
+    @Test
+    void findWithin_InvalidCoordinates() {
+        // Act
+        GeoHits hits = geoIndex.findWithin(1000, 1000, 15000);
+
+        // Assert
+        assertEquals(0, hits.size());
+        verifyNoInteractions(restaurantRepository);
+    }
+
+    @Test
+    void findWithin_MatchesFullScan() {
+        // Arrange
+        Random random = new Random(42);
+        List<RestaurantLocation> locations = new ArrayList<>();
+        for (int id = 1; id <= 5000; id++) {
+            locations.add(location(id, longitude + (random.nextDouble() - 0.5), latitude + (random.nextDouble() - 0.5)));
+        }
+        when(restaurantRepository.findSearchableLocations()).thenReturn(locations);
+
+        List<Integer> expected = new ArrayList<>();
+        locations.stream()
+                .filter(l -> RestaurantGeoIndex.distanceMeters(longitude, latitude, l.getLongitude(), l.getLatitude()) <= 15000)
+                .sorted(Comparator.comparingDouble(l -> RestaurantGeoIndex.distanceMeters(longitude, latitude, l.getLongitude(), l.getLatitude())))
+                .forEach(l -> expected.add(l.getId()));
+
+        // Act
+        GeoHits hits = geoIndex.findWithin(longitude, latitude, 15000);
+
+        // Assert
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, hits.idList());
+    }
+
+    @Test
+    void putAndRemove_UpdateIndex() {
+        // Arrange
+        when(restaurantRepository.findSearchableLocations()).thenReturn(Collections.emptyList());
+        assertEquals(0, geoIndex.findWithin(longitude, latitude, 15000).size());
+
+        // Act & Assert
+        geoIndex.put(7, longitude, latitude);
+        assertArrayEquals(new int[]{7}, geoIndex.findWithin(longitude, latitude, 15000).ids());
+
+        geoIndex.put(7, longitude + 1, latitude);
+        assertEquals(0, geoIndex.findWithin(longitude, latitude, 15000).size());
+        assertEquals(1, geoIndex.size());
+
+        geoIndex.remove(7);
+        assertEquals(0, geoIndex.findWithin(longitude + 1, latitude, 15000).size());
+        assertEquals(0, geoIndex.size());
+    }
+
+    @Test
+    void putAndRemove_MatchFullScanAfterManyChanges() {
+        // Arrange
+        Random random = new Random(7);
+        Map<Integer, RestaurantLocation> expected = new HashMap<>();
+        for (int id = 1; id <= 2000; id++) {
+            expected.put(id, location(id, longitude + (random.nextDouble() - 0.5), latitude + (random.nextDouble() - 0.5)));
+        }
+        when(restaurantRepository.findSearchableLocations()).thenReturn(new ArrayList<>(expected.values()));
+        geoIndex.findWithin(longitude, latitude, 15000);
+
+        // Act: moves within and across cells, additions and removals
+        for (int i = 0; i < 1000; i++) {
+            int id = 1 + random.nextInt(2500);
+            if (random.nextInt(5) == 0) {
+                geoIndex.remove(id);
+                expected.remove(id);
+            } else {
+                RestaurantLocation current = expected.get(id);
+                double spread = random.nextBoolean() ? 0.001 : 0.5;
+                double lng = (current == null ? longitude : current.getLongitude()) + (random.nextDouble() - 0.5) * spread;
+                double lat = (current == null ? latitude : current.getLatitude()) + (random.nextDouble() - 0.5) * spread;
+                geoIndex.put(id, lng, lat);
+                expected.put(id, location(id, lng, lat));
+            }
+        }
+
+        // Assert
+        List<Integer> inRadius = new ArrayList<>();
+        expected.values().stream()
+                .filter(l -> RestaurantGeoIndex.distanceMeters(longitude, latitude, l.getLongitude(), l.getLatitude()) <= 15000)
+                .sorted(Comparator.comparingDouble(l -> RestaurantGeoIndex.distanceMeters(longitude, latitude, l.getLongitude(), l.getLatitude())))
+                .forEach(l -> inRadius.add(l.getId()));
+        assertEquals(expected.size(), geoIndex.size());
+        assertEquals(inRadius, geoIndex.findWithin(longitude, latitude, 15000).idList());
+    }
+
+    @Test
+    void rebuild_PutDuringReadIsNotBlockedAndIsKept() throws Exception {
+        // Arrange
+        ExecutorService writer = Executors.newSingleThreadExecutor();
+        try {
+            when(restaurantRepository.findSearchableLocations())
+                    .thenReturn(Collections.singletonList(location(1, longitude, latitude)))
+                    .thenAnswer(invocation -> {
+                        // Committed while the rows are read, which do not contain it yet
+                        writer.submit(() -> geoIndex.put(2, longitude, latitude + 0.01)).get(5, TimeUnit.SECONDS);
+                        return Collections.singletonList(location(1, longitude, latitude));
+                    });
+            geoIndex.findWithin(longitude, latitude, 15000);
+
+            // Act
+            geoIndex.rebuild();
+
+            // Assert
+            assertArrayEquals(new int[]{1, 2}, geoIndex.findWithin(longitude, latitude, 15000).ids());
+        } finally {
+            writer.shutdownNow();
+        }
+    }
+
+    private RestaurantLocation location(int id, double lng, double lat) {
+        return RestaurantLocation.builder().id(id).longitude(lng).latitude(lat).build();
+    }
+}
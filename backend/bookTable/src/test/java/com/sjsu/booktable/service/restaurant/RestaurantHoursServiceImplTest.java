@@ -26,6 +26,9 @@ class RestaurantHoursServiceImplTest {
     @Mock
     private RestaurantHoursRepository restaurantHoursRepository;
 
+    @Mock
+    private RestaurantScheduleCache scheduleCache;
+
     @InjectMocks
     private RestaurantHoursServiceImpl restaurantHoursService;
 
@@ -78,13 +81,16 @@ class RestaurantHoursServiceImplTest {
         // Assert
         verify(restaurantHoursRepository).deleteByRestaurantId(1);
         verify(restaurantHoursRepository).insertHours(1, hours);
+        verify(scheduleCache).invalidate(1);
     }
 
     @Test
     void getHoursForRestaurantAndDay_Success() {
         // Arrange
-        when(restaurantHoursRepository.getHoursByRestaurantAndDay(anyInt(), anyInt()))
-                .thenReturn(restaurantHours);
+        RestaurantSchedule schedule = RestaurantSchedule.builder()
+                .hours(1, LocalTime.of(11, 0), LocalTime.of(22, 0))
+                .build();
+        when(scheduleCache.getSchedule(anyInt())).thenReturn(schedule);
 
         // Act
         HoursDto result = restaurantHoursService.getHoursForRestaurantAndDay(1, 1);
@@ -99,8 +105,7 @@ class RestaurantHoursServiceImplTest {
     @Test
     void getHoursForRestaurantAndDay_NotFound() {
         // Arrange
-        when(restaurantHoursRepository.getHoursByRestaurantAndDay(anyInt(), anyInt()))
-                .thenReturn(null);
+        when(scheduleCache.getSchedule(anyInt())).thenReturn(RestaurantSchedule.builder().build());
 
         // Act & Assert
         RestaurantException exception = assertThrows(RestaurantException.class,
@@ -108,4 +113,4 @@ class RestaurantHoursServiceImplTest {
 
         assertEquals("Restaurant hours not found for the given restaurant and day", exception.getMessage());
     }
-} 
\ No newline at end of file
+}
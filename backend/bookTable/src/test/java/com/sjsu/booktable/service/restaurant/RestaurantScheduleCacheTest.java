@@ -0,0 +1,103 @@
+package com.sjsu.booktable.service.restaurant;
+
+import com.sjsu.booktable.model.entity.RestaurantHours;
+import com.sjsu.booktable.model.entity.TableEntity;
+import com.sjsu.booktable.model.entity.TimeSlot;
+import com.sjsu.booktable.repository.RestaurantHoursRepository;
+import com.sjsu.booktable.repository.TableRepository;
+import com.sjsu.booktable.repository.TimeSlotRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Time;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RestaurantScheduleCacheTest {
+
+    @Mock
+    private RestaurantHoursRepository restaurantHoursRepository;
+
+    @Mock
+    private TimeSlotRepository timeSlotRepository;
+
+    @Mock
+    private TableRepository tableRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RestaurantScheduleCache scheduleCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        scheduleCache = new RestaurantScheduleCache(restaurantHoursRepository, timeSlotRepository, tableRepository, meterRegistry);
+        ReflectionTestUtils.setField(scheduleCache, "maxSize", 100L);
+        scheduleCache.init();
+    }
+
+    @Test
+    void getSchedules_LoadsMissingRestaurantsInBulkAndCachesThem() {
+        // Arrange
+        RestaurantHours hours = RestaurantHours.builder()
+                .restaurantId(1)
+                .dayOfWeek(1)
+                .openTime(Time.valueOf(LocalTime.of(11, 0)))
+                .closeTime(Time.valueOf(LocalTime.of(22, 0)))
+                .build();
+        TimeSlot slot = TimeSlot.builder().restaurantId(1).dayOfWeek(1).slotTime(Time.valueOf(LocalTime.of(19, 0))).build();
+        when(restaurantHoursRepository.getHoursByRestaurantIds(anyList())).thenReturn(Collections.singletonList(hours));
+        when(timeSlotRepository.getTimeSlotsByRestaurantIds(anyList())).thenReturn(Collections.singletonList(slot));
+        TableEntity tables = TableEntity.builder().restaurantId(1).size(4).quantity(3).build();
+        when(tableRepository.getTableConfigurationsForRestaurants(anyList())).thenReturn(Collections.singletonList(tables));
+
+        // Act
+        Map<Integer, RestaurantSchedule> first = scheduleCache.getSchedules(Arrays.asList(1, 2));
+        Map<Integer, RestaurantSchedule> second = scheduleCache.getSchedules(Arrays.asList(1, 2));
+
+        // Assert
+        RestaurantSchedule schedule = first.get(1);
+        assertTrue(schedule.isOpenAt(1, LocalTime.of(19, 0)));
+        assertArrayEquals(new short[]{19 * 60}, schedule.getSlotMinutes(1));
+        assertEquals(12, schedule.getCapacity());
+        assertArrayEquals(new int[]{4}, schedule.getTableSizes());
+        assertArrayEquals(new int[]{3}, schedule.getTableCounts());
+        assertFalse(first.get(2).hasHours(1));
+        assertEquals(0, first.get(2).getCapacity());
+        assertSame(schedule, second.get(1));
+
+        verify(restaurantHoursRepository, times(1)).getHoursByRestaurantIds(anyList());
+        verify(timeSlotRepository, times(1)).getTimeSlotsByRestaurantIds(anyList());
+        verify(tableRepository, times(1)).getTableConfigurationsForRestaurants(anyList());
+        assertEquals(2.0, meterRegistry.get("cache.gets").tag("cache", "restaurantSchedule").tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void invalidate_ReloadsScheduleOnNextAccess() {
+        // Arrange
+        when(tableRepository.getTableConfigurationsForRestaurants(anyList()))
+                .thenReturn(Collections.singletonList(TableEntity.builder().restaurantId(1).size(4).quantity(1).build()))
+                .thenReturn(Collections.singletonList(TableEntity.builder().restaurantId(1).size(4).quantity(2).build()));
+
+        // Act
+        int before = scheduleCache.getSchedule(1).getCapacity();
+        scheduleCache.invalidate(1);
+        int after = scheduleCache.getSchedule(1).getCapacity();
+
+        // Assert
+        assertEquals(4, before);
+        assertEquals(8, after);
+        verify(tableRepository, times(2)).getTableConfigurationsForRestaurants(Collections.singletonList(1));
+    }
+}
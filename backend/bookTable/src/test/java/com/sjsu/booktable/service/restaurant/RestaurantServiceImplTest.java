@@ -6,12 +6,16 @@ import com.sjsu.booktable.model.dto.restaurant.*;
 import com.sjsu.booktable.model.dto.restaurantSearch.RestaurantSearchDetails;
 import com.sjsu.booktable.model.dto.restaurantSearch.RestaurantSearchRequest;
 import com.sjsu.booktable.model.dto.restaurantSearch.RestaurantSearchResponse;
+import com.sjsu.booktable.model.dto.review.RatingSummaryDto;
+import com.sjsu.booktable.model.dto.review.ReviewDto;
+import com.sjsu.booktable.model.dto.review.ReviewPageDto;
 import com.sjsu.booktable.model.entity.Photo;
 import com.sjsu.booktable.model.entity.Restaurant;
 import com.sjsu.booktable.repository.RestaurantRepository;
 import com.sjsu.booktable.service.booking.BookingService;
+import com.sjsu.booktable.service.restaurant.RestaurantGeoIndex.GeoHits;
 import com.sjsu.booktable.service.review.ReviewService;
-import com.sjsu.booktable.service.s3.S3Service;
+import com.sjsu.booktable.service.s3.ObjectCleanupQueue;
 import com.sjsu.booktable.validator.RestaurantValidator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -19,11 +23,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.geo.Point;
 import org.springframework.http.HttpStatus;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.*;
+import java.util.function.IntFunction;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -58,11 +64,26 @@ class RestaurantServiceImplTest {
     private GoogleMapsService googleMapsService;
 
     @Mock
-    private S3Service s3Service;
+    private ObjectCleanupQueue objectCleanupQueue;
 
     @Mock
     private PhotoService photoService;
 
+    @Mock
+    private AvailabilityService availabilityService;
+
+    @Mock
+    private RestaurantGeoIndex geoIndex;
+
+    @Mock
+    private RestaurantTextIndex textIndex;
+
+    @Mock
+    private RestaurantDetailsCache detailsCache;
+
+    @Mock
+    private PhotoDerivativeService photoDerivativeService;
+
     @InjectMocks
     private RestaurantServiceImpl restaurantService;
 
@@ -161,7 +182,7 @@ class RestaurantServiceImplTest {
         doNothing().when(tableService).addTables(anyInt(), any());
         doNothing().when(restaurantHoursService).addHours(anyInt(), any());
         doNothing().when(timeSlotService).addTimeSlots(anyInt(), any());
-        doNothing().when(photoService).addPhoto(any());
+        doNothing().when(photoService).addPhotos(anyList());
 
         // Act
         RestaurantResponse response = restaurantService.addRestaurant(restaurantRequest, "1");
@@ -178,7 +199,10 @@ class RestaurantServiceImplTest {
         verify(tableService).addTables(anyInt(), any());
         verify(restaurantHoursService).addHours(anyInt(), any());
         verify(timeSlotService).addTimeSlots(anyInt(), any());
-        verify(photoService, times(2)).addPhoto(any()); // Expect 2 calls for 2 additional photos
+        verify(photoService).addPhotos(argThat(photos -> photos.stream().map(Photo::getS3URL).toList().equals(additionalPhotoUrls))); // One batch for both additional photos
+        verify(photoService, never()).addPhoto(any());
+        verify(photoDerivativeService).generateAfterCommit(1,
+                Arrays.asList(additionalPhotoUrls.get(0), additionalPhotoUrls.get(1), mainPhotoUrl));
     }
 
     @Test
@@ -205,8 +229,8 @@ class RestaurantServiceImplTest {
         doNothing().when(timeSlotService).replaceTimeSlots(anyInt(), any());
         when(photoService.getPhotosByRestaurantId(anyInt())).thenReturn(existingPhotos);
         doNothing().when(photoService).deletePhotoByRestaurantIdAndS3Url(anyInt(), anyList());
-        doNothing().when(photoService).addPhoto(any());
-        doNothing().when(s3Service).deleteFilesBulk(any());
+        doNothing().when(photoService).addPhotos(anyList());
+        doNothing().when(objectCleanupQueue).enqueue(any());
 
         // Act
         RestaurantResponse response = restaurantService.updateRestaurant(1, restaurantRequest, "1");
@@ -224,8 +248,31 @@ class RestaurantServiceImplTest {
         verify(timeSlotService).replaceTimeSlots(anyInt(), any());
         verify(photoService).getPhotosByRestaurantId(anyInt());
         verify(photoService).deletePhotoByRestaurantIdAndS3Url(anyInt(), eq(Arrays.asList("old-photo.jpg")));
-        verify(photoService, times(2)).addPhoto(any()); // Expect 2 calls for 2 new photos
-        verify(s3Service, times(2)).deleteFilesBulk(any()); // Expect 2 calls - one for main photo, one for additional photos
+        verify(photoService).addPhotos(argThat(photos -> photos.size() == 2)); // One batch for both new photos
+        verify(photoService, never()).addPhoto(any());
+        verify(objectCleanupQueue, times(2)).enqueue(any()); // Expect 2 calls - one for main photo, one for additional photos
+        verify(objectCleanupQueue).enqueue(Arrays.asList("old-url", "old-url_thumb.jpg", "old-url_medium.jpg"));
+        verify(detailsCache).invalidate(1);
+        Set<String> newPhotos = new HashSet<>(additionalPhotoUrls);
+        newPhotos.add(mainPhotoUrl);
+        verify(photoDerivativeService).generateAfterCommit(eq(1), argThat(keys -> keys.size() == 3 && newPhotos.containsAll(keys)));
+    }
+
+    @Test
+    void updateRestaurant_UnchangedAddress_SkipsGeocoding() {
+        // Arrange
+        restaurant.setManagerId("1");
+        restaurant.setApproved(true);
+        restaurant.setLocation(new Point(-121.8863, 37.3382));
+        when(restaurantRepository.findById(1)).thenReturn(restaurant);
+
+        // Act
+        restaurantService.updateRestaurant(1, restaurantRequest, "1");
+
+        // Assert
+        verifyNoInteractions(googleMapsService);
+        verify(restaurantRepository).updateRestaurantDetails(eq(1), eq(details), eq(-121.8863), eq(37.3382), eq(mainPhotoUrl));
+        verify(geoIndex).put(1, -121.8863, 37.3382);
     }
 
     @Test
@@ -260,27 +307,18 @@ class RestaurantServiceImplTest {
                 new RestaurantSearchDetails()
         );
 
-        when(restaurantRepository.searchRestaurants(anyDouble(), anyDouble(), anyString()))
+        GeoHits hits = new GeoHits(new int[]{0}, new double[]{1609.34});
+        when(geoIndex.findWithin(-121.8863, 37.3382, 15000)).thenReturn(hits);
+        when(textIndex.rank(hits, "Italian")).thenReturn(hits);
+        when(restaurantRepository.findSearchDetailsByIds(Collections.singletonList(0)))
                 .thenReturn(nearbyRestaurants);
-        
-        HoursDto hoursDto = new HoursDto();
-        hoursDto.setDayOfWeek(1);
-        hoursDto.setOpenTime(LocalTime.of(11, 0));
-        hoursDto.setCloseTime(LocalTime.of(22, 0));
-        
-        when(restaurantHoursService.getHoursForRestaurantAndDay(anyInt(), anyInt()))
-                .thenReturn(hoursDto);
-                
-        when(timeSlotService.getTimeSlotsForRestaurantAndDay(anyInt(), anyInt()))
-                .thenReturn(TimeSlotDto.builder()
-                        .dayOfWeek(1)
-                        .times(Arrays.asList(LocalTime.of(19, 0)))
-                        .build());
-        when(tableService.getTotalCapacity(anyInt())).thenReturn(100);
-        when(bookingService.getBookedCapacitiesForSlotsForRestaurant(anyInt(), any(), any()))
-                .thenReturn(new HashMap<>());
-
-        when(reviewService.getAverageRatingByRestaurant(anyInt())).thenReturn(4.0);
+
+        when(availabilityService.getAvailableTimeSlots(anyList(), any(), any(), anyInt()))
+                .thenReturn(Collections.singletonMap(0, Collections.singletonList("19:00")));
+        when(reviewService.getRatingSummaries(anyList()))
+                .thenReturn(Collections.singletonMap(0, RatingSummaryDto.builder().restaurantId(0).ratingSum(8).reviewCount(2).build()));
+        when(bookingService.getBookingCountsByRestaurantIds(anyList(), any()))
+                .thenReturn(Collections.singletonMap(0, 3));
 
         // Act
         RestaurantSearchResponse response = restaurantService.searchRestaurants(searchRequest);
@@ -289,6 +327,13 @@ class RestaurantServiceImplTest {
         assertNotNull(response);
         assertEquals(1, response.getCount());
         assertFalse(response.getRestaurantSearchDetails().isEmpty());
+        RestaurantSearchDetails result = response.getRestaurantSearchDetails().get(0);
+        assertEquals(Collections.singletonList("19:00"), result.getAvailableTimeSlots());
+        assertEquals(4.0, result.getAvgRating());
+        assertEquals(3, result.getBookingCount());
+        assertEquals(1.0, result.getDistance(), 1e-9);
+        verify(availabilityService).getAvailableTimeSlots(eq(Collections.singletonList(0)), eq(searchRequest.getDate()),
+                eq(LocalTime.of(19, 0)), eq(4));
     }
 
     @Test
@@ -306,25 +351,14 @@ class RestaurantServiceImplTest {
                 new RestaurantSearchDetails()
         );
 
-        when(restaurantRepository.searchRestaurants(anyDouble(), anyDouble(), anyString()))
+        GeoHits hits = new GeoHits(new int[]{0}, new double[]{500});
+        when(geoIndex.findWithin(anyDouble(), anyDouble(), anyDouble())).thenReturn(hits);
+        when(textIndex.rank(hits, "Italian")).thenReturn(hits);
+        when(restaurantRepository.findSearchDetailsByIds(anyList()))
                 .thenReturn(nearbyRestaurants);
-                
-        HoursDto hoursDto = new HoursDto();
-        hoursDto.setDayOfWeek(1);
-        hoursDto.setOpenTime(LocalTime.of(11, 0));
-        hoursDto.setCloseTime(LocalTime.of(22, 0));
-        
-        when(restaurantHoursService.getHoursForRestaurantAndDay(anyInt(), anyInt()))
-                .thenReturn(hoursDto);
-                
-        when(timeSlotService.getTimeSlotsForRestaurantAndDay(anyInt(), anyInt()))
-                .thenReturn(TimeSlotDto.builder()
-                        .dayOfWeek(1)
-                        .times(Arrays.asList(LocalTime.of(19, 0)))
-                        .build());
-        when(tableService.getTotalCapacity(anyInt())).thenReturn(100);
-        when(bookingService.getBookedCapacitiesForSlotsForRestaurant(anyInt(), any(), any()))
-                .thenReturn(Collections.singletonMap(LocalTime.of(19, 0), 100)); // All slots booked
+
+        when(availabilityService.getAvailableTimeSlots(anyList(), any(), any(), anyInt()))
+                .thenReturn(Collections.emptyMap()); // All slots booked
 
         // Act
         RestaurantSearchResponse response = restaurantService.searchRestaurants(searchRequest);
@@ -360,14 +394,88 @@ class RestaurantServiceImplTest {
     @Test
     void fetchRestaurantDetails_NotFound() {
         // Arrange
+        givenDetailsCacheMiss();
         when(restaurantRepository.findById(anyInt())).thenReturn(null);
 
         // Act & Assert
         RestaurantException exception = assertThrows(RestaurantException.class,
-                () -> restaurantService.fetchRestaurantDetails(1));
+                () -> restaurantService.fetchRestaurantDetails(1, null));
         assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
     }
 
+    @Test
+    void fetchRestaurantDetails_AssemblesStaticPartAndAddsBookingCount() {
+        // Arrange
+        givenDetailsCacheMiss();
+        restaurant.setApproved(true);
+        when(restaurantRepository.findById(1)).thenReturn(restaurant);
+        when(reviewService.getReviewPage(1, null, 10))
+                .thenReturn(ReviewPageDto.builder().reviews(Collections.emptyList()).nextCursor("next").build());
+        when(reviewService.getRatingSummaries(Collections.singletonList(1)))
+                .thenReturn(Collections.singletonMap(1, RatingSummaryDto.builder().restaurantId(1).ratingSum(9).reviewCount(2).build()));
+        when(detailsCache.getBookingCount(eq(1), any())).thenReturn(5);
+
+        // Act
+        RestaurantDetailsResponse response = restaurantService.fetchRestaurantDetails(1, null);
+
+        // Assert
+        assertEquals("Test Restaurant", response.getName());
+        assertEquals(4.5, response.getAverageRating());
+        assertEquals("next", response.getNextReviewCursor());
+        assertEquals(5, response.getBookingCount());
+        verifyNoInteractions(bookingService);
+    }
+
+    @Test
+    void fetchRestaurantDetails_CursorLoadsOlderReviewsOnTopOfCachedDetails() {
+        // Arrange
+        RestaurantDetailsResponse cached = RestaurantDetailsResponse.builder().id(1).name("Test Restaurant")
+                .reviews(Collections.emptyList()).nextReviewCursor("page2").build();
+        when(detailsCache.getDetails(eq(1), any())).thenReturn(cached);
+        ReviewDto olderReview = ReviewDto.builder().id(3).restaurantId(1).rating(4).build();
+        when(reviewService.getReviewPage(1, "page2", 10))
+                .thenReturn(ReviewPageDto.builder().reviews(Collections.singletonList(olderReview)).build());
+        when(detailsCache.getBookingCount(eq(1), any())).thenReturn(0);
+
+        // Act
+        RestaurantDetailsResponse response = restaurantService.fetchRestaurantDetails(1, "page2");
+
+        // Assert
+        assertEquals(Collections.singletonList(olderReview), response.getReviews());
+        assertNull(response.getNextReviewCursor());
+        assertEquals("page2", cached.getNextReviewCursor());
+        assertNull(cached.getBookingCount());
+        verifyNoInteractions(restaurantRepository);
+    }
+
+    @Test
+    void fetchRestaurantDetailsForDisplay_ServesMediumRenditionsWhereGenerated() {
+        // Arrange
+        givenDetailsCacheMiss();
+        restaurant.setMainPhotoUrl("restaurants/main/a.png");
+        restaurant.setMainPhotoMediumKey("restaurants/main/a_medium.jpg");
+        when(restaurantRepository.findById(1)).thenReturn(restaurant);
+        Photo generated = Photo.builder().restaurantId(1).s3URL("restaurants/additional/b.png")
+                .thumbnailKey("restaurants/additional/b_thumb.jpg").mediumKey("restaurants/additional/b_medium.jpg").build();
+        Photo pending = Photo.builder().restaurantId(1).s3URL("restaurants/additional/c.png").build();
+        when(photoService.getPhotosByRestaurantId(1)).thenReturn(Arrays.asList(generated, pending));
+        when(reviewService.getReviewPage(1, null, 10))
+                .thenReturn(ReviewPageDto.builder().reviews(Collections.emptyList()).build());
+        when(reviewService.getRatingSummaries(Collections.singletonList(1)))
+                .thenReturn(Collections.singletonMap(1, RatingSummaryDto.builder().restaurantId(1).build()));
+        when(detailsCache.getBookingCount(eq(1), any())).thenReturn(0);
+
+        // Act
+        RestaurantDetailsResponse display = restaurantService.fetchRestaurantDetailsForDisplay(1, null);
+        RestaurantDetailsResponse manager = restaurantService.fetchRestaurantDetails(1, null);
+
+        // Assert
+        assertEquals("restaurants/main/a_medium.jpg", display.getMainPhotoUrl());
+        assertEquals(Arrays.asList("restaurants/additional/b_medium.jpg", "restaurants/additional/c.png"), display.getAdditionalPhotoUrls());
+        assertEquals("restaurants/main/a.png", manager.getMainPhotoUrl());
+        assertEquals(Arrays.asList("restaurants/additional/b.png", "restaurants/additional/c.png"), manager.getAdditionalPhotoUrls());
+    }
+
     @Test
     void searchRestaurants_InvalidCoordinates() {
         // Arrange
@@ -379,8 +487,7 @@ class RestaurantServiceImplTest {
         request.setPartySize(2);
         request.setSearchText("");
 
-        when(restaurantRepository.searchRestaurants(anyDouble(), anyDouble(), anyString()))
-                .thenReturn(Collections.emptyList());
+        when(geoIndex.findWithin(anyDouble(), anyDouble(), anyDouble())).thenReturn(GeoHits.EMPTY);
 
         // Act
         RestaurantSearchResponse response = restaurantService.searchRestaurants(request);
@@ -389,6 +496,7 @@ class RestaurantServiceImplTest {
         assertNotNull(response);
         assertEquals(0, response.getCount());
         assertTrue(response.getRestaurantSearchDetails().isEmpty());
+        verifyNoInteractions(restaurantRepository);
     }
 
     @Test
@@ -402,8 +510,9 @@ class RestaurantServiceImplTest {
         request.setPartySize(2);
         request.setSearchText("NonExistentRestaurant");
 
-        when(restaurantRepository.searchRestaurants(anyDouble(), anyDouble(), anyString()))
-                .thenReturn(Collections.emptyList());
+        GeoHits hits = new GeoHits(new int[]{1, 2}, new double[]{100, 200});
+        when(geoIndex.findWithin(anyDouble(), anyDouble(), anyDouble())).thenReturn(hits);
+        when(textIndex.rank(hits, "NonExistentRestaurant")).thenReturn(GeoHits.EMPTY);
 
         // Act
         RestaurantSearchResponse response = restaurantService.searchRestaurants(request);
@@ -412,6 +521,7 @@ class RestaurantServiceImplTest {
         assertNotNull(response);
         assertEquals(0, response.getCount());
         assertTrue(response.getRestaurantSearchDetails().isEmpty());
+        verifyNoInteractions(restaurantRepository);
     }
 
     @Test
@@ -424,11 +534,18 @@ class RestaurantServiceImplTest {
         request.setTime(LocalTime.now());
         request.setPartySize(2);
 
-        when(restaurantRepository.searchRestaurants(anyDouble(), anyDouble(), anyString()))
+        when(geoIndex.findWithin(anyDouble(), anyDouble(), anyDouble()))
+                .thenReturn(new GeoHits(new int[]{1}, new double[]{100}));
+        when(restaurantRepository.findSearchDetailsByIds(anyList()))
                 .thenThrow(new RuntimeException("Database error"));
 
         // Act & Assert
         assertThrows(RuntimeException.class,
                 () -> restaurantService.searchRestaurants(request));
     }
-} 
\ No newline at end of file
+
+    private void givenDetailsCacheMiss() {
+        when(detailsCache.getDetails(anyInt(), any())).thenAnswer(invocation ->
+                invocation.<IntFunction<RestaurantDetailsResponse>>getArgument(1).apply(invocation.<Integer>getArgument(0)));
+    }
+}
@@ -0,0 +1,111 @@
+package com.sjsu.booktable.service.restaurant;
+
+import com.sjsu.booktable.model.entity.Restaurant;
+import com.sjsu.booktable.repository.RestaurantRepository;
+import com.sjsu.booktable.service.restaurant.RestaurantGeoIndex.GeoHits;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RestaurantTextIndexTest {
+
+    @Mock
+    private RestaurantRepository restaurantRepository;
+
+    private RestaurantTextIndex textIndex;
+
+    private final GeoHits candidates = new GeoHits(new int[]{1, 2, 3}, new double[]{500, 1000, 2000});
+
+    @BeforeEach
+    void setUp() {
+        textIndex = new RestaurantTextIndex(restaurantRepository);
+    }
+
+    @Test
+    void tokenize_LowercasesAndSplitsOnPunctuation() {
+        assertEquals(Arrays.asList("joe", "s", "pizza", "café", "24"), RestaurantTextIndex.tokenize("Joe's PIZZA-Café 24"));
+        assertTrue(RestaurantTextIndex.tokenize("  ").isEmpty());
+    }
+
+    @Test
+    void rank_MatchesPrefixesAndRequiresEveryToken() {
+        // Arrange
+        givenRestaurants(
+                restaurant(1, "Luigi's", "Italian", "Wood fired pizza"),
+                restaurant(2, "Pho House", "Vietnamese", "Noodle soups"),
+                restaurant(3, "Pizza Palace", "American", "Pizza by the slice"));
+
+        // Act & Assert
+        assertArrayEquals(new int[]{3, 1}, textIndex.rank(candidates, "piz").ids());
+        assertArrayEquals(new int[]{1}, textIndex.rank(candidates, "ital pizza").ids());
+        assertEquals(0, textIndex.rank(candidates, "sushi").size());
+    }
+
+    @Test
+    void rank_WeighsNameAboveDescriptionAndDiscountsDistance() {
+        // Arrange
+        givenRestaurants(
+                restaurant(1, "Green Leaf", "Vegan", "Sushi rolls"),
+                restaurant(2, "Sushi Go", "Japanese", "Rolls"),
+                restaurant(3, "Sushi Bar", "Japanese", "Nigiri"));
+        GeoHits farSecond = new GeoHits(new int[]{1, 2, 3}, new double[]{100, 200, 100000});
+
+        // Act
+        GeoHits ranked = textIndex.rank(farSecond, "sushi");
+
+        // Assert: the name match nearby ranks first, the one 100 km away last
+        assertArrayEquals(new int[]{2, 1, 3}, ranked.ids());
+        assertArrayEquals(new double[]{200, 100, 100000}, ranked.distances());
+    }
+
+    @Test
+    void rank_KeepsOnlyCandidates() {
+        // Arrange
+        givenRestaurants(
+                restaurant(1, "Taco Stand", "Mexican", ""),
+                restaurant(9, "Taco Town", "Mexican", ""));
+
+        // Act & Assert
+        assertArrayEquals(new int[]{1}, textIndex.rank(candidates, "taco").ids());
+    }
+
+    @Test
+    void putAndRemove_UpdateIndexIncrementally() {
+        // Arrange
+        givenRestaurants(restaurant(1, "Taco Stand", "Mexican", ""));
+        assertEquals(1, textIndex.rank(candidates, "taco").size());
+
+        // Act & Assert
+        textIndex.put(1, "Burger Barn", "American", "Smash burgers");
+        textIndex.put(2, "Taqueria", "Mexican", "Tacos al pastor");
+        assertArrayEquals(new int[]{2}, textIndex.rank(candidates, "taco").ids());
+        assertArrayEquals(new int[]{1}, textIndex.rank(candidates, "burger").ids());
+
+        textIndex.remove(2);
+        assertEquals(0, textIndex.rank(candidates, "taco").size());
+        verify(restaurantRepository, times(1)).findAllNonDeleted();
+    }
+
+    @Test
+    void rank_BlankQueryReturnsCandidates() {
+        // Act & Assert
+        assertSame(candidates, textIndex.rank(candidates, " "));
+        verifyNoInteractions(restaurantRepository);
+    }
+
+    private void givenRestaurants(Restaurant... restaurants) {
+        when(restaurantRepository.findAllNonDeleted()).thenReturn(Arrays.asList(restaurants));
+    }
+
+    private Restaurant restaurant(int id, String name, String cuisineType, String description) {
+        return Restaurant.builder().id(id).name(name).cuisineType(cuisineType).description(description).build();
+    }
+}
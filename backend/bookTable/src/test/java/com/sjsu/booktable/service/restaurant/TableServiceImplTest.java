@@ -22,6 +22,9 @@ class TableServiceImplTest {
     @Mock
     private TableRepository tableRepository;
 
+    @Mock
+    private RestaurantScheduleCache scheduleCache;
+
     @InjectMocks
     private TableServiceImpl tableService;
 
@@ -57,31 +60,32 @@ class TableServiceImplTest {
         // Assert
         verify(tableRepository).deleteByRestaurantId(1);
         verify(tableRepository).insertTables(eq(1), eq(tableConfigurationDtos));
+        verify(scheduleCache).invalidate(1);
     }
 
     @Test
     void getTotalCapacity_Success() {
         // Arrange
-        when(tableRepository.getTotalCapacity(anyInt())).thenReturn(14);
+        when(scheduleCache.getSchedule(anyInt())).thenReturn(RestaurantSchedule.builder().table(4, 2).table(6, 1).build());
 
         // Act
         int result = tableService.getTotalCapacity(1);
 
         // Assert
         assertEquals(14, result);
-        verify(tableRepository).getTotalCapacity(1);
+        verify(scheduleCache).getSchedule(1);
     }
 
     @Test
     void getTotalCapacity_ZeroWhenNull() {
         // Arrange
-        when(tableRepository.getTotalCapacity(anyInt())).thenReturn(null);
+        when(scheduleCache.getSchedule(anyInt())).thenReturn(null);
 
         // Act
         int result = tableService.getTotalCapacity(1);
 
         // Assert
         assertEquals(0, result);
-        verify(tableRepository).getTotalCapacity(1);
+        verify(scheduleCache).getSchedule(1);
     }
 } 
\ No newline at end of file
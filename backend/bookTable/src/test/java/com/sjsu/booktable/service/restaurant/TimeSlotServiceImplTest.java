@@ -24,6 +24,9 @@ class TimeSlotServiceImplTest {
     @Mock
     private TimeSlotRepository timeSlotRepository;
 
+    @Mock
+    private RestaurantScheduleCache scheduleCache;
+
     @InjectMocks
     private TimeSlotServiceImpl timeSlotService;
 
@@ -66,17 +69,17 @@ class TimeSlotServiceImplTest {
         // Assert
         verify(timeSlotRepository).deleteByRestaurantId(1);
         verify(timeSlotRepository).insertTimeSlots(eq(1), eq(timeSlots));
+        verify(scheduleCache).invalidate(1);
     }
 
     @Test
     void getTimeSlotsForRestaurantAndDay_Success() {
         // Arrange
-        List<LocalTime> expectedTimes = Arrays.asList(
-                LocalTime.of(11, 0),
-                LocalTime.of(12, 0)
-        );
-        when(timeSlotRepository.getTimeSlotsByRestaurantAndDay(anyInt(), anyInt()))
-                .thenReturn(expectedTimes);
+        RestaurantSchedule schedule = RestaurantSchedule.builder()
+                .slot(1, LocalTime.of(12, 0))
+                .slot(1, LocalTime.of(11, 0))
+                .build();
+        when(scheduleCache.getSchedule(anyInt())).thenReturn(schedule);
 
         // Act
         TimeSlotDto result = timeSlotService.getTimeSlotsForRestaurantAndDay(1, 1);
@@ -85,15 +88,14 @@ class TimeSlotServiceImplTest {
         assertNotNull(result);
         assertEquals(1, result.getDayOfWeek());
         assertEquals(2, result.getTimes().size());
-        assertTrue(result.getTimes().contains(LocalTime.of(11, 0)));
-        assertTrue(result.getTimes().contains(LocalTime.of(12, 0)));
+        assertEquals(Arrays.asList(LocalTime.of(11, 0), LocalTime.of(12, 0)), result.getTimes());
+        verifyNoInteractions(timeSlotRepository);
     }
 
     @Test
     void getTimeSlotsForRestaurantAndDay_EmptyList() {
         // Arrange
-        when(timeSlotRepository.getTimeSlotsByRestaurantAndDay(anyInt(), anyInt()))
-                .thenReturn(null);
+        when(scheduleCache.getSchedule(anyInt())).thenReturn(RestaurantSchedule.builder().build());
 
         // Act
         TimeSlotDto result = timeSlotService.getTimeSlotsForRestaurantAndDay(1, 1);
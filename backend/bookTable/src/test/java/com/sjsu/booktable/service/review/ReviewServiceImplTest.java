@@ -0,0 +1,202 @@
+package com.sjsu.booktable.service.review;
+
+import com.sjsu.booktable.model.dto.review.RatingSummaryDto;
+import com.sjsu.booktable.model.dto.review.ReviewDto;
+import com.sjsu.booktable.model.dto.review.ReviewPageDto;
+import com.sjsu.booktable.model.entity.Review;
+import com.sjsu.booktable.repository.RestaurantRepository;
+import com.sjsu.booktable.repository.ReviewRepository;
+import com.sjsu.booktable.service.restaurant.RestaurantDetailsCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReviewServiceImplTest {
+
+    @Mock
+    private ReviewRepository reviewRepository;
+
+    @Mock
+    private RestaurantRepository restaurantRepository;
+
+    @Mock
+    private RestaurantDetailsCache detailsCache;
+
+    @InjectMocks
+    private ReviewServiceImpl reviewService;
+
+    private final Timestamp createdAt = Timestamp.valueOf("2025-05-05 19:00:00");
+
+    @Test
+    void getReviewPage_FirstPageReturnsCursorOfLastReview() {
+        // Arrange
+        when(reviewRepository.findPageByRestaurantId(1, null, null, 3))
+                .thenReturn(Arrays.asList(review(9), review(8), review(7)));
+
+        // Act
+        ReviewPageDto page = reviewService.getReviewPage(1, null, 2);
+
+        // Assert
+        assertEquals(2, page.getReviews().size());
+        assertEquals(8, page.getReviews().get(1).getId());
+        assertEquals(new ReviewCursor(createdAt, 8), ReviewCursor.decode(page.getNextCursor()));
+    }
+
+    @Test
+    void getReviewPage_CursorSeeksPastPreviousPage() {
+        // Arrange
+        String cursor = new ReviewCursor(createdAt, 8).encode();
+        when(reviewRepository.findPageByRestaurantId(1, createdAt, 8, 3))
+                .thenReturn(Collections.singletonList(review(7)));
+
+        // Act
+        ReviewPageDto page = reviewService.getReviewPage(1, cursor, 2);
+
+        // Assert
+        assertEquals(1, page.getReviews().size());
+        assertEquals(7, page.getReviews().get(0).getId());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void getReviewPage_InvalidCursor() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> reviewService.getReviewPage(1, "not-a-cursor", 10));
+        verifyNoInteractions(reviewRepository);
+    }
+
+    @Test
+    void getRatingSummaries_EmptyIds() {
+        // Act
+        Map<Integer, RatingSummaryDto> result = reviewService.getRatingSummaries(Collections.emptyList());
+
+        // Assert
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(reviewRepository);
+    }
+
+    @Test
+    void getRatingSummaries_DefaultsRestaurantsWithoutReviews() {
+        // Arrange
+        RatingSummaryDto summary = RatingSummaryDto.builder().restaurantId(1).ratingSum(9).reviewCount(2).build();
+        when(reviewRepository.getRatingSummariesByRestaurantIds(Arrays.asList(1, 2)))
+                .thenReturn(Collections.singletonMap(1, summary));
+
+        // Act
+        Map<Integer, RatingSummaryDto> result = reviewService.getRatingSummaries(Arrays.asList(1, 2));
+
+        // Assert
+        assertEquals(4.5, result.get(1).getAverageRating());
+        assertEquals(2, result.get(1).getReviewCount());
+        assertEquals(0.0, result.get(2).getAverageRating());
+        assertEquals(0, result.get(2).getReviewCount());
+    }
+
+    @Test
+    void addReview_UpdatesRatingSummary() {
+        // Arrange
+        ReviewDto review = ReviewDto.builder().restaurantId(3).rating(5).reviewText("Great").userName("sam").build();
+        when(reviewRepository.addReview(any(Review.class))).thenReturn(11);
+
+        // Act
+        int reviewId = reviewService.addReview(review);
+
+        // Assert
+        assertEquals(11, reviewId);
+        ArgumentCaptor<Review> captor = ArgumentCaptor.forClass(Review.class);
+        verify(reviewRepository).addReview(captor.capture());
+        assertEquals(3, captor.getValue().getRestaurantId());
+        assertEquals(5, captor.getValue().getRating());
+        verify(reviewRepository).addToRatingSummary(3, 5);
+        verify(detailsCache).invalidate(3);
+    }
+
+    @Test
+    void reconcileNewReviews_RebuildsRestaurantsWithNewReviews() {
+        // Arrange
+        when(reviewRepository.findMaxReviewId()).thenReturn(10, 15, 20);
+        when(reviewRepository.findRestaurantIdsWithReviewsBetween(10, 15)).thenReturn(Collections.singletonList(3));
+        when(reviewRepository.findRestaurantIdsWithReviewsBetween(10, 20)).thenReturn(Arrays.asList(3, 4));
+
+        // Act
+        reviewService.reconcileNewReviews();
+        reviewService.reconcileNewReviews();
+        reviewService.reconcileNewReviews();
+
+        // Assert
+        // The first run only records the highest id, older aggregates are left to the sweep
+        verify(reviewRepository, never()).findRestaurantIdsWithReviewsBetween(0, 10);
+        verify(reviewRepository).rebuildRatingSummaries(Collections.singletonList(3));
+        // The previous window is rescanned for reviews that committed after their id was taken
+        verify(reviewRepository).rebuildRatingSummaries(Arrays.asList(3, 4));
+        verify(detailsCache, times(2)).invalidate(3);
+        verify(detailsCache).invalidate(4);
+    }
+
+    @Test
+    void sweepRatingSummaries_CorrectsDeletedAndEditedReviews() {
+        // Arrange
+        ReflectionTestUtils.setField(reviewService, "sweepBatchSize", 3);
+        when(restaurantRepository.findIdsAfter(0, 3)).thenReturn(Arrays.asList(1, 2, 3));
+        Map<Integer, RatingSummaryDto> stored = new HashMap<>();
+        stored.put(1, summary(1, 9, 2));
+        stored.put(2, summary(2, 8, 2));
+        stored.put(3, summary(3, 5, 1));
+        when(reviewRepository.getRatingSummariesByRestaurantIds(Arrays.asList(1, 2, 3))).thenReturn(stored);
+        // Restaurant 2 had a rating edited, the only review of restaurant 3 was deleted
+        Map<Integer, RatingSummaryDto> actual = new HashMap<>();
+        actual.put(1, summary(1, 9, 2));
+        actual.put(2, summary(2, 6, 2));
+        when(reviewRepository.computeRatingSummaries(Arrays.asList(1, 2, 3))).thenReturn(actual);
+
+        // Act
+        reviewService.sweepRatingSummaries();
+
+        // Assert
+        verify(reviewRepository).replaceRatingSummaries(stored, Arrays.asList(summary(2, 6, 2), RatingSummaryDto.empty(3)));
+        verify(detailsCache).invalidate(2);
+        verify(detailsCache).invalidate(3);
+        verify(detailsCache, never()).invalidate(1);
+    }
+
+    @Test
+    void sweepRatingSummaries_ContinuesAfterLastBatchAndStartsOver() {
+        // Arrange
+        ReflectionTestUtils.setField(reviewService, "sweepBatchSize", 2);
+        when(restaurantRepository.findIdsAfter(0, 2)).thenReturn(Arrays.asList(1, 2));
+        when(restaurantRepository.findIdsAfter(2, 2)).thenReturn(Collections.emptyList());
+
+        // Act
+        reviewService.sweepRatingSummaries();
+        reviewService.sweepRatingSummaries();
+        reviewService.sweepRatingSummaries();
+
+        // Assert
+        verify(restaurantRepository, times(2)).findIdsAfter(0, 2);
+        verify(restaurantRepository).findIdsAfter(2, 2);
+        verify(reviewRepository, never()).replaceRatingSummaries(any(), anyList());
+        verifyNoInteractions(detailsCache);
+    }
+
+    private static RatingSummaryDto summary(int restaurantId, long ratingSum, int reviewCount) {
+        return RatingSummaryDto.builder().restaurantId(restaurantId).ratingSum(ratingSum).reviewCount(reviewCount).build();
+    }
+
+    private Review review(int id) {
+        return Review.builder().id(id).restaurantId(1).rating(4).reviewText("Good").userName("sam").createdAt(createdAt).build();
+    }
+}
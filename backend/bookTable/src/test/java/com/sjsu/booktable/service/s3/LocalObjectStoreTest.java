@@ -0,0 +1,161 @@
+package com.sjsu.booktable.service.s3;
+
+import com.sjsu.booktable.exception.storage.ObjectStoreException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalObjectStoreTest {
+
+    private static final String KEY = "restaurants/12/main photo.jpg";
+
+    @TempDir
+    Path root;
+
+    private LocalObjectStore objectStore;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        objectStore = new LocalObjectStore(root, "http://localhost:8080/", "test-secret".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void presignedPutAndGet_RoundTripObject() throws IOException {
+        // Arrange
+        byte[] photo = new byte[300_000];
+        new Random(1).nextBytes(photo);
+        Date expiration = new Date(System.currentTimeMillis() + 60_000);
+        PresignedRequest put = PresignedRequest.of(objectStore.presignPut(KEY, expiration));
+        PresignedRequest get = PresignedRequest.of(objectStore.presignGet(KEY, expiration));
+
+        // Act
+        Path uploadTarget = objectStore.authorize("PUT", put.key(), put.expires(), put.signature());
+        long stored = objectStore.transferFrom(Channels.newChannel(new ByteArrayInputStream(photo)), uploadTarget);
+        Path object = objectStore.authorize("GET", get.key(), get.expires(), get.signature());
+        ByteArrayOutputStream served = new ByteArrayOutputStream();
+        long sent = objectStore.transferTo(object, Channels.newChannel(served));
+
+        // Assert
+        assertEquals(KEY, put.key());
+        assertEquals(photo.length, stored);
+        assertEquals(photo.length, sent);
+        assertArrayEquals(photo, served.toByteArray());
+        assertEquals(root.resolve(KEY), object);
+    }
+
+    @Test
+    void authorize_RejectsSignatureOfOtherMethodOrKey() {
+        // Arrange
+        PresignedRequest get = PresignedRequest.of(objectStore.presignGet(KEY, new Date(System.currentTimeMillis() + 60_000)));
+
+        // Act & Assert
+        ObjectStoreException wrongMethod = assertThrows(ObjectStoreException.class,
+                () -> objectStore.authorize("PUT", get.key(), get.expires(), get.signature()));
+        ObjectStoreException wrongKey = assertThrows(ObjectStoreException.class,
+                () -> objectStore.authorize("GET", "restaurants/13/main photo.jpg", get.expires(), get.signature()));
+        ObjectStoreException longerExpiry = assertThrows(ObjectStoreException.class,
+                () -> objectStore.authorize("GET", get.key(), get.expires() + 3600, get.signature()));
+        assertEquals(HttpStatus.FORBIDDEN, wrongMethod.getStatus());
+        assertEquals(HttpStatus.FORBIDDEN, wrongKey.getStatus());
+        assertEquals(HttpStatus.FORBIDDEN, longerExpiry.getStatus());
+    }
+
+    @Test
+    void authorize_RejectsExpiredUrl() {
+        // Arrange
+        PresignedRequest get = PresignedRequest.of(objectStore.presignGet(KEY, new Date(System.currentTimeMillis() - 5_000)));
+
+        // Act
+        ObjectStoreException exception = assertThrows(ObjectStoreException.class,
+                () -> objectStore.authorize("GET", get.key(), get.expires(), get.signature()));
+
+        // Assert
+        assertEquals(HttpStatus.FORBIDDEN, exception.getStatus());
+    }
+
+    @Test
+    void authorize_MissingObjectIsNotFound() {
+        // Arrange
+        PresignedRequest get = PresignedRequest.of(objectStore.presignGet(KEY, new Date(System.currentTimeMillis() + 60_000)));
+
+        // Act
+        ObjectStoreException exception = assertThrows(ObjectStoreException.class,
+                () -> objectStore.authorize("GET", get.key(), get.expires(), get.signature()));
+
+        // Assert
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
+    }
+
+    @Test
+    void presign_RejectsKeysOutsideRoot() {
+        // Act & Assert
+        Date expiration = new Date(System.currentTimeMillis() + 60_000);
+        ObjectStoreException exception = assertThrows(ObjectStoreException.class,
+                () -> objectStore.presignGet("../outside.jpg", expiration));
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatus());
+        assertThrows(ObjectStoreException.class, () -> objectStore.presignPut("/etc/passwd", expiration));
+    }
+
+    @Test
+    void deleteObjects_RemovesFilesAndIgnoresMissingOnes() throws IOException {
+        // Arrange
+        Path object = root.resolve(KEY);
+        Files.createDirectories(object.getParent());
+        Files.write(object, new byte[]{1, 2, 3});
+
+        // Act
+        objectStore.deleteObjects(List.of(KEY, "restaurants/12/missing.jpg"));
+
+        // Assert
+        assertFalse(Files.exists(object));
+    }
+
+    @Test
+    void listObjects_ListsKeysUnderPrefixWithoutPartialUploads() throws IOException {
+        // Arrange
+        objectStore.putObject(KEY, new byte[]{1}, "image/jpeg");
+        objectStore.putObject("restaurants/13/other.jpg", new byte[]{2}, "image/jpeg");
+        objectStore.putObject("exports/report.csv", new byte[]{3}, "text/csv");
+        Files.write(root.resolve("restaurants/12/.upload-123.tmp"), new byte[]{4});
+
+        // Act
+        List<String> keys = new ArrayList<>();
+        objectStore.listObjects("restaurants/", object -> keys.add(object.key()));
+
+        // Assert
+        Collections.sort(keys);
+        assertEquals(List.of("restaurants/12/main photo.jpg", "restaurants/13/other.jpg"), keys);
+    }
+
+    private record PresignedRequest(String key, long expires, String signature) {
+
+        static PresignedRequest of(URL url) {
+            UriComponents uri = UriComponentsBuilder.fromUriString(url.toString()).build();
+            String path = UriUtils.decode(uri.getPath(), StandardCharsets.UTF_8);
+            assertTrue(path.startsWith(LocalObjectStore.PATH + "/"));
+            return new PresignedRequest(path.substring(LocalObjectStore.PATH.length() + 1),
+                    Long.parseLong(uri.getQueryParams().getFirst("expires")),
+                    uri.getQueryParams().getFirst("signature"));
+        }
+    }
+}
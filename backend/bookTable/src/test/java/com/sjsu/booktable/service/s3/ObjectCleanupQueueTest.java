@@ -0,0 +1,173 @@
+package com.sjsu.booktable.service.s3;
+
+import com.sjsu.booktable.repository.ObjectCleanupRepository;
+import com.sjsu.booktable.repository.PhotosRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ObjectCleanupQueueTest {
+
+    @Mock
+    private ObjectCleanupRepository cleanupRepository;
+
+    @Mock
+    private PhotosRepository photosRepository;
+
+    @Mock
+    private ObjectStore objectStore;
+
+    private ObjectCleanupQueue cleanupQueue;
+
+    @BeforeEach
+    void setUp() {
+        cleanupQueue = new ObjectCleanupQueue(cleanupRepository, photosRepository, objectStore, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(cleanupQueue, "batchSize", 2);
+        ReflectionTestUtils.setField(cleanupQueue, "leaseMs", 120000L);
+        ReflectionTestUtils.setField(cleanupQueue, "initialBackoffMs", 1000L);
+        ReflectionTestUtils.setField(cleanupQueue, "maxBackoffMs", 60000L);
+        cleanupQueue.init();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        cleanupQueue.shutdown();
+    }
+
+    @Test
+    void enqueue_DeletesOnlyAfterCommit() {
+        // Arrange
+        when(cleanupRepository.claimDue(anyString(), any(), any(), eq(2))).thenReturn(2, 0);
+        when(cleanupRepository.findClaimedKeys(anyString())).thenReturn(Arrays.asList("a.jpg", "b.jpg"));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act
+            cleanupQueue.enqueue(Arrays.asList("a.jpg", "a.jpg", null, "b.jpg"));
+
+            // Assert
+            verify(cleanupRepository).insertKeys(Arrays.asList("a.jpg", "b.jpg"));
+            verifyNoInteractions(objectStore);
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        verify(objectStore, timeout(5000)).deleteObjects(Arrays.asList("a.jpg", "b.jpg"));
+        verify(cleanupRepository, timeout(5000)).deleteClaimed(anyString());
+    }
+
+    @Test
+    void enqueue_RolledBackTransactionDeletesNothing() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act
+            cleanupQueue.enqueue(Collections.singletonList("a.jpg"));
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Assert
+        verify(cleanupRepository, never()).claimDue(anyString(), any(), any(), anyInt());
+        verifyNoInteractions(objectStore);
+    }
+
+    @Test
+    void enqueue_NothingToDelete() {
+        // Act
+        cleanupQueue.enqueue(Arrays.asList(null, " "));
+
+        // Assert
+        verifyNoInteractions(cleanupRepository, objectStore);
+    }
+
+    @Test
+    void drainDue_DeletesBatchesUntilQueueIsEmpty() {
+        // Arrange
+        when(cleanupRepository.claimDue(anyString(), any(), any(), eq(2))).thenReturn(2, 1);
+        when(cleanupRepository.findClaimedKeys(anyString()))
+                .thenReturn(Arrays.asList("a.jpg", "b.jpg"), Collections.singletonList("c.jpg"));
+
+        // Act
+        int deleted = cleanupQueue.drainDue();
+
+        // Assert
+        assertEquals(3, deleted);
+        verify(objectStore).deleteObjects(Arrays.asList("a.jpg", "b.jpg"));
+        verify(objectStore).deleteObjects(Collections.singletonList("c.jpg"));
+        verify(cleanupRepository, times(2)).claimDue(anyString(), any(), any(), eq(2));
+        verify(cleanupRepository, times(2)).deleteClaimed(anyString());
+    }
+
+    @Test
+    void drainDue_KeepsKeysReferencedAgain() {
+        // Arrange
+        when(cleanupRepository.claimDue(anyString(), any(), any(), eq(2))).thenReturn(2, 2, 0);
+        when(cleanupRepository.findClaimedKeys(anyString()))
+                .thenReturn(Arrays.asList("a.jpg", "a_thumb.jpg"), Arrays.asList("b.jpg", "c_medium.jpg"));
+        when(photosRepository.findPhotoKeysReferencing(Arrays.asList("a.jpg", "a_thumb.jpg")))
+                .thenReturn(Collections.singletonList("a.jpg"));
+        when(photosRepository.findPhotoKeysReferencing(Arrays.asList("b.jpg", "c_medium.jpg")))
+                .thenReturn(Arrays.asList("c.png", "c_thumb.jpg", "c_medium.jpg"));
+
+        // Act
+        int deleted = cleanupQueue.drainDue();
+
+        // Assert
+        assertEquals(1, deleted);
+        verify(objectStore).deleteObjects(Collections.singletonList("b.jpg"));
+        verifyNoMoreInteractions(objectStore);
+        verify(cleanupRepository, times(2)).deleteClaimed(anyString());
+    }
+
+    @Test
+    void drainDue_FailedBatchIsReleasedWithGrowingBackoff() {
+        // Arrange
+        when(cleanupRepository.claimDue(anyString(), any(), any(), eq(2))).thenReturn(2);
+        when(cleanupRepository.findClaimedKeys(anyString())).thenReturn(Arrays.asList("a.jpg", "b.jpg"));
+        doThrow(new RuntimeException("S3 unavailable")).when(objectStore).deleteObjects(anyList());
+
+        // Act
+        long start = System.currentTimeMillis();
+        int firstDrain = cleanupQueue.drainDue();
+        int secondDrain = cleanupQueue.drainDue();
+
+        // Assert
+        assertEquals(0, firstDrain);
+        assertEquals(0, secondDrain);
+        ArgumentCaptor<Timestamp> nextAttempts = ArgumentCaptor.forClass(Timestamp.class);
+        verify(cleanupRepository, times(2)).releaseClaimed(anyString(), nextAttempts.capture(), contains("S3 unavailable"));
+        List<Timestamp> retries = nextAttempts.getAllValues();
+        assertTrue(retries.get(0).getTime() - start >= 1000);
+        assertTrue(retries.get(1).getTime() - start >= 2000);
+        verify(cleanupRepository, never()).deleteClaimed(anyString());
+    }
+
+    @Test
+    void backoffMillis_DoublesUpToMaximum() {
+        // Act & Assert
+        assertEquals(1000L, cleanupQueue.backoffMillis(1));
+        assertEquals(4000L, cleanupQueue.backoffMillis(3));
+        assertEquals(60000L, cleanupQueue.backoffMillis(10));
+        assertEquals(60000L, cleanupQueue.backoffMillis(100));
+    }
+}
@@ -0,0 +1,104 @@
+package com.sjsu.booktable.service.s3;
+
+import com.sjsu.booktable.repository.PhotosRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrphanedObjectReconcilerTest {
+
+    private static final Instant NOW = Instant.parse("2025-05-01T12:00:00Z");
+
+    @Mock
+    private PhotosRepository photosRepository;
+
+    @Mock
+    private ObjectStore objectStore;
+
+    @Mock
+    private ObjectCleanupQueue cleanupQueue;
+
+    @InjectMocks
+    private OrphanedObjectReconciler reconciler;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(reconciler, "prefix", "restaurants/");
+        ReflectionTestUtils.setField(reconciler, "graceHours", 24L);
+    }
+
+    @Test
+    void removeOrphans_QueuesOldUnreferencedObjects() throws IOException {
+        // Arrange
+        when(photosRepository.findAllPhotoKeys()).thenReturn(Arrays.asList("restaurants/main/a.png", "restaurants/additional/b.png"));
+        givenObjects(
+                new ObjectSummary("restaurants/main/a.png", daysAgo(30)),
+                new ObjectSummary("restaurants/main/a_thumb.jpg", daysAgo(30)),    // rendition of a referenced photo
+                new ObjectSummary("restaurants/additional/b.png", daysAgo(3)),
+                new ObjectSummary("restaurants/main/replaced.png", daysAgo(30)),
+                new ObjectSummary("restaurants/main/replaced_medium.jpg", daysAgo(30)),
+                new ObjectSummary("restaurants/main/just-uploaded.png", NOW.minus(2, ChronoUnit.HOURS)));
+
+        // Act
+        int orphans = reconciler.removeOrphans(NOW);
+
+        // Assert
+        assertEquals(2, orphans);
+        verify(cleanupQueue).enqueue(Arrays.asList("restaurants/main/replaced.png", "restaurants/main/replaced_medium.jpg"));
+    }
+
+    @Test
+    void removeOrphans_NothingToQueueWhenEverythingIsReferenced() throws IOException {
+        // Arrange
+        when(photosRepository.findAllPhotoKeys()).thenReturn(Collections.singletonList("restaurants/main/a.png"));
+        givenObjects(new ObjectSummary("restaurants/main/a.png", daysAgo(30)));
+
+        // Act
+        int orphans = reconciler.removeOrphans(NOW);
+
+        // Assert
+        assertEquals(0, orphans);
+        verifyNoInteractions(cleanupQueue);
+    }
+
+    @Test
+    void reconcile_ListingFailureIsLogged() throws IOException {
+        // Arrange
+        when(photosRepository.findAllPhotoKeys()).thenReturn(Collections.emptyList());
+        doThrow(new IOException("listing failed")).when(objectStore).listObjects(eq("restaurants/"), any());
+
+        // Act & Assert
+        assertDoesNotThrow(() -> reconciler.reconcile());
+        verifyNoInteractions(cleanupQueue);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenObjects(ObjectSummary... objects) throws IOException {
+        List<ObjectSummary> listing = Arrays.asList(objects);
+        doAnswer(invocation -> {
+            listing.forEach(invocation.<Consumer<ObjectSummary>>getArgument(1));
+            return null;
+        }).when(objectStore).listObjects(eq("restaurants/"), any(Consumer.class));
+    }
+
+    private static Instant daysAgo(int days) {
+        return NOW.minus(days, ChronoUnit.DAYS);
+    }
+}
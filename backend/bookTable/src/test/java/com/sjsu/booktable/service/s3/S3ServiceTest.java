@@ -4,20 +4,23 @@ import com.amazonaws.HttpMethod;
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.model.DeleteObjectsRequest;
 import com.amazonaws.services.s3.model.GeneratePresignedUrlRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -29,7 +32,6 @@ class S3ServiceTest {
     @Mock
     private AmazonS3 s3Client;
 
-    @InjectMocks
     private S3Service s3Service;
 
     private static final String BUCKET_NAME = "test-bucket";
@@ -40,8 +42,15 @@ class S3ServiceTest {
 
     @BeforeEach
     void setUp() {
-        s3Service = new S3Service(s3Client);
-        ReflectionTestUtils.setField(s3Service, "bucketName", BUCKET_NAME);
+        s3Service = new S3Service(new S3ObjectStore(s3Client, BUCKET_NAME), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(s3Service, "presignConcurrency", 2);
+        ReflectionTestUtils.setField(s3Service, "presignCacheMaxSize", 100L);
+        s3Service.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        s3Service.shutdown();
     }
 
     @Test
@@ -107,6 +116,77 @@ class S3ServiceTest {
         assertNull(result);
     }
 
+    @Test
+    void generatePresignedGetUrl_ReusesUrlWithinBucket() throws Exception {
+        // Arrange
+        String key = FOLDER + "/" + FILE_NAME;
+        when(s3Client.generatePresignedUrl(any(GeneratePresignedUrlRequest.class)))
+                .thenReturn(new URL(FILE_URL));
+
+        // Act
+        URL first = s3Service.generatePresignedGetUrl(key, EXPIRATION_MINUTES);
+        URL second = s3Service.generatePresignedGetUrl(key, EXPIRATION_MINUTES);
+
+        // Assert
+        assertSame(first, second);
+        ArgumentCaptor<GeneratePresignedUrlRequest> requestCaptor = ArgumentCaptor.forClass(GeneratePresignedUrlRequest.class);
+        verify(s3Client, times(1)).generatePresignedUrl(requestCaptor.capture());
+        long validForMillis = requestCaptor.getValue().getExpiration().getTime() - System.currentTimeMillis();
+        assertTrue(validForMillis >= EXPIRATION_MINUTES * 60_000L - 1000);
+    }
+
+    @Test
+    void generatePresignedGetUrls_SignsMissingKeysInKeyOrder() {
+        // Arrange
+        when(s3Client.generatePresignedUrl(any(GeneratePresignedUrlRequest.class)))
+                .thenAnswer(invocation -> urlFor(invocation.getArgument(0)));
+        s3Service.generatePresignedGetUrl("key2", EXPIRATION_MINUTES);
+
+        // Act
+        Map<String, URL> urls = s3Service.generatePresignedGetUrls(Arrays.asList("key3", "key2", "key1", "key3"), EXPIRATION_MINUTES);
+
+        // Assert
+        assertEquals(List.of("key3", "key2", "key1"), List.copyOf(urls.keySet()));
+        assertEquals("https://test-bucket.s3.amazonaws.com/key1", urls.get("key1").toString());
+        verify(s3Client, times(3)).generatePresignedUrl(any(GeneratePresignedUrlRequest.class));
+    }
+
+    @Test
+    void generatePresignedGetUrls_LeavesOutKeysThatFail() {
+        // Arrange
+        when(s3Client.generatePresignedUrl(any(GeneratePresignedUrlRequest.class)))
+                .thenAnswer(invocation -> {
+                    GeneratePresignedUrlRequest request = invocation.getArgument(0);
+                    if (request.getKey().equals("broken")) {
+                        throw new RuntimeException("S3 Error");
+                    }
+                    return urlFor(request);
+                });
+
+        // Act
+        Map<String, URL> urls = s3Service.generatePresignedGetUrls(Arrays.asList("key1", "broken", "key2"), EXPIRATION_MINUTES);
+
+        // Assert
+        assertEquals(List.of("key1", "key2"), List.copyOf(urls.keySet()));
+    }
+
+    @Test
+    void presignKey_SharesBucketAndKeepsRequestedValidity() {
+        // Arrange
+        long bucketStart = 1_800_000_000_000L - 1_800_000_000_000L % (15 * 60_000L);
+
+        // Act
+        S3Service.PresignKey early = S3Service.PresignKey.of("key1", 60, bucketStart);
+        S3Service.PresignKey late = S3Service.PresignKey.of("key1", 60, bucketStart + 15 * 60_000L - 1);
+        S3Service.PresignKey next = S3Service.PresignKey.of("key1", 60, bucketStart + 15 * 60_000L);
+
+        // Assert
+        assertEquals(early, late);
+        assertNotEquals(early, next);
+        assertEquals(bucketStart + 75 * 60_000L, early.expiresAtMillis());
+        assertTrue(late.expiresAtMillis() - (bucketStart + 15 * 60_000L - 1) > 60 * 60_000L);
+    }
+
     @Test
     void deleteFilesBulk_Success() {
         // Arrange
@@ -127,6 +207,26 @@ class S3ServiceTest {
                 .allMatch(keys::contains));
     }
 
+    @Test
+    void deleteFilesBulk_SplitsIntoRequestsOfAtMost1000Keys() {
+        // Arrange
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            keys.add("restaurants/additional/photo-" + i + ".jpg");
+        }
+
+        // Act
+        s3Service.deleteFilesBulk(keys);
+
+        // Assert
+        ArgumentCaptor<DeleteObjectsRequest> requestCaptor = ArgumentCaptor.forClass(DeleteObjectsRequest.class);
+        verify(s3Client, times(3)).deleteObjects(requestCaptor.capture());
+        List<DeleteObjectsRequest> requests = requestCaptor.getAllValues();
+        assertEquals(Arrays.asList(1000, 1000, 500), requests.stream().map(request -> request.getKeys().size()).toList());
+        assertEquals("restaurants/additional/photo-2000.jpg", requests.get(2).getKeys().get(0).getKey());
+        assertTrue(requests.stream().allMatch(DeleteObjectsRequest::getQuiet));
+    }
+
     @Test
     void deleteFilesBulk_EmptyList() {
         // Act
@@ -144,4 +244,8 @@ class S3ServiceTest {
         // Assert
         verify(s3Client, never()).deleteObjects(any(DeleteObjectsRequest.class));
     }
-} 
\ No newline at end of file
+
+    private static URL urlFor(GeneratePresignedUrlRequest request) throws Exception {
+        return new URL("https://" + request.getBucketName() + ".s3.amazonaws.com/" + request.getKey());
+    }
+}
@@ -9,6 +9,7 @@ import com.sjsu.booktable.model.dto.user.RegistrationResponse;
 import com.sjsu.booktable.model.entity.User;
 import com.sjsu.booktable.model.enums.Role;
 import com.sjsu.booktable.repository.UserRepository;
+import com.sjsu.booktable.service.auth.CognitoUserDirectory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -33,6 +34,9 @@ class UserServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private CognitoUserDirectory userDirectory;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -87,6 +91,7 @@ class UserServiceImplTest {
         verify(cognitoClient).adminGetUser(any(AdminGetUserRequest.class));
         verify(cognitoClient).adminUpdateUserAttributes(any(AdminUpdateUserAttributesRequest.class));
         verify(cognitoClient).adminAddUserToGroup(any(AdminAddUserToGroupRequest.class));
+        verify(userDirectory).invalidate(COGNITO_USER_ID);
         verify(userRepository).save(anyString(), any(RegistrationRequest.class));
     }
 